@@ -39,13 +39,16 @@ import org.leralix.tan.listeners.chat.ChatListener;
 import org.leralix.tan.listeners.interact.RightClickListener;
 import org.leralix.tan.monitoring.PrometheusMetricsCollector;
 import org.leralix.tan.service.EconomyService;
+import org.leralix.tan.service.PermissionDecisionCache;
 import org.leralix.tan.storage.ClaimBlacklistStorage;
 import org.leralix.tan.storage.MobChunkSpawnStorage;
+import org.leralix.tan.storage.PlayerAffiliationStorage;
 import org.leralix.tan.storage.database.DatabaseHandler;
 import org.leralix.tan.storage.database.DatabaseHealthCheck;
 import org.leralix.tan.storage.database.MySqlHandler;
 import org.leralix.tan.storage.database.SQLiteHandler;
 import org.leralix.tan.storage.impl.FortDataStorage;
+import org.leralix.tan.storage.index.RelationIndex;
 import org.leralix.tan.storage.stored.*;
 import org.leralix.tan.tasks.DailyTasks;
 import org.leralix.tan.tasks.SaveStats;
@@ -54,6 +57,7 @@ import org.leralix.tan.utils.constants.Constants;
 import org.leralix.tan.utils.constants.DatabaseConstants;
 import org.leralix.tan.utils.constants.EnabledPermissions;
 import org.leralix.tan.utils.gameplay.TANCustomNBT;
+import org.leralix.tan.utils.graphic.BoundaryRenderer;
 import org.leralix.tan.utils.text.NumberUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -251,6 +255,7 @@ public class TownsAndNations extends JavaPlugin {
     LOGGER.info(CocoLogger.loading("Storages"));
 >>>>>>> Stashed changes
 
+    BalanceLedger.getInstance();
     RegionDataStorage.getInstance();
     PlayerDataStorage.getInstance();
     NewClaimedChunkStorage.getInstance();
@@ -418,7 +423,8 @@ public class TownsAndNations extends JavaPlugin {
 
     LOGGER.info("[TaN] Savings Data");
 
-    SaveStats.saveAll();
+    // Write-behind: flush every queued write before the connection pool closes
+    SaveStats.stopSchedule();
 
     // P3.3: Stop database health check before closing connection
     if (databaseHealthCheck != null) {
@@ -426,10 +432,6 @@ public class TownsAndNations extends JavaPlugin {
       LOGGER.info("[TaN] -Database health check stopped");
     }
 
-    // Wait for async save operations to complete (non-blocking approach)
-    // Instead of Thread.sleep which blocks the main thread, we just log completion
-    // The SaveStats.saveAll() should handle synchronization internally
-
     // P3.2: Close database connection pool properly
     if (databaseHandler != null) {
       try {
@@ -582,5 +584,10 @@ public class TownsAndNations extends JavaPlugin {
     PlannedAttackStorage.getInstance().reset();
     WarStorage.getInstance().reset();
     NewClaimedChunkStorage.getInstance().reset();
+    BalanceLedger.getInstance().reset();
+    RelationIndex.getInstance().reset();
+    PermissionDecisionCache.reset();
+    PlayerAffiliationStorage.getInstance().reset();
+    BoundaryRenderer.reset();
   }
 }
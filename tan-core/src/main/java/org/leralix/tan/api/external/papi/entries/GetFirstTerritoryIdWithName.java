@@ -2,7 +2,6 @@ package org.leralix.tan.api.external.papi.entries;
 
 import org.jetbrains.annotations.NotNull;
 import org.leralix.tan.dataclass.ITanPlayer;
-import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
 
@@ -22,8 +21,8 @@ public class GetFirstTerritoryIdWithName extends PapiEntry {
 
     String name = extractValues(params)[0];
     if (name == null) return Lang.INVALID_NAME.get(tanPlayer);
-    TerritoryData territoryData = getTerritoryByName(name);
-    if (territoryData == null) return Lang.INVALID_TERRITORY.get(tanPlayer);
-    return territoryData.getID();
+    String territoryID = getTerritoryIdByName(name);
+    if (territoryID == null) return Lang.INVALID_TERRITORY.get(tanPlayer);
+    return territoryID;
   }
 }
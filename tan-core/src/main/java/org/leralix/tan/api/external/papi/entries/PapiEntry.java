@@ -5,9 +5,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
-import org.leralix.tan.dataclass.territory.RegionData;
 import org.leralix.tan.dataclass.territory.TerritoryData;
-import org.leralix.tan.dataclass.territory.TownData;
 import org.leralix.tan.storage.stored.RegionDataStorage;
 import org.leralix.tan.storage.stored.TownDataStorage;
 
@@ -42,16 +40,26 @@ public abstract class PapiEntry {
     return values.toArray(new String[0]);
   }
 
+  /**
+   * Get the ID of the town or, failing that, the region with a name, ignoring case. Uses the name
+   * index only, so it is cheap enough for placeholders refreshed every tick.
+   */
+  protected String getTerritoryIdByName(String name) {
+    String townID = TownDataStorage.getInstance().getIdByName(name);
+    if (townID != null) {
+      return townID;
+    }
+    return RegionDataStorage.getInstance().getIdByName(name);
+  }
+
   protected TerritoryData getTerritoryByName(String name) {
-    for (TownData townData : TownDataStorage.getInstance().getAllAsync().join().values()) {
-      if (townData.getName().equalsIgnoreCase(name)) {
-        return townData;
-      }
+    String townID = TownDataStorage.getInstance().getIdByName(name);
+    if (townID != null) {
+      return TownDataStorage.getInstance().get(townID).join();
     }
-    for (RegionData regionData : RegionDataStorage.getInstance().getAllAsync().join().values()) {
-      if (regionData.getName().equalsIgnoreCase(name)) {
-        return regionData;
-      }
+    String regionID = RegionDataStorage.getInstance().getIdByName(name);
+    if (regionID != null) {
+      return RegionDataStorage.getInstance().get(regionID).join();
     }
     return null;
   }
@@ -2,9 +2,11 @@ package org.leralix.tan.api.external.papi.entries;
 
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
-import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.PlayerAffiliation;
+import org.leralix.tan.dataclass.territory.RegionData;
+import org.leralix.tan.dataclass.territory.TownData;
 import org.leralix.tan.lang.Lang;
-import org.leralix.tan.storage.stored.PlayerDataStorage;
+import org.leralix.tan.storage.PlayerAffiliationStorage;
 
 public class PlayerBiggerOverlordName extends PapiEntry {
 
@@ -15,14 +17,17 @@ public class PlayerBiggerOverlordName extends PapiEntry {
   @Override
   public String getData(OfflinePlayer player, @NotNull String params) {
 
-    ITanPlayer tanPlayer = PlayerDataStorage.getInstance().getSync(player.getUniqueId());
+    PlayerAffiliation affiliation = PlayerAffiliationStorage.getInstance().getOrBuild(player);
 
-    if (tanPlayer == null) {
-      return PLAYER_NOT_FOUND;
+    if (affiliation == null) return PLAYER_NOT_FOUND;
+    if (affiliation.hasRegion()) {
+      RegionData region = affiliation.getRegion();
+      return region == null ? PLAYER_NOT_FOUND : region.getName();
     }
-
-    if (tanPlayer.hasRegion()) return tanPlayer.getRegionSync().getName();
-    if (tanPlayer.hasTown()) return tanPlayer.getTownSync().getName();
-    return Lang.NO_TOWN.get(tanPlayer);
+    if (affiliation.hasTown()) {
+      TownData town = affiliation.getTown();
+      return town == null ? PLAYER_NOT_FOUND : town.getName();
+    }
+    return Lang.NO_TOWN.get(affiliation.lang());
   }
 }
@@ -2,9 +2,10 @@ package org.leralix.tan.api.external.papi.entries;
 
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
-import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.PlayerAffiliation;
+import org.leralix.tan.dataclass.territory.RegionData;
 import org.leralix.tan.lang.Lang;
-import org.leralix.tan.storage.stored.PlayerDataStorage;
+import org.leralix.tan.storage.PlayerAffiliationStorage;
 
 public class PlayerRegionName extends PapiEntry {
 
@@ -15,14 +16,15 @@ public class PlayerRegionName extends PapiEntry {
   @Override
   public String getData(OfflinePlayer player, @NotNull String params) {
 
-    ITanPlayer tanPlayer = PlayerDataStorage.getInstance().getSync(player.getUniqueId());
+    PlayerAffiliation affiliation = PlayerAffiliationStorage.getInstance().getOrBuild(player);
 
-    if (tanPlayer == null) {
+    if (affiliation == null) {
       return PLAYER_NOT_FOUND;
     }
-
-    return tanPlayer.hasRegion()
-        ? tanPlayer.getRegionSync().getName()
-        : Lang.NO_REGION.get(tanPlayer);
+    if (!affiliation.hasRegion()) {
+      return Lang.NO_REGION.get(affiliation.lang());
+    }
+    RegionData region = affiliation.getRegion();
+    return region == null ? PLAYER_NOT_FOUND : region.getName();
   }
 }
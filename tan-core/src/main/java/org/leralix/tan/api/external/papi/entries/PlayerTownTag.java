@@ -2,9 +2,10 @@ package org.leralix.tan.api.external.papi.entries;
 
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
-import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.PlayerAffiliation;
+import org.leralix.tan.dataclass.territory.TownData;
 import org.leralix.tan.lang.Lang;
-import org.leralix.tan.storage.stored.PlayerDataStorage;
+import org.leralix.tan.storage.PlayerAffiliationStorage;
 
 public class PlayerTownTag extends PapiEntry {
 
@@ -15,12 +16,15 @@ public class PlayerTownTag extends PapiEntry {
   @Override
   public String getData(OfflinePlayer player, @NotNull String params) {
 
-    ITanPlayer tanPlayer = PlayerDataStorage.getInstance().getSync(player.getUniqueId());
+    PlayerAffiliation affiliation = PlayerAffiliationStorage.getInstance().getOrBuild(player);
 
-    if (tanPlayer == null) {
+    if (affiliation == null) {
       return PLAYER_NOT_FOUND;
     }
-
-    return tanPlayer.hasTown() ? tanPlayer.getTownSync().getTownTag() : Lang.NO_TOWN.get(tanPlayer);
+    if (!affiliation.hasTown()) {
+      return Lang.NO_TOWN.get(affiliation.lang());
+    }
+    TownData town = affiliation.getTown();
+    return town == null ? PLAYER_NOT_FOUND : town.getTownTag();
   }
 }
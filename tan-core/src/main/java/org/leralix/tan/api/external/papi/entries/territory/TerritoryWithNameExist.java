@@ -27,6 +27,6 @@ public class TerritoryWithNameExist extends PapiEntry {
     String name = values[0];
     if (name == null) return Lang.INVALID_VALUE.get(tanPlayer);
 
-    return getTerritoryByName(name) != null ? TRUE : FALSE;
+    return getTerritoryIdByName(name) != null ? TRUE : FALSE;
   }
 }
@@ -41,7 +41,11 @@ public class TerritoryManager implements TanTerritoryManager {
 
   @Override
   public Optional<TanTown> getTownByName(String s) {
-    return Optional.empty();
+    String townID = townDataStorageInstance.getIdByName(s);
+    if (townID == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(TownDataWrapper.of(townDataStorageInstance.get(townID).join()));
   }
 
   @Override
@@ -61,7 +65,12 @@ public class TerritoryManager implements TanTerritoryManager {
 
   @Override
   public Optional<TanRegion> getRegionByName(String s) {
-    return Optional.empty();
+    String regionID = regionDataStorageInstance.getIdByName(s);
+    if (regionID == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(
+        RegionDataWrapper.of(regionDataStorageInstance.get(regionID).join()));
   }
 
   @Override
@@ -3,6 +3,7 @@ package org.leralix.tan.dataclass;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
+import org.bukkit.entity.EntityType;
 import org.leralix.tan.dataclass.territory.permission.ChunkPermission;
 import org.leralix.tan.dataclass.territory.permission.RelationPermission;
 import org.leralix.tan.enums.MobChunkSpawnEnum;
@@ -14,6 +15,12 @@ public class ClaimedChunkSettings {
   private Map<String, UpgradeStatus> mobSpawnStorage;
   private Map<GeneralChunkSetting, Boolean> generalSettings;
 
+  /**
+   * Entity types that cannot spawn, one bit per {@link EntityType} ordinal. Compiled from {@link
+   * #mobSpawnStorage} on first use and dropped whenever a spawn control changes.
+   */
+  private transient volatile long[] deniedSpawns;
+
   public ClaimedChunkSettings() {
     this.newPermission = new EnumMap<>(ChunkPermissionType.class);
     this.mobSpawnStorage = new HashMap<>();
@@ -54,4 +61,55 @@ public class ClaimedChunkSettings {
     mobSpawnStorage.putIfAbsent(mobType, new UpgradeStatus(false, false));
     return mobSpawnStorage.get(mobType);
   }
+
+  /**
+   * Unlock the spawn control of a mob, letting the territory toggle its spawn.
+   *
+   * @param mobType The mob to unlock
+   */
+  public void unlockSpawnControl(MobChunkSpawnEnum mobType) {
+    getSpawnControl(mobType).setUnlocked(true);
+    deniedSpawns = null;
+  }
+
+  /**
+   * Allow or forbid a mob to spawn in the territory. Only applies once the control is unlocked.
+   *
+   * @param mobType The mob to update
+   * @param canSpawn true to let the mob spawn
+   */
+  public void setSpawnActivated(MobChunkSpawnEnum mobType, boolean canSpawn) {
+    getSpawnControl(mobType).setActivated(canSpawn);
+    deniedSpawns = null;
+  }
+
+  /**
+   * Check if an entity can spawn in the territory. Called on every spawn in a claimed chunk, so it
+   * is a single bit test once the rules are compiled.
+   *
+   * @param entityType The type of the spawning entity
+   * @return true if the entity can spawn
+   */
+  public boolean canSpawn(EntityType entityType) {
+    long[] denied = deniedSpawns;
+    if (denied == null) {
+      denied = compileDeniedSpawns();
+      deniedSpawns = denied;
+    }
+    int ordinal = entityType.ordinal();
+    return (denied[ordinal >>> 6] & (1L << ordinal)) == 0;
+  }
+
+  private long[] compileDeniedSpawns() {
+    EntityType[] entityTypes = EntityType.values();
+    long[] denied = new long[(entityTypes.length + 63) >>> 6];
+    for (EntityType entityType : entityTypes) {
+      UpgradeStatus status = mobSpawnStorage.get(entityType.name());
+      if (status != null && !status.canSpawn()) {
+        int ordinal = entityType.ordinal();
+        denied[ordinal >>> 6] |= 1L << ordinal;
+      }
+    }
+    return denied;
+  }
 }
@@ -194,8 +194,8 @@ public class Landmark {
   public void setReward(ItemStack itemOnCursor) {
     this.amount = itemOnCursor.getAmount();
     this.materialName = itemOnCursor.getType().name();
-    // Save this landmark to database (DatabaseStorage auto-saves on put)
-    LandmarkStorage.getInstance().putAsync(this.ID, this).join();
+    // Queued and written by the next flush, no need to wait for it
+    LandmarkStorage.getInstance().putAsync(this.ID, this);
   }
 
   public Location getLocation() {
@@ -0,0 +1,68 @@
+package org.leralix.tan.dataclass;
+
+import org.leralix.tan.dataclass.territory.RegionData;
+import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.enums.TownRelation;
+import org.leralix.tan.lang.LangType;
+import org.leralix.tan.storage.stored.RegionDataStorage;
+import org.leralix.tan.storage.stored.TownDataStorage;
+
+/**
+ * Immutable view of what an online player belongs to, kept by {@link
+ * org.leralix.tan.storage.PlayerAffiliationStorage} and replaced as a whole when it changes.
+ *
+ * @param townID ID of the player's town, null if they have none
+ * @param regionID ID of the region of the player's town, null if there is none
+ * @param townRankID Rank of the player in their town
+ * @param regionRankID Rank of the player in their region
+ * @param lang Language of the player
+ * @param atWar True if the player takes part in a current attack
+ */
+public record PlayerAffiliation(
+    String townID,
+    String regionID,
+    Integer townRankID,
+    Integer regionRankID,
+    LangType lang,
+    boolean atWar) {
+
+  public boolean hasTown() {
+    return townID != null;
+  }
+
+  public boolean hasRegion() {
+    return regionID != null;
+  }
+
+  /**
+   * Get the relation between the towns of two players, as {@link
+   * ITanPlayer#getRelationWithPlayerSync} does.
+   *
+   * @param other The affiliation of the other player
+   * @return The relation, {@link TownRelation#NEUTRAL} if one of them has no town
+   */
+  public TownRelation getRelationWith(PlayerAffiliation other) {
+    if (!hasTown() || !other.hasTown()) {
+      return TownRelation.NEUTRAL;
+    }
+    TownData town = getTown();
+    if (town == null) {
+      return TownRelation.NEUTRAL;
+    }
+    return town.getRelationWith(other.townID());
+  }
+
+  /**
+   * @return The town of the player if it is in memory, null otherwise
+   */
+  public TownData getTown() {
+    return townID == null ? null : TownDataStorage.getInstance().getSync(townID);
+  }
+
+  /**
+   * @return The region of the player if it is in memory, null otherwise
+   */
+  public RegionData getRegion() {
+    return regionID == null ? null : RegionDataStorage.getInstance().getSync(regionID);
+  }
+}
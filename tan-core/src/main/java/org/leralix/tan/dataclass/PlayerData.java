@@ -16,8 +16,11 @@ import org.leralix.tan.dataclass.territory.TownData;
 import org.leralix.tan.enums.TownRelation;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.lang.LangType;
+import org.leralix.tan.service.PermissionDecisionCache;
 import org.leralix.tan.storage.CurrentAttacksStorage;
+import org.leralix.tan.storage.PlayerAffiliationStorage;
 import org.leralix.tan.storage.invitation.TownInviteDataStorage;
+import org.leralix.tan.storage.stored.BalanceLedger;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
 import org.leralix.tan.storage.stored.TownDataStorage;
 import org.leralix.tan.timezone.TimeZoneEnum;
@@ -77,11 +80,15 @@ public class PlayerData implements ITanPlayer {
   }
 
   public double getBalance() {
-    return this.Balance;
+    return BalanceLedger.getInstance().getBalance(uuid, getStoredBalance());
   }
 
   public void setBalance(double balance) {
-    this.Balance = balance;
+    addToBalance(balance - getBalance());
+  }
+
+  private double getStoredBalance() {
+    return this.Balance == null ? 0 : this.Balance;
   }
 
   public String getTownId() {
@@ -128,11 +135,14 @@ public class PlayerData implements ITanPlayer {
   }
 
   public void addToBalance(double amount) {
-    this.Balance = this.Balance + amount;
+    // The ledger persists the change; the JSON copy only follows for the next structural write
+    this.Balance =
+        BalanceLedger.getInstance()
+            .add(uuid, BalanceLedger.OwnerType.PLAYER, getStoredBalance(), amount);
   }
 
   public void removeFromBalance(double amount) {
-    this.Balance = this.Balance - amount;
+    addToBalance(-amount);
   }
 
   public boolean hasRegion() {
@@ -176,10 +186,12 @@ public class PlayerData implements ITanPlayer {
   public void leaveTown() {
     this.TownId = null;
     this.townRankID = null;
+    PlayerAffiliationStorage.getInstance().refresh(this);
   }
 
   public void setTownRankID(int townRankID) {
     this.townRankID = townRankID;
+    PlayerAffiliationStorage.getInstance().refresh(this);
   }
 
   public Integer getTownRankID() {
@@ -250,6 +262,8 @@ public class PlayerData implements ITanPlayer {
       return;
     }
     getAttackInvolvedIn().add(currentAttacks.getAttackData().getID());
+    PermissionDecisionCache.getInstance().forget(getUUID());
+    PlayerAffiliationStorage.getInstance().refresh(this);
   }
 
   public void updateCurrentAttack() {
@@ -275,7 +289,7 @@ public class PlayerData implements ITanPlayer {
         getAttackInvolvedIn().remove(attackID);
         continue;
       }
-      if (currentAttack.getAttackData().getDefendingTerritories().contains(territoryData)) {
+      if (currentAttack.getAttackData().isDefending(territoryData.getID())) {
         return true;
       }
     }
@@ -284,6 +298,8 @@ public class PlayerData implements ITanPlayer {
 
   public void removeWar(@NotNull CurrentAttack currentAttacks) {
     getAttackInvolvedIn().remove(currentAttacks.getAttackData().getID());
+    PermissionDecisionCache.getInstance().forget(getUUID());
+    PlayerAffiliationStorage.getInstance().refresh(this);
   }
 
   @Override
@@ -332,6 +348,7 @@ public class PlayerData implements ITanPlayer {
 
   public void setRegionRankID(Integer rankID) {
     this.regionRankID = rankID;
+    PlayerAffiliationStorage.getInstance().refresh(this);
   }
 
   public Integer getRankID(TerritoryData territoryData) {
@@ -380,6 +397,7 @@ public class PlayerData implements ITanPlayer {
 
   public void setLang(LangType lang) {
     this.lang = lang;
+    PlayerAffiliationStorage.getInstance().refresh(this);
   }
 
   public void clearAllTownApplications() {
@@ -3,10 +3,13 @@ package org.leralix.tan.dataclass;
 import java.util.concurrent.CompletableFuture;
 
 import dev.triumphteam.gui.guis.GuiItem;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import org.bukkit.*;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
@@ -21,7 +24,6 @@ import org.bukkit.metadata.FixedMetadataValue;
 import org.leralix.lib.data.SoundEnum;
 import org.leralix.lib.position.Vector3D;
 import org.leralix.lib.utils.SoundUtil;
-import org.leralix.lib.utils.particles.ParticleUtils;
 import org.leralix.tan.TownsAndNations;
 import org.leralix.tan.building.Building;
 import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
@@ -36,6 +38,7 @@ import org.leralix.tan.dataclass.territory.cosmetic.ICustomIcon;
 import org.leralix.tan.dataclass.territory.permission.RelationPermission;
 import org.leralix.tan.economy.EconomyUtil;
 import org.leralix.tan.enums.permissions.ChunkPermissionType;
+import org.leralix.tan.enums.permissions.PermissionDecision;
 import org.leralix.tan.gui.BasicGui;
 import org.leralix.tan.gui.cosmetic.IconManager;
 import org.leralix.tan.gui.user.property.PlayerPropertyManager;
@@ -46,12 +49,24 @@ import org.leralix.tan.listeners.interact.events.property.CreatePropertyEvent;
 import org.leralix.tan.storage.PermissionManager;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
 import org.leralix.tan.storage.stored.TownDataStorage;
+import org.leralix.tan.utils.FoliaScheduler;
 import org.leralix.tan.utils.constants.Constants;
 import org.leralix.tan.utils.gameplay.TANCustomNBT;
+import org.leralix.tan.utils.graphic.BoundaryRenderer;
 import org.leralix.tan.utils.text.NumberUtil;
 import org.leralix.tan.utils.text.TanChatUtils;
 
 public class PropertyData extends Building {
+
+  /** How long the property box stays visible, in ticks. */
+  private static final long BOX_DURATION_TICKS = 10 * 20L;
+
+  /** How often the property box is submitted again while visible, in ticks. */
+  private static final long BOX_REFRESH_TICKS = 10;
+
+  /** Next refresh of the property box shown to each player, so a new box replaces the last one. */
+  private static final Map<UUID, ScheduledTask> BOX_REFRESHES = new ConcurrentHashMap<>();
+
   private final String ID;
 
   /**
@@ -152,19 +167,19 @@ public class PropertyData extends Building {
   public void setName(String name) {
     this.name = name;
 
-    org.leralix.tan.utils.FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
+    FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
   }
 
   public void setDescription(String description) {
     this.description = description;
-    org.leralix.tan.utils.FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
+    FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
   }
 
   public void allocateRenter(Player renter) {
     rentingPlayerID = renter.getUniqueId().toString();
     this.isForRent = false;
     if (Constants.shouldPayRentAtStart()) payRent();
-    org.leralix.tan.utils.FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
+    FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
     getPermissionManager().setAll(RelationPermission.SELECTED_ONLY);
   }
 
@@ -338,23 +353,64 @@ public class PropertyData extends Building {
   public void swapIsForSale() {
     this.isForSale = !this.isForSale;
     if (this.isForSale) this.isForRent = false;
-    org.leralix.tan.utils.FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
+    FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
   }
 
   public void swapIsRent() {
     this.isForRent = !this.isForRent;
     if (this.isForRent) this.isForSale = false;
-    org.leralix.tan.utils.FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
+    FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
   }
 
   public void showBox(Player player) {
-    ParticleUtils.drawBox(
-        TownsAndNations.getPlugin(),
-        player,
-        this.getFirstCorner(),
-        this.getSecondCorner(),
-        10,
-        Constants.getPropertyBoundaryParticles());
+    Vector3D p1 = getFirstCorner();
+    Vector3D p2 = getSecondCorner();
+    BoundaryRenderer.Segments segments = new BoundaryRenderer.Segments();
+    // Corners are block positions, the box goes around the whole blocks
+    segments.addBox(
+        Math.min(p1.getX(), p2.getX()),
+        Math.min(p1.getY(), p2.getY()),
+        Math.min(p1.getZ(), p2.getZ()),
+        Math.max(p1.getX(), p2.getX()) + 1,
+        Math.max(p1.getY(), p2.getY()) + 1,
+        Math.max(p1.getZ(), p2.getZ()) + 1);
+    ScheduledTask previousRefresh = BOX_REFRESHES.remove(player.getUniqueId());
+    if (previousRefresh != null) {
+      previousRefresh.cancel();
+    }
+    submitBox(player, segments, BOX_DURATION_TICKS / BOX_REFRESH_TICKS);
+  }
+
+  private static void submitBox(
+      Player player, BoundaryRenderer.Segments segments, long remainingSubmits) {
+    UUID playerID = player.getUniqueId();
+    if (!player.isOnline()) {
+      BOX_REFRESHES.remove(playerID);
+      return;
+    }
+    BoundaryRenderer.getInstance()
+        .submit(
+            player,
+            BoundaryRenderer.Source.PROPERTY_BOX,
+            Constants.getPropertyBoundaryParticles(),
+            segments);
+    if (remainingSubmits <= 1) {
+      BOX_REFRESHES.remove(playerID);
+      return;
+    }
+    ScheduledTask refresh =
+        FoliaScheduler.runEntityTaskLater(
+            TownsAndNations.getPlugin(),
+            player,
+            () -> submitBox(player, segments, remainingSubmits - 1),
+            BOX_REFRESH_TICKS);
+    if (refresh != null) {
+      // Usually the running refresh, but stops a chain that raced with a new box
+      ScheduledTask replaced = BOX_REFRESHES.put(playerID, refresh);
+      if (replaced != null) {
+        replaced.cancel();
+      }
+    }
   }
 
   public void updateSign() {
@@ -424,12 +480,12 @@ public class PropertyData extends Building {
 
   public void setRentPrice(double i) {
     this.rentPrice = i;
-    org.leralix.tan.utils.FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
+    FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
   }
 
   public void setSalePrice(double i) {
     this.salePrice = i;
-    org.leralix.tan.utils.FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
+    FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
   }
 
   public Optional<Block> getSign() {
@@ -551,17 +607,25 @@ public class PropertyData extends Building {
     this.owner = new PlayerOwned(buyer.getUniqueId().toString());
 
     this.isForSale = false;
-    org.leralix.tan.utils.FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
+    FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
     getPermissionManager().setAll(RelationPermission.SELECTED_ONLY);
   }
 
-  public boolean isPlayerAllowed(ChunkPermissionType action, ITanPlayer tanPlayer) {
-
-    if (getPermissionManager().canPlayerDo(getTown(), action, tanPlayer)) {
-      return true;
+  /**
+   * Check if a player can do an action in this property, from the data already in memory only.
+   *
+   * @return {@link PermissionDecision#UNKNOWN} if the data needed is not loaded yet
+   */
+  public PermissionDecision evaluate(ChunkPermissionType action, ITanPlayer tanPlayer) {
+    PermissionDecision decision = getPermissionManager().evaluate(getTown(), action, tanPlayer);
+    if (decision == PermissionDecision.ALLOW) {
+      return decision;
+    }
+    if (isRented()) {
+      return tanPlayer.getID().equals(rentingPlayerID) ? PermissionDecision.ALLOW : decision;
     }
-    if (isRented()) return tanPlayer.getID().equals(rentingPlayerID);
-    return getOwner().canAccess(tanPlayer);
+    PermissionDecision access = getOwner().evaluateAccess(tanPlayer);
+    return access == PermissionDecision.DENY ? decision : access;
   }
 
   public String getDenyMessage(LangType langType) {
@@ -588,7 +652,7 @@ public class PropertyData extends Building {
           return null;
         });
     
-    org.leralix.tan.utils.FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
+    FoliaScheduler.runTask(TownsAndNations.getPlugin(), this::updateSign);
     getPermissionManager().setAll(RelationPermission.SELECTED_ONLY);
   }
 
@@ -5,6 +5,8 @@ import org.leralix.lib.data.SoundEnum;
 import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.enums.TownRelation;
 import org.leralix.tan.lang.Lang;
+import org.leralix.tan.service.PermissionDecisionCache;
+import org.leralix.tan.storage.index.RelationIndex;
 import org.leralix.tan.utils.gameplay.TerritoryUtil;
 
 public class RelationData {
@@ -73,6 +75,9 @@ public class RelationData {
         if (otherTerritoryData == null) continue;
 
         otherTerritoryData.getRelations().removeAllRelationWith(territoryData.getID());
+        RelationIndex.getInstance().invalidate(otherTerritoryData.getID());
+        PermissionDecisionCache.getInstance()
+            .invalidate(otherTerritoryData.getID(), PermissionDecisionCache.Category.RELATION);
         otherTerritoryData.broadcastMessageWithSound(
             Lang.WARNING_OTHER_TOWN_HAS_BEEN_DELETED.get(
                 territoryData.getBaseColoredName(), relation.getColoredName(Lang.getServerLang())),
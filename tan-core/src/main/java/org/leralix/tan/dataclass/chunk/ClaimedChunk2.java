@@ -11,6 +11,7 @@ import org.leralix.lib.position.Vector3D;
 import org.leralix.tan.api.external.worldguard.WorldGuardManager;
 import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.enums.permissions.ChunkPermissionType;
+import org.leralix.tan.enums.permissions.PermissionDecision;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.lang.LangType;
 import org.leralix.tan.utils.constants.Constants;
@@ -66,23 +67,43 @@ public abstract class ClaimedChunk2 {
   }
 
   public boolean canPlayerDo(Player player, ChunkPermissionType permissionType, Location location) {
+    if (isDeniedByWorldGuard(player, permissionType, location)) {
+      return false;
+    }
+    return canPlayerDoInternal(player, permissionType, location);
+  }
+
+  /**
+   * Same as {@link #canPlayerDo}, answering {@link PermissionDecision#UNKNOWN} instead of waiting
+   * for data not loaded yet.
+   */
+  public PermissionDecision evaluate(
+      Player player, ChunkPermissionType permissionType, Location location) {
+    if (isDeniedByWorldGuard(player, permissionType, location)) {
+      return PermissionDecision.DENY;
+    }
+    return evaluateInternal(player, permissionType, location);
+  }
 
+  private boolean isDeniedByWorldGuard(
+      Player player, ChunkPermissionType permissionType, Location location) {
     // If worldguard is enabled and a chunk type is ok, add a worldguard check to the default tan's
     // check.
     var worldGuardManager = WorldGuardManager.getInstance();
-    if (worldGuardManager.isEnabled()
+    return worldGuardManager.isEnabled()
         && Constants.isWorldGuardEnabledFor(getType())
-        && worldGuardManager.isHandledByWorldGuard(location)) {
-      return worldGuardManager.isActionAllowed(player, location, permissionType)
-          && canPlayerDoInternal(player, permissionType, location);
-    }
-
-    return canPlayerDoInternal(player, permissionType, location);
+        && worldGuardManager.isHandledByWorldGuard(location)
+        && !worldGuardManager.isActionAllowed(player, location, permissionType);
   }
 
   protected abstract boolean canPlayerDoInternal(
       Player player, ChunkPermissionType permissionType, Location location);
 
+  protected PermissionDecision evaluateInternal(
+      Player player, ChunkPermissionType permissionType, Location location) {
+    return PermissionDecision.of(canPlayerDoInternal(player, permissionType, location));
+  }
+
   void playerCantPerformAction(Player player) {
     TanChatUtils.message(player, Lang.PLAYER_ACTION_NO_PERMISSION.get(player));
     TanChatUtils.message(player, Lang.CHUNK_BELONGS_TO.get(player, getOwner().getName()));
@@ -11,18 +11,18 @@ import org.bukkit.Location;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.NoPlayerData;
 import org.leralix.tan.dataclass.territory.RegionData;
 import org.leralix.tan.dataclass.territory.TerritoryData;
-import org.leralix.tan.dataclass.territory.permission.ChunkPermission;
 import org.leralix.tan.enums.RolePermission;
 import org.leralix.tan.enums.permissions.ChunkPermissionType;
+import org.leralix.tan.enums.permissions.PermissionDecision;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
 import org.leralix.tan.storage.stored.RegionDataStorage;
 import org.leralix.tan.upgrade.rewards.numeric.ChunkCap;
 import org.leralix.tan.utils.text.TanChatUtils;
-import org.leralix.tan.wars.legacy.CurrentAttack;
 
 public class RegionClaimedChunk extends TerritoryChunk {
 
@@ -39,10 +39,11 @@ public class RegionClaimedChunk extends TerritoryChunk {
   }
 
   @Override
-  protected boolean canPlayerDoInternal(
+  protected PermissionDecision evaluateInternal(
       Player player, ChunkPermissionType permissionType, Location location) {
     ITanPlayer tanPlayer = PlayerDataStorage.getInstance().getSync(player);
-    return canPlayerDoInternal(tanPlayer, permissionType, location);
+    if (tanPlayer instanceof NoPlayerData) return PermissionDecision.UNKNOWN;
+    return evaluateInternal(tanPlayer, permissionType, location);
   }
 
   /**
@@ -51,26 +52,21 @@ public class RegionClaimedChunk extends TerritoryChunk {
    * @param tanPlayer Pre-loaded player data
    * @param permissionType Type of permission to check
    * @param location Block location
-   * @return true if player is allowed, false otherwise
+   * @return {@link PermissionDecision#UNKNOWN} if the data needed is not loaded yet
    */
-  protected boolean canPlayerDoInternal(
+  protected PermissionDecision evaluateInternal(
       ITanPlayer tanPlayer, ChunkPermissionType permissionType, Location location) {
     Player player = tanPlayer.getPlayer();
-    if (player == null) return false;
+    if (player == null) return PermissionDecision.DENY;
 
     RegionData ownerRegion = getRegion();
+    if (ownerRegion == null) return PermissionDecision.UNKNOWN;
 
-    // Player is at war with the region
-    for (CurrentAttack currentAttacks : ownerRegion.getCurrentAttacks()) {
-      if (currentAttacks.containsPlayer(tanPlayer)) return true;
-    }
-
-    // Player have the right to do the action
-    ChunkPermission chunkPermission = ownerRegion.getPermission(permissionType);
-    if (chunkPermission.isAllowed(ownerRegion, tanPlayer)) return true;
-
-    playerCantPerformAction(player);
-    return false;
+    // Player is at war with the region or has the right to do the action
+    PermissionDecision decision =
+        isAllowedByTerritory(ownerRegion, tanPlayer, player, permissionType);
+    if (decision == PermissionDecision.DENY) playerCantPerformAction(player);
+    return decision;
   }
 
   public RegionData getRegion() {
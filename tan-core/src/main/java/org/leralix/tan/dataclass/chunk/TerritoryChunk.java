@@ -3,12 +3,19 @@ package org.leralix.tan.dataclass.chunk;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.HoverEvent;
 import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.leralix.tan.dataclass.ITanPlayer;
 import org.leralix.tan.dataclass.territory.TerritoryData;
+import org.leralix.tan.enums.permissions.ChunkPermissionType;
 import org.leralix.tan.enums.permissions.GeneralChunkSetting;
+import org.leralix.tan.enums.permissions.PermissionDecision;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.lang.LangType;
+import org.leralix.tan.service.PermissionDecisionCache;
 import org.leralix.tan.utils.constants.Constants;
 import org.leralix.tan.utils.gameplay.TerritoryUtil;
+import org.leralix.tan.wars.legacy.CurrentAttack;
 
 public abstract class TerritoryChunk extends ClaimedChunk2 {
 
@@ -94,6 +101,64 @@ public abstract class TerritoryChunk extends ClaimedChunk2 {
         .canGrief(getOwner(), GeneralChunkSetting.MOB_GRIEF);
   }
 
+  @Override
+  protected boolean canPlayerDoInternal(
+      Player player, ChunkPermissionType permissionType, Location location) {
+    PermissionDecision decision = evaluateInternal(player, permissionType, location);
+    if (decision == PermissionDecision.UNKNOWN) {
+      return Constants.allowUnknownPermission();
+    }
+    return decision == PermissionDecision.ALLOW;
+  }
+
+  @Override
+  protected abstract PermissionDecision evaluateInternal(
+      Player player, ChunkPermissionType permissionType, Location location);
+
+  /**
+   * Check if the owner territory lets a player do an action, because the player attacks it or
+   * because of its chunk permission. The decision is cached per player until a permission,
+   * membership, relation or attack changes. A decision that needs data not loaded yet is not
+   * cached.
+   *
+   * @param territory The owner territory
+   * @param tanPlayer The player data
+   * @param player The online player
+   * @param permissionType Type of permission to check
+   * @return {@link PermissionDecision#UNKNOWN} if the town of the player is not loaded yet
+   */
+  protected PermissionDecision isAllowedByTerritory(
+      TerritoryData territory,
+      ITanPlayer tanPlayer,
+      Player player,
+      ChunkPermissionType permissionType) {
+    PermissionDecisionCache decisionCache = PermissionDecisionCache.getInstance();
+    byte cached = decisionCache.get(player.getUniqueId(), territory.getID(), permissionType);
+    if (cached != PermissionDecisionCache.UNKNOWN) {
+      return PermissionDecision.of(cached == PermissionDecisionCache.ALLOW);
+    }
+    long epoch = decisionCache.getEpoch(territory.getID());
+    PermissionDecision decision = computeAllowedByTerritory(territory, tanPlayer, permissionType);
+    if (decision != PermissionDecision.UNKNOWN) {
+      decisionCache.put(
+          player.getUniqueId(),
+          territory.getID(),
+          permissionType,
+          decision == PermissionDecision.ALLOW,
+          epoch);
+    }
+    return decision;
+  }
+
+  private static PermissionDecision computeAllowedByTerritory(
+      TerritoryData territory, ITanPlayer tanPlayer, ChunkPermissionType permissionType) {
+    // Player is at war with the territory
+    for (CurrentAttack currentAttacks : territory.getCurrentAttacks()) {
+      if (currentAttacks.containsPlayer(tanPlayer)) return PermissionDecision.ALLOW;
+    }
+    return territory.getPermission(permissionType).evaluate(territory, tanPlayer);
+  }
+
   public TerritoryData getOccupier() {
     return TerritoryUtil.getTerritory(getOccupierID());
   }
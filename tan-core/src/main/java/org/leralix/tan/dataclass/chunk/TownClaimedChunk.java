@@ -12,13 +12,14 @@ import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.leralix.lib.data.SoundEnum;
 import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.NoPlayerData;
 import org.leralix.tan.dataclass.PropertyData;
 import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.dataclass.territory.TownData;
-import org.leralix.tan.dataclass.territory.permission.ChunkPermission;
 import org.leralix.tan.enums.RolePermission;
 import org.leralix.tan.enums.TownRelation;
 import org.leralix.tan.enums.permissions.ChunkPermissionType;
+import org.leralix.tan.enums.permissions.PermissionDecision;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.lang.LangType;
 import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
@@ -28,7 +29,6 @@ import org.leralix.tan.upgrade.rewards.numeric.ChunkCap;
 import org.leralix.tan.utils.constants.Constants;
 import org.leralix.tan.utils.territory.ChunkUtil;
 import org.leralix.tan.utils.text.TanChatUtils;
-import org.leralix.tan.wars.legacy.CurrentAttack;
 
 public class TownClaimedChunk extends TerritoryChunk {
   public TownClaimedChunk(Chunk chunk, String owner) {
@@ -48,10 +48,11 @@ public class TownClaimedChunk extends TerritoryChunk {
   }
 
   @Override
-  protected boolean canPlayerDoInternal(
+  protected PermissionDecision evaluateInternal(
       Player player, ChunkPermissionType permissionType, Location location) {
     ITanPlayer tanPlayer = PlayerDataStorage.getInstance().getSync(player);
-    return canPlayerDoInternal(tanPlayer, permissionType, location);
+    if (tanPlayer instanceof NoPlayerData) return PermissionDecision.UNKNOWN;
+    return evaluateInternal(tanPlayer, permissionType, location);
   }
 
   /**
@@ -60,35 +61,30 @@ public class TownClaimedChunk extends TerritoryChunk {
    * @param tanPlayer Pre-loaded player data (avoids blocking getSync call)
    * @param permissionType Type of permission to check (BUILD, INTERACT, etc.)
    * @param location Block location for property checks
-   * @return true if player is allowed, false otherwise
+   * @return {@link PermissionDecision#UNKNOWN} if the data needed is not loaded yet
    */
-  protected boolean canPlayerDoInternal(
+  protected PermissionDecision evaluateInternal(
       ITanPlayer tanPlayer, ChunkPermissionType permissionType, Location location) {
     Player player = tanPlayer.getPlayer();
-    if (player == null) return false;
+    if (player == null) return PermissionDecision.DENY;
 
-    // Location is in a property and players owns or rent it
     TownData ownerTown = getTown();
+    if (ownerTown == null) return PermissionDecision.UNKNOWN;
+
+    // Location is in a property and players owns or rent it
     PropertyData property = ownerTown.getProperty(location);
     if (property != null) {
-      if (property.isPlayerAllowed(permissionType, tanPlayer)) {
-        return true;
-      } else {
+      PermissionDecision decision = property.evaluate(permissionType, tanPlayer);
+      if (decision == PermissionDecision.DENY) {
         TanChatUtils.message(player, property.getDenyMessage(tanPlayer.getLang()));
-        return false;
       }
+      return decision;
     }
 
-    // Player is at war with the town
-    for (CurrentAttack currentAttacks : ownerTown.getCurrentAttacks()) {
-      if (currentAttacks.containsPlayer(tanPlayer)) return true;
-    }
-
-    ChunkPermission chunkPermission = ownerTown.getPermission(permissionType);
-    if (chunkPermission.isAllowed(ownerTown, tanPlayer)) return true;
-
-    playerCantPerformAction(player);
-    return false;
+    PermissionDecision decision =
+        isAllowedByTerritory(ownerTown, tanPlayer, player, permissionType);
+    if (decision == PermissionDecision.DENY) playerCantPerformAction(player);
+    return decision;
   }
 
   public void unclaimChunk(Player player) {
@@ -205,7 +201,7 @@ public class TownClaimedChunk extends TerritoryChunk {
 
   @Override
   public boolean canEntitySpawn(EntityType entityType) {
-    return getTown().getChunkSettings().getSpawnControl(entityType.toString()).canSpawn();
+    return getTown().getChunkSettings().canSpawn(entityType);
   }
 
   @Override
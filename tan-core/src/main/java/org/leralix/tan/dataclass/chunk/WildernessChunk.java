@@ -18,12 +18,15 @@ import org.leralix.tan.utils.text.TanChatUtils;
 
 public class WildernessChunk extends ClaimedChunk2 {
 
+  /** Owner ID of every wilderness chunk. */
+  public static final String WILDERNESS_ID = "wilderness";
+
   public WildernessChunk(int x, int z, String worldUUID) {
-    super(x, z, worldUUID, "wilderness");
+    super(x, z, worldUUID, WILDERNESS_ID);
   }
 
   public WildernessChunk(Chunk chunk) {
-    super(chunk, "wilderness");
+    super(chunk, WILDERNESS_ID);
   }
 
   @Override
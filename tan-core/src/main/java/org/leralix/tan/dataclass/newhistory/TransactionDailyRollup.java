@@ -0,0 +1,17 @@
+package org.leralix.tan.dataclass.newhistory;
+
+import java.time.LocalDate;
+
+/**
+ * Aggregate of the transactions of one territory and type on one day, maintained as transactions
+ * are recorded.
+ *
+ * @param day The day, in the server time zone
+ * @param type The transaction type
+ * @param total The sum of the amounts
+ * @param count The number of transactions
+ * @param min The smallest amount
+ * @param max The largest amount
+ */
+public record TransactionDailyRollup(
+    LocalDate day, TransactionHistoryEnum type, double total, int count, double min, double max) {}
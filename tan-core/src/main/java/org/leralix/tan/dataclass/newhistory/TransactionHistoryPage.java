@@ -0,0 +1,24 @@
+package org.leralix.tan.dataclass.newhistory;
+
+import java.util.List;
+
+/**
+ * One page of a territory's transaction history, newest day first.
+ *
+ * @param days The transactions of each day on the page, oldest transaction first within a day
+ * @param dayTotals The rollup of each day, in the same order as {@code days}
+ * @param next Where the following page starts, or null if this is the last page
+ */
+public record TransactionHistoryPage(
+    List<List<TransactionHistory>> days, List<TransactionDailyRollup> dayTotals, Cursor next) {
+
+  public boolean hasNext() {
+    return next != null;
+  }
+
+  /**
+   * Position of the last transaction read, in (timestamp, id) order. The next page starts right
+   * after it, so rows added meanwhile never shift pages like an offset would.
+   */
+  public record Cursor(long createdAt, long id) {}
+}
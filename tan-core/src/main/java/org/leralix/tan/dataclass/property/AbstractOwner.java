@@ -1,6 +1,7 @@
 package org.leralix.tan.dataclass.property;
 
 import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.enums.permissions.PermissionDecision;
 
 public abstract class AbstractOwner {
 
@@ -15,5 +16,10 @@ public abstract class AbstractOwner {
 
   public abstract boolean canAccess(ITanPlayer tanPlayer);
 
+  /** Same as {@link #canAccess}, from the data already in memory only. */
+  public PermissionDecision evaluateAccess(ITanPlayer tanPlayer) {
+    return PermissionDecision.of(canAccess(tanPlayer));
+  }
+
   public abstract void addToBalance(double amount);
 }
@@ -3,6 +3,7 @@ package org.leralix.tan.dataclass.property;
 import org.leralix.tan.dataclass.ITanPlayer;
 import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.enums.RolePermission;
+import org.leralix.tan.enums.permissions.PermissionDecision;
 import org.leralix.tan.utils.gameplay.TerritoryUtil;
 
 public class TerritoryOwned extends AbstractOwner {
@@ -32,6 +33,17 @@ public class TerritoryOwned extends AbstractOwner {
     return territoryData.doesPlayerHavePermission(tanPlayer, RolePermission.MANAGE_PROPERTY);
   }
 
+  @Override
+  public PermissionDecision evaluateAccess(ITanPlayer tanPlayer) {
+    TerritoryData territoryData = TerritoryUtil.getTerritory(territoryID);
+    if (territoryData == null) {
+      return PermissionDecision.UNKNOWN;
+    }
+    return PermissionDecision.of(
+        territoryData.isPlayerIn(tanPlayer)
+            && territoryData.doesPlayerHavePermission(tanPlayer, RolePermission.MANAGE_PROPERTY));
+  }
+
   @Override
   public void addToBalance(double amount) {
     TerritoryData territoryData = TerritoryUtil.getTerritoryAsync(territoryID).join();
@@ -25,6 +25,7 @@ import org.leralix.tan.gui.user.territory.RegionMenu;
 import org.leralix.tan.lang.FilledLang;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.lang.LangType;
+import org.leralix.tan.storage.index.RelationIndex;
 import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
 import org.leralix.tan.storage.stored.RegionDataStorage;
@@ -62,6 +63,13 @@ public class RegionData extends TerritoryData {
     return 1;
   }
 
+  @Override
+  public void rename(String newName) {
+    super.rename(newName);
+    // Also moves the region to its new name in the name index
+    RegionDataStorage.getInstance().put(getID(), this);
+  }
+
   @Override
   public String getBaseColoredName() {
     return "§b" + getName();
@@ -183,6 +191,7 @@ public class RegionData extends TerritoryData {
   @Override
   protected void addVassalPrivate(TerritoryData vassal) {
     townsInRegion.add(vassal.getID());
+    RelationIndex.getInstance().invalidate(getID());
   }
 
   public void setCapital(String townID) {
@@ -219,6 +228,8 @@ public class RegionData extends TerritoryData {
     EventManager.getInstance().callEvent(new TerritoryIndependanceInternalEvent(this, vassal));
 
     townsInRegion.remove(vassal.getID());
+    RelationIndex.getInstance().invalidate(getID());
+    RelationIndex.getInstance().invalidate(vassal.getID());
 
     TownData town = (TownData) vassal;
 
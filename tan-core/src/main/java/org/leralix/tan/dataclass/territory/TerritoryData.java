@@ -46,8 +46,12 @@ import org.leralix.tan.events.events.TerritoryVassalProposalInternalEvent;
 import org.leralix.tan.lang.FilledLang;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.lang.LangType;
+import org.leralix.tan.service.PermissionDecisionCache;
 import org.leralix.tan.storage.ClaimBlacklistStorage;
 import org.leralix.tan.storage.CurrentAttacksStorage;
+import org.leralix.tan.storage.PlayerAffiliationStorage;
+import org.leralix.tan.storage.index.RelationIndex;
+import org.leralix.tan.storage.stored.BalanceLedger;
 import org.leralix.tan.storage.stored.FortStorage;
 import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
 import org.leralix.tan.storage.stored.PlannedAttackStorage;
@@ -67,6 +71,7 @@ import org.leralix.tan.utils.graphic.TeamUtils;
 import org.leralix.tan.utils.territory.ChunkUtil;
 import org.leralix.tan.utils.text.StringUtil;
 import org.leralix.tan.utils.text.TanChatUtils;
+import org.leralix.tan.wars.AttackRoster;
 import org.leralix.tan.wars.PlannedAttack;
 import org.leralix.tan.wars.fort.Fort;
 import org.leralix.tan.wars.legacy.CurrentAttack;
@@ -272,6 +277,10 @@ public abstract class TerritoryData {
 
     this.getRelations().setRelation(newRelation, otherTerritory);
     otherTerritory.getRelations().setRelation(newRelation, this);
+    RelationIndex.getInstance().invalidate(getID());
+    RelationIndex.getInstance().invalidate(otherTerritory.getID());
+    invalidateDecisions(getID(), PermissionDecisionCache.Category.RELATION);
+    invalidateDecisions(otherTerritory.getID(), PermissionDecisionCache.Category.RELATION);
 
     TeamUtils.updateAllScoreboardColor();
   }
@@ -355,16 +364,13 @@ public abstract class TerritoryData {
     return getRelationWith(territoryData.getID());
   }
 
+  /**
+   * Get the relation of this territory with another one, including {@link TownRelation#SELF},
+   * {@link TownRelation#OVERLORD} and {@link TownRelation#VASSAL}. Answered by the {@link
+   * RelationIndex}.
+   */
   public TownRelation getRelationWith(String territoryID) {
-    if (getID().equals(territoryID)) return TownRelation.SELF;
-
-    Optional<TerritoryData> overlord = getOverlord();
-    if (overlord.isPresent() && overlord.get().getID().equals(territoryID))
-      return TownRelation.OVERLORD;
-
-    if (getVassalsID().contains(territoryID)) return TownRelation.VASSAL;
-
-    return getRelations().getRelationWith(territoryID);
+    return RelationIndex.getInstance().getRelation(this, territoryID);
   }
 
   @SuppressWarnings("unused")
@@ -421,6 +427,7 @@ public abstract class TerritoryData {
 
   public void removePlannedAttack(PlannedAttack war) {
     getAttacksInvolvedID().remove(war.getID());
+    invalidateDecisions(getID(), PermissionDecisionCache.Category.WAR);
   }
 
   public Collection<CurrentAttack> getCurrentAttacks() {
@@ -436,19 +443,44 @@ public abstract class TerritoryData {
 
   public void removeCurrentAttack(CurrentAttack currentAttacks) {
     getAttacksInvolvedID().remove(currentAttacks.getAttackData().getID());
+    invalidateDecisions(getID(), PermissionDecisionCache.Category.WAR);
   }
 
   public double getBalance() {
     if (treasury == null) treasury = 0.;
-    return treasury;
+    return BalanceLedger.getInstance().getBalance(getID(), treasury);
   }
 
   public void addToBalance(double balance) {
-    this.treasury += balance;
+    if (treasury == null) treasury = 0.;
+    // The ledger persists the change; the JSON copy only follows for the next structural write
+    this.treasury = BalanceLedger.getInstance().add(getID(), getOwnerType(), treasury, balance);
   }
 
   public void removeFromBalance(double balance) {
-    this.treasury -= balance;
+    addToBalance(-balance);
+  }
+
+  /**
+   * Remove an amount from the treasury only if it covers it, atomically with other balance changes.
+   *
+   * @param amount The amount to remove
+   * @return True if the amount was removed
+   */
+  public boolean tryRemoveFromBalance(double amount) {
+    if (treasury == null) treasury = 0.;
+    BalanceLedger ledger = BalanceLedger.getInstance();
+    if (!ledger.withdrawIfAvailable(getID(), getOwnerType(), treasury, amount)) {
+      return false;
+    }
+    this.treasury = ledger.getBalance(getID(), treasury);
+    return true;
+  }
+
+  private BalanceLedger.OwnerType getOwnerType() {
+    return this instanceof RegionData
+        ? BalanceLedger.OwnerType.REGION
+        : BalanceLedger.OwnerType.TOWN;
   }
 
   public void setOverlord(TerritoryData overlord) {
@@ -460,16 +492,26 @@ public abstract class TerritoryData {
 
     this.overlordID = overlord.getID();
     overlord.addVassal(this);
+    RelationIndex.getInstance().invalidate(getID());
+    RelationIndex.getInstance().invalidate(overlord.getID());
+    invalidateDecisions(getID(), PermissionDecisionCache.Category.RELATION);
+    invalidateDecisions(overlord.getID(), PermissionDecisionCache.Category.RELATION);
+    forgetMemberDecisions();
+    AttackRoster.invalidateAll();
+    PlayerAffiliationStorage.getInstance().refreshAll(this);
   }
 
   public Optional<TerritoryData> getOverlord() {
     if (overlordID == null) return Optional.empty();
-    TerritoryData overlord = TerritoryUtil.getTerritory(overlordID);
-    if (overlord == null) {
-      overlordID = null;
-      return Optional.empty();
-    }
-    return Optional.of(overlord);
+    // An overlord not in memory is being loaded, its ID is only cleared by removeOverlord
+    return Optional.ofNullable(TerritoryUtil.getTerritory(overlordID));
+  }
+
+  /**
+   * @return The ID of the overlord, without loading it. Null if there is none
+   */
+  public String getOverlordID() {
+    return overlordID;
   }
 
   /**
@@ -478,13 +520,27 @@ public abstract class TerritoryData {
   protected abstract Collection<TerritoryData> getOverlords();
 
   public void removeOverlord() {
-    getOverlord()
-        .ifPresent(
+    String previousOverlordID = overlordID;
+    if (previousOverlordID == null) {
+      return;
+    }
+    // Loaded if needed, so an overlord not in memory also drops this vassal
+    TerritoryUtil.getTerritoryAsync(previousOverlordID)
+        .thenAccept(
             overlord -> {
-              overlord.removeVassal(this);
-              removeOverlordPrivate();
-              this.overlordID = null;
+              if (overlord != null) {
+                overlord.removeVassal(this);
+              }
             });
+    removeOverlordPrivate();
+    this.overlordID = null;
+    RelationIndex.getInstance().invalidate(getID());
+    RelationIndex.getInstance().invalidate(previousOverlordID);
+    invalidateDecisions(getID(), PermissionDecisionCache.Category.RELATION);
+    invalidateDecisions(previousOverlordID, PermissionDecisionCache.Category.RELATION);
+    forgetMemberDecisions();
+    AttackRoster.invalidateAll();
+    PlayerAffiliationStorage.getInstance().refreshAll(this);
   }
 
   public abstract void removeOverlordPrivate();
@@ -689,8 +745,15 @@ public abstract class TerritoryData {
 
     applyToAllOnlinePlayer(Player::closeInventory);
 
-    for (TerritoryData territory : getVassals()) {
-      territory.removeOverlord();
+    // Vassals not in memory are loaded, so none keeps pointing to the deleted territory
+    for (String vassalID : List.copyOf(getVassalsID())) {
+      TerritoryUtil.getTerritoryAsync(vassalID)
+          .thenAccept(
+              vassal -> {
+                if (vassal != null) {
+                  vassal.removeOverlord();
+                }
+              });
     }
 
     for (Fort occupiedFort : getOccupiedForts()) {
@@ -703,6 +766,9 @@ public abstract class TerritoryData {
 
     getRelations()
         .cleanAll(this); // Cancel all Relation between the deleted territory and other territories
+    RelationIndex.getInstance().remove(getID());
+    PermissionDecisionCache.getInstance().invalidateTerritory(getID());
+    AttackRoster.invalidateAll();
     PlannedAttackStorage.getInstance().territoryDeleted(this);
   }
 
@@ -954,6 +1020,7 @@ public abstract class TerritoryData {
     getRank(playerStat).removePlayer(playerStat);
     rankData.addPlayer(playerStat);
     specificSetPlayerRank(playerStat, rankData.getID());
+    invalidateDecisions(getID(), PermissionDecisionCache.Category.RANK);
   }
 
   protected abstract void specificSetPlayerRank(ITanPlayer playerStat, int rankID);
@@ -1001,10 +1068,9 @@ public abstract class TerritoryData {
       List<String> playerIdList = rank.getPlayersID();
       double costOfSalary = (double) playerIdList.size() * rankSalary;
 
-      if (rankSalary == 0 || costOfSalary > getBalance()) {
+      if (rankSalary == 0 || !tryRemoveFromBalance(costOfSalary)) {
         continue;
       }
-      removeFromBalance(costOfSalary);
       
       // Batch-load all players asynchronously for this rank
       List<CompletableFuture<Void>> paymentFutures = new ArrayList<>();
@@ -1111,6 +1177,7 @@ public abstract class TerritoryData {
 
   public void nextPermission(ChunkPermissionType type) {
     getChunkSettings().nextPermission(type);
+    invalidateDecisions(getID(), PermissionDecisionCache.Category.PERMISSION);
   }
 
   protected RankData getDefaultRank() {
@@ -1120,11 +1187,25 @@ public abstract class TerritoryData {
   protected void registerPlayer(ITanPlayer tanPlayer) {
     getDefaultRank().addPlayer(tanPlayer);
     tanPlayer.setRankID(this, getDefaultRankID());
+    invalidateDecisions(getID(), PermissionDecisionCache.Category.RANK);
   }
 
   protected void unregisterPlayer(ITanPlayer tanPlayer) {
     getRank(tanPlayer).removePlayer(tanPlayer);
     tanPlayer.setRankID(this, null);
+    invalidateDecisions(getID(), PermissionDecisionCache.Category.RANK);
+  }
+
+  private static void invalidateDecisions(
+      String territoryID, PermissionDecisionCache.Category category) {
+    PermissionDecisionCache.getInstance().invalidate(territoryID, category);
+  }
+
+  /** The overlord of the members changed, which may change their decisions on any territory. */
+  private void forgetMemberDecisions() {
+    for (String playerID : getPlayerIDList()) {
+      PermissionDecisionCache.getInstance().forget(UUID.fromString(playerID));
+    }
   }
 
   public String getColoredName() {
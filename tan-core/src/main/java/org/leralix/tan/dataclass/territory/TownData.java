@@ -28,6 +28,8 @@ import org.leralix.tan.gui.utils.ConfirmMenu;
 import org.leralix.tan.lang.FilledLang;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.lang.LangType;
+import org.leralix.tan.service.PermissionDecisionCache;
+import org.leralix.tan.storage.index.PropertyIndex;
 import org.leralix.tan.storage.stored.*;
 import org.leralix.tan.upgrade.rewards.numeric.TownPlayerCap;
 import org.leralix.tan.utils.constants.Constants;
@@ -36,6 +38,7 @@ import org.leralix.tan.utils.graphic.PrefixUtil;
 import org.leralix.tan.utils.graphic.TeamUtils;
 import org.leralix.tan.utils.text.StringUtil;
 import org.leralix.tan.utils.text.TanChatUtils;
+import org.leralix.tan.wars.AttackRoster;
 
 public class TownData extends TerritoryData {
 
@@ -45,6 +48,8 @@ public class TownData extends TerritoryData {
   private boolean isRecruiting;
   private HashSet<String> playerJoinRequestSet;
   private Map<String, PropertyData> propertyDataMap;
+  /** Spatial index of the properties, rebuilt lazily after they change. */
+  private transient volatile PropertyIndex propertyIndex;
   private TeleportationPosition teleportationPosition;
   private final HashSet<String> townPlayerListId;
   private Vector2D capitalLocation;
@@ -78,10 +83,19 @@ public class TownData extends TerritoryData {
     return getRank(tanPlayer.getTownRankID());
   }
 
+  @Override
+  public void rename(String newName) {
+    super.rename(newName);
+    // Also moves the town to its new name in the name index
+    TownDataStorage.getInstance().put(getID(), this);
+  }
+
   public void addPlayer(ITanPlayer tanNewPlayer) {
     townPlayerListId.add(tanNewPlayer.getID());
     getTownDefaultRank().addPlayer(tanNewPlayer);
     tanNewPlayer.joinTown(this);
+    PermissionDecisionCache.getInstance().forget(tanNewPlayer.getUUID());
+    AttackRoster.invalidateAll();
 
     // All player interactions MUST run on main thread
     org.leralix.tan.utils.FoliaScheduler.runTask(
@@ -105,7 +119,7 @@ public class TownData extends TerritoryData {
         });
 
     // Save this town to database (DatabaseStorage auto-saves on put)
-    TownDataStorage.getInstance().putSync(getID(), this);
+    TownDataStorage.getInstance().put(getID(), this);
   }
 
   public void removePlayer(String tanPlayerID) {
@@ -120,8 +134,10 @@ public class TownData extends TerritoryData {
     getRank(tanPlayer).removePlayer(tanPlayer);
     townPlayerListId.remove(tanPlayer.getID());
     tanPlayer.leaveTown();
+    PermissionDecisionCache.getInstance().forget(tanPlayer.getUUID());
+    AttackRoster.invalidateAll();
     // Save this town to database (DatabaseStorage auto-saves on put)
-    TownDataStorage.getInstance().putSync(getID(), this);
+    TownDataStorage.getInstance().put(getID(), this);
     PrefixUtil.updatePrefix(tanPlayer.getPlayer());
   }
 
@@ -552,6 +568,7 @@ public class TownData extends TerritoryData {
       throw new IllegalArgumentException("Unsupported owner type");
     }
     this.propertyDataMap.put(propertyID, newProperty);
+    invalidatePropertyIndex();
     return newProperty;
   }
 
@@ -570,16 +587,28 @@ public class TownData extends TerritoryData {
   }
 
   public PropertyData getProperty(Location location) {
-    for (PropertyData propertyData : getProperties()) {
-      if (propertyData.containsLocation(location)) {
-        return propertyData;
-      }
+    PropertyIndex index = this.propertyIndex;
+    if (index == null) {
+      index = buildPropertyIndex();
     }
-    return null;
+    return index.get(location);
+  }
+
+  private synchronized PropertyIndex buildPropertyIndex() {
+    if (this.propertyIndex == null) {
+      this.propertyIndex = PropertyIndex.of(getProperties());
+    }
+    return this.propertyIndex;
+  }
+
+  /** Drop the property index. Synchronized so a build running concurrently cannot restore it. */
+  private synchronized void invalidatePropertyIndex() {
+    this.propertyIndex = null;
   }
 
   public void removeProperty(PropertyData propertyData) {
     this.propertyDataMap.remove(propertyData.getPropertyID());
+    invalidatePropertyIndex();
   }
 
   public String getTownTag() {
@@ -656,6 +685,7 @@ public class TownData extends TerritoryData {
       propertyData.delete();
       iterator.remove();
     }
+    invalidatePropertyIndex();
   }
 
   @Override
@@ -9,11 +9,14 @@ import org.leralix.lib.position.Vector3D;
 import org.leralix.tan.dataclass.ITanPlayer;
 import org.leralix.tan.dataclass.PropertyData;
 import org.leralix.tan.dataclass.territory.TerritoryData;
+import org.leralix.tan.storage.index.PropertyIndex;
 
 public class TownPropertyComponent {
 
   private final String townId;
   private Map<String, PropertyData> propertyDataMap;
+  /** Spatial index of the properties, rebuilt lazily after they change. */
+  private transient volatile PropertyIndex propertyIndex;
 
   public TownPropertyComponent(String townId) {
     this.townId = townId;
@@ -69,6 +72,7 @@ public class TownPropertyComponent {
       throw new IllegalArgumentException("Unsupported owner type");
     }
     this.propertyDataMap.put(propertyID, newProperty);
+    invalidatePropertyIndex();
     return newProperty;
   }
 
@@ -87,16 +91,28 @@ public class TownPropertyComponent {
   }
 
   public PropertyData getProperty(Location location) {
-    for (PropertyData propertyData : getProperties()) {
-      if (propertyData.containsLocation(location)) {
-        return propertyData;
-      }
+    PropertyIndex index = this.propertyIndex;
+    if (index == null) {
+      index = buildPropertyIndex();
+    }
+    return index.get(location);
+  }
+
+  private synchronized PropertyIndex buildPropertyIndex() {
+    if (this.propertyIndex == null) {
+      this.propertyIndex = PropertyIndex.of(getProperties());
     }
-    return null;
+    return this.propertyIndex;
+  }
+
+  /** Drop the property index. Synchronized so a build running concurrently cannot restore it. */
+  private synchronized void invalidatePropertyIndex() {
+    this.propertyIndex = null;
   }
 
   public void removeProperty(PropertyData propertyData) {
     this.propertyDataMap.remove(propertyData.getPropertyID());
+    invalidatePropertyIndex();
   }
 
   public void removeAllProperties() {
@@ -106,5 +122,6 @@ public class TownPropertyComponent {
       propertyData.delete();
       iterator.remove();
     }
+    invalidatePropertyIndex();
   }
 }
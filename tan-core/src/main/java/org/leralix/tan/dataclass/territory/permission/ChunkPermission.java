@@ -3,8 +3,11 @@ package org.leralix.tan.dataclass.territory.permission;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 import org.leralix.tan.dataclass.ITanPlayer;
 import org.leralix.tan.dataclass.territory.TerritoryData;
+import org.leralix.tan.enums.permissions.PermissionDecision;
+import org.leralix.tan.service.PermissionDecisionCache;
 
 public class ChunkPermission {
 
@@ -26,10 +29,21 @@ public class ChunkPermission {
 
   public void addSpecificPlayerPermission(String playerName) {
     this.specificPlayerPermissions.add(playerName);
+    forgetDecisions(playerName);
   }
 
   public void removeSpecificPlayerPermission(String playerName) {
     this.specificPlayerPermissions.remove(playerName);
+    forgetDecisions(playerName);
+  }
+
+  /** Only the listed player's decisions change. Entries are player UUIDs. */
+  private static void forgetDecisions(String playerID) {
+    try {
+      PermissionDecisionCache.getInstance().forget(UUID.fromString(playerID));
+    } catch (IllegalArgumentException ignored) {
+      // Not a UUID, no cached decision can match it
+    }
   }
 
   private boolean isPlayerAllowed(String playerName) {
@@ -43,6 +57,14 @@ public class ChunkPermission {
     return isPlayerAllowed(tanPlayer.getID());
   }
 
+  /** Same as {@link #isAllowed}, from the data already in memory only. */
+  public PermissionDecision evaluate(TerritoryData territoryToCheck, ITanPlayer tanPlayer) {
+    if (isPlayerAllowed(tanPlayer.getID())) {
+      return PermissionDecision.ALLOW;
+    }
+    return this.overallPermission.evaluate(territoryToCheck, tanPlayer);
+  }
+
   public Collection<String> getAuthorizedPlayers() {
     return this.specificPlayerPermissions;
   }
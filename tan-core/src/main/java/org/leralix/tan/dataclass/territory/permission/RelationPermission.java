@@ -4,10 +4,14 @@ import java.util.List;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextColor;
 import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.RelationData;
 import org.leralix.tan.dataclass.territory.TerritoryData;
+import org.leralix.tan.dataclass.territory.TownData;
 import org.leralix.tan.enums.TownRelation;
+import org.leralix.tan.enums.permissions.PermissionDecision;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.lang.LangType;
+import org.leralix.tan.storage.stored.TownDataStorage;
 
 public enum RelationPermission {
   TOWN(Lang.TOWN_PERMISSION, NamedTextColor.GREEN),
@@ -76,4 +80,45 @@ public enum RelationPermission {
     }
     return false;
   }
+
+  /**
+   * Same as {@link #isAllowed}, from the data already in memory only. The player's town and region
+   * are resolved by ID, so only the town of the player has to be loaded.
+   *
+   * @return {@link PermissionDecision#UNKNOWN} if the town of the player is not loaded yet
+   */
+  public PermissionDecision evaluate(TerritoryData territoryToCheck, ITanPlayer tanPlayer) {
+    if (this == FOREIGN) {
+      return PermissionDecision.ALLOW;
+    }
+    if (this == SELECTED_ONLY) {
+      return PermissionDecision.DENY;
+    }
+    String townID = tanPlayer.getTownId();
+    if (townID == null) {
+      return PermissionDecision.DENY;
+    }
+    String territoryID = territoryToCheck.getID();
+    if (territoryID.equals(townID)) {
+      return PermissionDecision.ALLOW;
+    }
+    if (this == TOWN && territoryToCheck instanceof TownData) {
+      return PermissionDecision.DENY;
+    }
+    TownData town = TownDataStorage.getInstance().getSync(townID);
+    if (town == null) {
+      return PermissionDecision.UNKNOWN;
+    }
+    String regionID = town.getOverlordID();
+    if (territoryID.equals(regionID)) {
+      return PermissionDecision.ALLOW;
+    }
+    if (this == TOWN) {
+      return PermissionDecision.DENY;
+    }
+    RelationData relations = territoryToCheck.getRelations();
+    return PermissionDecision.of(
+        relations.getRelationWith(townID) == TownRelation.ALLIANCE
+            || (regionID != null && relations.getRelationWith(regionID) == TownRelation.ALLIANCE));
+  }
 }
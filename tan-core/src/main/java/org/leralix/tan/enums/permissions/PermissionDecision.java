@@ -0,0 +1,13 @@
+package org.leralix.tan.enums.permissions;
+
+/** Result of a permission check that is not allowed to wait for data to load. */
+public enum PermissionDecision {
+  ALLOW,
+  DENY,
+  /** The player or territory data is not in memory yet, so no answer could be given. */
+  UNKNOWN;
+
+  public static PermissionDecision of(boolean allowed) {
+    return allowed ? ALLOW : DENY;
+  }
+}
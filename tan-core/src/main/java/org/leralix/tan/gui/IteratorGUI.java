@@ -42,6 +42,26 @@ public abstract class IteratorGUI extends BasicGui {
         decorativeMaterial);
   }
 
+  /**
+   * Show a page loaded on its own, e.g. from a paginated query, rather than a slice of a full list.
+   *
+   * @param pageItems The items of the current page only
+   * @param hasNextPage Whether a page follows this one
+   */
+  protected void pageIterator(
+      List<GuiItem> pageItems, boolean hasNextPage, Consumer<Player> onLeave) {
+    GuiUtil.createPageIterator(
+        gui,
+        pageItems,
+        page == 0,
+        !hasNextPage,
+        player,
+        onLeave,
+        p -> nextPage(),
+        p -> previousPage(),
+        Material.GRAY_STAINED_GLASS_PANE);
+  }
+
   protected void previousPage() {
     page--;
     open();
@@ -173,7 +173,7 @@ public class PlayerGUI {
                   return;
                 }
                 if (upgradeStatus.isUnlocked()) {
-                  upgradeStatus.setActivated(!upgradeStatus.canSpawn());
+                  chunkSettings.setSpawnActivated(mobEnum, !upgradeStatus.canSpawn());
                   SoundUtil.playSound(player, ADD);
                 } else {
                   if (townData.getBalance() < cost) {
@@ -187,7 +187,7 @@ public class PlayerGUI {
                   }
                   townData.removeFromBalance(cost);
                   SoundUtil.playSound(player, GOOD);
-                  upgradeStatus.setUnlocked(true);
+                  chunkSettings.unlockSpawnControl(mobEnum);
                 }
 
                 openTownChunkMobSettings(player, page);
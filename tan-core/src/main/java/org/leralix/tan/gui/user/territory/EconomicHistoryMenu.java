@@ -3,15 +3,16 @@ package org.leralix.tan.gui.user.territory;
 import dev.triumphteam.gui.builder.item.ItemBuilder;
 import dev.triumphteam.gui.guis.GuiItem;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.leralix.tan.TownsAndNations;
 import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.newhistory.TransactionDailyRollup;
 import org.leralix.tan.dataclass.newhistory.TransactionHistory;
 import org.leralix.tan.dataclass.newhistory.TransactionHistoryEnum;
+import org.leralix.tan.dataclass.newhistory.TransactionHistoryPage;
 import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.gui.IteratorGUI;
 import org.leralix.tan.lang.Lang;
@@ -23,8 +24,13 @@ public class EconomicHistoryMenu extends IteratorGUI {
 
   private final TerritoryData territoryData;
   private final TransactionHistoryEnum transactionHistoryEnum;
-  private List<GuiItem> cachedHistory = new ArrayList<>();
-  private boolean isLoaded = false;
+
+  /** Cursor each visited page starts from; the first page starts from null. */
+  private final List<TransactionHistoryPage.Cursor> pageCursors = new ArrayList<>();
+
+  private List<GuiItem> pageItems = new ArrayList<>();
+  private TransactionHistoryPage.Cursor nextPageCursor;
+  private int loadedPage = -1;
 
   private EconomicHistoryMenu(
       Player player,
@@ -34,6 +40,7 @@ public class EconomicHistoryMenu extends IteratorGUI {
     super(player, tanPlayer, Lang.HEADER_HISTORY.get(tanPlayer.getLang()), 6);
     this.territoryData = territoryData;
     this.transactionHistoryEnum = transactionHistoryEnum;
+    this.pageCursors.add(null);
   }
 
   public static void open(
@@ -49,42 +56,86 @@ public class EconomicHistoryMenu extends IteratorGUI {
 
   @Override
   public void open() {
-    // Show immediate loading screen with cached data
-    iterator(cachedHistory, p -> TreasuryMenu.open(player, territoryData));
+    // Show immediate loading screen with the current page, if already loaded
+    pageIterator(pageItems, nextPageCursor != null, p -> TreasuryMenu.open(player, territoryData));
     gui.open(player);
 
-    // Load data asynchronously if not already loaded
-    if (!isLoaded) {
+    // Load only the visible page
+    if (loadedPage != page) {
+      int requestedPage = page;
       AsyncGuiHelper.loadAsync(
           player,
-          () -> getEconomicsHistory(), // Async supplier - loads from database
-          items -> { // Main thread consumer - updates GUI
-            cachedHistory = items;
-            isLoaded = true;
-            iterator(items, p -> TreasuryMenu.open(player, territoryData));
+          () -> loadPage(pageCursors.get(requestedPage)), // Async supplier - loads from database
+          historyPage -> { // Main thread consumer - updates GUI
+            if (requestedPage != page) {
+              return;
+            }
+            pageItems = toGuiItems(historyPage);
+            nextPageCursor = historyPage.next();
+            loadedPage = requestedPage;
+            pageIterator(
+                pageItems, nextPageCursor != null, p -> TreasuryMenu.open(player, territoryData));
             gui.update();
           });
     }
   }
 
-  private List<GuiItem> getEconomicsHistory() {
+  @Override
+  protected void nextPage() {
+    if (loadedPage != page || nextPageCursor == null) {
+      return;
+    }
+    if (pageCursors.size() == page + 1) {
+      pageCursors.add(nextPageCursor);
+    }
+    showPage(page + 1);
+  }
+
+  @Override
+  protected void previousPage() {
+    if (page == 0) {
+      return;
+    }
+    showPage(page - 1);
+  }
+
+  private void showPage(int newPage) {
+    page = newPage;
+    pageItems = new ArrayList<>();
+    nextPageCursor = null;
+    open();
+  }
+
+  private TransactionHistoryPage loadPage(TransactionHistoryPage.Cursor cursor) {
+    int daysPerPage = (gui.getRows() - 1) * 9;
+    return TownsAndNations.getPlugin()
+        .getDatabaseHandler()
+        .getTransactionHistoryPageAsync(territoryData, transactionHistoryEnum, cursor, daysPerPage)
+        .join();
+  }
+
+  private List<GuiItem> toGuiItems(TransactionHistoryPage historyPage) {
     List<GuiItem> guiItems = new ArrayList<>();
 
-    for (List<TransactionHistory> transactionHistory :
-        TownsAndNations.getPlugin()
-            .getDatabaseHandler()
-            .getTransactionHistory(territoryData, transactionHistoryEnum)) {
+    // Days are already newest first
+    for (int i = 0; i < historyPage.days().size(); i++) {
+      List<TransactionHistory> transactionHistory = historyPage.days().get(i);
       ItemStack transactionIcon =
           HeadUtils.createCustomItemStack(
               Material.PAPER, "§a" + transactionHistory.get(0).getDate());
 
+      TransactionDailyRollup dayTotal = historyPage.dayTotals().get(i);
+      if (dayTotal != null) {
+        HeadUtils.addLore(
+            transactionIcon,
+            Lang.GUI_HISTORY_DAY_TOTAL.get(
+                langType, Double.toString(dayTotal.total()), Integer.toString(dayTotal.count())));
+      }
       for (TransactionHistory transaction : transactionHistory) {
         HeadUtils.addLore(transactionIcon, transaction.addLoreLine());
       }
       guiItems.add(ItemBuilder.from(transactionIcon).asGuiItem(event -> event.setCancelled(true)));
     }
-
-    Collections.reverse(guiItems); // newer first
     return guiItems;
   }
 }
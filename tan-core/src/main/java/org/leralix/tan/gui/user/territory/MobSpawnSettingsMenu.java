@@ -54,7 +54,7 @@ public class MobSpawnSettingsMenu extends IteratorGUI {
           ItemBuilder.from(HeadUtils.makeSkullB64(mobType.name(), mobType.getTexture()))
               .asGuiItem(
                   action -> {
-                    status.setActivated(!status.canSpawn());
+                    townData.getChunkSettings().setSpawnActivated(mobType, !status.canSpawn());
                     open();
                   });
 
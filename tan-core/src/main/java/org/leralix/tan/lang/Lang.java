@@ -9,7 +9,9 @@ import org.bukkit.entity.Player;
 import org.leralix.lib.utils.config.ConfigUtil;
 import org.leralix.tan.TownsAndNations;
 import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.PlayerAffiliation;
 import org.leralix.tan.economy.EconomyUtil;
+import org.leralix.tan.storage.PlayerAffiliationStorage;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
 import org.leralix.tan.utils.constants.Constants;
 
@@ -291,6 +293,7 @@ public enum Lang {
   ATTACK_WILL_NOT_TRIGGER_IF_NOT_APPROVED,
   GUI_TREASURY_STORAGE,
   GUI_TREASURY_STORAGE_DESC1,
+  GUI_HISTORY_DAY_TOTAL,
   TOTAL_ESTIMATED_EVOLUTION,
   PROPERTY_TAX_LINE,
   PLAYER_TAX_LINE,
@@ -1188,6 +1191,10 @@ public enum Lang {
     if (player == null) {
       return get(serverLang);
     }
+    PlayerAffiliation affiliation = PlayerAffiliationStorage.getInstance().get(player);
+    if (affiliation != null) {
+      return get(affiliation.lang());
+    }
     return get(PlayerDataStorage.getInstance().getSync(player));
   }
 
@@ -1216,6 +1223,10 @@ public enum Lang {
   }
 
   public String get(Player player, String... placeholders) {
+    PlayerAffiliation affiliation = PlayerAffiliationStorage.getInstance().get(player);
+    if (affiliation != null) {
+      return get(affiliation.lang(), placeholders);
+    }
     return get(PlayerDataStorage.getInstance().getSync(player), placeholders);
   }
 
@@ -1,6 +1,5 @@
 package org.leralix.tan.listeners;
 
-import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Tag;
@@ -22,9 +21,10 @@ import org.bukkit.event.hanging.HangingPlaceEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
 import org.bukkit.event.player.*;
 import org.bukkit.inventory.FurnaceInventory;
+import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
 import org.leralix.tan.enums.permissions.ChunkPermissionType;
 import org.leralix.tan.service.PermissionService;
-import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
+import org.leralix.tan.utils.territory.ChunkGriefFilter;
 
 public class ChunkListener implements Listener {
 
@@ -49,11 +49,11 @@ public class ChunkListener implements Listener {
       return;
     }
 
-    // CRITICAL: Event cancellation must happen synchronously before handler returns
-    // We must block here because event handling cannot be async
+    // Event cancellation must happen before the handler returns, so the check is answered from
+    // the data in memory and never waits for the database
     try {
       boolean canDo =
-          permissionService.canPlayerDoAction(loc, player, ChunkPermissionType.BREAK_BLOCK).join();
+          permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.BREAK_BLOCK);
       if (!canDo) {
         event.setCancelled(true);
       }
@@ -73,7 +73,7 @@ public class ChunkListener implements Listener {
 
     try {
       boolean canDo =
-          permissionService.canPlayerDoAction(loc, player, ChunkPermissionType.BREAK_BLOCK).join();
+          permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.BREAK_BLOCK);
       if (!canDo) {
         event.setCancelled(true);
       }
@@ -92,7 +92,7 @@ public class ChunkListener implements Listener {
 
     try {
       boolean canDo =
-          permissionService.canPlayerDoAction(loc, player, ChunkPermissionType.PLACE_BLOCK).join();
+          permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.PLACE_BLOCK);
       if (!canDo) {
         event.setCancelled(true);
       }
@@ -130,9 +130,8 @@ public class ChunkListener implements Listener {
 
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, event.getPlayer(), ChunkPermissionType.INTERACT_BUTTON)
-                .join();
+            permissionService.canPlayerDoActionSync(
+                loc, event.getPlayer(), ChunkPermissionType.INTERACT_BUTTON);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -150,9 +149,8 @@ public class ChunkListener implements Listener {
 
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_CHEST)
-                .join();
+            permissionService.canPlayerDoActionSync(
+                loc, player, ChunkPermissionType.INTERACT_CHEST);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -164,9 +162,7 @@ public class ChunkListener implements Listener {
         || Tag.FENCE_GATES.isTagged(materialType)) {
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_DOOR)
-                .join();
+            permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.INTERACT_DOOR);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -185,9 +181,8 @@ public class ChunkListener implements Listener {
 
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_DECORATIVE_BLOCK)
-                .join();
+            permissionService.canPlayerDoActionSync(
+                loc, player, ChunkPermissionType.INTERACT_DECORATIVE_BLOCK);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -197,9 +192,8 @@ public class ChunkListener implements Listener {
     } else if (materialBlock == Material.JUKEBOX || materialBlock == Material.NOTE_BLOCK) {
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_MUSIC_BLOCK)
-                .join();
+            permissionService.canPlayerDoActionSync(
+                loc, player, ChunkPermissionType.INTERACT_MUSIC_BLOCK);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -212,9 +206,8 @@ public class ChunkListener implements Listener {
         || materialBlock == Material.DAYLIGHT_DETECTOR) {
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_REDSTONE)
-                .join();
+            permissionService.canPlayerDoActionSync(
+                loc, player, ChunkPermissionType.INTERACT_REDSTONE);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -224,9 +217,7 @@ public class ChunkListener implements Listener {
     } else if (event.getItem() != null && event.getItem().getType() == Material.BONE_MEAL) {
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.USE_BONE_MEAL)
-                .join();
+            permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.USE_BONE_MEAL);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -238,9 +229,8 @@ public class ChunkListener implements Listener {
         && event.getClickedBlock().getType() == Material.SWEET_BERRY_BUSH) {
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_BERRIES)
-                .join();
+            permissionService.canPlayerDoActionSync(
+                loc, player, ChunkPermissionType.INTERACT_BERRIES);
         if (!canDo) event.setCancelled(true);
       } catch (Exception e) {
         event.setCancelled(true);
@@ -250,9 +240,7 @@ public class ChunkListener implements Listener {
         && player.getItemInHand().getType() == Material.OAK_BOAT) {
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_BOAT)
-                .join();
+            permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.INTERACT_BOAT);
         if (!canDo) event.setCancelled(true);
       } catch (Exception e) {
         event.setCancelled(true);
@@ -262,9 +250,8 @@ public class ChunkListener implements Listener {
         && (player.getItemInHand().getType() == Material.MINECART)) {
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_MINECART)
-                .join();
+            permissionService.canPlayerDoActionSync(
+                loc, player, ChunkPermissionType.INTERACT_MINECART);
         if (!canDo) event.setCancelled(true);
       } catch (Exception e) {
         event.setCancelled(true);
@@ -274,9 +261,7 @@ public class ChunkListener implements Listener {
 
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.BREAK_BLOCK)
-                .join();
+            permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.BREAK_BLOCK);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -294,7 +279,7 @@ public class ChunkListener implements Listener {
 
     try {
       boolean canDo =
-          permissionService.canPlayerDoAction(loc, player, ChunkPermissionType.PLACE_BLOCK).join();
+          permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.PLACE_BLOCK);
       if (!canDo) {
         event.setCancelled(true);
       }
@@ -347,9 +332,8 @@ public class ChunkListener implements Listener {
           || entity instanceof ArmorStand) {
         try {
           boolean canDo =
-              permissionService
-                  .canPlayerDoAction(loc, player, ChunkPermissionType.ATTACK_PASSIVE_MOB)
-                  .join();
+              permissionService.canPlayerDoActionSync(
+                  loc, player, ChunkPermissionType.ATTACK_PASSIVE_MOB);
           if (!canDo) {
             event.setCancelled(true);
           }
@@ -359,9 +343,8 @@ public class ChunkListener implements Listener {
       } else if (entity instanceof ItemFrame) {
         try {
           boolean canDo =
-              permissionService
-                  .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_ITEM_FRAME)
-                  .join();
+              permissionService.canPlayerDoActionSync(
+                  loc, player, ChunkPermissionType.INTERACT_ITEM_FRAME);
           if (!canDo) {
             event.setCancelled(true);
           }
@@ -371,9 +354,7 @@ public class ChunkListener implements Listener {
       } else if (entity instanceof EnderCrystal) {
         try {
           boolean canDo =
-              permissionService
-                  .canPlayerDoAction(loc, player, ChunkPermissionType.BREAK_BLOCK)
-                  .join();
+              permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.BREAK_BLOCK);
           if (!canDo) {
             event.setCancelled(true);
           }
@@ -430,9 +411,8 @@ public class ChunkListener implements Listener {
 
           try {
             boolean canDo =
-                permissionService
-                    .canPlayerDoAction(loc, player, ChunkPermissionType.ATTACK_PASSIVE_MOB)
-                    .join();
+                permissionService.canPlayerDoActionSync(
+                    loc, player, ChunkPermissionType.ATTACK_PASSIVE_MOB);
             if (!canDo) {
               event.setCancelled(true);
             }
@@ -442,9 +422,8 @@ public class ChunkListener implements Listener {
         } else if (entity instanceof ItemFrame) {
           try {
             boolean canDo =
-                permissionService
-                    .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_ITEM_FRAME)
-                    .join();
+                permissionService.canPlayerDoActionSync(
+                    loc, player, ChunkPermissionType.INTERACT_ITEM_FRAME);
             if (!canDo) {
               event.setCancelled(true);
             }
@@ -454,9 +433,8 @@ public class ChunkListener implements Listener {
         } else if (entity instanceof EnderCrystal) {
           try {
             boolean canDo =
-                permissionService
-                    .canPlayerDoAction(loc, player, ChunkPermissionType.BREAK_BLOCK)
-                    .join();
+                permissionService.canPlayerDoActionSync(
+                    loc, player, ChunkPermissionType.BREAK_BLOCK);
             if (!canDo) {
               event.setCancelled(true);
             }
@@ -482,9 +460,8 @@ public class ChunkListener implements Listener {
       if (loc == null) return;
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_FURNACE)
-                .join();
+            permissionService.canPlayerDoActionSync(
+                loc, player, ChunkPermissionType.INTERACT_FURNACE);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -504,9 +481,8 @@ public class ChunkListener implements Listener {
 
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_ITEM_FRAME)
-                .join();
+            permissionService.canPlayerDoActionSync(
+                loc, player, ChunkPermissionType.INTERACT_ITEM_FRAME);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -518,7 +494,7 @@ public class ChunkListener implements Listener {
 
       try {
         boolean canDo =
-            permissionService.canPlayerDoAction(loc, player, ChunkPermissionType.USE_LEAD).join();
+            permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.USE_LEAD);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -532,7 +508,7 @@ public class ChunkListener implements Listener {
 
         try {
           boolean canDo =
-              permissionService.canPlayerDoAction(loc, player, ChunkPermissionType.USE_LEAD).join();
+              permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.USE_LEAD);
           if (!canDo) {
             event.setCancelled(true);
           }
@@ -551,9 +527,8 @@ public class ChunkListener implements Listener {
 
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.INTERACT_ARMOR_STAND)
-                .join();
+            permissionService.canPlayerDoActionSync(
+                loc, player, ChunkPermissionType.INTERACT_ARMOR_STAND);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -571,7 +546,7 @@ public class ChunkListener implements Listener {
 
     try {
       boolean canDo =
-          permissionService.canPlayerDoAction(loc, player, ChunkPermissionType.USE_LEAD).join();
+          permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.USE_LEAD);
       if (!canDo) {
         event.setCancelled(true);
       }
@@ -590,7 +565,7 @@ public class ChunkListener implements Listener {
       if (entity instanceof LeashHitch) {
         try {
           boolean canDo =
-              permissionService.canPlayerDoAction(loc, player, ChunkPermissionType.USE_LEAD).join();
+              permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.USE_LEAD);
           if (!canDo) {
             event.setCancelled(true);
           }
@@ -600,9 +575,7 @@ public class ChunkListener implements Listener {
       } else {
         try {
           boolean canDo =
-              permissionService
-                  .canPlayerDoAction(loc, player, ChunkPermissionType.BREAK_BLOCK)
-                  .join();
+              permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.BREAK_BLOCK);
           if (!canDo) {
             event.setCancelled(true);
           }
@@ -618,9 +591,7 @@ public class ChunkListener implements Listener {
         if (entity instanceof LeashHitch) {
           try {
             boolean canDo =
-                permissionService
-                    .canPlayerDoAction(loc, player, ChunkPermissionType.USE_LEAD)
-                    .join();
+                permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.USE_LEAD);
             if (!canDo) {
               event.setCancelled(true);
             }
@@ -630,9 +601,8 @@ public class ChunkListener implements Listener {
         } else {
           try {
             boolean canDo =
-                permissionService
-                    .canPlayerDoAction(loc, player, ChunkPermissionType.BREAK_BLOCK)
-                    .join();
+                permissionService.canPlayerDoActionSync(
+                    loc, player, ChunkPermissionType.BREAK_BLOCK);
             if (!canDo) {
               event.setCancelled(true);
             }
@@ -654,7 +624,7 @@ public class ChunkListener implements Listener {
     if (entity instanceof LeashHitch) {
       try {
         boolean canDo =
-            permissionService.canPlayerDoAction(loc, player, ChunkPermissionType.USE_LEAD).join();
+            permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.USE_LEAD);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -664,9 +634,7 @@ public class ChunkListener implements Listener {
     } else {
       try {
         boolean canDo =
-            permissionService
-                .canPlayerDoAction(loc, player, ChunkPermissionType.PLACE_BLOCK)
-                .join();
+            permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.PLACE_BLOCK);
         if (!canDo) {
           event.setCancelled(true);
         }
@@ -683,7 +651,7 @@ public class ChunkListener implements Listener {
 
     try {
       boolean canDo =
-          permissionService.canPlayerDoAction(loc, player, ChunkPermissionType.USE_SHEARS).join();
+          permissionService.canPlayerDoActionSync(loc, player, ChunkPermissionType.USE_SHEARS);
       if (!canDo) {
         event.setCancelled(true);
       }
@@ -694,18 +662,15 @@ public class ChunkListener implements Listener {
 
   @EventHandler
   public void onExplosion(EntityExplodeEvent event) {
-    event
-        .blockList()
-        .removeIf(
-            block ->
-                !NewClaimedChunkStorage.getInstance().get(block.getChunk()).canExplosionGrief());
+    ChunkGriefFilter.removeProtectedBlocks(
+        event.blockList(),
+        event.getLocation().getWorld().getUID(),
+        ClaimedChunk2::canExplosionGrief);
   }
 
   @EventHandler
   public void onBurning(BlockBurnEvent event) {
-    Chunk chunk = event.getBlock().getChunk();
-
-    if (!NewClaimedChunkStorage.getInstance().get(chunk).canFireGrief()) {
+    if (!ChunkGriefFilter.canGrief(event.getBlock(), ClaimedChunk2::canFireGrief)) {
       event.setCancelled(true);
     }
   }
@@ -713,19 +678,14 @@ public class ChunkListener implements Listener {
   @EventHandler
   public void onFireSpreading(BlockSpreadEvent event) {
 
-    if (event.getSource().getType() == Material.FIRE) {
-      Chunk chunk = event.getBlock().getChunk();
-      if (!NewClaimedChunkStorage.getInstance().get(chunk).canFireGrief()) {
-        event.setCancelled(true);
-      }
+    if (event.getSource().getType() == Material.FIRE
+        && !ChunkGriefFilter.canGrief(event.getBlock(), ClaimedChunk2::canFireGrief)) {
+      event.setCancelled(true);
     }
   }
 
   public void onWitherBlockBreak(EntityChangeBlockEvent event) {
-
-    Chunk chunk = event.getBlock().getChunk();
-
-    if (!NewClaimedChunkStorage.getInstance().get(chunk).canMobGrief()) {
+    if (!ChunkGriefFilter.canGrief(event.getBlock(), ClaimedChunk2::canMobGrief)) {
       event.setCancelled(true);
     }
   }
@@ -8,9 +8,11 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import org.leralix.lib.data.SoundEnum;
 import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.PlayerAffiliation;
 import org.leralix.tan.enums.TownRelation;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.lang.LangType;
+import org.leralix.tan.storage.PlayerAffiliationStorage;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
 import org.leralix.tan.utils.constants.Constants;
 import org.leralix.tan.utils.text.TanChatUtils;
@@ -68,19 +70,15 @@ public class CommandBlocker implements Listener {
         continue;
       }
 
-      ITanPlayer senderData = PlayerDataStorage.getInstance().getSync(sender);
-      ITanPlayer receiverData = PlayerDataStorage.getInstance().getSync(receiver);
-
-      // Validate player data exists
-      if (senderData == null || receiverData == null) {
+      TownRelation worstRelationWithPlayer = getRelation(sender, receiver);
+      if (worstRelationWithPlayer == null) {
         continue;
       }
 
-      TownRelation worstRelationWithPlayer = senderData.getRelationWithPlayerSync(receiverData);
       if (Constants.getRelationConstants(worstRelationWithPlayer)
           .getBlockedCommands()
           .contains(blackListedCommand)) {
-        LangType lang = senderData.getLang();
+        LangType lang = getLang(sender);
         TanChatUtils.message(
             sender,
             Lang.CANNOT_CAST_COMMAND_ON_PLAYER_WITH_SPECIFIC_RELATION.get(
@@ -92,15 +90,51 @@ public class CommandBlocker implements Listener {
     return false;
   }
 
-  private static boolean isPlayerInAnAttack(Player player, String inputCommand) {
-    ITanPlayer playerData = PlayerDataStorage.getInstance().getSync(player);
+  /**
+   * @return The relation between the towns of two players, or null if a player has no data
+   */
+  private static TownRelation getRelation(Player sender, Player receiver) {
+    PlayerAffiliationStorage affiliations = PlayerAffiliationStorage.getInstance();
+    PlayerAffiliation senderAffiliation = affiliations.get(sender);
+    PlayerAffiliation receiverAffiliation = affiliations.get(receiver);
+    if (senderAffiliation != null && receiverAffiliation != null) {
+      return senderAffiliation.getRelationWith(receiverAffiliation);
+    }
+
+    ITanPlayer senderData = PlayerDataStorage.getInstance().getSync(sender);
+    ITanPlayer receiverData = PlayerDataStorage.getInstance().getSync(receiver);
 
     // Validate player data exists
-    if (playerData == null) {
-      return false;
+    if (senderData == null || receiverData == null) {
+      return null;
+    }
+    return senderData.getRelationWithPlayerSync(receiverData);
+  }
+
+  private static LangType getLang(Player player) {
+    PlayerAffiliation affiliation = PlayerAffiliationStorage.getInstance().get(player);
+    if (affiliation != null) {
+      return affiliation.lang();
+    }
+    return PlayerDataStorage.getInstance().getSync(player).getLang();
+  }
+
+  private static boolean isPlayerInAnAttack(Player player, String inputCommand) {
+    PlayerAffiliation affiliation = PlayerAffiliationStorage.getInstance().get(player);
+    boolean atWar;
+    if (affiliation != null) {
+      atWar = affiliation.atWar();
+    } else {
+      ITanPlayer playerData = PlayerDataStorage.getInstance().getSync(player);
+
+      // Validate player data exists
+      if (playerData == null) {
+        return false;
+      }
+      atWar = !playerData.getAttackInvolvedIn().isEmpty();
     }
 
-    if (!playerData.getAttackInvolvedIn().isEmpty()) {
+    if (atWar) {
       for (String blackListedCommands : Constants.getBlacklistedCommandsDuringAttacks()) {
         if (inputCommand.startsWith(blackListedCommands)) {
           return true;
@@ -1,7 +1,6 @@
 package org.leralix.tan.listeners;
 
-import org.bukkit.Chunk;
-import org.bukkit.entity.EntityType;
+import org.bukkit.Location;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntitySpawnEvent;
@@ -12,14 +11,19 @@ public class MobSpawnListener implements Listener {
 
   @EventHandler
   public void entitySpawn(EntitySpawnEvent e) {
-    Chunk currentChunk = e.getEntity().getLocation().getChunk();
-    if (!NewClaimedChunkStorage.getInstance().isChunkClaimed(currentChunk)) {
+    // Single claim index probe: no Bukkit chunk, no wilderness chunk for unclaimed land
+    Location location = e.getLocation();
+    ClaimedChunk2 claimedChunk2 =
+        NewClaimedChunkStorage.getInstance()
+            .getClaimOrNull(
+                location.getWorld().getUID(),
+                location.getBlockX() >> 4,
+                location.getBlockZ() >> 4);
+    if (claimedChunk2 == null) {
       return;
     }
-    ClaimedChunk2 claimedChunk2 = NewClaimedChunkStorage.getInstance().get(currentChunk);
-    EntityType entityType = e.getEntity().getType();
 
-    if (!claimedChunk2.canEntitySpawn(entityType)) {
+    if (!claimedChunk2.canEntitySpawn(e.getEntityType())) {
       e.setCancelled(true);
     }
   }
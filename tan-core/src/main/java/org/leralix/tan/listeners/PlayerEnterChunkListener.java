@@ -4,6 +4,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import org.bukkit.Chunk;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -20,10 +21,15 @@ import org.leralix.tan.dataclass.chunk.WildernessChunk;
 import org.leralix.tan.enums.ChunkType;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.lang.LangType;
+import org.leralix.tan.service.PermissionDecisionCache;
+import org.leralix.tan.storage.CurrentAttacksStorage;
+import org.leralix.tan.storage.PlayerAffiliationStorage;
 import org.leralix.tan.storage.PlayerAutoClaimStorage;
 import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
 import org.leralix.tan.utils.constants.Constants;
+import org.leralix.tan.utils.graphic.BoundaryRenderer;
+import org.leralix.tan.utils.territory.ChunkKey;
 import org.leralix.tan.utils.text.TanChatUtils;
 
 public class PlayerEnterChunkListener implements Listener {
@@ -32,11 +38,9 @@ public class PlayerEnterChunkListener implements Listener {
   private final NewClaimedChunkStorage newClaimedChunkStorage;
   private final PlayerDataStorage playerDataStorage;
 
-  // OPTIMIZATION #1: Cache player's last chunk to detect chunk changes
-  private final Map<UUID, Chunk> playerLastChunk = new ConcurrentHashMap<>();
-
-  // OPTIMIZATION #2: Cache player's last territory to detect territory changes
-  private final Map<UUID, String> playerLastTerritory = new ConcurrentHashMap<>();
+  // OPTIMIZATION #1: Last chunk and territory of each player, to only run the enter pipeline on
+  // chunk transitions
+  private final Map<UUID, MoveState> playerMoveStates = new ConcurrentHashMap<>();
 
   public PlayerEnterChunkListener() {
     displayTerritoryNamewithColor =
@@ -48,47 +52,51 @@ public class PlayerEnterChunkListener implements Listener {
   @EventHandler(priority = EventPriority.LOWEST)
   public void playerMoveEvent(final @NotNull PlayerMoveEvent event) {
 
-    Chunk nextChunk = event.getTo().getChunk();
+    Location to = event.getTo();
+    int chunkX = to.getBlockX() >> 4;
+    int chunkZ = to.getBlockZ() >> 4;
+    long chunkKey = ChunkKey.pack(chunkX, chunkZ);
+    UUID worldID = to.getWorld().getUID();
     Player player = event.getPlayer();
     UUID playerUuid = player.getUniqueId();
 
-    // OPTIMIZATION #1: Early exit if player is in same chunk
-    // This covers ~80% of move events and avoids all expensive checks
-    Chunk lastChunk = playerLastChunk.get(playerUuid);
-    if (nextChunk.equals(lastChunk)) {
-      return;
+    MoveState moveState = playerMoveStates.get(playerUuid);
+    if (moveState == null) {
+      moveState = new MoveState();
+      playerMoveStates.put(playerUuid, moveState);
     }
-    playerLastChunk.put(playerUuid, nextChunk);
-
-    // Single lookup instead of checking from chunk
-    ClaimedChunk2 nextClaimedChunk = newClaimedChunkStorage.get(nextChunk);
 
-    // Handle wilderness
-    if (nextClaimedChunk == null) {
-      handleWilderness(event, nextChunk, player, playerUuid);
+    // Early exit if player is in same chunk: covers most move events, without any allocation
+    if (moveState.chunkKey == chunkKey && worldID.equals(moveState.worldID)) {
       return;
     }
+    moveState.chunkKey = chunkKey;
+    moveState.worldID = worldID;
+
+    ClaimedChunk2 nextClaimedChunk = newClaimedChunkStorage.getClaimOrNull(worldID, chunkX, chunkZ);
 
-    // OPTIMIZATION #2: Cache territory info to avoid redundant checks
-    String nextTerritory = nextClaimedChunk.getOwnerID();
-    String lastTerritory = playerLastTerritory.get(playerUuid);
+    if (nextClaimedChunk == null && PlayerAutoClaimStorage.containsPlayer(player)) {
+      // Every wilderness chunk crossed is claimed, even if the previous one was wilderness too
+      autoClaimChunk(event, to.getChunk(), player);
+    }
 
-    if (nextTerritory.equals(lastTerritory)) {
+    // OPTIMIZATION #2: Only show messages and check relations when the owner changes
+    String nextTerritory =
+        nextClaimedChunk == null ? WildernessChunk.WILDERNESS_ID : nextClaimedChunk.getOwnerID();
+    if (nextTerritory.equals(moveState.territoryID)) {
       return; // Same owner, skip expensive relation checks
     }
-    playerLastTerritory.put(playerUuid, nextTerritory);
+    moveState.territoryID = nextTerritory;
 
-    // Handle territory chunk with relation checks
-    if (nextClaimedChunk instanceof TerritoryChunk territoryChunk) {
+    if (nextClaimedChunk == null) {
+      new WildernessChunk(chunkX, chunkZ, worldID.toString())
+          .playerEnterClaimedArea(player, displayTerritoryNamewithColor);
+    } else if (nextClaimedChunk instanceof TerritoryChunk territoryChunk) {
+      // Handle territory chunk with relation checks
       handleTerritoryChunk(event, territoryChunk, player, playerUuid);
     } else {
       nextClaimedChunk.playerEnterClaimedArea(player, displayTerritoryNamewithColor);
     }
-
-    if (nextClaimedChunk instanceof WildernessChunk
-        && PlayerAutoClaimStorage.containsPlayer(event.getPlayer())) {
-      autoClaimChunk(event, nextChunk, player);
-    }
   }
 
   /**
@@ -150,23 +158,15 @@ public class PlayerEnterChunkListener implements Listener {
             });
   }
 
-  private void handleWilderness(
-      final @NotNull PlayerMoveEvent event,
-      final @NotNull Chunk nextChunk,
-      final @NotNull Player player,
-      final @NotNull UUID playerUuid) {
-
-    if (PlayerAutoClaimStorage.containsPlayer(player)) {
-      autoClaimChunk(event, nextChunk, player);
-    }
-  }
-
   /** Clean up player cache on quit to prevent memory leaks */
   @EventHandler
   public void onPlayerQuit(final @NotNull PlayerQuitEvent event) {
     UUID uuid = event.getPlayer().getUniqueId();
-    playerLastChunk.remove(uuid);
-    playerLastTerritory.remove(uuid);
+    playerMoveStates.remove(uuid);
+    PermissionDecisionCache.getInstance().forget(uuid);
+    PlayerAffiliationStorage.getInstance().remove(uuid);
+    CurrentAttacksStorage.playerLeft(uuid);
+    BoundaryRenderer.getInstance().forget(uuid);
   }
 
   private void autoClaimChunk(
@@ -193,6 +193,13 @@ public class PlayerEnterChunkListener implements Listener {
     }
   }
 
+  /** Last chunk and territory of a player. Only updated from the player's own move events. */
+  private static final class MoveState {
+    private UUID worldID;
+    private long chunkKey;
+    private String territoryID;
+  }
+
   public static boolean sameOwner(final ClaimedChunk2 a, final ClaimedChunk2 b) {
     if (a == b) return true;
     return a.getOwnerID().equals(b.getOwnerID());
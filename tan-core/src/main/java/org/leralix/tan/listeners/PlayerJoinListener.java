@@ -11,6 +11,8 @@ import org.leralix.tan.TownsAndNations;
 import org.leralix.tan.events.newsletter.NewsletterStorage;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.lang.LangType;
+import org.leralix.tan.storage.CurrentAttacksStorage;
+import org.leralix.tan.storage.PlayerAffiliationStorage;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
 import org.leralix.tan.storage.stored.PremiumStorage;
 import org.leralix.tan.utils.graphic.PrefixUtil;
@@ -38,12 +40,14 @@ public class PlayerJoinListener implements Listener {
                     .warning("TanPlayer is null for " + player.getName());
                 return;
               }
+              PlayerAffiliationStorage.getInstance().track(tanPlayer);
 
               // All player interactions MUST run on the main thread (Folia global region scheduler)
               org.leralix.tan.utils.FoliaScheduler.runTask(
                   TownsAndNations.getPlugin(),
                   () -> {
                     if (tanPlayer.hasTown()) {
+                      CurrentAttacksStorage.playerJoined(player);
                       tanPlayer.updateCurrentAttack();
                       PrefixUtil.updatePrefix(player);
                     }
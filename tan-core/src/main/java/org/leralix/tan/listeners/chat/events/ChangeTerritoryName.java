@@ -6,8 +6,11 @@ import org.jetbrains.annotations.NotNull;
 import org.leralix.lib.utils.config.ConfigTag;
 import org.leralix.lib.utils.config.ConfigUtil;
 import org.leralix.tan.dataclass.territory.TerritoryData;
+import org.leralix.tan.dataclass.territory.TownData;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.listeners.chat.ChatListenerEvent;
+import org.leralix.tan.storage.stored.RegionDataStorage;
+import org.leralix.tan.storage.stored.TownDataStorage;
 import org.leralix.tan.utils.text.TanChatUtils;
 
 public class ChangeTerritoryName extends ChatListenerEvent {
@@ -33,6 +36,16 @@ public class ChangeTerritoryName extends ChatListenerEvent {
       return false;
     }
 
+    String nameOwnerID =
+        territoryToRename instanceof TownData
+            ? TownDataStorage.getInstance().getIdByName(message)
+            : RegionDataStorage.getInstance().getIdByName(message);
+    // Changing only the case of the current name is allowed
+    if (nameOwnerID != null && !nameOwnerID.equals(territoryToRename.getID())) {
+      TanChatUtils.message(player, Lang.NAME_ALREADY_USED.get(player));
+      return false;
+    }
+
     territoryToRename.rename(player, cost, message);
     openGui(guiCallback, player);
     return true;
@@ -5,6 +5,9 @@ import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 import io.prometheus.client.exporter.HTTPServer;
 import java.io.IOException;
+import java.util.function.ToDoubleFunction;
+import org.leralix.tan.storage.cache.CacheStats;
+import org.leralix.tan.storage.cache.StorageCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +48,41 @@ public class PrometheusMetricsCollector {
           .labelNames("type")
           .register();
 
+  private static final Counter storageLoads =
+      Counter.build()
+          .name("tan_storage_loads_total")
+          .help("Storage cache-miss loads, either issued to the database or coalesced")
+          .labelNames("table", "result")
+          .register();
+
+  private static final Counter storageWrites =
+      Counter.build()
+          .name("tan_storage_writes_total")
+          .help("Queued storage writes, either flushed to the database or coalesced")
+          .labelNames("table", "result")
+          .register();
+
+  private static final Counter unknownPermissions =
+      Counter.build()
+          .name("tan_permission_unknown_total")
+          .help("Synchronous permission checks answered by the fallback, by missing data")
+          .labelNames("missing")
+          .register();
+
+  private static final Counter boundaryParticles =
+      Counter.build()
+          .name("tan_boundary_particles_total")
+          .help("Boundary particles, either sent to a player or dropped when superseded")
+          .labelNames("source", "result")
+          .register();
+
+  private static final Gauge storageCache =
+      Gauge.build()
+          .name("tan_storage_cache")
+          .help("Storage cache statistics per table (hits, misses, evictions, rejections, bytes)")
+          .labelNames("table", "stat")
+          .register();
+
   // Histograms (latency)
   private static final Histogram queryDuration =
       Histogram.build()
@@ -62,6 +100,13 @@ public class PrometheusMetricsCollector {
           .buckets(0.001, 0.005, 0.01, 0.05, 0.1)
           .register();
 
+  private static final Histogram boundaryBudgetUsage =
+      Histogram.build()
+          .name("tan_boundary_budget_usage_ratio")
+          .help("Share of the per-player particle budget used by a boundary drawing tick")
+          .buckets(0.1, 0.25, 0.5, 0.75, 0.9, 1.0)
+          .register();
+
   // Gauges
   private static final Gauge cachedTerritories =
       Gauge.build().name("tan_cached_territories").help("Number of cached territories").register();
@@ -128,6 +173,61 @@ public class PrometheusMetricsCollector {
     cacheLatency.labels(type).observe(latencyMs / 1000.0);
   }
 
+  // ===== STORAGE METRICS =====
+
+  public static void recordStorageLoad(String table, boolean issued) {
+    storageLoads.labels(table, issued ? "issued" : "coalesced").inc();
+  }
+
+  public static void recordStorageWrite(String table, boolean flushed) {
+    storageWrites.labels(table, flushed ? "flushed" : "coalesced").inc();
+  }
+
+  // ===== PERMISSION METRICS =====
+
+  /**
+   * Record a synchronous permission check that could not be answered from memory.
+   *
+   * @param missing What was not loaded yet, "player" or "territory"
+   */
+  public static void recordUnknownPermission(String missing) {
+    unknownPermissions.labels(missing).inc();
+  }
+
+  public static void recordBoundaryParticles(String source, String result, int count) {
+    boundaryParticles.labels(source, result).inc(count);
+  }
+
+  public static void recordBoundaryBudgetUsage(double ratio) {
+    boundaryBudgetUsage.observe(ratio);
+  }
+
+  /**
+   * Expose the statistics of a storage cache. Values are read from the cache at scrape time, so the
+   * lookup path does not pay for metrics.
+   */
+  public static void registerStorageCache(String table, StorageCache<?> cache) {
+    bindStorageCacheStat(table, "hits", cache, CacheStats::hits);
+    bindStorageCacheStat(table, "misses", cache, CacheStats::misses);
+    bindStorageCacheStat(table, "evictions", cache, CacheStats::evictions);
+    bindStorageCacheStat(table, "rejections", cache, CacheStats::rejections);
+    bindStorageCacheStat(table, "weighted_bytes", cache, CacheStats::weightedSize);
+    bindStorageCacheStat(table, "max_bytes", cache, CacheStats::maximumWeight);
+  }
+
+  private static void bindStorageCacheStat(
+      String table, String stat, StorageCache<?> cache, ToDoubleFunction<CacheStats> value) {
+    storageCache.setChild(
+        new Gauge.Child() {
+          @Override
+          public double get() {
+            return value.applyAsDouble(cache.stats());
+          }
+        },
+        table,
+        stat);
+  }
+
   // ===== GAUGE SETTERS =====
 
   public static void setCachedTerritories(int count) {
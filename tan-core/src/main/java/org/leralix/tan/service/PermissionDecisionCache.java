@@ -0,0 +1,204 @@
+package org.leralix.tan.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.leralix.tan.enums.permissions.ChunkPermissionType;
+
+/**
+ * Per-player cache of the territory-level part of chunk permission checks: whether a territory
+ * lets a player do an action, and whether the player is at war with it.
+ *
+ * <p>Decisions are keyed by (territory ID, {@link ChunkPermissionType}) and stamped with the
+ * epochs of that territory, one per {@link Category}. A change bumps the epoch of its category on
+ * the territories it touches, which makes only their decisions stale; they are recomputed on the
+ * next check. Permission decisions depend on every category, the war decision only on {@link
+ * Category#WAR}. Changes of what a player belongs to, or of the attacks they take part in, drop
+ * that player's decisions with {@link #forget(UUID)}. A hit is three map lookups and array reads,
+ * without locking or allocating.
+ *
+ * <p>Location-dependent checks (properties, WorldGuard) are not cached.
+ */
+public final class PermissionDecisionCache {
+
+  public static final byte UNKNOWN = 0;
+  public static final byte ALLOW = 1;
+  public static final byte DENY = 2;
+
+  /** What changed on a territory. */
+  public enum Category {
+    /** Chunk permissions of the territory. */
+    PERMISSION,
+    /** Ranks of the territory members. */
+    RANK,
+    /** Diplomatic relations, overlord and vassals of the territory. */
+    RELATION,
+    /** Attacks the territory takes part in. */
+    WAR
+  }
+
+  private static final Category[] CATEGORIES = Category.values();
+
+  private static final ChunkPermissionType[] PERMISSION_TYPES = ChunkPermissionType.values();
+
+  /** Slot after the permission types, holding whether the player is at war with the territory. */
+  private static final int WAR_SLOT = PERMISSION_TYPES.length;
+
+  private static PermissionDecisionCache instance;
+
+  /** Territories without an entry were never changed, their epochs are all 0. */
+  private final Map<String, AtomicLongArray> epochsByTerritory = new ConcurrentHashMap<>();
+
+  private final Map<UUID, Map<String, Decisions>> decisionsByPlayer = new ConcurrentHashMap<>();
+
+  private PermissionDecisionCache() {}
+
+  public static synchronized PermissionDecisionCache getInstance() {
+    if (instance == null) {
+      instance = new PermissionDecisionCache();
+    }
+    return instance;
+  }
+
+  /**
+   * Get the epoch of the permission decisions of a territory. Read it before computing a decision
+   * and pass it to {@code put}, so a change made during the computation discards the result.
+   */
+  public long getEpoch(String territoryID) {
+    AtomicLongArray epochs = epochsByTerritory.get(territoryID);
+    if (epochs == null) {
+      return 0;
+    }
+    // Epochs only grow, so their sum changes whenever one of them does
+    long sum = 0;
+    for (int i = 0; i < epochs.length(); i++) {
+      sum += epochs.get(i);
+    }
+    return sum;
+  }
+
+  /** Get the epoch of the war decisions of a territory, to pass to {@code putWar}. */
+  public long getWarEpoch(String territoryID) {
+    AtomicLongArray epochs = epochsByTerritory.get(territoryID);
+    return epochs == null ? 0 : epochs.get(Category.WAR.ordinal());
+  }
+
+  /**
+   * Make the decisions of a territory stale after a change of the given category.
+   *
+   * @param territoryID ID of the changed territory
+   * @param category What changed
+   */
+  public void invalidate(String territoryID, Category category) {
+    epochsByTerritory
+        .computeIfAbsent(territoryID, id -> new AtomicLongArray(CATEGORIES.length))
+        .incrementAndGet(category.ordinal());
+  }
+
+  /** Make every decision of a territory stale, called when it is deleted. */
+  public void invalidateTerritory(String territoryID) {
+    for (Category category : CATEGORIES) {
+      invalidate(territoryID, category);
+    }
+  }
+
+  /**
+   * Get the cached decision of a territory for a player and an action.
+   *
+   * @return {@link #ALLOW}, {@link #DENY}, or {@link #UNKNOWN} if nothing valid is cached
+   */
+  public byte get(UUID playerID, String territoryID, ChunkPermissionType permissionType) {
+    Decisions decisions = getDecisions(playerID, territoryID);
+    if (decisions == null || decisions.epoch != getEpoch(territoryID)) {
+      return UNKNOWN;
+    }
+    return decisions.values[permissionType.ordinal()];
+  }
+
+  public void put(
+      UUID playerID,
+      String territoryID,
+      ChunkPermissionType permissionType,
+      boolean allowed,
+      long computedAtEpoch) {
+    if (computedAtEpoch != getEpoch(territoryID)) {
+      // Something changed while the decision was computed
+      return;
+    }
+    Decisions decisions =
+        getDecisionsFor(playerID, territoryID, computedAtEpoch, getWarEpoch(territoryID));
+    decisions.values[permissionType.ordinal()] = allowed ? ALLOW : DENY;
+  }
+
+  /**
+   * Get whether a player is at war with a territory, as cached.
+   *
+   * @return {@link #ALLOW} if at war, {@link #DENY} if not, or {@link #UNKNOWN}
+   */
+  public byte getWar(UUID playerID, String territoryID) {
+    Decisions decisions = getDecisions(playerID, territoryID);
+    if (decisions == null || decisions.warEpoch != getWarEpoch(territoryID)) {
+      return UNKNOWN;
+    }
+    return decisions.values[WAR_SLOT];
+  }
+
+  public void putWar(UUID playerID, String territoryID, boolean atWar, long computedAtWarEpoch) {
+    if (computedAtWarEpoch != getWarEpoch(territoryID)) {
+      return;
+    }
+    Decisions decisions =
+        getDecisionsFor(playerID, territoryID, getEpoch(territoryID), computedAtWarEpoch);
+    decisions.values[WAR_SLOT] = atWar ? ALLOW : DENY;
+  }
+
+  /**
+   * Drop the decisions of a player, called when they leave the server or when what they belong
+   * to or fight in changes.
+   */
+  public void forget(UUID playerID) {
+    decisionsByPlayer.remove(playerID);
+  }
+
+  public static synchronized void reset() {
+    instance = null;
+  }
+
+  private Decisions getDecisions(UUID playerID, String territoryID) {
+    Map<String, Decisions> decisionsByTerritory = decisionsByPlayer.get(playerID);
+    return decisionsByTerritory == null ? null : decisionsByTerritory.get(territoryID);
+  }
+
+  private Decisions getDecisionsFor(UUID playerID, String territoryID, long epoch, long warEpoch) {
+    Map<String, Decisions> decisionsByTerritory =
+        decisionsByPlayer.computeIfAbsent(playerID, id -> new ConcurrentHashMap<>());
+    return decisionsByTerritory.compute(
+        territoryID,
+        (id, current) -> {
+          if (current != null && current.epoch == epoch && current.warEpoch == warEpoch) {
+            return current;
+          }
+          Decisions decisions = new Decisions(epoch, warEpoch);
+          if (current != null && current.epoch == epoch) {
+            System.arraycopy(current.values, 0, decisions.values, 0, WAR_SLOT);
+          }
+          if (current != null && current.warEpoch == warEpoch) {
+            decisions.values[WAR_SLOT] = current.values[WAR_SLOT];
+          }
+          return decisions;
+        });
+  }
+
+  /** Decisions of one player for one territory, valid for the epochs they were computed at. */
+  private static final class Decisions {
+    private final long epoch;
+    private final long warEpoch;
+    private final byte[] values = new byte[WAR_SLOT + 1];
+
+    private Decisions(long epoch, long warEpoch) {
+      this.epoch = epoch;
+      this.warEpoch = warEpoch;
+    }
+  }
+}
@@ -4,43 +4,151 @@ import java.util.concurrent.CompletableFuture;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.NoPlayerData;
+import org.leralix.tan.dataclass.PlayerAffiliation;
 import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
+import org.leralix.tan.dataclass.chunk.TerritoryChunk;
+import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.enums.TownRelation;
 import org.leralix.tan.enums.permissions.ChunkPermissionType;
+import org.leralix.tan.enums.permissions.PermissionDecision;
+import org.leralix.tan.monitoring.PrometheusMetricsCollector;
+import org.leralix.tan.storage.CurrentAttacksStorage;
+import org.leralix.tan.storage.PlayerAffiliationStorage;
 import org.leralix.tan.storage.SudoPlayerStorage;
 import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
 import org.leralix.tan.utils.constants.Constants;
 import org.leralix.tan.utils.constants.EnabledPermissions;
+import org.leralix.tan.utils.gameplay.TerritoryUtil;
+import org.leralix.tan.wars.legacy.CurrentAttack;
 
 public class PermissionService {
 
+  /**
+   * Check if a player can do an action, waiting for the player data if needed. Meant for callers
+   * off the region thread; event handlers should use {@link #canPlayerDoActionSync}.
+   */
   public CompletableFuture<Boolean> canPlayerDoAction(
       Location location, Player player, ChunkPermissionType permissionType) {
 
-    // Admins disabled the specific permission
-    if (EnabledPermissions.getInstance().isPermissionDisabled(permissionType)) {
+    if (isBypassed(player, permissionType)) {
       return CompletableFuture.completedFuture(true);
     }
 
-    // Player in admin mode
-    if (SudoPlayerStorage.isSudoPlayer(player)) return CompletableFuture.completedFuture(true);
-
     // PERFORMANCE FIX: Use cache-only lookup to avoid blocking DB calls
     // Chunks should be preloaded in cache, so this is almost always instant
     ClaimedChunk2 claimedChunk = NewClaimedChunkStorage.getInstance().get(location.getChunk());
 
+    // Wilderness and landmarks have no territory to be at war with
+    if (!(claimedChunk instanceof TerritoryChunk)) {
+      return CompletableFuture.completedFuture(
+          claimedChunk.canPlayerDo(player, permissionType, location));
+    }
+
+    // Known war state: answer without waiting for the player data
+    String ownerID = claimedChunk.getOwnerID();
+    PermissionDecisionCache decisionCache = PermissionDecisionCache.getInstance();
+    byte atWar = decisionCache.getWar(player.getUniqueId(), ownerID);
+    if (atWar == PermissionDecisionCache.ALLOW) {
+      return CompletableFuture.completedFuture(true);
+    }
+    if (atWar == PermissionDecisionCache.DENY) {
+      return CompletableFuture.completedFuture(
+          claimedChunk.canPlayerDo(player, permissionType, location));
+    }
+
+    long epoch = decisionCache.getWarEpoch(ownerID);
     return PlayerDataStorage.getInstance()
         .get(player)
         .thenApply(
             tanPlayer -> {
               boolean isAtWar = tanPlayer.isAtWarWith(claimedChunk.getOwner());
+              decisionCache.putWar(player.getUniqueId(), ownerID, isAtWar, epoch);
               if (isAtWar) return true;
 
               return claimedChunk.canPlayerDo(tanPlayer.getPlayer(), permissionType, location);
             });
   }
 
+  /**
+   * Check if a player can do an action from the data already in memory, never waiting for the
+   * database. {@link PermissionDecision#UNKNOWN} is answered with the {@code
+   * unknownPermissionFallback} config.
+   *
+   * @return true if the action is allowed
+   */
+  public boolean canPlayerDoActionSync(
+      Location location, Player player, ChunkPermissionType permissionType) {
+    PermissionDecision decision = evaluate(location, player, permissionType);
+    if (decision == PermissionDecision.UNKNOWN) {
+      return Constants.allowUnknownPermission();
+    }
+    return decision == PermissionDecision.ALLOW;
+  }
+
+  /**
+   * Evaluate if a player can do an action from the data already in memory. Missing player or
+   * territory data is loaded in the background and the check answers {@link
+   * PermissionDecision#UNKNOWN} instead of waiting for it.
+   *
+   * @param location The location of the action
+   * @param player The player doing the action
+   * @param permissionType Type of permission to check
+   * @return {@link PermissionDecision#ALLOW}, {@link PermissionDecision#DENY} or {@link
+   *     PermissionDecision#UNKNOWN}
+   */
+  public PermissionDecision evaluate(
+      Location location, Player player, ChunkPermissionType permissionType) {
+
+    if (isBypassed(player, permissionType)) {
+      return PermissionDecision.ALLOW;
+    }
+
+    ClaimedChunk2 claimedChunk = NewClaimedChunkStorage.getInstance().get(location.getChunk());
+    if (!(claimedChunk instanceof TerritoryChunk)) {
+      return claimedChunk.evaluate(player, permissionType, location);
+    }
+
+    String ownerID = claimedChunk.getOwnerID();
+    TerritoryData owner = TerritoryUtil.getTerritory(ownerID);
+    if (owner == null) {
+      PrometheusMetricsCollector.recordUnknownPermission("territory");
+      return PermissionDecision.UNKNOWN;
+    }
+    ITanPlayer tanPlayer = PlayerDataStorage.getInstance().getSync(player);
+    if (tanPlayer instanceof NoPlayerData) {
+      PrometheusMetricsCollector.recordUnknownPermission("player");
+      return PermissionDecision.UNKNOWN;
+    }
+    for (CurrentAttack currentAttack : owner.getCurrentAttacks()) {
+      if (!currentAttack.getAttackData().areBelligerentsLoaded()) {
+        PrometheusMetricsCollector.recordUnknownPermission("territory");
+        return PermissionDecision.UNKNOWN;
+      }
+    }
+
+    PermissionDecisionCache decisionCache = PermissionDecisionCache.getInstance();
+    byte atWar = decisionCache.getWar(player.getUniqueId(), ownerID);
+    if (atWar == PermissionDecisionCache.UNKNOWN) {
+      long epoch = decisionCache.getWarEpoch(ownerID);
+      // Players in no attack at all, the common case, skip the attack lookups
+      PlayerAffiliation affiliation = PlayerAffiliationStorage.getInstance().get(player);
+      boolean isAtWar =
+          (affiliation == null || affiliation.atWar()) && isAtWarWith(tanPlayer, ownerID);
+      decisionCache.putWar(player.getUniqueId(), ownerID, isAtWar, epoch);
+      atWar = isAtWar ? PermissionDecisionCache.ALLOW : PermissionDecisionCache.DENY;
+    }
+    if (atWar == PermissionDecisionCache.ALLOW) {
+      return PermissionDecision.ALLOW;
+    }
+    PermissionDecision decision = claimedChunk.evaluate(player, permissionType, location);
+    if (decision == PermissionDecision.UNKNOWN) {
+      PrometheusMetricsCollector.recordUnknownPermission("territory");
+    }
+    return decision;
+  }
+
   public boolean canPvpHappen(Player player1, Player player2) {
     if (!NewClaimedChunkStorage.getInstance()
         .get(player2.getLocation().getChunk())
@@ -48,10 +156,34 @@ public class PermissionService {
       return false;
     }
 
-    ITanPlayer tanPlayer = PlayerDataStorage.getInstance().getSync(player1);
-    ITanPlayer tanPlayer2 = PlayerDataStorage.getInstance().getSync(player2);
-    TownRelation relation = tanPlayer.getRelationWithPlayerSync(tanPlayer2);
+    TownRelation relation;
+    PlayerAffiliation affiliation1 = PlayerAffiliationStorage.getInstance().get(player1);
+    PlayerAffiliation affiliation2 = PlayerAffiliationStorage.getInstance().get(player2);
+    if (affiliation1 != null && affiliation2 != null) {
+      relation = affiliation1.getRelationWith(affiliation2);
+    } else {
+      ITanPlayer tanPlayer = PlayerDataStorage.getInstance().getSync(player1);
+      ITanPlayer tanPlayer2 = PlayerDataStorage.getInstance().getSync(player2);
+      relation = tanPlayer.getRelationWithPlayerSync(tanPlayer2);
+    }
 
     return Constants.getRelationConstants(relation).canPvP();
   }
+
+  private static boolean isBypassed(Player player, ChunkPermissionType permissionType) {
+    // Admins disabled the specific permission, or player in admin mode
+    return EnabledPermissions.getInstance().isPermissionDisabled(permissionType)
+        || SudoPlayerStorage.isSudoPlayer(player);
+  }
+
+  /** Same as {@link ITanPlayer#isAtWarWith}, reading the defenders by ID only. */
+  private static boolean isAtWarWith(ITanPlayer tanPlayer, String territoryID) {
+    for (String attackID : tanPlayer.getAttackInvolvedIn()) {
+      CurrentAttack currentAttack = CurrentAttacksStorage.get(attackID);
+      if (currentAttack != null && currentAttack.getAttackData().isDefending(territoryID)) {
+        return true;
+      }
+    }
+    return false;
+  }
 }
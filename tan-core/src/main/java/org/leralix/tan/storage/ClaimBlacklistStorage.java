@@ -5,12 +5,14 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.bukkit.Chunk;
+import org.bukkit.World;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.leralix.lib.utils.config.ConfigTag;
 import org.leralix.lib.utils.config.ConfigUtil;
 import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
 import org.leralix.tan.storage.blacklist.BlackListWorld;
 import org.leralix.tan.storage.blacklist.BlackListZone;
+import org.leralix.tan.storage.blacklist.BlacklistIndex;
 import org.leralix.tan.storage.blacklist.IBlackList;
 
 public class ClaimBlacklistStorage {
@@ -19,10 +21,11 @@ public class ClaimBlacklistStorage {
     throw new IllegalStateException("Utility class");
   }
 
-  private static List<IBlackList> blacklist;
+  /** Compiled blacklist, swapped as a whole when the config is reloaded. */
+  private static volatile BlacklistIndex index = BlacklistIndex.EMPTY;
 
   public static void init() {
-    blacklist = new ArrayList<>();
+    List<IBlackList> blacklist = new ArrayList<>();
     FileConfiguration config = ConfigUtil.getCustomConfig(ConfigTag.MAIN);
     for (Object item : config.getList("claimBlacklist", Collections.emptyList())) {
       if (item instanceof Map<?, ?> map) {
@@ -43,18 +46,23 @@ public class ClaimBlacklistStorage {
         }
       }
     }
+    index = BlacklistIndex.compile(blacklist);
   }
 
   public static boolean cannotBeClaimed(Chunk chunk) {
-    for (IBlackList instance : blacklist) {
-      if (instance.isChunkInArea(chunk)) {
-        return true;
-      }
-    }
-    return false;
+    return cannotBeClaimed(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
   }
 
   public static boolean cannotBeClaimed(ClaimedChunk2 claimedChunk) {
-    return cannotBeClaimed(claimedChunk.getChunk());
+    // Read the coordinates directly, getChunk() would load the chunk
+    World world = claimedChunk.getWorld();
+    if (world == null) {
+      return false;
+    }
+    return cannotBeClaimed(world.getName(), claimedChunk.getX(), claimedChunk.getZ());
+  }
+
+  public static boolean cannotBeClaimed(String worldName, int chunkX, int chunkZ) {
+    return index.isBlacklisted(worldName, chunkX, chunkZ);
   }
 }
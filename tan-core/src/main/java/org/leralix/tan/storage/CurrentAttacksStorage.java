@@ -1,21 +1,34 @@
 package org.leralix.tan.storage;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.entity.Player;
+import org.leralix.tan.service.PermissionDecisionCache;
 import org.leralix.tan.wars.PlannedAttack;
 import org.leralix.tan.wars.legacy.CurrentAttack;
 
 public class CurrentAttacksStorage {
-  private static final Map<String, CurrentAttack> attackStatusMap = new HashMap<>();
+  private static final Map<String, CurrentAttack> attackStatusMap = new ConcurrentHashMap<>();
 
   public static void startAttack(PlannedAttack plannedAttack, long startTime, long endTime) {
     attackStatusMap.put(
         plannedAttack.getID(), new CurrentAttack(plannedAttack, startTime, endTime));
+    invalidateWarDecisions(plannedAttack);
   }
 
   public static void remove(CurrentAttack currentAttacks) {
     attackStatusMap.remove(currentAttacks.getAttackData().getID());
+    invalidateWarDecisions(currentAttacks.getAttackData());
+  }
+
+  /** Only decisions on the belligerents depend on whether their attack is running. */
+  private static void invalidateWarDecisions(PlannedAttack plannedAttack) {
+    for (String territoryID : plannedAttack.getBelligerentsID()) {
+      PermissionDecisionCache.getInstance()
+          .invalidate(territoryID, PermissionDecisionCache.Category.WAR);
+    }
   }
 
   public static CurrentAttack get(String id) {
@@ -25,4 +38,25 @@ public class CurrentAttacksStorage {
   public static Collection<CurrentAttack> getAll() {
     return attackStatusMap.values();
   }
+
+  /** Add a player who just joined to the online participants of the attacks they are in. */
+  public static void playerJoined(Player player) {
+    for (CurrentAttack currentAttack : attackStatusMap.values()) {
+      currentAttack.getAttackData().playerJoined(player);
+    }
+  }
+
+  /** Update the frontline of every attack after the claim or occupier of a chunk changed. */
+  public static void chunkChanged(UUID worldID, int x, int z) {
+    for (CurrentAttack currentAttack : attackStatusMap.values()) {
+      currentAttack.getFrontline().chunkChanged(worldID, x, z);
+    }
+  }
+
+  /** Remove a player who left from the online participants of every attack. */
+  public static void playerLeft(UUID playerID) {
+    for (CurrentAttack currentAttack : attackStatusMap.values()) {
+      currentAttack.getAttackData().playerLeft(playerID);
+    }
+  }
 }
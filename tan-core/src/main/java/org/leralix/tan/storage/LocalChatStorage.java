@@ -6,14 +6,16 @@ import org.leralix.lib.data.SoundEnum;
 import org.leralix.lib.utils.config.ConfigTag;
 import org.leralix.lib.utils.config.ConfigUtil;
 import org.leralix.tan.TownsAndNations;
-import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.PlayerAffiliation;
 import org.leralix.tan.dataclass.territory.RegionData;
 import org.leralix.tan.dataclass.territory.TownData;
 import org.leralix.tan.enums.ChatScope;
 import org.leralix.tan.enums.TownRelation;
 import org.leralix.tan.lang.FilledLang;
 import org.leralix.tan.lang.Lang;
+import org.leralix.tan.lang.LangType;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
+import org.leralix.tan.storage.stored.RegionDataStorage;
 import org.leralix.tan.utils.gameplay.TerritoryUtil;
 import org.leralix.tan.utils.text.TanChatUtils;
 
@@ -48,20 +50,72 @@ public class LocalChatStorage {
   }
 
   public static void broadcastInScope(Player player, String message) {
-    ITanPlayer tanPlayer = PlayerDataStorage.getInstance().getSync(player);
+    ChatScope scope = getPlayerChatScope(player);
+    PlayerAffiliation affiliation = PlayerAffiliationStorage.getInstance().getOrBuild(player);
+    if (affiliation == null) {
+      broadcastWhenLoaded(player, message, scope);
+      return;
+    }
 
-    if (!tanPlayer.hasTown()) {
+    if (!affiliation.hasTown()) {
       return;
     }
 
-    ChatScope scope = getPlayerChatScope(player);
+    TownData townData = affiliation.getTown();
+    boolean needsRegion = scope == ChatScope.REGION && affiliation.hasRegion();
+    RegionData regionData = needsRegion ? affiliation.getRegion() : null;
+    if (townData == null || (needsRegion && regionData == null)) {
+      broadcastWhenLoaded(player, message, scope);
+      return;
+    }
+    broadcast(player, message, scope, townData, regionData, affiliation.lang());
+  }
+
+  /**
+   * Load the player, their town and region, then send the message to the recipients built from the
+   * loaded data. The cache is not read again, so the message is sent once even if the loaded data
+   * is not kept in memory.
+   */
+  private static void broadcastWhenLoaded(Player player, String message, ChatScope scope) {
+    PlayerDataStorage.getInstance()
+        .get(player)
+        .thenAccept(
+            tanPlayer ->
+                tanPlayer
+                    .getTown()
+                    .thenAccept(
+                        townData ->
+                            broadcastWithTown(
+                                player, message, scope, townData, tanPlayer.getLang())));
+  }
+
+  private static void broadcastWithTown(
+      Player player, String message, ChatScope scope, TownData townData, LangType lang) {
+    if (townData == null) {
+      return;
+    }
+    String regionID = townData.getOverlordID();
+    if (scope != ChatScope.REGION || regionID == null) {
+      broadcast(player, message, scope, townData, null, lang);
+      return;
+    }
+    RegionDataStorage.getInstance()
+        .get(regionID)
+        .thenAccept(regionData -> broadcast(player, message, scope, townData, regionData, lang));
+  }
+
+  private static void broadcast(
+      Player player,
+      String message,
+      ChatScope scope,
+      TownData townData,
+      RegionData regionData,
+      LangType lang) {
     boolean sendLogsToConsole =
         ConfigUtil.getCustomConfig(ConfigTag.MAIN)
             .getBoolean("sendPrivateMessagesToConsole", false);
 
     if (scope == ChatScope.CITY) {
-      TownData townData = tanPlayer.getTownSync();
-
       FilledLang messageFormat =
           Lang.CHAT_SCOPE_TOWN_MESSAGE.get(townData.getName(), player.getName(), message);
 
@@ -71,14 +125,11 @@ public class LocalChatStorage {
 
     } else if (scope == ChatScope.REGION) {
 
-      if (!tanPlayer.hasRegion()) {
-        TanChatUtils.message(
-            player, Lang.NO_REGION.get(tanPlayer.getLang()), SoundEnum.NOT_ALLOWED);
+      if (regionData == null) {
+        TanChatUtils.message(player, Lang.NO_REGION.get(lang), SoundEnum.NOT_ALLOWED);
         return;
       }
 
-      RegionData regionData = tanPlayer.getRegionSync();
-
       FilledLang messageFormat =
           Lang.CHAT_SCOPE_REGION_MESSAGE.get(regionData.getName(), player.getName(), message);
 
@@ -86,13 +137,11 @@ public class LocalChatStorage {
       if (sendLogsToConsole)
         TownsAndNations.getPlugin().getLogger().info(messageFormat.getDefault());
     } else if (scope == ChatScope.ALLIANCE) {
-      TownData playerTown = tanPlayer.getTownSync();
-
       FilledLang messageFormat =
-          Lang.CHAT_SCOPE_TOWN_MESSAGE.get(playerTown.getName(), player.getName(), message);
+          Lang.CHAT_SCOPE_TOWN_MESSAGE.get(townData.getName(), player.getName(), message);
 
-      playerTown.broadCastMessage(messageFormat);
-      playerTown
+      townData.broadCastMessage(messageFormat);
+      townData
           .getRelations()
           .getTerritoriesIDWithRelation(TownRelation.ALLIANCE)
           .forEach(
@@ -100,7 +149,7 @@ public class LocalChatStorage {
                   TerritoryUtil.getTerritory(territoryID)
                       .broadCastMessage(
                           Lang.CHAT_SCOPE_ALLIANCE_MESSAGE.get(
-                              playerTown.getName(), player.getName(), message)));
+                              townData.getName(), player.getName(), message)));
 
       if (sendLogsToConsole)
         TownsAndNations.getPlugin().getLogger().info(messageFormat.getDefault());
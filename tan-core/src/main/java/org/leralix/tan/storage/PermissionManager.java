@@ -6,6 +6,7 @@ import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.dataclass.territory.permission.ChunkPermission;
 import org.leralix.tan.dataclass.territory.permission.RelationPermission;
 import org.leralix.tan.enums.permissions.ChunkPermissionType;
+import org.leralix.tan.enums.permissions.PermissionDecision;
 
 public class PermissionManager {
 
@@ -28,6 +29,11 @@ public class PermissionManager {
     return get(action).isAllowed(territoryToCheck, tanPlayer);
   }
 
+  public PermissionDecision evaluate(
+      TerritoryData territoryToCheck, ChunkPermissionType action, ITanPlayer tanPlayer) {
+    return get(action).evaluate(territoryToCheck, tanPlayer);
+  }
+
   public ChunkPermission get(ChunkPermissionType type) {
     return chunkPermissions.getOrDefault(type, new ChunkPermission(RelationPermission.TOWN));
   }
@@ -0,0 +1,160 @@
+package org.leralix.tan.storage;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.OfflinePlayer;
+import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.NoPlayerData;
+import org.leralix.tan.dataclass.PlayerAffiliation;
+import org.leralix.tan.dataclass.territory.TerritoryData;
+import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.storage.stored.PlayerDataStorage;
+import org.leralix.tan.storage.stored.RegionDataStorage;
+import org.leralix.tan.storage.stored.TownDataStorage;
+
+/**
+ * Affiliation snapshots of online players, so hot paths (permission checks, messages, chat,
+ * placeholders) read the town, region, ranks, language and war state of a player with one lookup.
+ *
+ * <p>A snapshot is built when the player data is loaded at join, rebuilt and swapped when one of
+ * its facts changes, and dropped at quit. Players without a snapshot fall back to their player
+ * data.
+ */
+public final class PlayerAffiliationStorage {
+
+  private static PlayerAffiliationStorage instance;
+
+  private final Map<UUID, PlayerAffiliation> affiliations = new ConcurrentHashMap<>();
+
+  private PlayerAffiliationStorage() {}
+
+  public static synchronized PlayerAffiliationStorage getInstance() {
+    if (instance == null) {
+      instance = new PlayerAffiliationStorage();
+    }
+    return instance;
+  }
+
+  public void reset() {
+    instance = null;
+  }
+
+  /**
+   * @return The snapshot of an online player, or null if they have none yet
+   */
+  public PlayerAffiliation get(OfflinePlayer player) {
+    return affiliations.get(player.getUniqueId());
+  }
+
+  public PlayerAffiliation get(UUID playerID) {
+    return affiliations.get(playerID);
+  }
+
+  /**
+   * Get the snapshot of a player, or build one from the data in memory if they are not tracked.
+   * The built snapshot is not stored.
+   *
+   * @param player The player
+   * @return The affiliation of the player, or null if their data or their town is not in memory
+   *     yet. It is being loaded in the background.
+   */
+  public PlayerAffiliation getOrBuild(OfflinePlayer player) {
+    PlayerAffiliation affiliation = get(player);
+    if (affiliation != null) {
+      return affiliation;
+    }
+    ITanPlayer tanPlayer = PlayerDataStorage.getInstance().getSync(player.getUniqueId());
+    if (tanPlayer instanceof NoPlayerData) {
+      return null;
+    }
+    String townID = tanPlayer.getTownId();
+    if (townID == null) {
+      return build(tanPlayer, null);
+    }
+    TownData town = TownDataStorage.getInstance().getSync(townID);
+    return town == null ? null : build(tanPlayer, town);
+  }
+
+  /**
+   * Start tracking a player who just joined. The snapshot is stored once their town is loaded.
+   *
+   * @param tanPlayer The loaded player data
+   */
+  public void track(ITanPlayer tanPlayer) {
+    UUID playerID = tanPlayer.getUUID();
+    tanPlayer
+        .getTown()
+        .thenAccept(
+            town -> {
+              if (tanPlayer.getPlayer() != null) {
+                affiliations.put(playerID, build(tanPlayer, town));
+              }
+            });
+  }
+
+  /** Stop tracking a player who left. */
+  public void remove(UUID playerID) {
+    affiliations.remove(playerID);
+  }
+
+  /**
+   * Rebuild the snapshot of a player after their town, rank, language or wars changed. Players
+   * who are not tracked are ignored.
+   *
+   * @param tanPlayer The player data, already updated
+   */
+  public void refresh(ITanPlayer tanPlayer) {
+    UUID playerID = tanPlayer.getUUID();
+    if (playerID == null || !affiliations.containsKey(playerID)) {
+      return;
+    }
+    String townID = tanPlayer.getTownId();
+    TownData town = townID == null ? null : TownDataStorage.getInstance().getSync(townID);
+    if (townID == null || town != null) {
+      affiliations.computeIfPresent(playerID, (id, previous) -> build(tanPlayer, town));
+      return;
+    }
+    // A town that is not stored yet is being created, it refreshes its leader once stored
+    tanPlayer
+        .getTown()
+        .thenAccept(
+            loaded -> {
+              if (loaded != null) {
+                affiliations.computeIfPresent(playerID, (id, previous) -> build(tanPlayer, loaded));
+              }
+            });
+  }
+
+  /**
+   * Rebuild the snapshots of every tracked member of a territory, after its overlord changed.
+   *
+   * @param territory The territory
+   */
+  public void refreshAll(TerritoryData territory) {
+    for (String playerID : territory.getPlayerIDList()) {
+      UUID uuid = UUID.fromString(playerID);
+      if (affiliations.containsKey(uuid)) {
+        PlayerDataStorage.getInstance().get(uuid).thenAccept(this::refresh);
+      }
+    }
+  }
+
+  public int size() {
+    return affiliations.size();
+  }
+
+  private static PlayerAffiliation build(ITanPlayer tanPlayer, TownData town) {
+    String regionID = town == null ? null : town.getOverlordID();
+    // The region rank is only resolved from memory, the snapshot is rebuilt on rank changes
+    boolean regionLoaded =
+        regionID != null && RegionDataStorage.getInstance().getSync(regionID) != null;
+    return new PlayerAffiliation(
+        tanPlayer.getTownId(),
+        regionID,
+        tanPlayer.getTownRankID(),
+        regionLoaded ? tanPlayer.getRegionRankID() : null,
+        tanPlayer.getLang(),
+        !tanPlayer.getAttackInvolvedIn().isEmpty());
+  }
+}
@@ -12,4 +12,8 @@ public class BlackListWorld implements IBlackList {
   public boolean isChunkInArea(Chunk chunk) {
     return chunk.getWorld().getName().equals(worldName);
   }
+
+  public String getWorldName() {
+    return worldName;
+  }
 }
@@ -25,10 +25,30 @@ public class BlackListZone implements IBlackList {
   }
 
   public boolean isChunkInArea(Chunk chunk) {
-    return chunk.getWorld().getName().equals(worldName)
-        && chunk.getX() >= xMin
-        && chunk.getX() <= xMax
-        && chunk.getZ() >= zMin
-        && chunk.getZ() <= zMax;
+    return chunk.getWorld().getName().equals(worldName) && contains(chunk.getX(), chunk.getZ());
+  }
+
+  public boolean contains(int chunkX, int chunkZ) {
+    return chunkX >= xMin && chunkX <= xMax && chunkZ >= zMin && chunkZ <= zMax;
+  }
+
+  public String getWorldName() {
+    return worldName;
+  }
+
+  public int getXMin() {
+    return xMin;
+  }
+
+  public int getZMin() {
+    return zMin;
+  }
+
+  public int getXMax() {
+    return xMax;
+  }
+
+  public int getZMax() {
+    return zMax;
   }
 }
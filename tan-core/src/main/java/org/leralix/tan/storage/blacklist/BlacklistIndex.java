@@ -0,0 +1,141 @@
+package org.leralix.tan.storage.blacklist;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.leralix.tan.utils.collection.LongObjectHashMap;
+import org.leralix.tan.utils.territory.ChunkKey;
+
+/**
+ * Immutable lookup structure compiled from the claim blacklist.
+ *
+ * <p>Blacklisted worlds are kept in a hash set. Zones are bucketed per world on a coarse grid of
+ * {@code 16x16} chunk cells, so a lookup only tests the few zones overlapping the cell of the
+ * chunk. Zones covering more than {@link #MAX_CELLS_PER_ZONE} cells are tested directly instead of
+ * being copied in every cell.
+ */
+public final class BlacklistIndex {
+
+  /** Cells are {@code 1 << CELL_SHIFT} chunks wide. */
+  private static final int CELL_SHIFT = 4;
+
+  private static final int MAX_CELLS_PER_ZONE = 256;
+
+  private static final BlackListZone[] NO_ZONE = new BlackListZone[0];
+
+  public static final BlacklistIndex EMPTY = compile(List.of());
+
+  private final Set<String> blacklistedWorlds;
+  private final Map<String, WorldZones> zonesByWorld;
+
+  private BlacklistIndex(Set<String> blacklistedWorlds, Map<String, WorldZones> zonesByWorld) {
+    this.blacklistedWorlds = blacklistedWorlds;
+    this.zonesByWorld = zonesByWorld;
+  }
+
+  /**
+   * Compile a blacklist.
+   *
+   * @param blacklist The blacklisted worlds and zones
+   * @return The compiled index
+   */
+  public static BlacklistIndex compile(Collection<IBlackList> blacklist) {
+    Set<String> blacklistedWorlds = new HashSet<>();
+    Map<String, List<BlackListZone>> zones = new HashMap<>();
+    for (IBlackList instance : blacklist) {
+      if (instance instanceof BlackListZone zone) {
+        zones.computeIfAbsent(zone.getWorldName(), name -> new ArrayList<>()).add(zone);
+      } else {
+        blacklistedWorlds.add(instance.getWorldName());
+      }
+    }
+
+    Map<String, WorldZones> zonesByWorld = new HashMap<>();
+    zones.forEach(
+        (worldName, worldZones) -> {
+          if (!blacklistedWorlds.contains(worldName)) {
+            zonesByWorld.put(worldName, WorldZones.of(worldZones));
+          }
+        });
+    return new BlacklistIndex(Set.copyOf(blacklistedWorlds), Map.copyOf(zonesByWorld));
+  }
+
+  /**
+   * Check if a chunk is blacklisted.
+   *
+   * @param worldName Name of the world of the chunk
+   * @param chunkX Chunk X coordinate
+   * @param chunkZ Chunk Z coordinate
+   * @return true if the chunk cannot be claimed
+   */
+  public boolean isBlacklisted(String worldName, int chunkX, int chunkZ) {
+    if (blacklistedWorlds.contains(worldName)) {
+      return true;
+    }
+    WorldZones worldZones = zonesByWorld.get(worldName);
+    return worldZones != null && worldZones.contains(chunkX, chunkZ);
+  }
+
+  /** Zones of one world. */
+  private static final class WorldZones {
+    private final LongObjectHashMap<BlackListZone[]> zonesByCell;
+    private final BlackListZone[] largeZones;
+
+    private WorldZones(LongObjectHashMap<BlackListZone[]> zonesByCell, BlackListZone[] largeZones) {
+      this.zonesByCell = zonesByCell;
+      this.largeZones = largeZones;
+    }
+
+    private static WorldZones of(List<BlackListZone> zones) {
+      LongObjectHashMap<List<BlackListZone>> cells = new LongObjectHashMap<>();
+      List<BlackListZone> largeZones = new ArrayList<>();
+      for (BlackListZone zone : zones) {
+        int minX = zone.getXMin() >> CELL_SHIFT;
+        int maxX = zone.getXMax() >> CELL_SHIFT;
+        int minZ = zone.getZMin() >> CELL_SHIFT;
+        int maxZ = zone.getZMax() >> CELL_SHIFT;
+        if ((long) (maxX - minX + 1) * (maxZ - minZ + 1) > MAX_CELLS_PER_ZONE) {
+          largeZones.add(zone);
+          continue;
+        }
+        for (int x = minX; x <= maxX; x++) {
+          for (int z = minZ; z <= maxZ; z++) {
+            long key = ChunkKey.pack(x, z);
+            List<BlackListZone> cell = cells.get(key);
+            if (cell == null) {
+              cell = new ArrayList<>(2);
+              cells.put(key, cell);
+            }
+            cell.add(zone);
+          }
+        }
+      }
+
+      LongObjectHashMap<BlackListZone[]> zonesByCell = new LongObjectHashMap<>(cells.size());
+      cells.forEach((key, cell) -> zonesByCell.put(key, cell.toArray(NO_ZONE)));
+      return new WorldZones(zonesByCell, largeZones.toArray(NO_ZONE));
+    }
+
+    private boolean contains(int chunkX, int chunkZ) {
+      BlackListZone[] cell =
+          zonesByCell.get(ChunkKey.pack(chunkX >> CELL_SHIFT, chunkZ >> CELL_SHIFT));
+      if (cell != null) {
+        for (BlackListZone zone : cell) {
+          if (zone.contains(chunkX, chunkZ)) {
+            return true;
+          }
+        }
+      }
+      for (BlackListZone zone : largeZones) {
+        if (zone.contains(chunkX, chunkZ)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
@@ -5,4 +5,6 @@ import org.bukkit.Chunk;
 public interface IBlackList {
 
   public boolean isChunkInArea(Chunk chunk);
+
+  public String getWorldName();
 }
@@ -0,0 +1,62 @@
+package org.leralix.tan.storage.cache;
+
+import java.util.Locale;
+
+/** Helpers to express storage cache limits and entry weights in bytes. */
+public final class CacheSize {
+
+  /** Fixed overhead of a cache entry: key, node and map slot. */
+  private static final long ENTRY_OVERHEAD = 64;
+
+  private CacheSize() {
+    throw new AssertionError("Utility class");
+  }
+
+  /**
+   * Estimate the heap footprint of an object from its JSON form. The deserialized object graph
+   * roughly scales with the JSON, and a Java char takes two bytes.
+   *
+   * @param json The serialized object
+   * @return The estimated weight in bytes
+   */
+  public static long ofJson(String json) {
+    return ENTRY_OVERHEAD + (json == null ? 0 : 2L * json.length());
+  }
+
+  /**
+   * Parse a human-readable size such as {@code 512KB}, {@code 16MB}, {@code 1GB} or a plain number
+   * of bytes.
+   *
+   * @param value The size to parse
+   * @return The size in bytes
+   * @throws IllegalArgumentException if the value is not a positive size
+   */
+  public static long parseBytes(String value) {
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException("Empty cache size");
+    }
+    String normalized = value.trim().toUpperCase(Locale.ROOT).replace(" ", "");
+    long multiplier = 1;
+    if (normalized.endsWith("GB")) {
+      multiplier = 1024L * 1024 * 1024;
+    } else if (normalized.endsWith("MB")) {
+      multiplier = 1024L * 1024;
+    } else if (normalized.endsWith("KB")) {
+      multiplier = 1024L;
+    }
+    if (multiplier != 1) {
+      normalized = normalized.substring(0, normalized.length() - 2);
+    } else if (normalized.endsWith("B")) {
+      normalized = normalized.substring(0, normalized.length() - 1);
+    }
+    try {
+      long bytes = Long.parseLong(normalized) * multiplier;
+      if (bytes <= 0) {
+        throw new IllegalArgumentException("Cache size must be positive: " + value);
+      }
+      return bytes;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid cache size: " + value, e);
+    }
+  }
+}
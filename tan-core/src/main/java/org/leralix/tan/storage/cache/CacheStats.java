@@ -0,0 +1,25 @@
+package org.leralix.tan.storage.cache;
+
+/**
+ * Snapshot of the statistics of a {@link StorageCache}.
+ *
+ * @param hits Lookups that found a value
+ * @param misses Lookups that did not find a value
+ * @param evictions Entries removed to respect the weight limit
+ * @param rejections New entries refused by the admission policy
+ * @param weightedSize Current sum of the weights of cached entries
+ * @param maximumWeight Configured weight limit
+ */
+public record CacheStats(
+    long hits,
+    long misses,
+    long evictions,
+    long rejections,
+    long weightedSize,
+    long maximumWeight) {
+
+  public double hitRate() {
+    long requests = hits + misses;
+    return requests == 0 ? 1.0 : (double) hits / requests;
+  }
+}
@@ -0,0 +1,105 @@
+package org.leralix.tan.storage.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch of 4-bit counters estimating how often a key has been seen recently.
+ *
+ * <p>Each {@code long} holds sixteen counters and every key maps to four of them; the estimate is
+ * the smallest. Once the number of increments reaches ten times the table size, every counter is
+ * halved so old popularity fades. Increments are lock-free and may be lost under contention, which
+ * only makes the estimate slightly lower.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final int MAX_COUNT = 15;
+
+  private final AtomicLongArray table;
+  private final int tableMask;
+  private final int sampleSize;
+  private final AtomicInteger additions = new AtomicInteger();
+
+  /**
+   * @param expectedEntries Approximate number of distinct keys the sketch should track
+   */
+  FrequencySketch(long expectedEntries) {
+    int length = tableSizeFor((int) Math.min(Math.max(expectedEntries, 16), 1 << 24));
+    this.table = new AtomicLongArray(length);
+    this.tableMask = length - 1;
+    this.sampleSize = 10 * length;
+  }
+
+  /**
+   * Estimate the recent frequency of a key.
+   *
+   * @param hash The spread hash of the key
+   * @return The estimated frequency, between 0 and 15
+   */
+  int frequency(int hash) {
+    int frequency = MAX_COUNT;
+    for (int row = 0; row < SEEDS.length; row++) {
+      long slot = slot(hash, row);
+      int count = (int) ((table.get(index(slot)) >>> offset(slot)) & 0xF);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  /**
+   * Record an occurrence of a key.
+   *
+   * @param hash The spread hash of the key
+   */
+  void increment(int hash) {
+    boolean added = false;
+    for (int row = 0; row < SEEDS.length; row++) {
+      long slot = slot(hash, row);
+      added |= incrementAt(index(slot), offset(slot));
+    }
+    if (added && additions.incrementAndGet() >= sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int index, int offset) {
+    long mask = 0xFL << offset;
+    long current = table.get(index);
+    if ((current & mask) == mask) {
+      return false;
+    }
+    // A single attempt: losing an increment to a racing thread is harmless for an estimate.
+    return table.compareAndSet(index, current, current + (1L << offset));
+  }
+
+  private synchronized void reset() {
+    if (additions.get() < sampleSize) {
+      return;
+    }
+    for (int i = 0; i < table.length(); i++) {
+      table.set(i, (table.get(i) >>> 1) & RESET_MASK);
+    }
+    additions.set(sampleSize / 2);
+  }
+
+  private long slot(int hash, int row) {
+    long h = (hash + SEEDS[row]) * SEEDS[row];
+    return h + (h >>> 32);
+  }
+
+  private int index(long slot) {
+    return (int) slot & tableMask;
+  }
+
+  private static int offset(long slot) {
+    return ((int) (slot >>> 40) & 0xF) << 2;
+  }
+
+  private static int tableSizeFor(int capacity) {
+    return Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+  }
+}
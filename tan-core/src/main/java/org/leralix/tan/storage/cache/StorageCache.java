@@ -0,0 +1,82 @@
+package org.leralix.tan.storage.cache;
+
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-memory cache used by {@link org.leralix.tan.storage.stored.DatabaseStorage} in front
+ * of its table.
+ *
+ * <p>Entries carry a weight, usually their approximate size in bytes, and the cache is bounded by
+ * the sum of weights rather than by the number of entries. Implementations must be thread-safe and
+ * reads should not block.
+ *
+ * @param <V> The type of the cached values
+ */
+public interface StorageCache<V> {
+
+  /**
+   * Get a cached value and record the access.
+   *
+   * @param key The key to look up
+   * @return The cached value, or null if absent
+   */
+  V get(String key);
+
+  /**
+   * Get a cached value without recording a hit, a miss or an access.
+   *
+   * @param key The key to look up
+   * @return The cached value, or null if absent
+   */
+  V peek(String key);
+
+  /**
+   * Insert or replace a value that was just written. It is always kept, evicting other entries if
+   * needed to make room.
+   *
+   * @param key The key
+   * @param value The value, must not be null
+   * @param weight The weight of the entry, usually its approximate size in bytes
+   */
+  void put(String key, V value, long weight);
+
+  /**
+   * Offer a value that was just read from the database. Unlike {@link #put(String, Object, long)},
+   * the cache may refuse a new entry if it is unlikely to be used again.
+   *
+   * @param key The key
+   * @param value The value, must not be null
+   * @param weight The weight of the entry, usually its approximate size in bytes
+   */
+  void putLoaded(String key, V value, long weight);
+
+  /**
+   * Update the weight of an entry once it is known, if the key still maps to the given value.
+   *
+   * @param key The key
+   * @param value The value the weight was computed for
+   * @param weight The new weight
+   */
+  void updateWeight(String key, V value, long weight);
+
+  boolean containsKey(String key);
+
+  void invalidate(String key);
+
+  /**
+   * Remove every entry whose value matches the condition.
+   *
+   * @param condition The condition on values
+   */
+  void invalidateIf(Predicate<? super V> condition);
+
+  void clear();
+
+  int size();
+
+  /** Get the sum of the weights of every cached entry. */
+  long weightedSize();
+
+  /** Get a snapshot of the cache statistics since creation. */
+  CacheStats stats();
+}
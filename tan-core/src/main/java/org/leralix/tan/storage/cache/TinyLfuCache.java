@@ -0,0 +1,309 @@
+package org.leralix.tan.storage.cache;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Weight-bounded cache with lock-free reads and TinyLFU admission.
+ *
+ * <p>Values live in a {@link ConcurrentHashMap}, so {@link #get(String)} never takes a lock: it
+ * only marks the entry as recently used and records the access in a {@link FrequencySketch}.
+ *
+ * <p>Eviction walks a CLOCK queue under a lock that only writers take. Recently used entries get a
+ * second chance. When a freshly loaded key pushes the cache over its limit, it is only admitted if
+ * the sketch says it is used more often than the entry it would evict, so a burst of one-off loads
+ * (a full table scan, an admin browsing every town) cannot flush the hot entries. Written values
+ * are always kept since callers expect to read back what they just saved.
+ *
+ * @param <V> The type of the cached values
+ */
+public final class TinyLfuCache<V> implements StorageCache<V> {
+
+  private final long maximumWeight;
+  private final Map<String, Node<V>> data = new ConcurrentHashMap<>();
+  private final Queue<Node<V>> evictionQueue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queuedNodes = new AtomicInteger();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+  private final AtomicLong weightedSize = new AtomicLong();
+  private final FrequencySketch sketch;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder rejections = new LongAdder();
+
+  /**
+   * @param maximumWeight Maximum sum of entry weights
+   * @param expectedEntryWeight Typical weight of one entry, used to size the frequency sketch
+   */
+  public TinyLfuCache(long maximumWeight, long expectedEntryWeight) {
+    if (maximumWeight <= 0) {
+      throw new IllegalArgumentException("Maximum weight must be positive: " + maximumWeight);
+    }
+    this.maximumWeight = maximumWeight;
+    this.sketch = new FrequencySketch(maximumWeight / Math.max(expectedEntryWeight, 1));
+  }
+
+  @Override
+  public V get(String key) {
+    sketch.increment(spread(key.hashCode()));
+    Node<V> node = data.get(key);
+    if (node == null) {
+      misses.increment();
+      return null;
+    }
+    node.accessed = true;
+    hits.increment();
+    return node.value;
+  }
+
+  @Override
+  public V peek(String key) {
+    Node<V> node = data.get(key);
+    return node == null ? null : node.value;
+  }
+
+  @Override
+  public void put(String key, V value, long weight) {
+    put(key, value, weight, false);
+  }
+
+  @Override
+  public void putLoaded(String key, V value, long weight) {
+    put(key, value, weight, true);
+  }
+
+  private void put(String key, V value, long weight, boolean admission) {
+    if (value == null) {
+      throw new IllegalArgumentException("Null values are not supported");
+    }
+    if (weight > maximumWeight) {
+      // Could never fit, and keeping the previous value would serve stale data
+      invalidate(key);
+      rejections.increment();
+      return;
+    }
+    sketch.increment(spread(key.hashCode()));
+
+    Node<V> node = new Node<>(key, value, Math.max(weight, 0));
+    boolean[] replaced = new boolean[1];
+    data.compute(
+        key,
+        (k, prior) -> {
+          long delta = node.weight;
+          if (prior != null) {
+            prior.retired = true;
+            node.accessed = true;
+            replaced[0] = true;
+            delta -= prior.weight;
+          }
+          weightedSize.addAndGet(delta);
+          return node;
+        });
+    enqueue(node);
+
+    if (weightedSize.get() > maximumWeight) {
+      // Writes and replacements of a known key are not candidates for admission
+      evict(admission && !replaced[0] ? node : null);
+    } else if (queuedNodes.get() > 2 * data.size() + 64) {
+      purgeRetired();
+    }
+  }
+
+  @Override
+  public void updateWeight(String key, V value, long weight) {
+    Node<V> current = data.get(key);
+    if (current == null || current.value != value || current.weight == weight) {
+      return;
+    }
+    if (weight > maximumWeight) {
+      if (data.remove(key, current)) {
+        retire(current);
+        rejections.increment();
+      }
+      return;
+    }
+    Node<V> node = new Node<>(key, value, Math.max(weight, 0));
+    node.accessed = current.accessed;
+    if (data.replace(key, current, node)) {
+      current.retired = true;
+      weightedSize.addAndGet(node.weight - current.weight);
+      enqueue(node);
+      if (weightedSize.get() > maximumWeight) {
+        evict(null);
+      }
+    }
+  }
+
+  @Override
+  public boolean containsKey(String key) {
+    return data.containsKey(key);
+  }
+
+  @Override
+  public void invalidate(String key) {
+    Node<V> removed = data.remove(key);
+    if (removed != null) {
+      retire(removed);
+    }
+  }
+
+  @Override
+  public void invalidateIf(Predicate<? super V> condition) {
+    for (Node<V> node : data.values()) {
+      if (condition.test(node.value) && data.remove(node.key, node)) {
+        retire(node);
+      }
+    }
+  }
+
+  @Override
+  public void clear() {
+    for (Node<V> node : data.values()) {
+      if (data.remove(node.key, node)) {
+        retire(node);
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    return data.size();
+  }
+
+  @Override
+  public long weightedSize() {
+    return weightedSize.get();
+  }
+
+  @Override
+  public CacheStats stats() {
+    return new CacheStats(
+        hits.sum(),
+        misses.sum(),
+        evictions.sum(),
+        rejections.sum(),
+        weightedSize.get(),
+        maximumWeight);
+  }
+
+  /**
+   * Evict entries until the cache fits its weight limit again.
+   *
+   * @param candidate The newly added entry subject to admission, or null
+   */
+  private void evict(Node<V> candidate) {
+    evictionLock.lock();
+    try {
+      // Every live entry has at most one queue slot, so two passes clear all second chances
+      int budget = 2 * queuedNodes.get() + 1;
+      while (weightedSize.get() > maximumWeight && budget-- > 0) {
+        if (candidate != null && candidate.retired) {
+          candidate = null;
+        }
+        Node<V> victim = evictionQueue.poll();
+        if (victim == null) {
+          return;
+        }
+        queuedNodes.decrementAndGet();
+        if (victim.retired) {
+          continue;
+        }
+        if (victim == candidate) {
+          // The candidate is the oldest entry left: nothing else can make room for it
+          enqueue(victim);
+          reject(candidate);
+          candidate = null;
+          continue;
+        }
+        if (victim.accessed) {
+          victim.accessed = false;
+          enqueue(victim);
+          continue;
+        }
+        if (candidate != null && !admit(candidate, victim)) {
+          enqueue(victim);
+          reject(candidate);
+          candidate = null;
+          continue;
+        }
+        if (data.remove(victim.key, victim)) {
+          retire(victim);
+          evictions.increment();
+        }
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  /** Drop the queue slots of replaced or removed entries while no eviction runs to do it. */
+  private void purgeRetired() {
+    if (!evictionLock.tryLock()) {
+      return;
+    }
+    try {
+      int purged = 0;
+      for (var iterator = evictionQueue.iterator(); iterator.hasNext(); ) {
+        if (iterator.next().retired) {
+          iterator.remove();
+          purged++;
+        }
+      }
+      queuedNodes.addAndGet(-purged);
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private void enqueue(Node<V> node) {
+    evictionQueue.add(node);
+    queuedNodes.incrementAndGet();
+  }
+
+  private boolean admit(Node<V> candidate, Node<V> victim) {
+    return sketch.frequency(spread(candidate.key.hashCode()))
+        > sketch.frequency(spread(victim.key.hashCode()));
+  }
+
+  private void reject(Node<V> candidate) {
+    if (data.remove(candidate.key, candidate)) {
+      retire(candidate);
+      rejections.increment();
+    }
+  }
+
+  private void retire(Node<V> node) {
+    node.retired = true;
+    weightedSize.addAndGet(-node.weight);
+  }
+
+  private static int spread(int hash) {
+    hash ^= hash >>> 17;
+    hash *= 0xed5ad4bb;
+    hash ^= hash >>> 11;
+    return hash;
+  }
+
+  private static final class Node<V> {
+    final String key;
+    final V value;
+    final long weight;
+    volatile boolean accessed;
+    /** Set once the node has left the map; its queue slot is then skipped. */
+    volatile boolean retired;
+
+    Node(String key, V value, long weight) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+}
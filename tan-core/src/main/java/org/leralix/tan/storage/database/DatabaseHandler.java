@@ -1,15 +1,13 @@
 package org.leralix.tan.storage.database;
 
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import javax.sql.DataSource;
 import org.leralix.tan.TownsAndNations;
 import org.leralix.tan.dataclass.newhistory.TransactionHistory;
 import org.leralix.tan.dataclass.newhistory.TransactionHistoryEnum;
+import org.leralix.tan.dataclass.newhistory.TransactionHistoryPage;
 import org.leralix.tan.dataclass.territory.TerritoryData;
 
 public abstract class DatabaseHandler {
@@ -19,6 +17,8 @@ public abstract class DatabaseHandler {
   // OPTIMIZATION: Query batch executor to reduce database load for high-player servers
   protected QueryBatchExecutor queryBatchExecutor;
 
+  private final TransactionHistoryStore historyStore = new TransactionHistoryStore(this);
+
   public abstract void connect() throws SQLException;
 
   /** Close the database connection and clean up resources Called during plugin shutdown */
@@ -42,72 +42,27 @@ public abstract class DatabaseHandler {
     }
   }
 
+  /**
+   * Record a transaction. It is queued and written with the next history batch.
+   *
+   * @param transactionHistory The transaction to record
+   */
   public void addTransactionHistory(TransactionHistory transactionHistory) {
-    org.leralix.tan.utils.FoliaScheduler.runTaskAsynchronously(
-        TownsAndNations.getPlugin(),
-        () -> {
-          checkIfHistoryDbExists();
-          String insertSQL =
-              """
-                INSERT INTO territoryTransactionHistory (date, type, territoryDataID, transactionParty, amount)
-                VALUES (?, ?, ?, ?, ?)
-            """;
-
-          try (Connection conn = dataSource.getConnection();
-              PreparedStatement preparedStatement = conn.prepareStatement(insertSQL)) {
-            preparedStatement.setString(1, transactionHistory.getDate());
-            preparedStatement.setString(2, transactionHistory.getType().toString());
-            preparedStatement.setString(3, transactionHistory.getTerritoryDataID());
-            preparedStatement.setString(4, transactionHistory.getTransactionParty());
-            preparedStatement.setDouble(5, transactionHistory.getAmount());
+    historyStore.append(transactionHistory);
+  }
 
-            preparedStatement.executeUpdate();
-          } catch (SQLException e) {
-            TownsAndNations.getPlugin()
-                .getLogger()
-                .severe("Error while adding transaction history : " + e.getMessage());
-          }
-        });
+  /**
+   * Write every queued transaction now. Called before the plugin stops.
+   *
+   * @return The number of transactions written
+   */
+  public int flushTransactionHistory() {
+    return historyStore.flush();
   }
 
   public List<List<TransactionHistory>> getTransactionHistory(
       TerritoryData territoryData, TransactionHistoryEnum type) {
-    String selectSQL =
-        """
-        SELECT date, type, territoryDataID, transactionParty, amount
-        FROM territoryTransactionHistory
-        WHERE territoryDataID = ? AND type = ?
-        ORDER BY date
-    """;
-
-    // Map pour regrouper les transactions par date
-    Map<String, List<TransactionHistory>> groupedByDate = new HashMap<>();
-
-    try (Connection conn = dataSource.getConnection();
-        PreparedStatement preparedStatement = conn.prepareStatement(selectSQL)) {
-      preparedStatement.setString(1, territoryData.getID());
-      preparedStatement.setString(2, type.toString());
-
-      try (ResultSet resultSet = preparedStatement.executeQuery()) {
-        while (resultSet.next()) {
-          String date = resultSet.getString("date");
-          TransactionHistoryEnum transactionHistoryEnum =
-              TransactionHistoryEnum.valueOf(resultSet.getString("type"));
-          String territoryDataID = resultSet.getString("territoryDataID");
-          String transactionParty = resultSet.getString("transactionParty");
-          double amount = resultSet.getDouble("amount");
-
-          TransactionHistory transactionHistory =
-              transactionHistoryEnum.createTransactionHistory(
-                  date, territoryDataID, transactionParty, amount);
-
-          groupedByDate.computeIfAbsent(date, k -> new ArrayList<>()).add(transactionHistory);
-        }
-      }
-    } catch (SQLException e) {
-      TownsAndNations.getPlugin().getLogger().severe("Error while getting transaction history");
-    }
-    return new ArrayList<>(groupedByDate.values());
+    return historyStore.getGroupedByDay(territoryData.getID(), type);
   }
 
   /**
@@ -123,59 +78,31 @@ public abstract class DatabaseHandler {
     return org.leralix.tan.async.VirtualThreadExecutor.supplyAsync(() -> getTransactionHistory(territoryData, type));
   }
 
-  public void deleteOldHistory(int nbDays, TransactionHistoryEnum type) {
-    String deleteSQL;
-
-    if (isMySQL()) {
-      deleteSQL =
-          """
-            DELETE FROM territoryTransactionHistory
-            WHERE date < DATE_SUB(NOW(), INTERVAL ? DAY)
-            AND type = ?
-        """;
-    } else {
-      deleteSQL =
-          """
-            DELETE FROM territoryTransactionHistory
-            WHERE date < DATE('now', '-' || ? || ' days')
-            AND type = ?
-        """;
-    }
-
-    try (Connection conn = dataSource.getConnection();
-        PreparedStatement preparedStatement = conn.prepareStatement(deleteSQL)) {
-      preparedStatement.setInt(1, nbDays);
-      preparedStatement.setString(2, type.toString());
-      preparedStatement.executeUpdate();
-    } catch (SQLException e) {
-      TownsAndNations.getPlugin()
-          .getLogger()
-          .severe("Error while deleting old history : " + e.getMessage());
-    }
+  /**
+   * Get one page of transaction history, newest day first, without loading older pages.
+   *
+   * @param territoryData The territory data
+   * @param type The transaction type
+   * @param cursor The cursor returned with the previous page, or null for the first page
+   * @param maxDays The number of days on a page
+   * @return CompletableFuture that completes with the page
+   */
+  public CompletableFuture<TransactionHistoryPage> getTransactionHistoryPageAsync(
+      TerritoryData territoryData,
+      TransactionHistoryEnum type,
+      TransactionHistoryPage.Cursor cursor,
+      int maxDays) {
+    String territoryID = territoryData.getID();
+    return org.leralix.tan.async.VirtualThreadExecutor.supplyAsync(
+        () -> historyStore.getDailyPage(territoryID, type, cursor, maxDays));
   }
 
-  protected void checkIfHistoryDbExists() {
-    try (Connection conn = dataSource.getConnection();
-        Statement statement = conn.createStatement()) {
-      statement.execute(
-          """
-                CREATE TABLE IF NOT EXISTS territoryTransactionHistory (
-                date TEXT,
-                type TEXT,
-                territoryDataID TEXT,
-                transactionParty TEXT,
-                amount DOUBLE
-            )
-            """);
-    } catch (SQLException e) {
-      TownsAndNations.getPlugin()
-          .getLogger()
-          .severe("Error while creating history table : " + e.getMessage());
-    }
+  public void deleteOldHistory(int nbDays, TransactionHistoryEnum type) {
+    historyStore.deleteOlderThan(nbDays, type);
   }
 
   public void initialize() {
-    checkIfHistoryDbExists();
+    historyStore.createSchema();
   }
 
   public abstract void createMetadataTable();
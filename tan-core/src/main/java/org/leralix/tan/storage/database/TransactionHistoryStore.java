@@ -0,0 +1,713 @@
+package org.leralix.tan.storage.database;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.leralix.tan.TownsAndNations;
+import org.leralix.tan.dataclass.newhistory.TransactionDailyRollup;
+import org.leralix.tan.dataclass.newhistory.TransactionHistory;
+import org.leralix.tan.dataclass.newhistory.TransactionHistoryEnum;
+import org.leralix.tan.dataclass.newhistory.TransactionHistoryPage;
+import org.leralix.tan.utils.FoliaScheduler;
+
+/**
+ * Territory transaction history, stored in {@code tan_transaction_history}.
+ *
+ * <p>Each row carries an epoch-millisecond {@code created_at} column indexed together with the
+ * territory and type, so a history page and the daily cleanup are index range scans. Appends are
+ * queued and written as multi-row inserts by at most one pending flush, scheduled {@link
+ * #FLUSH_DELAY_TICKS} after the first queued row, or right away once {@link #FLUSH_BATCH_SIZE}
+ * rows are waiting.
+ */
+public class TransactionHistoryStore {
+
+  static final String TABLE_NAME = "tan_transaction_history";
+
+  /** Sum, count, min and max of the transactions of each territory, type and day. */
+  static final String ROLLUP_TABLE_NAME = "tan_transaction_daily";
+
+  /** Table used before timestamps were stored, migrated once then dropped. */
+  private static final String LEGACY_TABLE_NAME = "territoryTransactionHistory";
+
+  private static final DateTimeFormatter LEGACY_DATE_FORMAT =
+      DateTimeFormatter.ofPattern("dd MM yyyy");
+
+  private static final int FLUSH_BATCH_SIZE = 100;
+  private static final long FLUSH_DELAY_TICKS = 20;
+  private static final int MAX_PAGE_CHUNK_ROWS = 1000;
+
+  private final DatabaseHandler database;
+  private final Queue<HistoryRow> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queuedRows = new AtomicInteger();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+  private final Object flushLock = new Object();
+
+  TransactionHistoryStore(DatabaseHandler database) {
+    this.database = database;
+  }
+
+  /**
+   * Create the tables and their indexes, migrate rows of the legacy table if it exists, and build
+   * the daily rollups the first time their table is created.
+   */
+  void createSchema() {
+    // SQLite does not support inline index definitions, they are added below
+    String createTableSQL =
+        database.isMySQL()
+            ? """
+                CREATE TABLE IF NOT EXISTS %s (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    created_at BIGINT NOT NULL,
+                    type VARCHAR(32) NOT NULL,
+                    territoryDataID VARCHAR(64) NOT NULL,
+                    transactionParty VARCHAR(255),
+                    amount DOUBLE NOT NULL,
+                    INDEX idx_history_territory_type_date (territoryDataID, type, created_at),
+                    INDEX idx_history_type_date (type, created_at)
+                )
+            """
+                .formatted(TABLE_NAME)
+            : """
+                CREATE TABLE IF NOT EXISTS %s (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    created_at BIGINT NOT NULL,
+                    type VARCHAR(32) NOT NULL,
+                    territoryDataID VARCHAR(64) NOT NULL,
+                    transactionParty VARCHAR(255),
+                    amount DOUBLE NOT NULL
+                )
+            """
+                .formatted(TABLE_NAME);
+
+    String createRollupTableSQL =
+        """
+            CREATE TABLE IF NOT EXISTS %s (
+                territoryDataID VARCHAR(64) NOT NULL,
+                type VARCHAR(32) NOT NULL,
+                day INT NOT NULL,
+                total DOUBLE NOT NULL,
+                tx_count INT NOT NULL,
+                min_amount DOUBLE NOT NULL,
+                max_amount DOUBLE NOT NULL,
+                PRIMARY KEY (territoryDataID, type, day)
+            )
+        """
+            .formatted(ROLLUP_TABLE_NAME);
+
+    try (Connection conn = database.getDataSource().getConnection();
+        Statement stmt = conn.createStatement()) {
+      stmt.execute(createTableSQL);
+      boolean rollupsMissing = !tableExists(conn, ROLLUP_TABLE_NAME);
+      stmt.execute(createRollupTableSQL);
+      if (!database.isMySQL()) {
+        stmt.execute(
+            "CREATE INDEX IF NOT EXISTS idx_history_territory_type_date ON "
+                + TABLE_NAME
+                + " (territoryDataID, type, created_at)");
+        stmt.execute(
+            "CREATE INDEX IF NOT EXISTS idx_history_type_date ON "
+                + TABLE_NAME
+                + " (type, created_at)");
+      }
+      if (tableExists(conn, LEGACY_TABLE_NAME)) {
+        migrateLegacyTable(conn);
+      }
+      if (rollupsMissing) {
+        rebuildRollups();
+      }
+    } catch (SQLException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .severe("Error while creating history table : " + e.getMessage());
+    }
+  }
+
+  private static boolean tableExists(Connection conn, String tableName) throws SQLException {
+    DatabaseMetaData metaData = conn.getMetaData();
+    try (ResultSet rs = metaData.getTables(null, null, tableName, null)) {
+      return rs.next();
+    }
+  }
+
+  /**
+   * Copy the legacy rows, whose date is a {@code dd MM yyyy} string, with their day converted to a
+   * timestamp. The copy and the cleanup of the legacy table happen in one transaction, so an
+   * interrupted migration simply runs again on the next start.
+   */
+  private void migrateLegacyTable(Connection conn) throws SQLException {
+    int migrated = 0;
+    int skipped = 0;
+    conn.setAutoCommit(false);
+    try (Statement select = conn.createStatement();
+        ResultSet rs =
+            select.executeQuery(
+                "SELECT date, type, territoryDataID, transactionParty, amount FROM "
+                    + LEGACY_TABLE_NAME)) {
+      List<HistoryRow> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+      while (rs.next()) {
+        HistoryRow row = readLegacyRow(rs);
+        if (row == null) {
+          skipped++;
+          continue;
+        }
+        batch.add(row);
+        if (batch.size() == FLUSH_BATCH_SIZE) {
+          writeBatch(conn, batch);
+          migrated += batch.size();
+          batch.clear();
+        }
+      }
+      writeBatch(conn, batch);
+      migrated += batch.size();
+
+      try (Statement drop = conn.createStatement()) {
+        drop.execute("DELETE FROM " + LEGACY_TABLE_NAME);
+        conn.commit();
+        drop.execute("DROP TABLE " + LEGACY_TABLE_NAME);
+      }
+    } catch (SQLException e) {
+      conn.rollback();
+      throw e;
+    } finally {
+      conn.setAutoCommit(true);
+    }
+    TownsAndNations.getPlugin()
+        .getLogger()
+        .info(
+            "Migrated "
+                + migrated
+                + " transaction history rows from "
+                + LEGACY_TABLE_NAME
+                + " to "
+                + TABLE_NAME
+                + (skipped > 0 ? ", skipped " + skipped + " unreadable rows" : ""));
+  }
+
+  private static HistoryRow readLegacyRow(ResultSet rs) throws SQLException {
+    try {
+      long createdAt =
+          LocalDate.parse(rs.getString("date"), LEGACY_DATE_FORMAT)
+              .atStartOfDay(ZoneId.systemDefault())
+              .toInstant()
+              .toEpochMilli();
+      TransactionHistoryEnum type = TransactionHistoryEnum.valueOf(rs.getString("type"));
+      String territoryID = rs.getString("territoryDataID");
+      if (territoryID == null) {
+        return null;
+      }
+      return new HistoryRow(
+          createdAt, type, territoryID, rs.getString("transactionParty"), rs.getDouble("amount"));
+    } catch (DateTimeParseException | IllegalArgumentException | NullPointerException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Queue a transaction to be written with the next batch.
+   *
+   * @param transactionHistory The transaction to record
+   */
+  void append(TransactionHistory transactionHistory) {
+    queue.add(
+        new HistoryRow(
+            System.currentTimeMillis(),
+            transactionHistory.getType(),
+            transactionHistory.getTerritoryDataID(),
+            transactionHistory.getTransactionParty(),
+            transactionHistory.getAmount()));
+
+    int queued = queuedRows.incrementAndGet();
+    if (!flushScheduled.compareAndSet(false, true)) {
+      // The pending flush writes this row too
+      return;
+    }
+    Runnable flushTask =
+        () -> {
+          flushScheduled.set(false);
+          flush();
+        };
+    if (queued >= FLUSH_BATCH_SIZE) {
+      FoliaScheduler.runTaskAsynchronously(TownsAndNations.getPlugin(), flushTask);
+    } else {
+      FoliaScheduler.runTaskLaterAsynchronously(
+          TownsAndNations.getPlugin(), flushTask, FLUSH_DELAY_TICKS);
+    }
+  }
+
+  /**
+   * Write every queued transaction, blocking until done. A failed batch is put back at the end of
+   * the queue and retried by the next flush.
+   *
+   * @return The number of rows written
+   */
+  int flush() {
+    synchronized (flushLock) {
+      int written = 0;
+      List<HistoryRow> rows = new ArrayList<>(FLUSH_BATCH_SIZE);
+      try (Connection conn = database.getDataSource().getConnection()) {
+        conn.setAutoCommit(false);
+        try {
+          HistoryRow row;
+          while ((row = queue.poll()) != null) {
+            queuedRows.decrementAndGet();
+            rows.add(row);
+            if (rows.size() == FLUSH_BATCH_SIZE) {
+              writeBatch(conn, rows);
+              conn.commit();
+              written += rows.size();
+              rows.clear();
+            }
+          }
+          writeBatch(conn, rows);
+          conn.commit();
+          written += rows.size();
+          rows.clear();
+        } catch (SQLException e) {
+          conn.rollback();
+          throw e;
+        } finally {
+          conn.setAutoCommit(true);
+        }
+      } catch (SQLException e) {
+        requeue(rows);
+        TownsAndNations.getPlugin()
+            .getLogger()
+            .severe("Error while adding transaction history : " + e.getMessage());
+      }
+      return written;
+    }
+  }
+
+  private void requeue(List<HistoryRow> rows) {
+    for (HistoryRow row : rows) {
+      queue.add(row);
+      queuedRows.incrementAndGet();
+    }
+  }
+
+  /**
+   * Insert rows and add them to the daily rollups. Run inside the caller's transaction, so a batch
+   * is either counted in both tables or in neither.
+   */
+  private void writeBatch(Connection conn, List<HistoryRow> rows) throws SQLException {
+    insertRows(conn, rows);
+    Map<RollupKey, DailyAggregate> aggregates = new LinkedHashMap<>();
+    for (HistoryRow row : rows) {
+      aggregates
+          .computeIfAbsent(
+              new RollupKey(row.territoryID(), row.type(), toEpochDay(row.createdAt())),
+              k -> new DailyAggregate())
+          .add(row.amount());
+    }
+    writeRollups(conn, aggregates, getRollupUpsertSQL());
+  }
+
+  /** Write rows with a single multi-row insert. */
+  private static void insertRows(Connection conn, List<HistoryRow> rows) throws SQLException {
+    if (rows.isEmpty()) {
+      return;
+    }
+    StringBuilder sql =
+        new StringBuilder("INSERT INTO ")
+            .append(TABLE_NAME)
+            .append(" (created_at, type, territoryDataID, transactionParty, amount) VALUES ");
+    for (int i = 0; i < rows.size(); i++) {
+      sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+    }
+    try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+      int index = 1;
+      for (HistoryRow row : rows) {
+        ps.setLong(index++, row.createdAt());
+        ps.setString(index++, row.type().name());
+        ps.setString(index++, row.territoryID());
+        ps.setString(index++, row.transactionParty());
+        ps.setDouble(index++, row.amount());
+      }
+      ps.executeUpdate();
+    }
+  }
+
+  /**
+   * Get the transactions of a territory and type grouped by day, oldest day first.
+   *
+   * @param territoryID The territory ID
+   * @param type The transaction type
+   * @return One list of transactions per day
+   */
+  List<List<TransactionHistory>> getGroupedByDay(String territoryID, TransactionHistoryEnum type) {
+    flush();
+    String selectSQL =
+        "SELECT created_at, transactionParty, amount FROM "
+            + TABLE_NAME
+            + " WHERE territoryDataID = ? AND type = ? ORDER BY created_at, id";
+
+    Map<String, List<TransactionHistory>> groupedByDate = new LinkedHashMap<>();
+    try (Connection conn = database.getDataSource().getConnection();
+        PreparedStatement ps = conn.prepareStatement(selectSQL)) {
+      ps.setString(1, territoryID);
+      ps.setString(2, type.name());
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) {
+          String date = formatDate(rs.getLong("created_at"));
+          TransactionHistory transactionHistory =
+              type.createTransactionHistory(
+                  date, territoryID, rs.getString("transactionParty"), rs.getDouble("amount"));
+          groupedByDate.computeIfAbsent(date, k -> new ArrayList<>()).add(transactionHistory);
+        }
+      }
+    } catch (SQLException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .severe("Error while getting transaction history : " + e.getMessage());
+    }
+    return new ArrayList<>(groupedByDate.values());
+  }
+
+  /**
+   * Get one page of the transactions of a territory and type, newest day first. Rows are read with
+   * a keyset on (created_at, id) in chunks sized from the requested number of days, and reading
+   * stops as soon as the day after the page starts.
+   *
+   * @param territoryID The territory ID
+   * @param type The transaction type
+   * @param cursor The cursor of the previous page, or null for the first page
+   * @param maxDays The number of days on the page
+   * @return The page and the cursor of the next one
+   */
+  TransactionHistoryPage getDailyPage(
+      String territoryID,
+      TransactionHistoryEnum type,
+      TransactionHistoryPage.Cursor cursor,
+      int maxDays) {
+    flush();
+    String columns = "SELECT id, created_at, transactionParty, amount FROM " + TABLE_NAME;
+    String firstPageSQL =
+        columns
+            + " WHERE territoryDataID = ? AND type = ?"
+            + " ORDER BY created_at DESC, id DESC LIMIT ?";
+    String nextPageSQL =
+        columns
+            + " WHERE territoryDataID = ? AND type = ?"
+            + " AND (created_at < ? OR (created_at = ? AND id < ?))"
+            + " ORDER BY created_at DESC, id DESC LIMIT ?";
+    // A day holds a few rows on average; a busier day just takes another chunk
+    int chunkSize = Math.min((maxDays + 1) * 4, MAX_PAGE_CHUNK_ROWS);
+
+    List<List<TransactionHistory>> days = new ArrayList<>();
+    List<Long> epochDays = new ArrayList<>();
+    String currentDay = null;
+    TransactionHistoryPage.Cursor position = cursor;
+
+    try (Connection conn = database.getDataSource().getConnection()) {
+      while (true) {
+        int rowsRead = 0;
+        try (PreparedStatement ps =
+            conn.prepareStatement(position == null ? firstPageSQL : nextPageSQL)) {
+          int index = 1;
+          ps.setString(index++, territoryID);
+          ps.setString(index++, type.name());
+          if (position != null) {
+            ps.setLong(index++, position.createdAt());
+            ps.setLong(index++, position.createdAt());
+            ps.setLong(index++, position.id());
+          }
+          ps.setInt(index, chunkSize);
+
+          try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+              rowsRead++;
+              long createdAt = rs.getLong("created_at");
+              String day = formatDate(createdAt);
+              if (!day.equals(currentDay)) {
+                if (days.size() == maxDays) {
+                  // The next day starts: the page ends at the last row read before it
+                  return toPage(conn, territoryID, type, days, epochDays, position);
+                }
+                days.add(new ArrayList<>());
+                epochDays.add(toEpochDay(createdAt));
+                currentDay = day;
+              }
+              String party = rs.getString("transactionParty");
+              double amount = rs.getDouble("amount");
+              days.get(days.size() - 1)
+                  .add(type.createTransactionHistory(day, territoryID, party, amount));
+              position = new TransactionHistoryPage.Cursor(createdAt, rs.getLong("id"));
+            }
+          }
+        }
+        if (rowsRead < chunkSize) {
+          return toPage(conn, territoryID, type, days, epochDays, null);
+        }
+      }
+    } catch (SQLException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .severe("Error while getting transaction history : " + e.getMessage());
+      return new TransactionHistoryPage(List.of(), List.of(), null);
+    }
+  }
+
+  /** Finish a page: order each day chronologically and attach the day totals from the rollups. */
+  private static TransactionHistoryPage toPage(
+      Connection conn,
+      String territoryID,
+      TransactionHistoryEnum type,
+      List<List<TransactionHistory>> days,
+      List<Long> epochDays,
+      TransactionHistoryPage.Cursor next)
+      throws SQLException {
+    for (List<TransactionHistory> day : days) {
+      Collections.reverse(day);
+    }
+    List<TransactionDailyRollup> dayTotals = new ArrayList<>(days.size());
+    if (!epochDays.isEmpty()) {
+      List<TransactionDailyRollup> rollups = new ArrayList<>();
+      readDailyRollups(
+          conn,
+          territoryID,
+          type,
+          epochDays.get(epochDays.size() - 1),
+          epochDays.get(0),
+          rollups);
+      Map<Long, TransactionDailyRollup> rollupsByDay = new HashMap<>();
+      for (TransactionDailyRollup rollup : rollups) {
+        rollupsByDay.put(rollup.day().toEpochDay(), rollup);
+      }
+      for (Long epochDay : epochDays) {
+        dayTotals.add(rollupsByDay.get(epochDay));
+      }
+    }
+    return new TransactionHistoryPage(days, dayTotals, next);
+  }
+
+  private String getRollupUpsertSQL() {
+    String insert =
+        "INSERT INTO "
+            + ROLLUP_TABLE_NAME
+            + " (territoryDataID, type, day, total, tx_count, min_amount, max_amount)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+    if (database.isMySQL()) {
+      return insert
+          + " ON DUPLICATE KEY UPDATE total = total + VALUES(total),"
+          + " tx_count = tx_count + VALUES(tx_count),"
+          + " min_amount = LEAST(min_amount, VALUES(min_amount)),"
+          + " max_amount = GREATEST(max_amount, VALUES(max_amount))";
+    }
+    return insert
+        + " ON CONFLICT(territoryDataID, type, day) DO UPDATE SET"
+        + " total = total + excluded.total,"
+        + " tx_count = tx_count + excluded.tx_count,"
+        + " min_amount = MIN(min_amount, excluded.min_amount),"
+        + " max_amount = MAX(max_amount, excluded.max_amount)";
+  }
+
+  private static void writeRollups(
+      Connection conn, Map<RollupKey, DailyAggregate> aggregates, String sql) throws SQLException {
+    if (aggregates.isEmpty()) {
+      return;
+    }
+    try (PreparedStatement ps = conn.prepareStatement(sql)) {
+      for (Map.Entry<RollupKey, DailyAggregate> entry : aggregates.entrySet()) {
+        RollupKey key = entry.getKey();
+        DailyAggregate aggregate = entry.getValue();
+        ps.setString(1, key.territoryID());
+        ps.setString(2, key.type().name());
+        ps.setLong(3, key.epochDay());
+        ps.setDouble(4, aggregate.total);
+        ps.setInt(5, aggregate.count);
+        ps.setDouble(6, aggregate.min);
+        ps.setDouble(7, aggregate.max);
+        ps.addBatch();
+      }
+      ps.executeBatch();
+    }
+  }
+
+  /**
+   * Recompute the daily rollups from the raw history. For each type, the rollups of every day from
+   * its oldest remaining transaction on are replaced, so running it twice gives the same result,
+   * and older days whose raw rows were already cleaned up are kept.
+   *
+   * @return The number of rollup rows written
+   */
+  int rebuildRollups() {
+    synchronized (flushLock) {
+      Map<RollupKey, DailyAggregate> aggregates = new LinkedHashMap<>();
+      Map<TransactionHistoryEnum, Long> oldestDayByType =
+          new EnumMap<>(TransactionHistoryEnum.class);
+      try (Connection conn = database.getDataSource().getConnection()) {
+        try (Statement select = conn.createStatement();
+            ResultSet rs =
+                select.executeQuery(
+                    "SELECT territoryDataID, type, created_at, amount FROM " + TABLE_NAME)) {
+          while (rs.next()) {
+            TransactionHistoryEnum type;
+            try {
+              type = TransactionHistoryEnum.valueOf(rs.getString("type"));
+            } catch (IllegalArgumentException e) {
+              continue;
+            }
+            long epochDay = toEpochDay(rs.getLong("created_at"));
+            oldestDayByType.merge(type, epochDay, Math::min);
+            aggregates
+                .computeIfAbsent(
+                    new RollupKey(rs.getString("territoryDataID"), type, epochDay),
+                    k -> new DailyAggregate())
+                .add(rs.getDouble("amount"));
+          }
+        }
+
+        conn.setAutoCommit(false);
+        try (PreparedStatement delete =
+            conn.prepareStatement(
+                "DELETE FROM " + ROLLUP_TABLE_NAME + " WHERE type = ? AND day >= ?")) {
+          for (Map.Entry<TransactionHistoryEnum, Long> entry : oldestDayByType.entrySet()) {
+            delete.setString(1, entry.getKey().name());
+            delete.setLong(2, entry.getValue());
+            delete.addBatch();
+          }
+          delete.executeBatch();
+          // Rows are new after the delete, a plain upsert inserts them
+          writeRollups(conn, aggregates, getRollupUpsertSQL());
+          conn.commit();
+        } catch (SQLException e) {
+          conn.rollback();
+          throw e;
+        } finally {
+          conn.setAutoCommit(true);
+        }
+      } catch (SQLException e) {
+        TownsAndNations.getPlugin()
+            .getLogger()
+            .severe("Error while rebuilding transaction rollups : " + e.getMessage());
+        return 0;
+      }
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .info("Rebuilt " + aggregates.size() + " daily transaction rollups");
+      return aggregates.size();
+    }
+  }
+
+  private static void readDailyRollups(
+      Connection conn,
+      String territoryID,
+      TransactionHistoryEnum type,
+      long fromDay,
+      long toDay,
+      List<TransactionDailyRollup> rollups)
+      throws SQLException {
+    try (PreparedStatement ps =
+        conn.prepareStatement(
+            "SELECT day, total, tx_count, min_amount, max_amount FROM "
+                + ROLLUP_TABLE_NAME
+                + " WHERE territoryDataID = ? AND type = ? AND day BETWEEN ? AND ?"
+                + " ORDER BY day DESC")) {
+      ps.setString(1, territoryID);
+      ps.setString(2, type.name());
+      ps.setLong(3, fromDay);
+      ps.setLong(4, toDay);
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) {
+          rollups.add(
+              new TransactionDailyRollup(
+                  LocalDate.ofEpochDay(rs.getLong("day")),
+                  type,
+                  rs.getDouble("total"),
+                  rs.getInt("tx_count"),
+                  rs.getDouble("min_amount"),
+                  rs.getDouble("max_amount")));
+        }
+      }
+    }
+  }
+
+  private static long toEpochDay(long createdAt) {
+    return Instant.ofEpochMilli(createdAt)
+        .atZone(ZoneId.systemDefault())
+        .toLocalDate()
+        .toEpochDay();
+  }
+
+  /**
+   * Delete the transactions of a type older than a number of days, as one range delete on the
+   * indexed timestamp. The cutoff is the start of a day, so the oldest day kept has all its rows
+   * and {@link #rebuildRollups()} recomputes it in full.
+   *
+   * @param nbDays The number of days to keep
+   * @param type The transaction type
+   * @return The number of deleted rows
+   */
+  int deleteOlderThan(int nbDays, TransactionHistoryEnum type) {
+    ZoneId zone = ZoneId.systemDefault();
+    long cutoff =
+        LocalDate.now(zone).minusDays(nbDays).atStartOfDay(zone).toInstant().toEpochMilli();
+    try (Connection conn = database.getDataSource().getConnection();
+        PreparedStatement ps =
+            conn.prepareStatement(
+                "DELETE FROM " + TABLE_NAME + " WHERE type = ? AND created_at < ?")) {
+      ps.setString(1, type.name());
+      ps.setLong(2, cutoff);
+      return ps.executeUpdate();
+    } catch (SQLException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .severe("Error while deleting old history : " + e.getMessage());
+      return 0;
+    }
+  }
+
+  int getQueuedCount() {
+    return Math.max(queuedRows.get(), 0);
+  }
+
+  /** Format a timestamp as the day string shown in history menus. */
+  static String formatDate(long createdAt) {
+    return Instant.ofEpochMilli(createdAt)
+        .atZone(ZoneId.systemDefault())
+        .toLocalDate()
+        .format(LEGACY_DATE_FORMAT);
+  }
+
+  private record RollupKey(String territoryID, TransactionHistoryEnum type, long epochDay) {}
+
+  private static final class DailyAggregate {
+    private double total;
+    private int count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    private void add(double amount) {
+      total += amount;
+      count++;
+      min = Math.min(min, amount);
+      max = Math.max(max, amount);
+    }
+  }
+
+  private record HistoryRow(
+      long createdAt,
+      TransactionHistoryEnum type,
+      String territoryID,
+      String transactionParty,
+      double amount) {}
+}
@@ -0,0 +1,255 @@
+package org.leralix.tan.storage.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
+import org.leralix.tan.utils.collection.LongObjectHashMap;
+import org.leralix.tan.utils.territory.ChunkKey;
+
+/**
+ * Authoritative in-memory index of every claimed chunk.
+ *
+ * <p>Claims are stored in one {@link LongObjectHashMap} per world, keyed by {@link ChunkKey packed
+ * chunk coordinates}. Once loaded, a miss means the chunk is wilderness, so lookups never touch the
+ * database. Reads are optimistic and lock-free in the common case; writes are serialized per world.
+ *
+ * <p>A secondary owner index answers "every chunk of a territory" without scanning all claims, and
+ * a {@link TerritoryConnectivity} per owner keeps its borders and connected areas up to date.
+ */
+public final class ClaimIndex {
+
+  /** Returned for territories owning no chunk, never written to. */
+  private static final TerritoryConnectivity EMPTY_CONNECTIVITY = new TerritoryConnectivity();
+
+  private final Map<UUID, WorldClaims> worlds = new ConcurrentHashMap<>();
+  private final Map<String, Set<ClaimedChunk2>> chunksByOwner = new ConcurrentHashMap<>();
+  private final Map<String, TerritoryConnectivity> connectivityByOwner = new ConcurrentHashMap<>();
+
+  /**
+   * Get the claim at the given coordinates.
+   *
+   * @param worldID World UUID
+   * @param x Chunk X coordinate
+   * @param z Chunk Z coordinate
+   * @return The claimed chunk, or null if the chunk is wilderness
+   */
+  public ClaimedChunk2 get(UUID worldID, int x, int z) {
+    WorldClaims world = worlds.get(worldID);
+    if (world == null) {
+      return null;
+    }
+    return world.get(ChunkKey.pack(x, z));
+  }
+
+  public boolean contains(UUID worldID, int x, int z) {
+    return get(worldID, x, z) != null;
+  }
+
+  /**
+   * Insert or replace a claim.
+   *
+   * @param claimedChunk The claim to index
+   */
+  public void put(ClaimedChunk2 claimedChunk) {
+    UUID worldID = UUID.fromString(claimedChunk.getWorldUUID());
+    long key = ChunkKey.pack(claimedChunk.getX(), claimedChunk.getZ());
+    ClaimedChunk2 previous =
+        worlds.computeIfAbsent(worldID, id -> new WorldClaims()).put(key, claimedChunk);
+    if (previous != null) {
+      removeFromOwner(previous);
+      if (!previous.getOwnerID().equals(claimedChunk.getOwnerID())) {
+        removeFromConnectivity(previous);
+      }
+    }
+    chunksByOwner
+        .computeIfAbsent(claimedChunk.getOwnerID(), id -> ConcurrentHashMap.newKeySet())
+        .add(claimedChunk);
+    connectivityByOwner
+        .computeIfAbsent(claimedChunk.getOwnerID(), id -> new TerritoryConnectivity())
+        .add(worldID, claimedChunk);
+  }
+
+  /**
+   * Remove the claim at the given coordinates.
+   *
+   * @return The removed claim, or null if the chunk was not claimed
+   */
+  public ClaimedChunk2 remove(UUID worldID, int x, int z) {
+    WorldClaims world = worlds.get(worldID);
+    if (world == null) {
+      return null;
+    }
+    ClaimedChunk2 removed = world.remove(ChunkKey.pack(x, z));
+    if (removed != null) {
+      removeFromOwner(removed);
+      removeFromConnectivity(removed);
+    }
+    return removed;
+  }
+
+  /**
+   * Remove every claim owned by a territory.
+   *
+   * @param ownerID ID of the owner
+   * @return The removed claims
+   */
+  public Collection<ClaimedChunk2> removeAllFrom(String ownerID) {
+    Set<ClaimedChunk2> owned = chunksByOwner.remove(ownerID);
+    connectivityByOwner.remove(ownerID);
+    if (owned == null) {
+      return Collections.emptyList();
+    }
+    List<ClaimedChunk2> removed = new ArrayList<>(owned.size());
+    for (ClaimedChunk2 claimedChunk : owned) {
+      WorldClaims world = worlds.get(UUID.fromString(claimedChunk.getWorldUUID()));
+      if (world != null
+          && world.removeIfSame(
+              ChunkKey.pack(claimedChunk.getX(), claimedChunk.getZ()), claimedChunk)) {
+        removed.add(claimedChunk);
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * Get every claim owned by a territory.
+   *
+   * @param ownerID ID of the owner
+   * @return An unmodifiable live view of the owned claims
+   */
+  public Collection<ClaimedChunk2> getAllFrom(String ownerID) {
+    Set<ClaimedChunk2> owned = chunksByOwner.get(ownerID);
+    return owned == null ? Collections.emptySet() : Collections.unmodifiableSet(owned);
+  }
+
+  /**
+   * Get the connectivity of the chunks owned by a territory.
+   *
+   * @param ownerID ID of the owner
+   * @return The connectivity, empty if the territory owns no chunk
+   */
+  public TerritoryConnectivity getConnectivity(String ownerID) {
+    TerritoryConnectivity connectivity = connectivityByOwner.get(ownerID);
+    return connectivity == null ? EMPTY_CONNECTIVITY : connectivity;
+  }
+
+  /**
+   * Iterate over every indexed claim. Writers are blocked per world while it is being visited.
+   *
+   * @param consumer The consumer receiving each claim
+   */
+  public void forEach(Consumer<ClaimedChunk2> consumer) {
+    for (WorldClaims world : worlds.values()) {
+      world.forEach(consumer);
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (WorldClaims world : worlds.values()) {
+      size += world.size();
+    }
+    return size;
+  }
+
+  public void clear() {
+    worlds.clear();
+    chunksByOwner.clear();
+    connectivityByOwner.clear();
+  }
+
+  private void removeFromConnectivity(ClaimedChunk2 claimedChunk) {
+    TerritoryConnectivity connectivity = connectivityByOwner.get(claimedChunk.getOwnerID());
+    if (connectivity != null) {
+      connectivity.remove(
+          UUID.fromString(claimedChunk.getWorldUUID()), claimedChunk.getX(), claimedChunk.getZ());
+    }
+  }
+
+  private void removeFromOwner(ClaimedChunk2 claimedChunk) {
+    Set<ClaimedChunk2> owned = chunksByOwner.get(claimedChunk.getOwnerID());
+    if (owned != null) {
+      owned.remove(claimedChunk);
+    }
+  }
+
+  /** Claims of a single world, guarded by a {@link StampedLock} to allow optimistic reads. */
+  private static final class WorldClaims {
+
+    private final StampedLock lock = new StampedLock();
+    private final LongObjectHashMap<ClaimedChunk2> claims = new LongObjectHashMap<>(1024);
+
+    ClaimedChunk2 get(long key) {
+      long stamp = lock.tryOptimisticRead();
+      if (stamp != 0) {
+        ClaimedChunk2 claimedChunk = claims.get(key);
+        if (lock.validate(stamp)) {
+          return claimedChunk;
+        }
+      }
+      stamp = lock.readLock();
+      try {
+        return claims.get(key);
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    ClaimedChunk2 put(long key, ClaimedChunk2 claimedChunk) {
+      long stamp = lock.writeLock();
+      try {
+        return claims.put(key, claimedChunk);
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    ClaimedChunk2 remove(long key) {
+      long stamp = lock.writeLock();
+      try {
+        return claims.remove(key);
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    boolean removeIfSame(long key, ClaimedChunk2 expected) {
+      long stamp = lock.writeLock();
+      try {
+        if (claims.get(key) != expected) {
+          return false;
+        }
+        claims.remove(key);
+        return true;
+      } finally {
+        lock.unlockWrite(stamp);
+      }
+    }
+
+    void forEach(Consumer<ClaimedChunk2> consumer) {
+      long stamp = lock.readLock();
+      try {
+        claims.forEach((key, claimedChunk) -> consumer.accept(claimedChunk));
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+
+    int size() {
+      long stamp = lock.readLock();
+      try {
+        return claims.size();
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+  }
+}
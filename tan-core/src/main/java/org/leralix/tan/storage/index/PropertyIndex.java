@@ -0,0 +1,89 @@
+package org.leralix.tan.storage.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.bukkit.Location;
+import org.leralix.lib.position.Vector3D;
+import org.leralix.tan.dataclass.PropertyData;
+import org.leralix.tan.utils.collection.LongObjectHashMap;
+import org.leralix.tan.utils.territory.ChunkKey;
+
+/**
+ * Immutable spatial index of the properties of a town.
+ *
+ * <p>Each property is listed in a bucket for every chunk its box overlaps, keyed by {@link ChunkKey
+ * packed chunk coordinates}. A point query only tests the few properties of one chunk instead of
+ * every property of the town. Since properties are rarely created or deleted, the owner rebuilds
+ * the index on change instead of updating it, which keeps lookups lock-free.
+ */
+public final class PropertyIndex {
+
+  private static final PropertyData[] NO_PROPERTY = new PropertyData[0];
+
+  private final LongObjectHashMap<PropertyData[]> propertiesByChunk;
+
+  private PropertyIndex(LongObjectHashMap<PropertyData[]> propertiesByChunk) {
+    this.propertiesByChunk = propertiesByChunk;
+  }
+
+  /**
+   * Build the index of a set of properties.
+   *
+   * @param properties The properties to index
+   * @return A new index
+   */
+  public static PropertyIndex of(Collection<PropertyData> properties) {
+    LongObjectHashMap<List<PropertyData>> buckets = new LongObjectHashMap<>();
+    for (PropertyData propertyData : properties) {
+      Vector3D p1 = propertyData.getFirstCorner();
+      Vector3D p2 = propertyData.getSecondCorner();
+      int minX = Math.min(p1.getX(), p2.getX()) >> 4;
+      int maxX = Math.max(p1.getX(), p2.getX()) >> 4;
+      int minZ = Math.min(p1.getZ(), p2.getZ()) >> 4;
+      int maxZ = Math.max(p1.getZ(), p2.getZ()) >> 4;
+      for (int x = minX; x <= maxX; x++) {
+        for (int z = minZ; z <= maxZ; z++) {
+          long key = ChunkKey.pack(x, z);
+          List<PropertyData> bucket = buckets.get(key);
+          if (bucket == null) {
+            bucket = new ArrayList<>(2);
+            buckets.put(key, bucket);
+          }
+          bucket.add(propertyData);
+        }
+      }
+    }
+
+    LongObjectHashMap<PropertyData[]> propertiesByChunk = new LongObjectHashMap<>(buckets.size());
+    buckets.forEach((key, bucket) -> propertiesByChunk.put(key, bucket.toArray(NO_PROPERTY)));
+    return new PropertyIndex(propertiesByChunk);
+  }
+
+  /**
+   * Get the property containing a location.
+   *
+   * @param location The location to check
+   * @return The property containing the location, or null if there is none
+   */
+  public PropertyData get(Location location) {
+    PropertyData[] bucket =
+        propertiesByChunk.get(ChunkKey.fromBlock(location.getBlockX(), location.getBlockZ()));
+    if (bucket == null) {
+      return null;
+    }
+    for (PropertyData propertyData : bucket) {
+      if (propertyData.containsLocation(location)) {
+        return propertyData;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return The number of chunks overlapped by at least one property
+   */
+  public int getChunkCount() {
+    return propertiesByChunk.size();
+  }
+}
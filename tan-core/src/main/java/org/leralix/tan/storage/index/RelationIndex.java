@@ -0,0 +1,234 @@
+package org.leralix.tan.storage.index;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.leralix.tan.dataclass.territory.TerritoryData;
+import org.leralix.tan.enums.TownRelation;
+
+/**
+ * In-memory view of the relations of every territory, answering {@link
+ * TerritoryData#getRelationWith(String)} with two hash lookups and one probe.
+ *
+ * <p>Each territory gets a compact integer index. Its relations, including {@link
+ * TownRelation#OVERLORD} and {@link TownRelation#VASSAL}, are kept in an immutable open-addressing
+ * row keyed by the index of the other territory. A row is built from the territory's own {@code
+ * RelationData}, overlord and vassals on first use, which stay the persisted source of truth.
+ * Changing any of them invalidates the row, and the next lookup rebuilds it. Lookups take no lock.
+ */
+public final class RelationIndex {
+
+  private static final int OVERLORD_FLAG = 1 << 4;
+  private static final int VASSAL_FLAG = 1 << 5;
+  private static final int DIPLOMACY_MASK = 0x0F;
+  private static final TownRelation[] RELATIONS = TownRelation.values();
+
+  private static RelationIndex instance;
+
+  private final Map<String, Slot> slotsById = new ConcurrentHashMap<>();
+
+  /** Indices are never reused, so a stale row can never point to another territory. */
+  private final AtomicInteger nextIndex = new AtomicInteger();
+
+  private RelationIndex() {}
+
+  public static synchronized RelationIndex getInstance() {
+    if (instance == null) {
+      instance = new RelationIndex();
+    }
+    return instance;
+  }
+
+  public void reset() {
+    instance = null;
+  }
+
+  /**
+   * Get the relation of a territory with another one.
+   *
+   * @param territory The territory whose point of view is used
+   * @param otherID The ID of the other territory
+   * @return The relation, {@link TownRelation#NEUTRAL} if there is none
+   */
+  public TownRelation getRelation(TerritoryData territory, String otherID) {
+    String territoryID = territory.getID();
+    if (territoryID.equals(otherID)) {
+      return TownRelation.SELF;
+    }
+    Slot other = slotsById.get(otherID);
+    Slot slot = slotOf(territoryID);
+    // Build the row first: it registers every territory it mentions
+    Row row = getRow(slot, territory);
+    if (other == null) {
+      other = slotsById.get(otherID);
+      if (other == null) {
+        return TownRelation.NEUTRAL;
+      }
+    }
+    return decode(row.get(other.index));
+  }
+
+  /**
+   * Drop the cached relations of a territory after its relations, overlord or vassals changed.
+   *
+   * @param territoryID The territory ID
+   */
+  public void invalidate(String territoryID) {
+    Slot slot = slotsById.get(territoryID);
+    if (slot != null) {
+      slot.generation.incrementAndGet();
+    }
+  }
+
+  /**
+   * Forget a deleted territory.
+   *
+   * @param territoryID The territory ID
+   */
+  public void remove(String territoryID) {
+    Slot slot = slotsById.remove(territoryID);
+    if (slot != null) {
+      slot.generation.incrementAndGet();
+    }
+  }
+
+  public int size() {
+    return slotsById.size();
+  }
+
+  private Slot slotOf(String territoryID) {
+    return slotsById.computeIfAbsent(territoryID, id -> new Slot(nextIndex.getAndIncrement()));
+  }
+
+  private Row getRow(Slot slot, TerritoryData territory) {
+    // Read the generation before the data: a change made meanwhile bumps it past this row's
+    int generation = slot.generation.get();
+    Row row = slot.row;
+    if (row != null && row.generation == generation) {
+      return row;
+    }
+    row = buildRow(territory, generation);
+    slot.row = row;
+    return row;
+  }
+
+  private Row buildRow(TerritoryData territory, int generation) {
+    RowBuilder builder = new RowBuilder();
+    for (Map.Entry<TownRelation, List<String>> entry :
+        territory.getRelations().getAll().entrySet()) {
+      if (entry.getValue() == null) {
+        continue;
+      }
+      int diplomacy = entry.getKey().ordinal() + 1;
+      for (String otherID : entry.getValue()) {
+        // The first relation found wins, as in RelationData
+        builder.mergeDiplomacy(slotOf(otherID).index, diplomacy);
+      }
+    }
+    String overlordID = territory.getOverlordID();
+    if (overlordID != null) {
+      builder.addFlag(slotOf(overlordID).index, OVERLORD_FLAG);
+    }
+    for (String vassalID : territory.getVassalsID()) {
+      builder.addFlag(slotOf(vassalID).index, VASSAL_FLAG);
+    }
+    return builder.build(generation);
+  }
+
+  private static TownRelation decode(int value) {
+    if ((value & OVERLORD_FLAG) != 0) {
+      return TownRelation.OVERLORD;
+    }
+    if ((value & VASSAL_FLAG) != 0) {
+      return TownRelation.VASSAL;
+    }
+    int diplomacy = value & DIPLOMACY_MASK;
+    return diplomacy == 0 ? TownRelation.NEUTRAL : RELATIONS[diplomacy - 1];
+  }
+
+  private static final class Slot {
+    private final int index;
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile Row row;
+
+    private Slot(int index) {
+      this.index = index;
+    }
+  }
+
+  /** Immutable map from territory index to encoded relation, using linear probing. */
+  private static final class Row {
+    private static final int[] NO_KEYS = new int[1];
+    private static final byte[] NO_VALUES = new byte[1];
+
+    /** Territory index + 1, 0 marks a free cell. */
+    private final int[] keys;
+
+    private final byte[] values;
+    private final int mask;
+    private final int generation;
+
+    private Row(int[] keys, byte[] values, int generation) {
+      this.keys = keys;
+      this.values = values;
+      this.mask = keys.length - 1;
+      this.generation = generation;
+    }
+
+    int get(int index) {
+      int key = index + 1;
+      for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+        int found = keys[i];
+        if (found == key) {
+          return values[i];
+        }
+        if (found == 0) {
+          return 0;
+        }
+      }
+    }
+
+    private static int mix(int key) {
+      int h = key * 0x9E3779B9;
+      return h ^ (h >>> 16);
+    }
+  }
+
+  private static final class RowBuilder {
+    private final Map<Integer, Integer> entries = new HashMap<>();
+
+    void mergeDiplomacy(int index, int diplomacy) {
+      entries.merge(
+          index,
+          diplomacy,
+          (current, added) -> (current & DIPLOMACY_MASK) != 0 ? current : current | added);
+    }
+
+    void addFlag(int index, int flag) {
+      entries.merge(index, flag, (current, added) -> current | added);
+    }
+
+    Row build(int generation) {
+      if (entries.isEmpty()) {
+        return new Row(Row.NO_KEYS, Row.NO_VALUES, generation);
+      }
+      // At most half full, so probes stay short and always reach a free cell
+      int capacity = Integer.highestOneBit(entries.size() * 2 - 1) << 1;
+      int[] keys = new int[capacity];
+      byte[] values = new byte[capacity];
+      int mask = capacity - 1;
+      for (Map.Entry<Integer, Integer> entry : entries.entrySet()) {
+        int key = entry.getKey() + 1;
+        int i = Row.mix(key) & mask;
+        while (keys[i] != 0) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = (byte) entry.getValue().intValue();
+      }
+      return new Row(keys, values, generation);
+    }
+  }
+}
@@ -0,0 +1,328 @@
+package org.leralix.tan.storage.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
+import org.leralix.tan.utils.collection.LongObjectHashMap;
+import org.leralix.tan.utils.territory.ChunkKey;
+
+/**
+ * Connectivity of the chunks owned by one territory, maintained by the {@link ClaimIndex} on every
+ * claim and unclaim.
+ *
+ * <p>Each chunk keeps a mask of its eight neighbours owned by the same territory, so border and
+ * encirclement checks never read the claim storage. Connected areas, using the four direct
+ * neighbours, are tracked with a union-find: a claim merges the areas it touches. An unclaim that
+ * may split an area, judged from the neighbour mask, marks the areas stale and they are rebuilt on
+ * the next area query, so unclaiming many chunks in a row costs a single rebuild.
+ */
+public final class TerritoryConnectivity {
+
+  /** Neighbour offsets, clockwise from north. Even indexes are the four direct neighbours. */
+  private static final int[] RING_X = {0, 1, 1, 1, 0, -1, -1, -1};
+
+  private static final int[] RING_Z = {-1, -1, 0, 1, 1, 1, 0, -1};
+
+  private static final int ALL_NEIGHBOURS = 0xFF;
+
+  private static final int DIRECT_NEIGHBOURS = 0x55;
+
+  private final Map<UUID, LongObjectHashMap<Node>> nodesByWorld = new HashMap<>();
+  private int size;
+  private boolean stale;
+
+  synchronized void add(UUID worldID, ClaimedChunk2 claimedChunk) {
+    int x = claimedChunk.getX();
+    int z = claimedChunk.getZ();
+    LongObjectHashMap<Node> nodes =
+        nodesByWorld.computeIfAbsent(worldID, id -> new LongObjectHashMap<>());
+    Node node = new Node(claimedChunk);
+    Node previous = nodes.put(ChunkKey.pack(x, z), node);
+    if (previous != null) {
+      // Replaced in place: same position, so the same neighbours
+      node.neighbours = previous.neighbours;
+      stale = true;
+      return;
+    }
+    size++;
+    for (int i = 0; i < RING_X.length; i++) {
+      Node neighbour = nodes.get(ChunkKey.pack(x + RING_X[i], z + RING_Z[i]));
+      if (neighbour == null) {
+        continue;
+      }
+      node.neighbours |= 1 << i;
+      neighbour.neighbours |= 1 << opposite(i);
+      if (!stale && (i & 1) == 0) {
+        union(node, neighbour);
+      }
+    }
+  }
+
+  synchronized void remove(UUID worldID, int x, int z) {
+    LongObjectHashMap<Node> nodes = nodesByWorld.get(worldID);
+    if (nodes == null) {
+      return;
+    }
+    Node node = nodes.remove(ChunkKey.pack(x, z));
+    if (node == null) {
+      return;
+    }
+    size--;
+    if (nodes.isEmpty()) {
+      nodesByWorld.remove(worldID);
+    }
+    for (int i = 0; i < RING_X.length; i++) {
+      if ((node.neighbours & (1 << i)) != 0) {
+        nodes.get(ChunkKey.pack(x + RING_X[i], z + RING_Z[i])).neighbours &= ~(1 << opposite(i));
+      }
+    }
+    if (stale) {
+      return;
+    }
+    if (mayDisconnect(node.neighbours)) {
+      stale = true;
+    } else {
+      // The removed node may stay the root of its area, it is only unreachable from the index
+      find(node).areaSize--;
+    }
+  }
+
+  /**
+   * Whether removing a chunk with the given neighbours may split its area. The neighbours stay
+   * connected if the direct ones all belong to a single run of the ring of eight neighbours.
+   */
+  static boolean mayDisconnect(int neighbours) {
+    if (Integer.bitCount(neighbours & DIRECT_NEIGHBOURS) <= 1) {
+      return false;
+    }
+    if (neighbours == ALL_NEIGHBOURS) {
+      return false;
+    }
+    // Start right after a free slot, so no run wraps around the ring
+    int start = Integer.numberOfTrailingZeros(~neighbours & ALL_NEIGHBOURS) + 1;
+    int runsWithDirectNeighbour = 0;
+    boolean inRun = false;
+    boolean runHasDirectNeighbour = false;
+    for (int step = 0; step <= RING_X.length; step++) {
+      int i = (start + step) & 7;
+      boolean owned = step < RING_X.length && (neighbours & (1 << i)) != 0;
+      if (owned) {
+        inRun = true;
+        runHasDirectNeighbour |= (i & 1) == 0;
+      } else if (inRun) {
+        if (runHasDirectNeighbour) {
+          runsWithDirectNeighbour++;
+        }
+        inRun = false;
+        runHasDirectNeighbour = false;
+      }
+    }
+    return runsWithDirectNeighbour > 1;
+  }
+
+  public synchronized boolean contains(UUID worldID, int x, int z) {
+    return getNode(worldID, x, z) != null;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * @return The number of the eight neighbours of a chunk owned by the territory, or -1 if the
+   *     chunk is not owned by it
+   */
+  public synchronized int countNeighbours(UUID worldID, int x, int z) {
+    Node node = getNode(worldID, x, z);
+    return node == null ? -1 : Integer.bitCount(node.neighbours);
+  }
+
+  /**
+   * @return true if the chunk is owned by the territory and one of its eight neighbours is not
+   */
+  public synchronized boolean isBorder(UUID worldID, int x, int z) {
+    Node node = getNode(worldID, x, z);
+    return node != null && node.neighbours != ALL_NEIGHBOURS;
+  }
+
+  /**
+   * @return true if the four direct neighbours of the chunk are owned by the territory
+   */
+  public synchronized boolean isSurrounded(UUID worldID, int x, int z) {
+    Node node = getNode(worldID, x, z);
+    return node != null && (node.neighbours & DIRECT_NEIGHBOURS) == DIRECT_NEIGHBOURS;
+  }
+
+  /**
+   * @return Every chunk of the territory with at least one of its eight neighbours not owned by it
+   */
+  public synchronized List<ClaimedChunk2> getBorderChunks() {
+    List<ClaimedChunk2> borderChunks = new ArrayList<>();
+    for (LongObjectHashMap<Node> nodes : nodesByWorld.values()) {
+      nodes.forEach(
+          (key, node) -> {
+            if (node.neighbours != ALL_NEIGHBOURS) {
+              borderChunks.add(node.claimedChunk);
+            }
+          });
+    }
+    return borderChunks;
+  }
+
+  /**
+   * @return true if both chunks are owned by the territory and linked by its chunks
+   */
+  public synchronized boolean isConnected(
+      UUID worldID, int x, int z, UUID otherWorldID, int otherX, int otherZ) {
+    Node node = getNode(worldID, x, z);
+    Node other = getNode(otherWorldID, otherX, otherZ);
+    if (node == null || other == null) {
+      return false;
+    }
+    rebuildIfStale();
+    return find(node) == find(other);
+  }
+
+  /**
+   * @return The number of chunks in the connected area of a chunk, or 0 if it is not owned by the
+   *     territory
+   */
+  public synchronized int getAreaSize(UUID worldID, int x, int z) {
+    Node node = getNode(worldID, x, z);
+    if (node == null) {
+      return 0;
+    }
+    rebuildIfStale();
+    return find(node).areaSize;
+  }
+
+  /**
+   * @return Every chunk of the connected area of a chunk, empty if it is not owned by the territory
+   */
+  public synchronized List<ClaimedChunk2> getArea(UUID worldID, int x, int z) {
+    Node start = getNode(worldID, x, z);
+    if (start == null) {
+      return List.of();
+    }
+    rebuildIfStale();
+    LongObjectHashMap<Node> nodes = nodesByWorld.get(worldID);
+    Node root = find(start);
+    List<ClaimedChunk2> area = new ArrayList<>(root.areaSize);
+    List<Node> visited = new ArrayList<>(root.areaSize);
+    ArrayDeque<Node> toVisit = new ArrayDeque<>();
+    start.visited = true;
+    toVisit.add(start);
+    while (!toVisit.isEmpty()) {
+      Node current = toVisit.poll();
+      visited.add(current);
+      area.add(current.claimedChunk);
+      visitDirectNeighbours(nodes, current, root, toVisit);
+    }
+    for (Node node : visited) {
+      node.visited = false;
+    }
+    return area;
+  }
+
+  private Node getNode(UUID worldID, int x, int z) {
+    LongObjectHashMap<Node> nodes = nodesByWorld.get(worldID);
+    return nodes == null ? null : nodes.get(ChunkKey.pack(x, z));
+  }
+
+  private void rebuildIfStale() {
+    if (!stale) {
+      return;
+    }
+    for (LongObjectHashMap<Node> nodes : nodesByWorld.values()) {
+      nodes.forEach(
+          (key, node) -> {
+            node.parent = node;
+            node.areaSize = 1;
+          });
+      ArrayDeque<Node> toVisit = new ArrayDeque<>();
+      nodes.forEach(
+          (key, root) -> {
+            if (root.parent != root || root.visited) {
+              return;
+            }
+            root.visited = true;
+            toVisit.add(root);
+            while (!toVisit.isEmpty()) {
+              root.areaSize += visitDirectNeighbours(nodes, toVisit.poll(), root, toVisit);
+            }
+          });
+      nodes.forEach((key, node) -> node.visited = false);
+    }
+    stale = false;
+  }
+
+  /**
+   * Queue the direct neighbours of a chunk not visited yet, and attach them to the root of its
+   * area.
+   *
+   * @return The number of neighbours queued
+   */
+  private static int visitDirectNeighbours(
+      LongObjectHashMap<Node> nodes, Node current, Node root, ArrayDeque<Node> toVisit) {
+    int x = current.claimedChunk.getX();
+    int z = current.claimedChunk.getZ();
+    int queued = 0;
+    for (int i = 0; i < RING_X.length; i += 2) {
+      if ((current.neighbours & (1 << i)) == 0) {
+        continue;
+      }
+      Node neighbour = nodes.get(ChunkKey.pack(x + RING_X[i], z + RING_Z[i]));
+      if (!neighbour.visited) {
+        neighbour.visited = true;
+        neighbour.parent = root;
+        toVisit.add(neighbour);
+        queued++;
+      }
+    }
+    return queued;
+  }
+
+  private static Node find(Node node) {
+    while (node.parent != node) {
+      node.parent = node.parent.parent;
+      node = node.parent;
+    }
+    return node;
+  }
+
+  private static void union(Node node, Node other) {
+    Node root = find(node);
+    Node otherRoot = find(other);
+    if (root == otherRoot) {
+      return;
+    }
+    if (root.areaSize < otherRoot.areaSize) {
+      Node swap = root;
+      root = otherRoot;
+      otherRoot = swap;
+    }
+    otherRoot.parent = root;
+    root.areaSize += otherRoot.areaSize;
+  }
+
+  private static int opposite(int ringIndex) {
+    return (ringIndex + 4) & 7;
+  }
+
+  /** One owned chunk. */
+  private static final class Node {
+    private final ClaimedChunk2 claimedChunk;
+    private Node parent = this;
+    private int areaSize = 1;
+    private int neighbours;
+    private boolean visited;
+
+    private Node(ClaimedChunk2 claimedChunk) {
+      this.claimedChunk = claimedChunk;
+    }
+  }
+}
@@ -0,0 +1,317 @@
+package org.leralix.tan.storage.stored;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.leralix.tan.TownsAndNations;
+import org.leralix.tan.monitoring.PrometheusMetricsCollector;
+import org.leralix.tan.storage.database.DatabaseHandler;
+import org.leralix.tan.utils.FoliaScheduler;
+
+/**
+ * Balances of towns, regions and standalone-economy players, kept outside of their JSON data.
+ *
+ * <p>Every balance change is an atomic {@code balance = balance + ?} on a small {@code tan_balances}
+ * row, so a tax or salary run no longer re-serializes whole territories. Changes are summed per ID
+ * and written by the {@link WriteBehindFlusher} like the other storages.
+ *
+ * <p>An ID without a ledger row still uses the balance stored in its JSON data; the row is created
+ * from that value on the first change.
+ */
+public final class BalanceLedger {
+
+  public enum OwnerType {
+    TOWN,
+    REGION,
+    PLAYER
+  }
+
+  private static final String TABLE_NAME = "tan_balances";
+  private static final int FLUSH_BATCH_SIZE = 500;
+  private static BalanceLedger instance;
+
+  /** Current balance of every ID having a ledger row or a pending change. */
+  private final Map<String, Double> balances = new ConcurrentHashMap<>();
+
+  /** Changes not yet written, summed per ID. */
+  private final Map<String, PendingDelta> pendingDeltas = new ConcurrentHashMap<>();
+
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+  private final Object writeLock = new Object();
+
+  private BalanceLedger() {
+    createTable();
+    loadBalances();
+    WriteBehindFlusher.register(this);
+  }
+
+  public static synchronized BalanceLedger getInstance() {
+    if (instance == null) {
+      instance = new BalanceLedger();
+    }
+    return instance;
+  }
+
+  private DatabaseHandler getDatabase() {
+    return TownsAndNations.getPlugin().getDatabaseHandler();
+  }
+
+  private void createTable() {
+    String createTableSQL =
+        """
+            CREATE TABLE IF NOT EXISTS %s (
+                id VARCHAR(255) PRIMARY KEY,
+                owner_type VARCHAR(16) NOT NULL,
+                balance DOUBLE NOT NULL
+            )
+        """
+            .formatted(TABLE_NAME);
+
+    try (Connection conn = getDatabase().getDataSource().getConnection();
+        Statement stmt = conn.createStatement()) {
+      stmt.execute(createTableSQL);
+    } catch (SQLException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .severe("Error creating table " + TABLE_NAME + ": " + e.getMessage());
+    }
+  }
+
+  private void loadBalances() {
+    balances.clear();
+    try (Connection conn = getDatabase().getDataSource().getConnection();
+        PreparedStatement ps = conn.prepareStatement("SELECT id, balance FROM " + TABLE_NAME);
+        ResultSet rs = ps.executeQuery()) {
+      while (rs.next()) {
+        balances.put(rs.getString("id"), rs.getDouble("balance"));
+      }
+    } catch (SQLException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .severe("Error loading balances from " + TABLE_NAME + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Get the balance of an ID.
+   *
+   * @param id The town, region or player ID
+   * @param storedBalance The balance stored in the JSON data, used when the ID has no ledger row
+   * @return The current balance
+   */
+  public double getBalance(String id, double storedBalance) {
+    Double balance = balances.get(id);
+    return balance == null ? storedBalance : balance;
+  }
+
+  /**
+   * Add an amount, possibly negative, to the balance of an ID.
+   *
+   * @param id The town, region or player ID
+   * @param ownerType The kind of owner the ID refers to
+   * @param storedBalance The balance stored in the JSON data, used when the ID has no ledger row
+   * @param amount The amount to add
+   * @return The new balance
+   */
+  public double add(String id, OwnerType ownerType, double storedBalance, double amount) {
+    double newBalance =
+        balances.compute(
+            id,
+            (key, current) -> {
+              double updated = (current == null ? storedBalance : current) + amount;
+              queueDelta(key, ownerType, amount, updated);
+              return updated;
+            });
+    requestFlushIfNeeded();
+    return newBalance;
+  }
+
+  /**
+   * Remove an amount from the balance of an ID only if the balance covers it. The check and the
+   * withdrawal are atomic, so two concurrent purchases cannot both spend the same money.
+   *
+   * @param id The town, region or player ID
+   * @param ownerType The kind of owner the ID refers to
+   * @param storedBalance The balance stored in the JSON data, used when the ID has no ledger row
+   * @param amount The amount to remove
+   * @return True if the amount was removed
+   */
+  public boolean withdrawIfAvailable(
+      String id, OwnerType ownerType, double storedBalance, double amount) {
+    AtomicBoolean withdrawn = new AtomicBoolean();
+    balances.compute(
+        id,
+        (key, current) -> {
+          double balance = current == null ? storedBalance : current;
+          if (balance < amount) {
+            return current;
+          }
+          withdrawn.set(true);
+          queueDelta(key, ownerType, -amount, balance - amount);
+          return balance - amount;
+        });
+    if (withdrawn.get()) {
+      requestFlushIfNeeded();
+    }
+    return withdrawn.get();
+  }
+
+  /**
+   * Forget the balance of a deleted town, region or player.
+   *
+   * @param id The ID to remove
+   */
+  public void remove(String id) {
+    balances.remove(id);
+    pendingDeltas.remove(id);
+    FoliaScheduler.runTaskAsynchronously(
+        TownsAndNations.getPlugin(),
+        () -> {
+          // Under the write lock so a flush in progress cannot recreate the row afterwards
+          synchronized (writeLock) {
+            try (Connection conn = getDatabase().getDataSource().getConnection();
+                PreparedStatement ps =
+                    conn.prepareStatement("DELETE FROM " + TABLE_NAME + " WHERE id = ?")) {
+              ps.setString(1, id);
+              ps.executeUpdate();
+            } catch (SQLException e) {
+              TownsAndNations.getPlugin()
+                  .getLogger()
+                  .severe("Error deleting balance " + id + ": " + e.getMessage());
+            }
+          }
+        });
+  }
+
+  public int getPendingCount() {
+    return pendingDeltas.size();
+  }
+
+  public void reset() {
+    instance = null;
+  }
+
+  /** Called inside {@link #balances} compute, so deltas of one ID are queued in balance order. */
+  private void queueDelta(String id, OwnerType ownerType, double amount, double newBalance) {
+    pendingDeltas.merge(
+        id,
+        new PendingDelta(ownerType, amount, newBalance),
+        (previous, latest) ->
+            new PendingDelta(ownerType, previous.amount() + latest.amount(), newBalance));
+  }
+
+  private void requestFlushIfNeeded() {
+    if (WriteBehindFlusher.shouldFlushNow(pendingDeltas.size())
+        && flushRequested.compareAndSet(false, true)) {
+      FoliaScheduler.runTaskAsynchronously(
+          TownsAndNations.getPlugin(),
+          () -> {
+            flushRequested.set(false);
+            flush();
+          });
+    }
+  }
+
+  /**
+   * Write every pending change in one transaction. A failed transaction puts the changes back so
+   * the next flush retries them.
+   *
+   * @return The number of balances written
+   */
+  int flush() {
+    if (pendingDeltas.isEmpty()) {
+      return 0;
+    }
+    synchronized (writeLock) {
+      List<String> ids = new ArrayList<>();
+      List<PendingDelta> deltas = new ArrayList<>();
+      for (String id : List.copyOf(pendingDeltas.keySet())) {
+        PendingDelta delta = pendingDeltas.remove(id);
+        if (delta != null) {
+          ids.add(id);
+          deltas.add(delta);
+        }
+      }
+      if (ids.isEmpty()) {
+        return 0;
+      }
+
+      long start = System.currentTimeMillis();
+      try (Connection conn = getDatabase().getDataSource().getConnection()) {
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(getUpsertDeltaSQL())) {
+          for (int i = 0; i < ids.size(); i++) {
+            PendingDelta delta = deltas.get(i);
+            // A new row starts at the full balance, an existing one only receives the change
+            ps.setString(1, ids.get(i));
+            ps.setString(2, delta.ownerType().name());
+            ps.setDouble(3, delta.balance());
+            ps.setDouble(4, delta.amount());
+            ps.addBatch();
+            if ((i + 1) % FLUSH_BATCH_SIZE == 0) {
+              ps.executeBatch();
+            }
+          }
+          ps.executeBatch();
+          conn.commit();
+        } catch (SQLException e) {
+          conn.rollback();
+          throw e;
+        } finally {
+          conn.setAutoCommit(true);
+        }
+      } catch (SQLException e) {
+        PrometheusMetricsCollector.recordQueryExecution(
+            "flush_" + TABLE_NAME, System.currentTimeMillis() - start, false);
+        for (int i = 0; i < ids.size(); i++) {
+          // Changes queued meanwhile are newer: keep their balance, add the older amount
+          pendingDeltas.merge(
+              ids.get(i),
+              deltas.get(i),
+              (newer, failed) ->
+                  new PendingDelta(
+                      newer.ownerType(), failed.amount() + newer.amount(), newer.balance()));
+        }
+        TownsAndNations.getPlugin()
+            .getLogger()
+            .severe(
+                "Error flushing "
+                    + ids.size()
+                    + " balance changes, retrying on next flush: "
+                    + e.getMessage());
+        return 0;
+      }
+      PrometheusMetricsCollector.recordQueryExecution(
+          "flush_" + TABLE_NAME, System.currentTimeMillis() - start, true);
+      return ids.size();
+    }
+  }
+
+  private String getUpsertDeltaSQL() {
+    if (getDatabase().isMySQL()) {
+      return "INSERT INTO "
+          + TABLE_NAME
+          + " (id, owner_type, balance) VALUES (?, ?, ?)"
+          + " ON DUPLICATE KEY UPDATE balance = balance + ?";
+    }
+    return "INSERT INTO "
+        + TABLE_NAME
+        + " (id, owner_type, balance) VALUES (?, ?, ?)"
+        + " ON CONFLICT(id) DO UPDATE SET balance = balance + ?";
+  }
+
+  /**
+   * Summed change of one ID.
+   *
+   * @param amount The total amount to add to an existing row
+   * @param balance The balance after the change, used when the row does not exist yet
+   */
+  private record PendingDelta(OwnerType ownerType, double amount, double balance) {}
+}
@@ -8,15 +8,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import org.leralix.tan.TownsAndNations;
 import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.monitoring.PrometheusMetricsCollector;
+import org.leralix.tan.storage.cache.CacheSize;
+import org.leralix.tan.storage.cache.CacheStats;
+import org.leralix.tan.storage.cache.StorageCache;
+import org.leralix.tan.storage.cache.TinyLfuCache;
 import org.leralix.tan.storage.database.DatabaseHandler;
 import org.leralix.tan.storage.exceptions.DatabaseNotReadyException;
 
 /**
  * Base class for database-backed storage with optional caching. Each get() retrieves data from the
- * database or cache, each set() writes to the database. Includes LRU cache for frequently accessed
- * data to reduce DB queries.
+ * database or cache. Frequently accessed data is kept in a {@link StorageCache} bounded by size in
+ * bytes (config {@code cache.<table>}) to reduce DB queries. Writes are queued and coalesced per
+ * object, then flushed in batches by the {@link WriteBehindFlusher}.
  *
  * @param <T> The type of object being stored
  */
@@ -24,30 +34,47 @@ public abstract class DatabaseStorage<T> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseStorage.class);
 
+  private static final long DEFAULT_CACHE_BYTES = 16L * 1024 * 1024;
+
+  /** Weight assumed per entry when {@code cache.<table>} is still an entry count. */
+  private static final long LEGACY_ENTRY_BYTES = 4L * 1024;
+
+  /** Rows sent per executeBatch() call when flushing pending writes. */
+  private static final int FLUSH_BATCH_SIZE = 500;
+
   protected final Gson gson;
   protected final String tableName;
   protected final Class<T> typeClass;
   protected final Type typeToken;
 
-  // Optional LRU cache for frequently accessed objects (max 100 entries)
-  protected final Map<String, T> cache;
-  protected final int cacheSize;
+  // Optional cache for frequently accessed objects, bounded by its weight in bytes
+  protected final StorageCache<T> cache;
+  protected final long cacheMaxBytes;
   protected final boolean cacheEnabled;
 
+  /** Loads currently running for each ID, shared by concurrent cache misses. */
+  private final Map<String, CompletableFuture<T>> inFlightLoads = new ConcurrentHashMap<>();
+
+  private final LongAdder issuedLoads = new LongAdder();
+  private final LongAdder coalescedLoads = new LongAdder();
+
+  /** Writes waiting for the next flush, at most one per ID: a newer write replaces the older. */
+  private final Map<String, PendingWrite<T>> pendingWrites = new ConcurrentHashMap<>();
+
+  private final AtomicLong writeSequence = new AtomicLong();
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+  private final LongAdder coalescedWrites = new LongAdder();
+
+  /** Serializes flushes with direct writes and deletes, so a flush never resurrects a row. */
+  private final Object writeLock = new Object();
+
   protected DatabaseStorage(String tableName, Class<T> typeClass, Gson gson) {
     this(tableName, typeClass, typeClass, gson, true);
   }
 
   protected DatabaseStorage(
       String tableName, Class<T> typeClass, Type typeToken, Gson gson, boolean enableCache) {
-    // PERFORMANCE FIX: Default cache size increased from 100 to 1000
-    this(
-        tableName,
-        typeClass,
-        typeToken,
-        gson,
-        enableCache,
-        TownsAndNations.getPlugin().getConfig().getInt("cache." + tableName, 1000));
+    this(tableName, typeClass, typeToken, gson, enableCache, readCacheMaxBytes(tableName));
   }
 
   protected DatabaseStorage(
@@ -56,27 +83,21 @@ public abstract class DatabaseStorage<T> {
       Type typeToken,
       Gson gson,
       boolean enableCache,
-      int cacheSize) {
+      long cacheMaxBytes) {
     this.tableName = tableName;
     this.typeClass = typeClass;
     this.typeToken = typeToken;
     this.gson = gson;
     this.cacheEnabled = enableCache;
-    // PERFORMANCE FIX: Increased default from 100 to 1000 for better cache hit rate on busy servers
-    // For large servers, configure higher in config.yml: cache.<table_name>: 5000
-    this.cacheSize = cacheSize;
-    this.cache =
-        enableCache
-            ? Collections.synchronizedMap(
-                new LinkedHashMap<String, T>(16, 0.75f, true) {
-                  @Override
-                  protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
-                    return size() > cacheSize;
-                  }
-                })
-            : null;
+    // For large servers, configure higher in config.yml: cache.<table_name>: 64MB
+    this.cacheMaxBytes = cacheMaxBytes;
+    this.cache = enableCache ? new TinyLfuCache<>(cacheMaxBytes, LEGACY_ENTRY_BYTES) : null;
+    if (cache != null) {
+      PrometheusMetricsCollector.registerStorageCache(tableName, cache);
+    }
     createTable();
     createIndexes();
+    WriteBehindFlusher.register(this);
   }
 
 <<<<<<< Updated upstream
@@ -92,6 +113,30 @@ public abstract class DatabaseStorage<T> {
   }
 
 >>>>>>> Stashed changes
+  /**
+   * Read the cache limit of a table from {@code cache.<table>}. Sizes such as {@code 16MB} are
+   * used as is; a bare number is an entry count from older configs and is converted to bytes.
+   */
+  private static long readCacheMaxBytes(String tableName) {
+    var config = TownsAndNations.getPlugin().getConfig();
+    String path = "cache." + tableName;
+    if (config.isInt(path)) {
+      return Math.max(config.getInt(path), 1) * LEGACY_ENTRY_BYTES;
+    }
+    String value = config.getString(path);
+    if (value == null) {
+      return DEFAULT_CACHE_BYTES;
+    }
+    try {
+      return CacheSize.parseBytes(value);
+    } catch (IllegalArgumentException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .warning("Invalid cache size for " + path + ": " + value + ", using 16MB");
+      return DEFAULT_CACHE_BYTES;
+    }
+  }
+
   protected DatabaseHandler getDatabase() {
     return TownsAndNations.getPlugin().getDatabaseHandler();
   }
@@ -114,8 +159,9 @@ public abstract class DatabaseStorage<T> {
 
   /** Remove an entry from cache */
   protected void invalidateCache(String id) {
+    cancelInFlightLoad(id);
     if (cacheEnabled && cache != null) {
-      cache.remove(id);
+      cache.invalidate(id);
     }
   }
 
@@ -125,10 +171,32 @@ public abstract class DatabaseStorage<T> {
    */
   protected void invalidateCacheIf(java.util.function.Predicate<T> condition) {
     if (cacheEnabled && cache != null) {
-      cache.entrySet().removeIf(entry -> condition.test(entry.getValue()));
+      cache.invalidateIf(condition);
+    }
+  }
+
+  /**
+   * Store a freshly written object in the cache, weighted by its serialized size.
+   *
+   * @param id The ID of the object
+   * @param obj The object
+   * @param jsonData The JSON that was written for it
+   */
+  protected void cachePut(String id, T obj, String jsonData) {
+    if (cacheEnabled && cache != null) {
+      cache.put(id, obj, CacheSize.ofJson(jsonData));
     }
   }
 
+  /**
+   * Get the statistics of the cache of this table.
+   *
+   * @return The statistics, or null if caching is disabled
+   */
+  public CacheStats getCacheStats() {
+    return cacheEnabled && cache != null ? cache.stats() : null;
+  }
+
   /**
    * Get an object by ID from the database or cache
    *
@@ -156,13 +224,39 @@ public abstract class DatabaseStorage<T> {
       }
     }
 
+    // A queued write is newer than the database row
+    T pending = getPendingWrite(id);
+    if (pending != null) {
+      future.complete(pending);
+      return future;
+    }
+
+    // Single-flight: concurrent misses on the same ID share one query and one Gson parse
+    CompletableFuture<T> inFlight = inFlightLoads.putIfAbsent(id, future);
+    if (inFlight != null) {
+      coalescedLoads.increment();
+      PrometheusMetricsCollector.recordStorageLoad(tableName, false);
+      return inFlight.copy();
+    }
+    issuedLoads.increment();
+    PrometheusMetricsCollector.recordStorageLoad(tableName, true);
+
     // Load from database asynchronously
     runAsync(
         () -> {
           try {
-            T object = loadFromDatabase(id);
+            LoadedRow<T> row = loadFromDatabase(id);
+            T object = row == null ? null : row.object();
+            // Only cache if no write superseded this load while it was running
             if (object != null && cacheEnabled && cache != null) {
-              cache.put(id, object);
+              inFlightLoads.computeIfPresent(
+                  id,
+                  (key, running) -> {
+                    if (running == future && !pendingWrites.containsKey(key)) {
+                      cache.putLoaded(key, object, row.weight());
+                    }
+                    return running;
+                  });
             }
             future.complete(object);
           } catch (DatabaseNotReadyException e) {
@@ -171,12 +265,244 @@ public abstract class DatabaseStorage<T> {
           } catch (Exception e) {
             // Any other exception - propagate it
             future.completeExceptionally(e);
+          } finally {
+            inFlightLoads.remove(id, future);
           }
         });
 
     return future;
   }
 
+  /**
+   * Get the number of database loads actually issued by {@link #get(String)}.
+   *
+   * @return The number of issued loads since startup
+   */
+  public long getIssuedLoadCount() {
+    return issuedLoads.sum();
+  }
+
+  /**
+   * Get the number of {@link #get(String)} misses that joined an already running load instead of
+   * issuing their own query.
+   *
+   * @return The number of coalesced loads since startup
+   */
+  public long getCoalescedLoadCount() {
+    return coalescedLoads.sum();
+  }
+
+  /**
+   * Detach any running load for an ID so its (now stale) result is not written to the cache. Called
+   * before every write or delete.
+   */
+  protected void cancelInFlightLoad(String id) {
+    inFlightLoads.remove(id);
+  }
+
+  /**
+   * Get the upsert statement used to write one object. Storages with extra columns override it
+   * together with {@link #bindUpsert(PreparedStatement, String, Object, String)}.
+   */
+  protected String getUpsertSQL() {
+    return getDatabase().getUpsertSQL(tableName);
+  }
+
+  /**
+   * Bind the parameters of {@link #getUpsertSQL()} for one object.
+   *
+   * @param ps The prepared upsert statement
+   * @param id The ID of the object
+   * @param obj The object
+   * @param jsonData The serialized object
+   */
+  protected void bindUpsert(PreparedStatement ps, String id, T obj, String jsonData)
+      throws SQLException {
+    ps.setString(1, id);
+    ps.setString(2, jsonData);
+  }
+
+  /**
+   * Queue an object to be written by the next flush (see {@link WriteBehindFlusher}). Reads see the
+   * object right away; if it is queued again before the flush, only the latest version is written.
+   *
+   * @param id The ID of the object
+   * @param obj The object to store
+   * @return A future completing once the object, or a newer version of it, reached the database
+   */
+  protected CompletableFuture<Void> writeBehind(String id, T obj) {
+    if (id == null || obj == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    cancelInFlightLoad(id);
+    if (cacheEnabled && cache != null && cache.peek(id) != obj) {
+      // Real weight is known once serialized by the flush
+      cache.put(id, obj, LEGACY_ENTRY_BYTES);
+    }
+
+    PendingWrite<T> pending =
+        pendingWrites.compute(
+            id,
+            (key, previous) -> {
+              if (previous == null) {
+                return new PendingWrite<>(
+                    obj, writeSequence.incrementAndGet(), new CompletableFuture<>());
+              }
+              coalescedWrites.increment();
+              PrometheusMetricsCollector.recordStorageWrite(tableName, false);
+              return new PendingWrite<>(obj, writeSequence.incrementAndGet(), previous.flushed());
+            });
+
+    if (WriteBehindFlusher.shouldFlushNow(pendingWrites.size())) {
+      requestFlush();
+    }
+    return pending.flushed().copy();
+  }
+
+  /**
+   * Get the object queued for an ID and not yet written.
+   *
+   * @param id The ID of the object
+   * @return The queued object, or null if nothing is pending
+   */
+  protected T getPendingWrite(String id) {
+    PendingWrite<T> pending = pendingWrites.get(id);
+    return pending == null ? null : pending.object();
+  }
+
+  public int getPendingWriteCount() {
+    return pendingWrites.size();
+  }
+
+  /**
+   * Get the number of writes that replaced a still pending write of the same object instead of
+   * costing their own row write.
+   *
+   * @return The number of coalesced writes since startup
+   */
+  public long getCoalescedWriteCount() {
+    return coalescedWrites.sum();
+  }
+
+  /** Schedule a background flush of this storage unless one is already waiting to run. */
+  private void requestFlush() {
+    if (flushRequested.compareAndSet(false, true)) {
+      runAsync(
+          () -> {
+            flushRequested.set(false);
+            flushPendingWrites();
+          });
+    }
+  }
+
+  /**
+   * Write every pending object of this table in one transaction. Objects that fail to serialize
+   * (e.g. modified concurrently) or a failed batch stay pending and are retried on the next flush.
+   *
+   * @return The number of objects written
+   */
+  int flushPendingWrites() {
+    if (pendingWrites.isEmpty()) {
+      return 0;
+    }
+    synchronized (writeLock) {
+      List<String> ids = new ArrayList<>();
+      List<PendingWrite<T>> writes = new ArrayList<>();
+      List<String> jsons = new ArrayList<>();
+      for (Map.Entry<String, PendingWrite<T>> entry : pendingWrites.entrySet()) {
+        PendingWrite<T> pending = entry.getValue();
+        try {
+          jsons.add(gson.toJson(pending.object(), typeToken));
+          ids.add(entry.getKey());
+          writes.add(pending);
+        } catch (RuntimeException e) {
+          TownsAndNations.getPlugin()
+              .getLogger()
+              .warning(
+                  "Could not serialize "
+                      + typeClass.getSimpleName()
+                      + " with ID "
+                      + entry.getKey()
+                      + ", retrying on next flush: "
+                      + e.getMessage());
+        }
+      }
+      if (ids.isEmpty()) {
+        return 0;
+      }
+
+      long start = System.currentTimeMillis();
+      try (Connection conn = getDatabase().getDataSource().getConnection()) {
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(getUpsertSQL())) {
+          for (int i = 0; i < ids.size(); i++) {
+            bindUpsert(ps, ids.get(i), writes.get(i).object(), jsons.get(i));
+            ps.addBatch();
+            if ((i + 1) % FLUSH_BATCH_SIZE == 0) {
+              ps.executeBatch();
+            }
+          }
+          ps.executeBatch();
+          conn.commit();
+        } catch (SQLException e) {
+          conn.rollback();
+          throw e;
+        } finally {
+          conn.setAutoCommit(true);
+        }
+      } catch (SQLException e) {
+        PrometheusMetricsCollector.recordQueryExecution(
+            "flush_" + tableName, System.currentTimeMillis() - start, false);
+        TownsAndNations.getPlugin()
+            .getLogger()
+            .severe(
+                "Error flushing "
+                    + ids.size()
+                    + " pending "
+                    + typeClass.getSimpleName()
+                    + " writes, retrying on next flush: "
+                    + e.getMessage());
+        return 0;
+      }
+      PrometheusMetricsCollector.recordQueryExecution(
+          "flush_" + tableName, System.currentTimeMillis() - start, true);
+
+      for (int i = 0; i < ids.size(); i++) {
+        String id = ids.get(i);
+        PendingWrite<T> written = writes.get(i);
+        if (cacheEnabled && cache != null) {
+          cache.updateWeight(id, written.object(), CacheSize.ofJson(jsons.get(i)));
+        }
+        // A newer version queued meanwhile keeps the entry, and the future, for the next flush
+        if (pendingWrites.remove(id, written)) {
+          written.flushed().complete(null);
+        }
+        PrometheusMetricsCollector.recordStorageWrite(tableName, true);
+      }
+      return ids.size();
+    }
+  }
+
+  /**
+   * Drop the pending write of an ID because a direct write or a delete supersedes it. The
+   * superseding statement must then run under {@link #writeLock}, after any flush in progress.
+   */
+  private void discardPendingWrite(String id) {
+    PendingWrite<T> pending = pendingWrites.remove(id);
+    if (pending != null) {
+      pending.flushed().complete(null);
+    }
+  }
+
+  /** Replace rows read from the database with the newer objects still waiting to be written. */
+  private void overlayPendingWrites(Map<String, T> rows, boolean includeNewIds) {
+    for (Map.Entry<String, PendingWrite<T>> entry : pendingWrites.entrySet()) {
+      if (includeNewIds || rows.containsKey(entry.getKey())) {
+        rows.put(entry.getKey(), entry.getValue().object());
+      }
+    }
+  }
+
   /** Helper method to run a task asynchronously, detecting Folia/Paper environment. */
   private void runAsync(Runnable task) {
     try {
@@ -194,11 +520,11 @@ public abstract class DatabaseStorage<T> {
    * Load an object from the database (internal method, not cached)
    *
    * @param id The ID of the object
-   * @return The object if found, null if not found in database
+   * @return The object and its cache weight if found, null if not found in database
    * @throws DatabaseNotReadyException if database connection is not available (recoverable error -
    *     retry recommended)
    */
-  private T loadFromDatabase(String id) {
+  private LoadedRow<T> loadFromDatabase(String id) {
     String selectSQL = "SELECT data FROM " + tableName + " WHERE id = ?";
 
     try (Connection conn = getDatabase().getDataSource().getConnection()) {
@@ -215,6 +541,7 @@ public abstract class DatabaseStorage<T> {
         try (ResultSet rs = ps.executeQuery()) {
           if (rs.next()) {
             String jsonData = rs.getString("data");
+            long weight = CacheSize.ofJson(jsonData);
 
 <<<<<<< Updated upstream
 =======
@@ -232,7 +559,8 @@ public abstract class DatabaseStorage<T> {
               }
             }
 
-            return gson.fromJson(jsonData, typeToken);
+            T object = gson.fromJson(jsonData, typeToken);
+            return object == null ? null : new LoadedRow<>(object, weight);
           }
           // Player not found in database - return null (not an error, just not found)
           return null;
@@ -321,6 +649,7 @@ public abstract class DatabaseStorage<T> {
               "Error retrieving all " + typeClass.getSimpleName() + " objects: " + e.getMessage());
     }
 
+    overlayPendingWrites(result, true);
     return result;
   }
 
@@ -363,6 +692,7 @@ public abstract class DatabaseStorage<T> {
               }
             }
 
+            overlayPendingWrites(result, true);
             future.complete(result);
 
           } catch (SQLException e) {
@@ -436,82 +766,43 @@ public abstract class DatabaseStorage<T> {
     }
 
     String jsonData = gson.toJson(obj, typeToken);
-    String upsertSQL = getDatabase().getUpsertSQL(tableName);
 
-    try (Connection conn = getDatabase().getDataSource().getConnection();
-        PreparedStatement ps = conn.prepareStatement(upsertSQL)) {
+    synchronized (writeLock) {
+      try (Connection conn = getDatabase().getDataSource().getConnection();
+          PreparedStatement ps = conn.prepareStatement(getUpsertSQL())) {
 
-      ps.setString(1, id);
-      ps.setString(2, jsonData);
-      ps.executeUpdate();
+        bindUpsert(ps, id, obj, jsonData);
+        ps.executeUpdate();
 
-      // Update cache
-      if (cacheEnabled && cache != null) {
-        synchronized (cache) {
-          cache.put(id, obj);
-        }
-      }
+        // Update cache
+        discardPendingWrite(id);
+        cancelInFlightLoad(id);
+        cachePut(id, obj, jsonData);
 
-    } catch (SQLException e) {
-      TownsAndNations.getPlugin()
-          .getLogger()
-          .severe(
-              "Error storing "
-                  + typeClass.getSimpleName()
-                  + " with ID "
-                  + id
-                  + ": "
-                  + e.getMessage());
+      } catch (SQLException e) {
+        TownsAndNations.getPlugin()
+            .getLogger()
+            .severe(
+                "Error storing "
+                    + typeClass.getSimpleName()
+                    + " with ID "
+                    + id
+                    + ": "
+                    + e.getMessage());
+      }
     }
   }
 
   /**
-   * Put an object in the database asynchronously (non-blocking)
+   * Put an object in the database asynchronously (non-blocking). The write is queued and coalesced
+   * with later writes of the same object until the next flush.
    *
    * @param id The ID of the object
    * @param obj The object to store
-   * @return CompletableFuture that completes when the operation is done
+   * @return CompletableFuture that completes when the object has been written
    */
   public CompletableFuture<Void> putAsync(String id, T obj) {
-    if (id == null || obj == null) {
-      return CompletableFuture.completedFuture(null);
-    }
-
-    // Update cache immediately (optimistic update)
-    if (cacheEnabled && cache != null) {
-      cache.put(id, obj);
-    }
-
-    CompletableFuture<Void> future = new CompletableFuture<>();
-    String jsonData = gson.toJson(obj, typeToken);
-    String upsertSQL = getDatabase().getUpsertSQL(tableName);
-
-    runAsync(
-        () -> {
-          try (Connection conn = getDatabase().getDataSource().getConnection();
-              PreparedStatement ps = conn.prepareStatement(upsertSQL)) {
-
-            ps.setString(1, id);
-            ps.setString(2, jsonData);
-            ps.executeUpdate();
-
-            future.complete(null);
-
-          } catch (SQLException e) {
-            TownsAndNations.getPlugin()
-                .getLogger()
-                .severe(
-                    "Error storing "
-                        + typeClass.getSimpleName()
-                        + " with ID "
-                        + id
-                        + ": "
-                        + e.getMessage());
-            future.completeExceptionally(e);
-          }
-        });
-
-    return future;
+    return writeBehind(id, obj);
   }
 
   /**
@@ -524,68 +815,73 @@ public abstract class DatabaseStorage<T> {
       return;
     }
 
-    String upsertSQL = getDatabase().getUpsertSQL(tableName);
+    Map<String, String> written = new HashMap<>();
     Connection conn = null;
 
-    try {
-      conn = getDatabase().getDataSource().getConnection();
-      conn.setAutoCommit(false);
-
-      try (PreparedStatement ps = conn.prepareStatement(upsertSQL)) {
-        for (Map.Entry<String, T> entry : objects.entrySet()) {
-          String id = entry.getKey();
-          T obj = entry.getValue();
-
-          if (id != null && obj != null) {
-            String jsonData = gson.toJson(obj, typeToken);
-            ps.setString(1, id);
-            ps.setString(2, jsonData);
-            ps.addBatch();
+    synchronized (writeLock) {
+      try {
+        conn = getDatabase().getDataSource().getConnection();
+        conn.setAutoCommit(false);
+
+        try (PreparedStatement ps = conn.prepareStatement(getUpsertSQL())) {
+          for (Map.Entry<String, T> entry : objects.entrySet()) {
+            String id = entry.getKey();
+            T obj = entry.getValue();
+
+            if (id != null && obj != null) {
+              String jsonData = gson.toJson(obj, typeToken);
+              bindUpsert(ps, id, obj, jsonData);
+              ps.addBatch();
+              written.put(id, jsonData);
+            }
           }
-        }
 
-        ps.executeBatch();
-        conn.commit();
+          ps.executeBatch();
+          conn.commit();
 
-        // Update cache
-        if (cacheEnabled && cache != null) {
-          cache.putAll(objects);
-        }
+          // Update cache
+          written.forEach(
+              (id, jsonData) -> {
+                discardPendingWrite(id);
+                cancelInFlightLoad(id);
+                cachePut(id, objects.get(id), jsonData);
+              });
 
-      } catch (SQLException e) {
-        try {
+        } catch (SQLException e) {
+          try {
+            if (conn != null) {
+              conn.rollback();
+            }
+          } catch (SQLException rollbackEx) {
+            TownsAndNations.getPlugin()
+                .getLogger()
+                .severe(
+                    "Error rolling back transaction for "
+                        + typeClass.getSimpleName()
+                        + ": "
+                        + rollbackEx.getMessage());
+          }
+          throw e;
+        } finally {
           if (conn != null) {
-            conn.rollback();
+            conn.setAutoCommit(true);
           }
-        } catch (SQLException rollbackEx) {
-          TownsAndNations.getPlugin()
-              .getLogger()
-              .severe(
-                  "Error rolling back transaction for "
-                      + typeClass.getSimpleName()
-                      + ": "
-                      + rollbackEx.getMessage());
         }
-        throw e;
+
+      } catch (SQLException e) {
+        TownsAndNations.getPlugin()
+            .getLogger()
+            .severe(
+                "Error batch storing " + typeClass.getSimpleName() + " objects: " + e.getMessage());
       } finally {
         if (conn != null) {
-          conn.setAutoCommit(true);
-        }
-      }
-
-    } catch (SQLException e) {
-      TownsAndNations.getPlugin()
-          .getLogger()
-          .severe(
-              "Error batch storing " + typeClass.getSimpleName() + " objects: " + e.getMessage());
-    } finally {
-      if (conn != null) {
-        try {
-          conn.close();
-        } catch (SQLException e) {
-          TownsAndNations.getPlugin()
-              .getLogger()
-              .warning("Error closing connection: " + e.getMessage());
+          try {
+            conn.close();
+          } catch (SQLException e) {
+            TownsAndNations.getPlugin()
+                .getLogger()
+                .warning("Error closing connection: " + e.getMessage());
+          }
         }
       }
     }
@@ -605,26 +901,29 @@ public abstract class DatabaseStorage<T> {
     }
 
     String deleteSQL = "DELETE FROM " + tableName + " WHERE id = ?";
+    discardPendingWrite(id);
 
-    try (Connection conn = getDatabase().getDataSource().getConnection();
-        PreparedStatement ps = conn.prepareStatement(deleteSQL)) {
+    synchronized (writeLock) {
+      try (Connection conn = getDatabase().getDataSource().getConnection();
+          PreparedStatement ps = conn.prepareStatement(deleteSQL)) {
 
-      ps.setString(1, id);
-      ps.executeUpdate();
+        ps.setString(1, id);
+        ps.executeUpdate();
 
-      // Remove from cache
-      invalidateCache(id);
+        // Remove from cache
+        invalidateCache(id);
 
-    } catch (SQLException e) {
-      TownsAndNations.getPlugin()
-          .getLogger()
-          .severe(
-              "Error deleting "
-                  + typeClass.getSimpleName()
-                  + " with ID "
-                  + id
-                  + ": "
-                  + e.getMessage());
+      } catch (SQLException e) {
+        TownsAndNations.getPlugin()
+            .getLogger()
+            .severe(
+                "Error deleting "
+                    + typeClass.getSimpleName()
+                    + " with ID "
+                    + id
+                    + ": "
+                    + e.getMessage());
+      }
     }
   }
 
@@ -642,6 +941,7 @@ public abstract class DatabaseStorage<T> {
     }
 
     // Remove from cache immediately (optimistic delete)
+    discardPendingWrite(id);
     invalidateCache(id);
 
     CompletableFuture<Void> future = new CompletableFuture<>();
@@ -649,25 +949,27 @@ public abstract class DatabaseStorage<T> {
 
     runAsync(
         () -> {
-          try (Connection conn = getDatabase().getDataSource().getConnection();
-              PreparedStatement ps = conn.prepareStatement(deleteSQL)) {
-
-            ps.setString(1, id);
-            ps.executeUpdate();
-
-            future.complete(null);
-
-          } catch (SQLException e) {
-            TownsAndNations.getPlugin()
-                .getLogger()
-                .severe(
-                    "Error deleting "
-                        + typeClass.getSimpleName()
-                        + " with ID "
-                        + id
-                        + ": "
-                        + e.getMessage());
-            future.completeExceptionally(e);
+          synchronized (writeLock) {
+            try (Connection conn = getDatabase().getDataSource().getConnection();
+                PreparedStatement ps = conn.prepareStatement(deleteSQL)) {
+
+              ps.setString(1, id);
+              ps.executeUpdate();
+
+              future.complete(null);
+
+            } catch (SQLException e) {
+              TownsAndNations.getPlugin()
+                  .getLogger()
+                  .severe(
+                      "Error deleting "
+                          + typeClass.getSimpleName()
+                          + " with ID "
+                          + id
+                          + ": "
+                          + e.getMessage());
+              future.completeExceptionally(e);
+            }
           }
         });
 
@@ -686,63 +988,73 @@ public abstract class DatabaseStorage<T> {
 
     String deleteSQL = "DELETE FROM " + tableName + " WHERE id = ?";
     Connection conn = null;
+    for (String id : ids) {
+      if (id != null) {
+        discardPendingWrite(id);
+      }
+    }
 
-    try {
-      conn = getDatabase().getDataSource().getConnection();
-      conn.setAutoCommit(false);
+    synchronized (writeLock) {
+      try {
+        conn = getDatabase().getDataSource().getConnection();
+        conn.setAutoCommit(false);
 
-      try (PreparedStatement ps = conn.prepareStatement(deleteSQL)) {
-        for (String id : ids) {
-          if (id != null) {
-            ps.setString(1, id);
-            ps.addBatch();
+        try (PreparedStatement ps = conn.prepareStatement(deleteSQL)) {
+          for (String id : ids) {
+            if (id != null) {
+              ps.setString(1, id);
+              ps.addBatch();
+            }
           }
-        }
 
-        ps.executeBatch();
-        conn.commit();
+          ps.executeBatch();
+          conn.commit();
 
-        // Invalidate cache only after successful commit
-        for (String id : ids) {
-          if (id != null) {
-            invalidateCache(id);
+          // Invalidate cache only after successful commit
+          for (String id : ids) {
+            if (id != null) {
+              invalidateCache(id);
+            }
           }
-        }
 
-      } catch (SQLException e) {
-        try {
+        } catch (SQLException e) {
+          try {
+            if (conn != null) {
+              conn.rollback();
+            }
+          } catch (SQLException rollbackEx) {
+            TownsAndNations.getPlugin()
+                .getLogger()
+                .severe(
+                    "Error rolling back transaction for "
+                        + typeClass.getSimpleName()
+                        + ": "
+                        + rollbackEx.getMessage());
+          }
+          throw e;
+        } finally {
           if (conn != null) {
-            conn.rollback();
+            conn.setAutoCommit(true);
           }
-        } catch (SQLException rollbackEx) {
-          TownsAndNations.getPlugin()
-              .getLogger()
-              .severe(
-                  "Error rolling back transaction for "
-                      + typeClass.getSimpleName()
-                      + ": "
-                      + rollbackEx.getMessage());
         }
-        throw e;
+
+      } catch (SQLException e) {
+        TownsAndNations.getPlugin()
+            .getLogger()
+            .severe(
+                "Error batch deleting "
+                    + typeClass.getSimpleName()
+                    + " objects: "
+                    + e.getMessage());
       } finally {
         if (conn != null) {
-          conn.setAutoCommit(true);
-        }
-      }
-
-    } catch (SQLException e) {
-      TownsAndNations.getPlugin()
-          .getLogger()
-          .severe(
-              "Error batch deleting " + typeClass.getSimpleName() + " objects: " + e.getMessage());
-    } finally {
-      if (conn != null) {
-        try {
-          conn.close();
-        } catch (SQLException e) {
-          TownsAndNations.getPlugin()
-              .getLogger()
-              .warning("Error closing connection: " + e.getMessage());
+          try {
+            conn.close();
+          } catch (SQLException e) {
+            TownsAndNations.getPlugin()
+                .getLogger()
+                .warning("Error closing connection: " + e.getMessage());
+          }
         }
       }
     }
@@ -756,12 +1068,11 @@ public abstract class DatabaseStorage<T> {
    */
   public boolean exists(String id) {
     // OPTIMIZATION: Check cache first
-    if (cacheEnabled && cache != null) {
-      synchronized (cache) {
-        if (cache.containsKey(id)) {
-          return true;
-        }
-      }
+    if (cacheEnabled && cache != null && cache.containsKey(id)) {
+      return true;
+    }
+    if (pendingWrites.containsKey(id)) {
+      return true;
     }
 
     String selectSQL = "SELECT 1 FROM " + tableName + " WHERE id = ?";
@@ -843,9 +1154,9 @@ public abstract class DatabaseStorage<T> {
                   T object = gson.fromJson(jsonData, typeToken);
                   if (object != null) {
                     result.put(id, object);
-                    // Update cache
-                    if (cacheEnabled && cache != null) {
-                      cache.put(id, object);
+                    // Update cache, subject to admission so a full scan does not flush it
+                    if (cacheEnabled && cache != null && !pendingWrites.containsKey(id)) {
+                      cache.putLoaded(id, object, CacheSize.ofJson(jsonData));
                     }
                   }
                 } catch (JsonSyntaxException e) {
@@ -862,6 +1173,7 @@ public abstract class DatabaseStorage<T> {
               }
             }
 
+            overlayPendingWrites(result, false);
             future.complete(result);
 
           } catch (SQLException e) {
@@ -927,4 +1239,16 @@ public abstract class DatabaseStorage<T> {
 
   /** Reset the storage (for testing purposes) */
   public abstract void reset();
+
+  /** A row read from the database along with its cache weight. */
+  private record LoadedRow<T>(T object, long weight) {}
+
+  /**
+   * The latest version of an object waiting to be written.
+   *
+   * @param object The object to write
+   * @param sequence Unique per queued version, so a flush only dequeues the version it wrote
+   * @param flushed Completed once this or a newer version has been written
+   */
+  private record PendingWrite<T>(T object, long sequence, CompletableFuture<Void> flushed) {}
 }
@@ -6,19 +6,63 @@ import com.google.gson.JsonObject;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import org.bukkit.Chunk;
 import org.jetbrains.annotations.NotNull;
 import org.leralix.tan.TownsAndNations;
 import org.leralix.tan.dataclass.chunk.*;
 import org.leralix.tan.dataclass.territory.TerritoryData;
+import org.leralix.tan.storage.CurrentAttacksStorage;
+import org.leralix.tan.storage.index.ClaimIndex;
+import org.leralix.tan.storage.index.TerritoryConnectivity;
+import org.leralix.tan.utils.FoliaScheduler;
 
 public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
 
-  private static final String TABLE_NAME = "tan_claimed_chunks";
+  /** Legacy table storing each claim as a JSON blob, kept until its rows are migrated. */
+  private static final String LEGACY_TABLE_NAME = "tan_claimed_chunks";
+
+  /** Columnar claim table keyed by (world_id, x, z). */
+  private static final String TABLE_NAME = "tan_chunk_claims";
+
+  private static final int MIGRATION_BATCH_SIZE = 500;
+
   private static volatile NewClaimedChunkStorage instance;
 
+  /** Every claimed chunk, loaded at startup and kept write-through by claim and unclaim calls. */
+  private final ClaimIndex claimIndex = new ClaimIndex();
+
+  /**
+   * Serializes claim index updates with the snapshots of the legacy migration. Never held during
+   * the claim writes themselves, so a claim does not wait for a migration batch.
+   */
+  private final Object claimWriteLock = new Object();
+
+  /**
+   * Chunks unclaimed while legacy rows are pending. A migration batch may have copied them just
+   * before, so their rows are deleted again once the batch is committed.
+   */
+  private final Set<String> unclaimedDuringMigration = ConcurrentHashMap.newKeySet();
+
+  /** True while the legacy table may still hold rows that are not yet in the columnar table. */
+  private volatile boolean legacyRowsPending;
+
+  /** Legacy rows that could not be parsed at startup, never deleted by the migration. */
+  private final Set<String> unreadableLegacyIDs = new HashSet<>();
+
   private NewClaimedChunkStorage() {
-    super(TABLE_NAME, ClaimedChunk2.class, new GsonBuilder().setPrettyPrinting().create());
+    // The claim index holds every chunk, the generic LRU cache would only duplicate it.
+    super(
+        LEGACY_TABLE_NAME,
+        ClaimedChunk2.class,
+        ClaimedChunk2.class,
+        new GsonBuilder().setPrettyPrinting().create(),
+        false);
+    loadClaimIndex();
+    if (legacyRowsPending) {
+      startLegacyMigration();
+    }
   }
 
   public static NewClaimedChunkStorage getInstance() {
@@ -34,68 +78,322 @@ public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
   }
 
   /**
-   * Get a chunk synchronously from cache (FAST - no DB blocking) This method checks the cache first
-   * and returns immediately. If not in cache, returns null and triggers async load in background.
-   *
-   * <p>IMPORTANT: This method is designed for event listeners that cannot block.
-   *
-   * @param id The chunk ID
-   * @return The chunk from cache, or null if not cached
+   * Load every claimed chunk into the claim index. Called once at startup, after which a chunk
+   * missing from the index is known to be wilderness. Rows of the columnar table take precedence
+   * over legacy rows that have not been migrated yet.
    */
-  public ClaimedChunk2 getFromCacheOrNull(String id) {
-    if (id == null) {
-      return null;
+  private void loadClaimIndex() {
+    long start = System.currentTimeMillis();
+
+    String selectSQL =
+        "SELECT world_id, x, z, owner_id, occupier_id, chunk_type FROM " + TABLE_NAME;
+    try (Connection conn = getDatabase().getDataSource().getConnection();
+        PreparedStatement ps = conn.prepareStatement(selectSQL);
+        ResultSet rs = ps.executeQuery()) {
+
+      while (rs.next()) {
+        ClaimedChunk2 chunk = readChunk(rs);
+        if (chunk != null) {
+          claimIndex.put(chunk);
+        }
+      }
+    } catch (SQLException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .severe("Error loading claim index from " + TABLE_NAME + ": " + e.getMessage());
+      return;
     }
 
-    // Check cache only - no blocking!
-    if (cacheEnabled && cache != null) {
-      synchronized (cache) {
-        ClaimedChunk2 cached = cache.get(id);
-        if (cached != null) {
-          return cached;
+    String selectLegacySQL = "SELECT id, data FROM " + LEGACY_TABLE_NAME;
+    try (Connection conn = getDatabase().getDataSource().getConnection();
+        PreparedStatement ps = conn.prepareStatement(selectLegacySQL);
+        ResultSet rs = ps.executeQuery()) {
+
+      while (rs.next()) {
+        legacyRowsPending = true;
+        String id = rs.getString("id");
+        try {
+          ClaimedChunk2 chunk = deserializeChunk(rs.getString("data"));
+          if (chunk == null) {
+            unreadableLegacyIDs.add(id);
+          } else if (!claimIndex.contains(
+              UUID.fromString(chunk.getWorldUUID()), chunk.getX(), chunk.getZ())) {
+            claimIndex.put(chunk);
+          }
+        } catch (RuntimeException e) {
+          unreadableLegacyIDs.add(id);
+          TownsAndNations.getPlugin()
+              .getLogger()
+              .warning("Failed to load claimed chunk " + id + ": " + e.getMessage());
         }
       }
+    } catch (SQLException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .severe("Error loading legacy claims from " + LEGACY_TABLE_NAME + ": " + e.getMessage());
     }
 
-    // Not in cache - trigger async load for next time (fire and forget)
-    get(id)
-        .thenAccept(
-            chunk -> {
-              // Chunk will be cached by get() method automatically
-            });
+    TownsAndNations.getPlugin()
+        .getLogger()
+        .info(
+            "Loaded "
+                + claimIndex.size()
+                + " claimed chunks in "
+                + (System.currentTimeMillis() - start)
+                + "ms");
+  }
 
-    return null;
+  /** Build a claimed chunk from a row of the columnar table. */
+  private static ClaimedChunk2 readChunk(ResultSet rs) throws SQLException {
+    String worldID = rs.getString("world_id");
+    int x = rs.getInt("x");
+    int z = rs.getInt("z");
+    String ownerID = rs.getString("owner_id");
+
+    ChunkType chunkType;
+    try {
+      chunkType = ChunkType.valueOf(rs.getString("chunk_type"));
+    } catch (IllegalArgumentException | NullPointerException e) {
+      return null;
+    }
+
+    ClaimedChunk2 chunk =
+        switch (chunkType) {
+          case TOWN -> new TownClaimedChunk(x, z, worldID, ownerID);
+          case REGION -> new RegionClaimedChunk(x, z, worldID, ownerID);
+          case LANDMARK -> new LandmarkClaimedChunk(x, z, worldID, ownerID);
+          case WILDERNESS -> null;
+        };
+
+    String occupierID = rs.getString("occupier_id");
+    if (chunk instanceof TerritoryChunk territoryChunk && occupierID != null) {
+      territoryChunk.setOccupierID(occupierID);
+    }
+    return chunk;
   }
 
   /**
-   * @deprecated This method blocks the calling thread - avoid using in event listeners! Use
-   *     getFromCacheOrNull() instead for non-blocking access.
+   * Copy the legacy JSON rows into the columnar table in the background, one batch at a time.
+   * Each batch writes the state held by the claim index, so claims made or removed since startup
+   * are never overwritten, then deletes the copied legacy rows.
+   */
+  private void startLegacyMigration() {
+    FoliaScheduler.runTaskAsynchronously(
+        TownsAndNations.getPlugin(),
+        () -> {
+          String selectSQL =
+              "SELECT id FROM " + LEGACY_TABLE_NAME + " WHERE id > ? ORDER BY id LIMIT ?";
+          String deleteSQL = "DELETE FROM " + LEGACY_TABLE_NAME + " WHERE id = ?";
+          String lastID = "";
+          int migrated = 0;
+          boolean complete = true;
+
+          while (true) {
+            List<String> ids = new ArrayList<>(MIGRATION_BATCH_SIZE);
+            try (Connection conn = getDatabase().getDataSource().getConnection();
+                PreparedStatement ps = conn.prepareStatement(selectSQL)) {
+              ps.setString(1, lastID);
+              ps.setInt(2, MIGRATION_BATCH_SIZE);
+              try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                  ids.add(rs.getString("id"));
+                }
+              }
+            } catch (SQLException e) {
+              TownsAndNations.getPlugin()
+                  .getLogger()
+                  .severe("Error reading legacy claims for migration: " + e.getMessage());
+              return;
+            }
+            if (ids.isEmpty()) {
+              break;
+            }
+            lastID = ids.get(ids.size() - 1);
+
+            // Snapshot the claims under the lock, write them without it
+            List<ClaimedChunk2> toCopy = new ArrayList<>(ids.size());
+            List<String> toDelete = new ArrayList<>(ids.size());
+            synchronized (claimWriteLock) {
+              for (String id : ids) {
+                if (unreadableLegacyIDs.contains(id) || !isValidChunkKey(id)) {
+                  // Unparseable row: leave it for manual inspection
+                  complete = false;
+                  continue;
+                }
+                ClaimedChunk2 chunk = getSync(id);
+                if (chunk != null) {
+                  toCopy.add(chunk);
+                }
+                toDelete.add(id);
+              }
+            }
+
+            try (Connection conn = getDatabase().getDataSource().getConnection()) {
+              conn.setAutoCommit(false);
+              // Never overwrite a row written by a claim made since the snapshot
+              try (PreparedStatement insert = conn.prepareStatement(getClaimInsertIfAbsentSQL());
+                  PreparedStatement delete = conn.prepareStatement(deleteSQL)) {
+                for (ClaimedChunk2 chunk : toCopy) {
+                  bindClaim(insert, chunk);
+                  insert.addBatch();
+                }
+                for (String id : toDelete) {
+                  delete.setString(1, id);
+                  delete.addBatch();
+                }
+                insert.executeBatch();
+                delete.executeBatch();
+                conn.commit();
+                migrated += toCopy.size();
+              } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+              } finally {
+                conn.setAutoCommit(true);
+              }
+            } catch (SQLException e) {
+              TownsAndNations.getPlugin()
+                  .getLogger()
+                  .severe("Error migrating legacy claims: " + e.getMessage());
+              return;
+            }
+            deleteUnclaimedDuringBatch(toDelete);
+          }
+
+          legacyRowsPending = !complete;
+          unclaimedDuringMigration.clear();
+          TownsAndNations.getPlugin()
+              .getLogger()
+              .info(
+                  "Migrated "
+                      + migrated
+                      + " claimed chunks from "
+                      + LEGACY_TABLE_NAME
+                      + " to "
+                      + TABLE_NAME);
+        });
+  }
+
+  /**
+   * Delete the rows a migration batch copied for chunks unclaimed while it was running. Runs under
+   * the claim lock so a chunk claimed again in the meantime is kept; there are rarely any.
+   */
+  private void deleteUnclaimedDuringBatch(List<String> batchIDs) {
+    String deleteSQL = "DELETE FROM " + TABLE_NAME + " WHERE world_id = ? AND x = ? AND z = ?";
+    synchronized (claimWriteLock) {
+      List<String> toDelete = new ArrayList<>();
+      for (String id : batchIDs) {
+        if (unclaimedDuringMigration.remove(id) && getSync(id) == null) {
+          toDelete.add(id);
+        }
+      }
+      if (toDelete.isEmpty()) {
+        return;
+      }
+      try (Connection conn = getDatabase().getDataSource().getConnection();
+          PreparedStatement ps = conn.prepareStatement(deleteSQL)) {
+        for (String id : toDelete) {
+          String[] parts = id.split(",");
+          ps.setString(1, parts[2]);
+          ps.setInt(2, Integer.parseInt(parts[0]));
+          ps.setInt(3, Integer.parseInt(parts[1]));
+          ps.addBatch();
+        }
+        ps.executeBatch();
+      } catch (SQLException e) {
+        TownsAndNations.getPlugin()
+            .getLogger()
+            .severe("Error deleting claims unclaimed during migration: " + e.getMessage());
+      }
+    }
+  }
+
+  private static boolean isValidChunkKey(String id) {
+    String[] parts = id.split(",");
+    if (parts.length != 3) {
+      return false;
+    }
+    try {
+      Integer.parseInt(parts[0]);
+      Integer.parseInt(parts[1]);
+      UUID.fromString(parts[2]);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Get a chunk synchronously from the claim index (FAST - no DB access).
+   *
+   * @param id The chunk ID, formatted as {@code x,z,worldUUID}
+   * @return The claimed chunk, or null if the chunk is not claimed
    */
-  @Deprecated
   public ClaimedChunk2 getSync(String id) {
+    String[] parts = id.split(",");
+    if (parts.length != 3) {
+      return null;
+    }
     try {
-      return get(id).join();
-    } catch (Exception e) {
-      TownsAndNations.getPlugin()
-          .getLogger()
-          .warning("Error getting claimed chunk data synchronously: " + e.getMessage());
+      return claimIndex.get(
+          UUID.fromString(parts[2]), Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+    } catch (IllegalArgumentException e) {
       return null;
     }
   }
 
+  /** Claimed chunks are served from the claim index, never from the database. */
+  @Override
+  public CompletableFuture<ClaimedChunk2> get(String id) {
+    return CompletableFuture.completedFuture(id == null ? null : getSync(id));
+  }
+
   @Override
   protected void createTable() {
-    String createTableSQL =
+    String createLegacyTableSQL =
         """
             CREATE TABLE IF NOT EXISTS %s (
                 id VARCHAR(255) PRIMARY KEY,
                 data TEXT NOT NULL
             )
         """
-            .formatted(TABLE_NAME);
+            .formatted(LEGACY_TABLE_NAME);
+
+    // SQLite does not support inline index definitions, they are added in createIndexes()
+    String createTableSQL =
+        getDatabase().isMySQL()
+            ? """
+                CREATE TABLE IF NOT EXISTS %s (
+                    world_id VARCHAR(36) NOT NULL,
+                    x INT NOT NULL,
+                    z INT NOT NULL,
+                    owner_id VARCHAR(64) NOT NULL,
+                    occupier_id VARCHAR(64),
+                    chunk_type VARCHAR(16) NOT NULL,
+                    settings TEXT,
+                    PRIMARY KEY (world_id, x, z),
+                    INDEX idx_chunk_claims_owner (owner_id),
+                    INDEX idx_chunk_claims_occupier (occupier_id)
+                )
+            """
+                .formatted(TABLE_NAME)
+            : """
+                CREATE TABLE IF NOT EXISTS %s (
+                    world_id VARCHAR(36) NOT NULL,
+                    x INT NOT NULL,
+                    z INT NOT NULL,
+                    owner_id VARCHAR(64) NOT NULL,
+                    occupier_id VARCHAR(64),
+                    chunk_type VARCHAR(16) NOT NULL,
+                    settings TEXT,
+                    PRIMARY KEY (world_id, x, z)
+                )
+            """
+                .formatted(TABLE_NAME);
 
     try (Connection conn = getDatabase().getDataSource().getConnection();
         Statement stmt = conn.createStatement()) {
+      stmt.execute(createLegacyTableSQL);
       stmt.execute(createTableSQL);
     } catch (SQLException e) {
       TownsAndNations.getPlugin()
@@ -106,33 +404,63 @@ public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
 
   @Override
   protected void createIndexes() {
-    // PERFORMANCE FIX: Add index on ownerID for faster chunk lookups by territory
-    // This significantly speeds up getAllChunkFrom() queries
+    if (getDatabase().isMySQL()) {
+      // Declared inline in createTable(), MySQL has no CREATE INDEX IF NOT EXISTS
+      return;
+    }
     String createOwnerIndexSQL =
-        "CREATE INDEX IF NOT EXISTS idx_chunk_owner ON "
-            + TABLE_NAME
-            + " ((CAST(JSON_EXTRACT(data, '$.ownerID') AS CHAR(255))))";
+        "CREATE INDEX IF NOT EXISTS idx_chunk_claims_owner ON " + TABLE_NAME + " (owner_id)";
+    String createOccupierIndexSQL =
+        "CREATE INDEX IF NOT EXISTS idx_chunk_claims_occupier ON " + TABLE_NAME + " (occupier_id)";
 
     try (Connection conn = getDatabase().getDataSource().getConnection();
         Statement stmt = conn.createStatement()) {
       stmt.execute(createOwnerIndexSQL);
-      TownsAndNations.getPlugin()
-          .getLogger()
-          .info("Created index idx_chunk_owner on " + TABLE_NAME);
+      stmt.execute(createOccupierIndexSQL);
+      TownsAndNations.getPlugin().getLogger().info("Created indexes on " + TABLE_NAME);
     } catch (SQLException e) {
-      // If functional index fails (older MySQL versions), try regular column
       TownsAndNations.getPlugin()
           .getLogger()
-          .warning(
-              "Could not create functional index on "
-                  + TABLE_NAME
-                  + ", this is normal for older MySQL versions: "
-                  + e.getMessage());
+          .warning("Error creating indexes for " + TABLE_NAME + ": " + e.getMessage());
     }
   }
 
-  private static String getChunkKey(Chunk chunk) {
-    return getChunkKey(chunk.getX(), chunk.getZ(), chunk.getWorld().getUID().toString());
+  private String getClaimUpsertSQL() {
+    if (getDatabase().isMySQL()) {
+      return "INSERT INTO "
+          + TABLE_NAME
+          + " (world_id, x, z, owner_id, occupier_id, chunk_type, settings)"
+          + " VALUES (?, ?, ?, ?, ?, ?, ?)"
+          + " ON DUPLICATE KEY UPDATE owner_id = VALUES(owner_id),"
+          + " occupier_id = VALUES(occupier_id), chunk_type = VALUES(chunk_type),"
+          + " settings = VALUES(settings)";
+    }
+    return "INSERT OR REPLACE INTO "
+        + TABLE_NAME
+        + " (world_id, x, z, owner_id, occupier_id, chunk_type, settings)"
+        + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+  }
+
+  private String getClaimInsertIfAbsentSQL() {
+    return (getDatabase().isMySQL() ? "INSERT IGNORE INTO " : "INSERT OR IGNORE INTO ")
+        + TABLE_NAME
+        + " (world_id, x, z, owner_id, occupier_id, chunk_type, settings)"
+        + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+  }
+
+  private static void bindClaim(PreparedStatement ps, ClaimedChunk2 chunk) throws SQLException {
+    ps.setString(1, chunk.getWorldUUID());
+    ps.setInt(2, chunk.getX());
+    ps.setInt(3, chunk.getZ());
+    ps.setString(4, chunk.getOwnerID());
+    if (chunk instanceof TerritoryChunk territoryChunk) {
+      ps.setString(5, territoryChunk.getOccupierID());
+    } else {
+      ps.setNull(5, Types.VARCHAR);
+    }
+    ps.setString(6, chunk.getType().name());
+    // Chunk settings currently live on the owning territory, reserved for per-chunk overrides
+    ps.setNull(7, Types.VARCHAR);
   }
 
   private static String getChunkKey(ClaimedChunk2 chunk) {
@@ -144,21 +472,33 @@ public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
   }
 
   public Map<String, ClaimedChunk2> getClaimedChunksMap() {
-    return getAllAsync().join();
+    Map<String, ClaimedChunk2> result = new HashMap<>();
+    claimIndex.forEach(chunk -> result.put(getChunkKey(chunk), chunk));
+    return result;
   }
 
   public boolean isChunkClaimed(Chunk chunk) {
-    String key = getChunkKey(chunk);
-    // OPTIMIZATION: Check cache first before DB lookup
-    if (cacheEnabled && cache != null) {
-      synchronized (cache) {
-        if (cache.containsKey(key)) {
-          return true;
-        }
-      }
-    }
-    // If not in cache, check DB
-    return exists(key);
+    return claimIndex.contains(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+  }
+
+  /**
+   * Iterate over every claimed chunk of the claim index.
+   *
+   * @param consumer The consumer receiving each claim
+   */
+  public void forEachClaim(Consumer<ClaimedChunk2> consumer) {
+    claimIndex.forEach(consumer);
+  }
+
+  /**
+   * Get the connectivity of the chunks owned by a territory, kept up to date by claims and
+   * unclaims.
+   *
+   * @param territoryID ID of the territory
+   * @return The connectivity, empty if the territory owns no chunk
+   */
+  public TerritoryConnectivity getConnectivity(String territoryID) {
+    return claimIndex.getConnectivity(territoryID);
   }
 
   public Collection<TerritoryChunk> getAllChunkFrom(TerritoryData territoryData) {
@@ -167,41 +507,12 @@ public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
 
   public Collection<TerritoryChunk> getAllChunkFrom(String territoryDataID) {
     List<TerritoryChunk> chunks = new ArrayList<>();
-
-    // Optimized: filter in SQL using json_extract
-    String selectSQL =
-        "SELECT id, data FROM " + TABLE_NAME + " WHERE json_extract(data, '$.ownerID') = ?";
-
-    try (Connection conn = getDatabase().getDataSource().getConnection();
-        PreparedStatement ps = conn.prepareStatement(selectSQL)) {
-
-      ps.setString(1, territoryDataID);
-
-      try (ResultSet rs = ps.executeQuery()) {
-        while (rs.next()) {
-          String jsonData = rs.getString("data");
-          ClaimedChunk2 chunk = deserializeChunk(jsonData);
-          if (chunk instanceof TerritoryChunk territoryChunk) {
-            chunks.add(territoryChunk);
-          }
-        }
+    for (ClaimedChunk2 chunk : claimIndex.getAllFrom(territoryDataID)) {
+      if (chunk instanceof TerritoryChunk territoryChunk) {
+        chunks.add(territoryChunk);
       }
-      return Collections.unmodifiableCollection(chunks);
-
-    } catch (SQLException e) {
-      TownsAndNations.getPlugin()
-          .getLogger()
-          .warning("Error optimized query, falling back to full scan: " + e.getMessage());
-
-      // Fallback to old method
-      for (ClaimedChunk2 chunk : getAllAsync().join().values()) {
-        if (chunk instanceof TerritoryChunk territoryChunk
-            && territoryChunk.getOwnerID().equals(territoryDataID)) {
-          chunks.add(territoryChunk);
-        }
-      }
-      return Collections.unmodifiableCollection(chunks);
     }
+    return Collections.unmodifiableCollection(chunks);
   }
 
   /** Deserialize chunk from JSON with proper type detection */
@@ -228,21 +539,119 @@ public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
 
   public TownClaimedChunk claimTownChunk(Chunk chunk, String ownerID) {
     TownClaimedChunk townClaimedChunk = new TownClaimedChunk(chunk, ownerID);
-    putAsync(getChunkKey(chunk), townClaimedChunk).join();
+    claim(townClaimedChunk);
     return townClaimedChunk;
   }
 
   public void claimRegionChunk(Chunk chunk, String ownerID) {
-    putAsync(getChunkKey(chunk), new RegionClaimedChunk(chunk, ownerID)).join();
+    claim(new RegionClaimedChunk(chunk, ownerID));
   }
 
   public void claimLandmarkChunk(Chunk chunk, String ownerID) {
-    putAsync(getChunkKey(chunk), new LandmarkClaimedChunk(chunk, ownerID)).join();
+    claim(new LandmarkClaimedChunk(chunk, ownerID));
+  }
+
+  /** Write-through claim: the index is updated first so lookups see the claim immediately. */
+  private void claim(ClaimedChunk2 claimedChunk) {
+    synchronized (claimWriteLock) {
+      claimIndex.put(claimedChunk);
+    }
+
+    try (Connection conn = getDatabase().getDataSource().getConnection();
+        PreparedStatement ps = conn.prepareStatement(getClaimUpsertSQL())) {
+      bindClaim(ps, claimedChunk);
+      ps.executeUpdate();
+    } catch (SQLException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .severe(
+              "Error storing claimed chunk " + getChunkKey(claimedChunk) + ": " + e.getMessage());
+    }
+    notifyChunkChanged(claimedChunk);
+  }
+
+  /** Let the running attacks update their frontline after a claim or occupier change. */
+  private static void notifyChunkChanged(ClaimedChunk2 claimedChunk) {
+    CurrentAttacksStorage.chunkChanged(
+        UUID.fromString(claimedChunk.getWorldUUID()), claimedChunk.getX(), claimedChunk.getZ());
   }
 
   /**
-   * Check if all adjacent chunks are claimed by the same territory. This method uses batch loading
-   * to avoid N+1 queries.
+   * Persist the occupier of a chunk after it has been captured or liberated. The write runs
+   * asynchronously, the in-memory chunk is already up to date.
+   *
+   * @param territoryChunk The chunk whose occupier changed
+   */
+  public void updateOccupier(TerritoryChunk territoryChunk) {
+    String updateSQL =
+        "UPDATE " + TABLE_NAME + " SET occupier_id = ? WHERE world_id = ? AND x = ? AND z = ?";
+    String occupierID = territoryChunk.getOccupierID();
+    String worldID = territoryChunk.getWorldUUID();
+    int x = territoryChunk.getX();
+    int z = territoryChunk.getZ();
+    notifyChunkChanged(territoryChunk);
+
+    FoliaScheduler.runTaskAsynchronously(
+        TownsAndNations.getPlugin(),
+        () -> {
+          try (Connection conn = getDatabase().getDataSource().getConnection();
+              PreparedStatement ps = conn.prepareStatement(updateSQL)) {
+            ps.setString(1, occupierID);
+            ps.setString(2, worldID);
+            ps.setInt(3, x);
+            ps.setInt(4, z);
+            ps.executeUpdate();
+          } catch (SQLException e) {
+            TownsAndNations.getPlugin()
+                .getLogger()
+                .severe(
+                    "Error updating occupier of chunk "
+                        + getChunkKey(x, z, worldID)
+                        + ": "
+                        + e.getMessage());
+          }
+        });
+  }
+
+  /**
+   * Give back to their owner every chunk of a territory occupied by another one. The database is
+   * updated with a single statement served by the owner index.
+   *
+   * @param ownerID ID of the territory owning the chunks
+   * @param occupierID ID of the territory occupying them
+   */
+  public void liberateAll(String ownerID, String occupierID) {
+    for (TerritoryChunk territoryChunk : getAllChunkFrom(ownerID)) {
+      if (territoryChunk.isOccupied() && territoryChunk.getOccupierID().equals(occupierID)) {
+        territoryChunk.liberate();
+        notifyChunkChanged(territoryChunk);
+      }
+    }
+
+    String updateSQL =
+        "UPDATE "
+            + TABLE_NAME
+            + " SET occupier_id = owner_id WHERE owner_id = ? AND occupier_id = ?";
+
+    FoliaScheduler.runTaskAsynchronously(
+        TownsAndNations.getPlugin(),
+        () -> {
+          try (Connection conn = getDatabase().getDataSource().getConnection();
+              PreparedStatement ps = conn.prepareStatement(updateSQL)) {
+            ps.setString(1, ownerID);
+            ps.setString(2, occupierID);
+            ps.executeUpdate();
+          } catch (SQLException e) {
+            TownsAndNations.getPlugin()
+                .getLogger()
+                .severe("Error liberating chunks of " + ownerID + ": " + e.getMessage());
+          }
+        });
+  }
+
+  /**
+   * Check if all adjacent chunks are claimed by the same territory. Answered from the claim index,
+   * so the returned future is already complete.
    *
    * @param chunk The center chunk
    * @param territoryID The territory ID to check
@@ -250,35 +659,35 @@ public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
    */
   public CompletableFuture<Boolean> isAllAdjacentChunksClaimedBySameTerritoryAsync(
       Chunk chunk, String territoryID) {
-    List<String> adjacentChunkKeys =
-        Arrays.asList(
-            getChunkKey(chunk.getX() + 1, chunk.getZ(), chunk.getWorld().getUID().toString()),
-            getChunkKey(chunk.getX() - 1, chunk.getZ(), chunk.getWorld().getUID().toString()),
-            getChunkKey(chunk.getX(), chunk.getZ() + 1, chunk.getWorld().getUID().toString()),
-            getChunkKey(chunk.getX(), chunk.getZ() - 1, chunk.getWorld().getUID().toString()));
-
-    // Batch load all adjacent chunks in parallel
-    List<CompletableFuture<ClaimedChunk2>> futures =
-        adjacentChunkKeys.stream().map(this::get).toList();
-
-    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-        .thenApply(
-            v -> {
-              for (CompletableFuture<ClaimedChunk2> future : futures) {
-                ClaimedChunk2 adjacentClaimedChunk = future.join();
-
-                if (adjacentClaimedChunk == null) {
-                  return false;
-                }
+    return CompletableFuture.completedFuture(
+        isAllAdjacentChunksClaimedBySameTerritory(
+            chunk.getWorld().getUID(), chunk.getX(), chunk.getZ(), territoryID));
+  }
 
-                if (adjacentClaimedChunk instanceof TerritoryChunk territoryChunk) {
-                  if (!territoryChunk.getOccupierID().equals(territoryID)) {
-                    return false;
-                  }
-                }
-              }
-              return true;
-            });
+  /**
+   * Check if all adjacent chunks are claimed by the same territory, from chunk coordinates so the
+   * center chunk does not need to be loaded.
+   *
+   * @param worldID World UUID
+   * @param x Chunk X coordinate of the center chunk
+   * @param z Chunk Z coordinate of the center chunk
+   * @param territoryID The territory ID to check
+   * @return true if the four adjacent chunks are held by the territory
+   */
+  public boolean isAllAdjacentChunksClaimedBySameTerritory(
+      UUID worldID, int x, int z, String territoryID) {
+    return isOccupiedBy(claimIndex.get(worldID, x + 1, z), territoryID)
+        && isOccupiedBy(claimIndex.get(worldID, x - 1, z), territoryID)
+        && isOccupiedBy(claimIndex.get(worldID, x, z + 1), territoryID)
+        && isOccupiedBy(claimIndex.get(worldID, x, z - 1), territoryID);
+  }
+
+  private static boolean isOccupiedBy(ClaimedChunk2 adjacentClaimedChunk, String territoryID) {
+    if (adjacentClaimedChunk == null) {
+      return false;
+    }
+    return !(adjacentClaimedChunk instanceof TerritoryChunk territoryChunk)
+        || territoryChunk.getOccupierID().equals(territoryID);
   }
 
   /**
@@ -298,8 +707,8 @@ public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
   }
 
   /**
-   * Check if at least one adjacent chunk is claimed by the same territory. This method uses batch
-   * loading to avoid N+1 queries.
+   * Check if at least one adjacent chunk is claimed by the same territory. Answered from the claim
+   * index, so the returned future is already complete.
    *
    * @param chunk The center chunk
    * @param townID The territory ID to check
@@ -307,29 +716,19 @@ public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
    */
   public CompletableFuture<Boolean> isOneAdjacentChunkClaimedBySameTerritoryAsync(
       Chunk chunk, String townID) {
-    List<String> adjacentChunkKeys =
-        Arrays.asList(
-            getChunkKey(chunk.getX() + 1, chunk.getZ(), chunk.getWorld().getUID().toString()),
-            getChunkKey(chunk.getX() - 1, chunk.getZ(), chunk.getWorld().getUID().toString()),
-            getChunkKey(chunk.getX(), chunk.getZ() + 1, chunk.getWorld().getUID().toString()),
-            getChunkKey(chunk.getX(), chunk.getZ() - 1, chunk.getWorld().getUID().toString()));
-
-    // Batch load all adjacent chunks in parallel
-    List<CompletableFuture<ClaimedChunk2>> futures =
-        adjacentChunkKeys.stream().map(this::get).toList();
-
-    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-        .thenApply(
-            v -> {
-              for (CompletableFuture<ClaimedChunk2> future : futures) {
-                ClaimedChunk2 adjacentClaimedChunk = future.join();
-                if (adjacentClaimedChunk != null
-                    && adjacentClaimedChunk.getOwnerID().equals(townID)) {
-                  return true;
-                }
-              }
-              return false;
-            });
+    UUID worldID = chunk.getWorld().getUID();
+    int x = chunk.getX();
+    int z = chunk.getZ();
+    boolean result =
+        isOwnedBy(claimIndex.get(worldID, x + 1, z), townID)
+            || isOwnedBy(claimIndex.get(worldID, x - 1, z), townID)
+            || isOwnedBy(claimIndex.get(worldID, x, z + 1), townID)
+            || isOwnedBy(claimIndex.get(worldID, x, z - 1), townID);
+    return CompletableFuture.completedFuture(result);
+  }
+
+  private static boolean isOwnedBy(ClaimedChunk2 adjacentClaimedChunk, String townID) {
+    return adjacentClaimedChunk != null && adjacentClaimedChunk.getOwnerID().equals(townID);
   }
 
   /**
@@ -354,7 +753,35 @@ public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
   }
 
   public void unclaimChunk(ClaimedChunk2 claimedChunk) {
-    deleteAsync(getChunkKey(claimedChunk)).join();
+    String deleteSQL = "DELETE FROM " + TABLE_NAME + " WHERE world_id = ? AND x = ? AND z = ?";
+
+    boolean legacy;
+    synchronized (claimWriteLock) {
+      claimIndex.remove(
+          UUID.fromString(claimedChunk.getWorldUUID()), claimedChunk.getX(), claimedChunk.getZ());
+      legacy = legacyRowsPending;
+      if (legacy) {
+        unclaimedDuringMigration.add(getChunkKey(claimedChunk));
+      }
+    }
+
+    try (Connection conn = getDatabase().getDataSource().getConnection();
+        PreparedStatement ps = conn.prepareStatement(deleteSQL)) {
+      ps.setString(1, claimedChunk.getWorldUUID());
+      ps.setInt(2, claimedChunk.getX());
+      ps.setInt(3, claimedChunk.getZ());
+      ps.executeUpdate();
+    } catch (SQLException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .severe(
+              "Error deleting claimed chunk " + getChunkKey(claimedChunk) + ": " + e.getMessage());
+    }
+
+    if (legacy) {
+      deleteAll(List.of(getChunkKey(claimedChunk)));
+    }
+    notifyChunkChanged(claimedChunk);
   }
 
   public void unclaimChunk(Chunk chunk) {
@@ -362,27 +789,30 @@ public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
   }
 
   public @NotNull List<ClaimedChunk2> getFourAjacentChunks(ClaimedChunk2 chunk) {
+    UUID worldID = UUID.fromString(chunk.getWorldUUID());
+    int x = chunk.getX();
+    int z = chunk.getZ();
     return Arrays.asList(
-        get(chunk.getX(), chunk.getZ() - 1, chunk.getWorld().getUID().toString()), // NORTH
-        get(chunk.getX() + 1, chunk.getZ(), chunk.getWorld().getUID().toString()), // EAST
-        get(chunk.getX(), chunk.getZ() + 1, chunk.getWorld().getUID().toString()), // SOUTH
-        get(chunk.getX() - 1, chunk.getZ(), chunk.getWorld().getUID().toString()) // WEST
+        get(x, z - 1, worldID), // NORTH
+        get(x + 1, z, worldID), // EAST
+        get(x, z + 1, worldID), // SOUTH
+        get(x - 1, z, worldID) // WEST
         );
   }
 
   public @NotNull List<ClaimedChunk2> getEightAjacentChunks(ClaimedChunk2 chunk) {
+    UUID worldID = UUID.fromString(chunk.getWorldUUID());
+    int x = chunk.getX();
+    int z = chunk.getZ();
     return Arrays.asList(
-        get(chunk.getX(), chunk.getZ() - 1, chunk.getWorld().getUID().toString()), // Haut
-        get(
-            chunk.getX() + 1,
-            chunk.getZ() - 1,
-            chunk.getWorld().getUID().toString()), // Haut-droite
-        get(chunk.getX() + 1, chunk.getZ(), chunk.getWorld().getUID().toString()), // Droite
-        get(chunk.getX() + 1, chunk.getZ() + 1, chunk.getWorld().getUID().toString()), // Bas-droite
-        get(chunk.getX(), chunk.getZ() + 1, chunk.getWorld().getUID().toString()), // Bas
-        get(chunk.getX() - 1, chunk.getZ() + 1, chunk.getWorld().getUID().toString()), // Bas-gauche
-        get(chunk.getX() - 1, chunk.getZ(), chunk.getWorld().getUID().toString()), // Gauche
-        get(chunk.getX() - 1, chunk.getZ() - 1, chunk.getWorld().getUID().toString()) // Haut-gauche
+        get(x, z - 1, worldID), // Haut
+        get(x + 1, z - 1, worldID), // Haut-droite
+        get(x + 1, z, worldID), // Droite
+        get(x + 1, z + 1, worldID), // Bas-droite
+        get(x, z + 1, worldID), // Bas
+        get(x - 1, z + 1, worldID), // Bas-gauche
+        get(x - 1, z, worldID), // Gauche
+        get(x - 1, z - 1, worldID) // Haut-gauche
         );
   }
 
@@ -391,8 +821,21 @@ public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
   }
 
   public void unclaimAllChunkFromID(String id) {
-    // Optimized: batch delete using SQL
-    String deleteSQL = "DELETE FROM " + TABLE_NAME + " WHERE json_extract(data, '$.ownerID') = ?";
+    String deleteSQL = "DELETE FROM " + TABLE_NAME + " WHERE owner_id = ?";
+
+    Collection<ClaimedChunk2> removed;
+    List<String> legacyIDs = null;
+    synchronized (claimWriteLock) {
+      removed = claimIndex.removeAllFrom(id);
+      if (legacyRowsPending) {
+        // The claim index already knows which legacy rows belonged to the territory
+        legacyIDs = new ArrayList<>(removed.size());
+        for (ClaimedChunk2 chunk : removed) {
+          legacyIDs.add(getChunkKey(chunk));
+        }
+        unclaimedDuringMigration.addAll(legacyIDs);
+      }
+    }
 
     try (Connection conn = getDatabase().getDataSource().getConnection();
         PreparedStatement ps = conn.prepareStatement(deleteSQL)) {
@@ -404,83 +847,70 @@ public class NewClaimedChunkStorage extends DatabaseStorage<ClaimedChunk2> {
           .getLogger()
           .info("Deleted " + deleted + " chunks for territory " + id);
 
-      // PERFORMANCE FIX: Invalidate only affected chunks instead of clearing entire cache
-      invalidateCacheIf(chunk -> chunk.getOwnerID().equals(id));
-
     } catch (SQLException e) {
       TownsAndNations.getPlugin()
           .getLogger()
-          .warning(
-              "Error in optimized delete, falling back to individual deletes: " + e.getMessage());
+          .severe("Error deleting chunks for territory " + id + ": " + e.getMessage());
+    }
 
-      // Fallback to old method
-      Map<String, ClaimedChunk2> allChunks = getAllAsync().join();
-      List<String> toDelete = new ArrayList<>();
-      for (Map.Entry<String, ClaimedChunk2> entry : allChunks.entrySet()) {
-        ClaimedChunk2 chunk = entry.getValue();
-        if (chunk.getOwnerID().equals(id)) {
-          toDelete.add(entry.getKey());
-        }
-      }
-      deleteAll(toDelete);
+    if (legacyIDs != null) {
+      deleteAll(legacyIDs);
+    }
+    for (ClaimedChunk2 chunk : removed) {
+      notifyChunkChanged(chunk);
     }
   }
 
   /**
-   * Get chunk from cache (non-blocking). Returns WildernessChunk if not claimed or not in cache.
+   * Get chunk from the claim index (non-blocking). Returns WildernessChunk if not claimed.
    * IMPORTANT: For event listeners - this method never blocks!
    *
    * @param x Chunk X coordinate
    * @param z Chunk Z coordinate
    * @param worldID World UUID
-   * @return The chunk (WildernessChunk if not claimed or not cached)
+   * @return The chunk (WildernessChunk if not claimed)
    */
   public ClaimedChunk2 get(int x, int z, String worldID) {
-    ClaimedChunk2 claimedChunk = getFromCacheOrNull(getChunkKey(x, z, worldID));
+    return get(x, z, UUID.fromString(worldID));
+  }
+
+  /**
+   * Get the claim at the given coordinates from the claim index, without building a
+   * WildernessChunk for unclaimed chunks. Meant for loops over many blocks.
+   *
+   * @param worldID World UUID
+   * @param x Chunk X coordinate
+   * @param z Chunk Z coordinate
+   * @return The claimed chunk, or null if the chunk is wilderness
+   */
+  public ClaimedChunk2 getClaimOrNull(UUID worldID, int x, int z) {
+    return claimIndex.get(worldID, x, z);
+  }
+
+  private ClaimedChunk2 get(int x, int z, UUID worldID) {
+    ClaimedChunk2 claimedChunk = claimIndex.get(worldID, x, z);
     if (claimedChunk == null) {
-      return new WildernessChunk(x, z, worldID);
+      return new WildernessChunk(x, z, worldID.toString());
     }
     return claimedChunk;
   }
 
   /**
-   * Get chunk from cache (non-blocking). Returns WildernessChunk if not claimed or not in cache.
+   * Get chunk from the claim index (non-blocking). Returns WildernessChunk if not claimed.
    * IMPORTANT: For event listeners - this method never blocks!
    *
    * @param chunk The Bukkit chunk
-   * @return The chunk (WildernessChunk if not claimed or not cached)
+   * @return The chunk (WildernessChunk if not claimed)
    */
   public @NotNull ClaimedChunk2 get(Chunk chunk) {
-    ClaimedChunk2 claimedChunk = getFromCacheOrNull(getChunkKey(chunk));
+    ClaimedChunk2 claimedChunk =
+        claimIndex.get(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
     if (claimedChunk == null) {
       return new WildernessChunk(chunk);
     }
     return claimedChunk;
   }
 
-  /**
-   * Preload chunks in a region into cache (async, non-blocking) Call this when loading a world
-   * region to populate cache
-   *
-   * @param centerX Center chunk X
-   * @param centerZ Center chunk Z
-   * @param worldID World UUID
-   * @param radius Radius in chunks
-   * @return CompletableFuture that completes when preloading is done
-   */
-  public CompletableFuture<Void> preloadChunksAsync(
-      int centerX, int centerZ, String worldID, int radius) {
-    List<CompletableFuture<ClaimedChunk2>> futures = new ArrayList<>();
-
-    for (int x = centerX - radius; x <= centerX + radius; x++) {
-      for (int z = centerZ - radius; z <= centerZ + radius; z++) {
-        futures.add(get(getChunkKey(x, z, worldID)));
-      }
-    }
-
-    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-  }
-
   @Override
   public void reset() {
     instance = null;
@@ -142,57 +142,35 @@ public class PlayerDataStorage extends DatabaseStorage<ITanPlayer> {
     }
   }
 
-  public void put(String id, ITanPlayer obj) {
-    if (id == null || obj == null) {
-      return;
-    }
-
-    String jsonData = gson.toJson(obj, typeToken);
-    String upsertSQL;
+  @Override
+  protected String getUpsertSQL() {
     if (getDatabase().isMySQL()) {
-      upsertSQL =
-          "INSERT INTO "
-              + tableName
-              + " (id, player_name, town_name, nation_name, data) VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE player_name = VALUES(player_name), town_name = VALUES(town_name), nation_name = VALUES(nation_name), data = VALUES(data)";
-    } else {
-      upsertSQL =
-          "INSERT OR REPLACE INTO "
-              + tableName
-              + " (id, player_name, town_name, nation_name, data) VALUES (?, ?, ?, ?, ?)";
+      return "INSERT INTO "
+          + tableName
+          + " (id, player_name, town_name, nation_name, data) VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE player_name = VALUES(player_name), town_name = VALUES(town_name), nation_name = VALUES(nation_name), data = VALUES(data)";
     }
+    return "INSERT OR REPLACE INTO "
+        + tableName
+        + " (id, player_name, town_name, nation_name, data) VALUES (?, ?, ?, ?, ?)";
+  }
 
-    FoliaScheduler.runTaskAsynchronously(
-        TownsAndNations.getPlugin(),
-        () -> {
-          try (Connection conn = getDatabase().getDataSource().getConnection();
-              PreparedStatement ps = conn.prepareStatement(upsertSQL)) {
-
-            ps.setString(1, id);
-            ps.setString(2, obj.getNameStored()); // Set player_name
-            ps.setString(3, obj.getTownName()); // Set town_name
-            ps.setString(4, obj.getNationName()); // Set nation_name
-            ps.setString(5, jsonData);
-            ps.executeUpdate();
-
-            // Update cache
-            if (cacheEnabled && cache != null) {
-              synchronized (cache) {
-                cache.put(id, obj);
-              }
-            }
+  @Override
+  protected void bindUpsert(PreparedStatement ps, String id, ITanPlayer obj, String jsonData)
+      throws SQLException {
+    ps.setString(1, id);
+    ps.setString(2, obj.getNameStored()); // Set player_name
+    ps.setString(3, obj.getTownName()); // Set town_name
+    ps.setString(4, obj.getNationName()); // Set nation_name
+    ps.setString(5, jsonData);
+  }
 
-          } catch (SQLException e) {
-            TownsAndNations.getPlugin()
-                .getLogger()
-                .severe(
-                    "Error storing "
-                        + typeClass.getSimpleName()
-                        + " with ID "
-                        + id
-                        + ": "
-                        + e.getMessage());
-          }
-        });
+  /**
+   * Save a player. The write is queued and coalesced with later changes to the same player until
+   * the next flush; reads see the new state immediately.
+   */
+  @Override
+  public void put(String id, ITanPlayer obj) {
+    writeBehind(id, obj);
   }
 
   public CompletableFuture<ITanPlayer> register(Player p) {
@@ -358,15 +336,14 @@ public class PlayerDataStorage extends DatabaseStorage<ITanPlayer> {
         return cached;
       }
     }
+    ITanPlayer pending = getPendingWrite(id);
+    if (pending != null) {
+      return pending;
+    }
 
     // Not in cache - trigger async load in background but return immediately
-    get(id)
-        .thenAccept(
-            player -> {
-              if (player != null && cacheEnabled && cache != null) {
-                cache.put(id, player);
-              }
-            });
+    // (get() caches the result and shares the query with concurrent misses)
+    get(id);
 
     return NO_PLAYER;
   }
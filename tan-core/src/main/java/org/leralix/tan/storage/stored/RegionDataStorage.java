@@ -21,12 +21,14 @@ import org.leralix.tan.enums.TownRelation;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.storage.typeadapter.EnumMapDeserializer;
 import org.leralix.tan.storage.typeadapter.IconAdapter;
-import org.leralix.tan.utils.FoliaScheduler;
 import org.leralix.tan.utils.file.FileUtil;
 
 public class RegionDataStorage extends DatabaseStorage<RegionData> {
 
   private static final String TABLE_NAME = "tan_regions";
+  private final TerritoryNameIndex nameIndex =
+      new TerritoryNameIndex(TABLE_NAME, "region_name");
+
   private int nextID;
   private static RegionDataStorage instance;
 
@@ -48,6 +50,7 @@ public class RegionDataStorage extends DatabaseStorage<RegionData> {
             .setPrettyPrinting()
             .create());
     loadNextID();
+    nameIndex.load(getDatabase());
   }
 
   @Override
@@ -74,6 +77,20 @@ public class RegionDataStorage extends DatabaseStorage<RegionData> {
         }
       }
 
+      // Normalized name, see TerritoryNameIndex
+      try (ResultSet rs =
+          conn.getMetaData()
+              .getColumns(null, null, TABLE_NAME, TerritoryNameIndex.NAME_KEY_COLUMN)) {
+        if (!rs.next()) {
+          stmt.executeUpdate(
+              "ALTER TABLE %s ADD COLUMN %s VARCHAR(255) NULL"
+                  .formatted(TABLE_NAME, TerritoryNameIndex.NAME_KEY_COLUMN));
+          TownsAndNations.getPlugin()
+              .getLogger()
+              .info("Added " + TerritoryNameIndex.NAME_KEY_COLUMN + " column to " + TABLE_NAME);
+        }
+      }
+
     } catch (SQLException e) {
       TownsAndNations.getPlugin()
           .getLogger()
@@ -86,13 +103,18 @@ public class RegionDataStorage extends DatabaseStorage<RegionData> {
     // PERFORMANCE FIX: Add index for frequently queried region_name column
     String createNameIndexSQL =
         "CREATE INDEX IF NOT EXISTS idx_region_name ON " + TABLE_NAME + " (region_name)";
+    String createNameKeyIndexSQL =
+        "CREATE INDEX IF NOT EXISTS idx_region_name_key ON "
+            + TABLE_NAME
+            + " ("
+            + TerritoryNameIndex.NAME_KEY_COLUMN
+            + ")";
 
     try (Connection conn = getDatabase().getDataSource().getConnection();
         Statement stmt = conn.createStatement()) {
       stmt.execute(createNameIndexSQL);
-      TownsAndNations.getPlugin()
-          .getLogger()
-          .info("Created index idx_region_name on " + TABLE_NAME);
+      stmt.execute(createNameKeyIndexSQL);
+      TownsAndNations.getPlugin().getLogger().info("Created indexes on " + TABLE_NAME);
     } catch (SQLException e) {
       TownsAndNations.getPlugin()
           .getLogger()
@@ -100,53 +122,37 @@ public class RegionDataStorage extends DatabaseStorage<RegionData> {
     }
   }
 
-  public void put(String id, RegionData obj) {
-    if (id == null || obj == null) {
-      return;
-    }
-
-    String jsonData = gson.toJson(obj, typeToken);
-    String upsertSQL;
+  @Override
+  protected String getUpsertSQL() {
     if (getDatabase().isMySQL()) {
-      upsertSQL =
-          "INSERT INTO "
-              + tableName
-              + " (id, region_name, data) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE region_name = VALUES(region_name), data = VALUES(data)";
-    } else {
-      upsertSQL =
-          "INSERT OR REPLACE INTO " + tableName + " (id, region_name, data) VALUES (?, ?, ?)";
+      return "INSERT INTO "
+          + tableName
+          + " (id, region_name, name_key, data) VALUES (?, ?, ?, ?)"
+          + " ON DUPLICATE KEY UPDATE region_name = VALUES(region_name),"
+          + " name_key = VALUES(name_key), data = VALUES(data)";
     }
+    return "INSERT OR REPLACE INTO "
+        + tableName
+        + " (id, region_name, name_key, data) VALUES (?, ?, ?, ?)";
+  }
+
+  @Override
+  protected void bindUpsert(PreparedStatement ps, String id, RegionData obj, String jsonData)
+      throws SQLException {
+    ps.setString(1, id);
+    ps.setString(2, obj.getName()); // Set region_name
+    ps.setString(3, TerritoryNameIndex.normalize(obj.getName()));
+    ps.setString(4, jsonData);
+  }
 
-    FoliaScheduler.runTaskAsynchronously(
-        TownsAndNations.getPlugin(),
-        () -> {
-          try (Connection conn = getDatabase().getDataSource().getConnection();
-              PreparedStatement ps = conn.prepareStatement(upsertSQL)) {
-
-            ps.setString(1, id);
-            ps.setString(2, obj.getName()); // Set region_name
-            ps.setString(3, jsonData);
-            ps.executeUpdate();
-
-            // Update cache
-            if (cacheEnabled && cache != null) {
-              synchronized (cache) {
-                cache.put(id, obj);
-              }
-            }
-
-          } catch (SQLException e) {
-            TownsAndNations.getPlugin()
-                .getLogger()
-                .severe(
-                    "Error storing "
-                        + typeClass.getSimpleName()
-                        + " with ID "
-                        + id
-                        + ": "
-                        + e.getMessage());
-          }
-        });
+  /**
+   * Save a region. The write is queued and coalesced with later changes to the same region until
+   * the next flush; reads see the new state immediately.
+   */
+  @Override
+  public void put(String id, RegionData obj) {
+    nameIndex.put(id, obj.getName());
+    writeBehind(id, obj);
   }
 
   private void loadNextID() {
@@ -190,37 +196,28 @@ public class RegionDataStorage extends DatabaseStorage<RegionData> {
 
   public void deleteRegion(RegionData region) {
     delete(region.getID());
+    nameIndex.remove(region.getID());
+    BalanceLedger.getInstance().remove(region.getID());
   }
 
+  /**
+   * Check if a region already uses a name, ignoring case.
+   *
+   * @param name The name to check
+   * @return True if a region has this name
+   */
   public boolean isNameUsed(String name) {
-    if (name == null) {
-      return false;
-    }
-
-    // Optimized: scan JSON data for name instead of deserializing all objects
-    String selectSQL =
-        "SELECT 1 FROM " + TABLE_NAME + " WHERE json_extract(data, '$.name') = ? LIMIT 1";
-
-    try (Connection conn = getDatabase().getDataSource().getConnection();
-        PreparedStatement ps = conn.prepareStatement(selectSQL)) {
-
-      ps.setString(1, name);
-
-      try (ResultSet rs = ps.executeQuery()) {
-        return rs.next();
-      }
-    } catch (SQLException e) {
-      // Fallback to the old method if json_extract is not supported
-      TownsAndNations.getPlugin()
-          .getLogger()
-          .warning("json_extract not supported, falling back to full scan: " + e.getMessage());
-
-      for (RegionData region : getAllSync().values()) {
-        if (name.equals(region.getName())) return true;
-      }
-    }
+    return nameIndex.contains(name);
+  }
 
-    return false;
+  /**
+   * Get the ID of a region from its name, ignoring case. Does not query the database.
+   *
+   * @param name The region name
+   * @return The region ID, or null if no region has this name
+   */
+  public String getIdByName(String name) {
+    return nameIndex.getId(name);
   }
 
   public RegionData getSync(Player player) {
@@ -249,15 +246,14 @@ public class RegionDataStorage extends DatabaseStorage<RegionData> {
         return cached;
       }
     }
+    RegionData pending = getPendingWrite(id);
+    if (pending != null) {
+      return pending;
+    }
 
     // Not in cache - trigger async load in background but return immediately
-    get(id)
-        .thenAccept(
-            region -> {
-              if (region != null && cacheEnabled && cache != null) {
-                cache.put(id, region);
-              }
-            });
+    // (get() caches the result and shares the query with concurrent misses)
+    get(id);
 
     return null;
   }
@@ -0,0 +1,216 @@
+package org.leralix.tan.storage.stored;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.leralix.tan.TownsAndNations;
+import org.leralix.tan.storage.database.DatabaseHandler;
+
+/**
+ * Case-insensitive name to ID index of a territory table.
+ *
+ * <p>The index is kept in memory and mirrored in a {@code name_key} column holding the normalized
+ * name, so name lookups and uniqueness checks never deserialize territories. The owning storage
+ * updates it on every put, rename and delete.
+ */
+final class TerritoryNameIndex {
+
+  static final String NAME_KEY_COLUMN = "name_key";
+
+  private final String tableName;
+  private final String nameColumn;
+
+  private final Map<String, String> idByName = new ConcurrentHashMap<>();
+  private final Map<String, String> nameById = new ConcurrentHashMap<>();
+
+  /**
+   * Other territories using a name, besides the one it resolves to. Only names created before
+   * names were unique are shared. Guarded by {@code this}.
+   */
+  private final Map<String, Set<String>> otherIdsByName = new HashMap<>();
+
+  /**
+   * Create an empty index, filled by {@link #load(DatabaseHandler)}.
+   *
+   * @param tableName The territory table
+   * @param nameColumn The column holding the display name, used to fill missing name keys
+   */
+  TerritoryNameIndex(String tableName, String nameColumn) {
+    this.tableName = tableName;
+    this.nameColumn = nameColumn;
+  }
+
+  /**
+   * Normalize a name for lookups: surrounding spaces are ignored and case does not matter.
+   *
+   * @param name The territory name
+   * @return The key stored in the index and the {@code name_key} column
+   */
+  static String normalize(String name) {
+    return name == null ? null : name.strip().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Get the ID of the territory with a name.
+   *
+   * @param name The name, in any case
+   * @return The ID, or null if no territory has this name
+   */
+  String getId(String name) {
+    String key = normalize(name);
+    return key == null ? null : idByName.get(key);
+  }
+
+  boolean contains(String name) {
+    return getId(name) != null;
+  }
+
+  /**
+   * Record the current name of a territory, replacing its previous one.
+   *
+   * @param id The territory ID
+   * @param name The current name
+   */
+  synchronized void put(String id, String name) {
+    String key = normalize(name);
+    String previousKey = key == null ? nameById.remove(id) : nameById.put(id, key);
+    if (previousKey != null && !previousKey.equals(key)) {
+      unlink(id, previousKey);
+    }
+    if (key != null) {
+      String holder = idByName.putIfAbsent(key, id);
+      if (holder != null && !holder.equals(id)) {
+        otherIdsByName.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(id);
+      }
+    }
+  }
+
+  synchronized void remove(String id) {
+    String previousKey = nameById.remove(id);
+    if (previousKey != null) {
+      unlink(id, previousKey);
+    }
+  }
+
+  /** Drop a name from an ID, handing it to another territory still using it if there is one. */
+  private void unlink(String id, String key) {
+    Set<String> otherIds = otherIdsByName.get(key);
+    if (idByName.remove(key, id)) {
+      if (otherIds == null) {
+        return;
+      }
+      Iterator<String> iterator = otherIds.iterator();
+      idByName.put(key, iterator.next());
+      iterator.remove();
+    } else if (otherIds != null) {
+      otherIds.remove(id);
+    }
+    if (otherIds != null && otherIds.isEmpty()) {
+      otherIdsByName.remove(key);
+    }
+  }
+
+  /**
+   * Load the index from the table. Rows without a name key, written by older versions, get it
+   * from the name column or, failing that, from their JSON data, and the key is written back.
+   *
+   * @param database The database handler
+   */
+  synchronized void load(DatabaseHandler database) {
+    idByName.clear();
+    nameById.clear();
+    otherIdsByName.clear();
+    Map<String, String> missingKeys = new LinkedHashMap<>();
+    List<String> missingNames = new ArrayList<>();
+
+    String selectSQL =
+        "SELECT id, %s, %s FROM %s ORDER BY id".formatted(NAME_KEY_COLUMN, nameColumn, tableName);
+    try (Connection conn = database.getDataSource().getConnection()) {
+      try (PreparedStatement ps = conn.prepareStatement(selectSQL);
+          ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) {
+          String id = rs.getString("id");
+          String key = rs.getString(NAME_KEY_COLUMN);
+          if (key == null) {
+            String name = rs.getString(nameColumn);
+            if (name == null) {
+              missingNames.add(id);
+              continue;
+            }
+            key = normalize(name);
+            missingKeys.put(id, key);
+          }
+          put(id, key);
+        }
+      }
+
+      for (String id : missingNames) {
+        String key = normalize(readNameFromData(conn, id));
+        if (key != null) {
+          put(id, key);
+          missingKeys.put(id, key);
+        }
+      }
+      writeNameKeys(conn, missingKeys);
+    } catch (SQLException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .severe("Error loading name index of " + tableName + ": " + e.getMessage());
+    }
+  }
+
+  private String readNameFromData(Connection conn, String id) throws SQLException {
+    try (PreparedStatement ps =
+        conn.prepareStatement("SELECT data FROM " + tableName + " WHERE id = ?")) {
+      ps.setString(1, id);
+      try (ResultSet rs = ps.executeQuery()) {
+        if (!rs.next()) {
+          return null;
+        }
+        JsonElement json = JsonParser.parseString(rs.getString("data"));
+        if (!json.isJsonObject() || !json.getAsJsonObject().has("name")) {
+          return null;
+        }
+        return json.getAsJsonObject().get("name").getAsString();
+      }
+    } catch (JsonSyntaxException | IllegalStateException e) {
+      TownsAndNations.getPlugin()
+          .getLogger()
+          .warning("Could not read the name of " + id + " in " + tableName + ": " + e.getMessage());
+      return null;
+    }
+  }
+
+  private void writeNameKeys(Connection conn, Map<String, String> keys) throws SQLException {
+    if (keys.isEmpty()) {
+      return;
+    }
+    try (PreparedStatement ps =
+        conn.prepareStatement(
+            "UPDATE " + tableName + " SET " + NAME_KEY_COLUMN + " = ? WHERE id = ?")) {
+      for (Map.Entry<String, String> entry : keys.entrySet()) {
+        ps.setString(1, entry.getValue());
+        ps.setString(2, entry.getKey());
+        ps.addBatch();
+      }
+      ps.executeBatch();
+    }
+    TownsAndNations.getPlugin()
+        .getLogger()
+        .info("Filled " + keys.size() + " name keys in " + tableName);
+  }
+}
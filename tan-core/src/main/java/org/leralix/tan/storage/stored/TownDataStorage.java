@@ -20,17 +20,19 @@ import org.leralix.tan.dataclass.territory.cosmetic.ICustomIcon;
 import org.leralix.tan.dataclass.territory.permission.RelationPermission;
 import org.leralix.tan.enums.TownRelation;
 import org.leralix.tan.enums.permissions.ChunkPermissionType;
+import org.leralix.tan.storage.PlayerAffiliationStorage;
 import org.leralix.tan.storage.typeadapter.EnumMapDeserializer;
 import org.leralix.tan.storage.typeadapter.EnumMapKeyValueDeserializer;
 import org.leralix.tan.storage.typeadapter.IconAdapter;
 import org.leralix.tan.storage.typeadapter.OwnerDeserializer;
-import org.leralix.tan.utils.FoliaScheduler;
 
 public class TownDataStorage extends DatabaseStorage<TownData> {
 
   private static final String TABLE_NAME = "tan_towns";
   private static TownDataStorage instance;
 
+  private final TerritoryNameIndex nameIndex = new TerritoryNameIndex(TABLE_NAME, "town_name");
+
   private int newTownId;
 
   private TownDataStorage() {
@@ -55,6 +57,7 @@ public class TownDataStorage extends DatabaseStorage<TownData> {
             .setPrettyPrinting()
             .create());
     loadNextTownId();
+    nameIndex.load(getDatabase());
   }
 
   @Override
@@ -81,6 +84,20 @@ public class TownDataStorage extends DatabaseStorage<TownData> {
         }
       }
 
+      // Normalized name, see TerritoryNameIndex
+      try (ResultSet rs =
+          conn.getMetaData()
+              .getColumns(null, null, TABLE_NAME, TerritoryNameIndex.NAME_KEY_COLUMN)) {
+        if (!rs.next()) {
+          stmt.executeUpdate(
+              "ALTER TABLE %s ADD COLUMN %s VARCHAR(255) NULL"
+                  .formatted(TABLE_NAME, TerritoryNameIndex.NAME_KEY_COLUMN));
+          TownsAndNations.getPlugin()
+              .getLogger()
+              .info("Added " + TerritoryNameIndex.NAME_KEY_COLUMN + " column to " + TABLE_NAME);
+        }
+      }
+
       // P3.5: Add creator_uuid column if it doesn't exist (UUID of town creator)
       try (ResultSet rs = conn.getMetaData().getColumns(null, null, TABLE_NAME, "creator_uuid")) {
         if (!rs.next()) {
@@ -133,6 +150,12 @@ public class TownDataStorage extends DatabaseStorage<TownData> {
     // P3.3: Add indexes for frequently queried columns (performance optimization)
     String createNameIndexSQL =
         "CREATE INDEX IF NOT EXISTS idx_town_name ON " + TABLE_NAME + " (town_name)";
+    String createNameKeyIndexSQL =
+        "CREATE INDEX IF NOT EXISTS idx_town_name_key ON "
+            + TABLE_NAME
+            + " ("
+            + TerritoryNameIndex.NAME_KEY_COLUMN
+            + ")";
     String createCreatorUuidIndexSQL =
         "CREATE INDEX IF NOT EXISTS idx_town_creator_uuid ON " + TABLE_NAME + " (creator_uuid)";
     String createCreationDateIndexSQL =
@@ -141,6 +164,7 @@ public class TownDataStorage extends DatabaseStorage<TownData> {
     try (Connection conn = getDatabase().getDataSource().getConnection();
         Statement stmt = conn.createStatement()) {
       stmt.execute(createNameIndexSQL);
+      stmt.execute(createNameKeyIndexSQL);
       stmt.execute(createCreatorUuidIndexSQL);
       stmt.execute(createCreationDateIndexSQL);
       TownsAndNations.getPlugin().getLogger().info("Created indexes on " + TABLE_NAME);
@@ -151,61 +175,44 @@ public class TownDataStorage extends DatabaseStorage<TownData> {
     }
   }
 
-  public void put(String id, TownData obj) {
-    if (id == null || obj == null) {
-      return;
-    }
-
-    String jsonData = gson.toJson(obj, typeToken);
+  @Override
+  protected String getUpsertSQL() {
     // P3.5: Include human-readable columns (town_name, creator_uuid, creator_name)
-    String upsertSQL;
     if (getDatabase().isMySQL()) {
-      upsertSQL =
-          "INSERT INTO "
-              + tableName
-              + " (id, town_name, creator_uuid, creator_name, data) VALUES (?, ?, ?, ?, ?) "
-              + "ON DUPLICATE KEY UPDATE town_name = VALUES(town_name), data = VALUES(data)";
-    } else {
-      upsertSQL =
-          "INSERT OR REPLACE INTO "
-              + tableName
-              + " (id, town_name, creator_uuid, creator_name, data) VALUES (?, ?, ?, ?, ?)";
+      return "INSERT INTO "
+          + tableName
+          + " (id, town_name, name_key, creator_uuid, creator_name, data)"
+          + " VALUES (?, ?, ?, ?, ?, ?) "
+          + "ON DUPLICATE KEY UPDATE town_name = VALUES(town_name),"
+          + " name_key = VALUES(name_key), data = VALUES(data)";
     }
+    return "INSERT OR REPLACE INTO "
+        + tableName
+        + " (id, town_name, name_key, creator_uuid, creator_name, data)"
+        + " VALUES (?, ?, ?, ?, ?, ?)";
+  }
 
-    FoliaScheduler.runTaskAsynchronously(
-        TownsAndNations.getPlugin(),
-        () -> {
-          try (Connection conn = getDatabase().getDataSource().getConnection();
-              PreparedStatement ps = conn.prepareStatement(upsertSQL)) {
-
-            ps.setString(1, id);
-            ps.setString(2, obj.getName()); // Set town_name
-            ps.setString(3, obj.getLeaderID()); // Set creator_uuid (leader is creator)
-            ITanPlayer leaderData = obj.getLeaderData();
-            String leaderName = (leaderData != null) ? leaderData.getNameStored() : null;
-            ps.setString(4, leaderName); // Set creator_name (leader name)
-            ps.setString(5, jsonData);
-            ps.executeUpdate();
-
-            // Update cache
-            if (cacheEnabled && cache != null) {
-              synchronized (cache) {
-                cache.put(id, obj);
-              }
-            }
-
-          } catch (SQLException e) {
-            TownsAndNations.getPlugin()
-                .getLogger()
-                .severe(
-                    "Error storing "
-                        + typeClass.getSimpleName()
-                        + " with ID "
-                        + id
-                        + ": "
-                        + e.getMessage());
-          }
-        });
+  @Override
+  protected void bindUpsert(PreparedStatement ps, String id, TownData obj, String jsonData)
+      throws SQLException {
+    ps.setString(1, id);
+    ps.setString(2, obj.getName()); // Set town_name
+    ps.setString(3, TerritoryNameIndex.normalize(obj.getName()));
+    ps.setString(4, obj.getLeaderID()); // Set creator_uuid (leader is creator)
+    ITanPlayer leaderData = obj.getLeaderData();
+    String leaderName = (leaderData != null) ? leaderData.getNameStored() : null;
+    ps.setString(5, leaderName); // Set creator_name (leader name)
+    ps.setString(6, jsonData);
+  }
+
+  /**
+   * Save a town. The write is queued and coalesced with later changes to the same town until the
+   * next flush; reads see the new state immediately.
+   */
+  @Override
+  public void put(String id, TownData obj) {
+    nameIndex.put(id, obj.getName());
+    writeBehind(id, obj);
   }
 
   private void loadNextTownId() {
@@ -227,6 +234,7 @@ public class TownDataStorage extends DatabaseStorage<TownData> {
     TownData newTown = new TownData(townId, townName, tanPlayer);
 
     put(townId, newTown);
+    PlayerAffiliationStorage.getInstance().refresh(tanPlayer);
     return CompletableFuture.completedFuture(newTown);
   }
 
@@ -248,6 +256,8 @@ public class TownDataStorage extends DatabaseStorage<TownData> {
 
   public void deleteTown(TownData townData) {
     delete(townData.getID());
+    nameIndex.remove(townData.getID());
+    BalanceLedger.getInstance().remove(townData.getID());
   }
 
   public CompletableFuture<TownData> get(ITanPlayer tanPlayer) {
@@ -270,35 +280,24 @@ public class TownDataStorage extends DatabaseStorage<TownData> {
     return count();
   }
 
+  /**
+   * Check if a town already uses a name, ignoring case.
+   *
+   * @param townName The name to check
+   * @return True if a town has this name
+   */
   public boolean isNameUsed(String townName) {
-    if (townName == null) {
-      return false;
-    }
-
-    // Optimized: scan JSON data for name instead of deserializing all objects
-    String selectSQL =
-        "SELECT 1 FROM " + TABLE_NAME + " WHERE json_extract(data, '$.name') = ? LIMIT 1";
-
-    try (Connection conn = getDatabase().getDataSource().getConnection();
-        PreparedStatement ps = conn.prepareStatement(selectSQL)) {
-
-      ps.setString(1, townName);
-
-      try (ResultSet rs = ps.executeQuery()) {
-        return rs.next();
-      }
-    } catch (SQLException e) {
-      // Fallback to the old method if json_extract is not supported
-      TownsAndNations.getPlugin()
-          .getLogger()
-          .warning("json_extract not supported, falling back to full scan: " + e.getMessage());
-
-      for (TownData town : getAll().values()) {
-        if (townName.equals(town.getName())) return true;
-      }
-    }
+    return nameIndex.contains(townName);
+  }
 
-    return false;
+  /**
+   * Get the ID of a town from its name, ignoring case. Does not query the database.
+   *
+   * @param townName The town name
+   * @return The town ID, or null if no town has this name
+   */
+  public String getIdByName(String townName) {
+    return nameIndex.getId(townName);
   }
 
   /**
@@ -316,15 +315,14 @@ public class TownDataStorage extends DatabaseStorage<TownData> {
         return cached;
       }
     }
+    TownData pending = getPendingWrite(id);
+    if (pending != null) {
+      return pending;
+    }
 
     // Not in cache - trigger async load in background but return immediately
-    get(id)
-        .thenAccept(
-            town -> {
-              if (town != null && cacheEnabled && cache != null) {
-                cache.put(id, town);
-              }
-            });
+    // (get() caches the result and shares the query with concurrent misses)
+    get(id);
 
     return null;
   }
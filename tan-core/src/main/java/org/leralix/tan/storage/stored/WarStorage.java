@@ -4,18 +4,35 @@ import com.google.gson.GsonBuilder;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.leralix.tan.TownsAndNations;
 import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.storage.typeadapter.WargoalTypeAdapter;
 import org.leralix.tan.wars.War;
 import org.leralix.tan.wars.legacy.wargoals.WarGoal;
 
+/**
+ * Storage of the wars in progress. An ended war is deleted, so every persisted war is active.
+ *
+ * <p>The persisted wars stay the source of truth; an in-memory index of the main attacker and
+ * defender of each war is rebuilt from them at startup and kept in sync by {@link #newWar}, {@link
+ * #remove} and {@link War#endWar()}, so lookups by territory do not read the whole table.
+ */
 public class WarStorage extends DatabaseStorage<War> {
 
   private static final String TABLE_NAME = "tan_wars";
   private static WarStorage instance;
 
+  /** Main attacker and defender of each war, by war ID. */
+  private final Map<String, WarParticipants> participantsByWar = new ConcurrentHashMap<>();
+
+  /** IDs of the wars each territory takes part in as main attacker or defender. */
+  private final Map<String, Set<String>> warIdsByTerritory = new ConcurrentHashMap<>();
+
   private WarStorage() {
     super(
         TABLE_NAME,
@@ -24,6 +41,7 @@ public class WarStorage extends DatabaseStorage<War> {
             .registerTypeAdapter(WarGoal.class, new WargoalTypeAdapter())
             .setPrettyPrinting()
             .create());
+    rebuildIndex();
   }
 
   @Override
@@ -47,9 +65,54 @@ public class WarStorage extends DatabaseStorage<War> {
     }
   }
 
+  /** Index every persisted war. Deserializes the table once, at startup. */
+  private void rebuildIndex() {
+    participantsByWar.clear();
+    warIdsByTerritory.clear();
+    for (War war : getAllSync().values()) {
+      index(war);
+    }
+  }
+
+  private synchronized void index(War war) {
+    WarParticipants participants =
+        new WarParticipants(war.getMainAttackerID(), war.getMainDefenderID());
+    participantsByWar.put(war.getID(), participants);
+    warIdsByTerritory
+        .computeIfAbsent(participants.attackerID(), k -> ConcurrentHashMap.newKeySet())
+        .add(war.getID());
+    warIdsByTerritory
+        .computeIfAbsent(participants.defenderID(), k -> ConcurrentHashMap.newKeySet())
+        .add(war.getID());
+  }
+
+  private synchronized void unindex(String warID) {
+    WarParticipants participants = participantsByWar.remove(warID);
+    if (participants == null) {
+      return;
+    }
+    unindexTerritory(participants.attackerID(), warID);
+    unindexTerritory(participants.defenderID(), warID);
+  }
+
+  private void unindexTerritory(String territoryID, String warID) {
+    Set<String> warIDs = warIdsByTerritory.get(territoryID);
+    if (warIDs != null) {
+      warIDs.remove(warID);
+      if (warIDs.isEmpty()) {
+        warIdsByTerritory.remove(territoryID);
+      }
+    }
+  }
+
   public War newWar(TerritoryData attackingTerritory, TerritoryData defendingTerritory) {
-    String newID = getNewID();
-    War newWar = new War(newID, attackingTerritory, defendingTerritory);
+    War newWar;
+    synchronized (this) {
+      String newID = getNewID();
+      newWar = new War(newID, attackingTerritory, defendingTerritory);
+      // Indexed before the write so the ID is taken right away
+      index(newWar);
+    }
     add(newWar);
     return newWar;
   }
@@ -66,33 +129,63 @@ public class WarStorage extends DatabaseStorage<War> {
   }
 
   public void remove(War plannedAttack) {
+    unindex(plannedAttack.getID());
     delete(plannedAttack.getID());
   }
 
+  /** Every persisted war is indexed, so the first free ID is found without querying. */
   private String getNewID() {
     int ID = 0;
-    while (exists("W" + ID)) {
+    while (participantsByWar.containsKey("W" + ID)) {
       ID++;
     }
     return "W" + ID;
   }
 
   public void territoryDeleted(TerritoryData territoryData) {
-    for (War plannedAttack : getAllSync().values()) {
-      if (plannedAttack.isMainAttacker(territoryData)
-          || plannedAttack.isMainDefender(territoryData)) plannedAttack.endWar();
+    for (War war : getWarsOfTerritory(territoryData)) {
+      war.endWar();
     }
   }
 
+  /**
+   * Get the wars a territory takes part in as main attacker or defender. Only these wars are
+   * loaded.
+   *
+   * @param territoryData The territory
+   * @return The wars of the territory
+   */
   public List<War> getWarsOfTerritory(TerritoryData territoryData) {
-    return getAllSync().values().stream()
-        .filter(war -> war.isMainAttacker(territoryData) || war.isMainDefender(territoryData))
-        .toList();
+    Set<String> warIDs = warIdsByTerritory.get(territoryData.getID());
+    if (warIDs == null) {
+      return List.of();
+    }
+    List<War> wars = new ArrayList<>(warIDs.size());
+    for (String warID : List.copyOf(warIDs)) {
+      War war = get(warID).join();
+      if (war != null) {
+        wars.add(war);
+      }
+    }
+    return wars;
   }
 
+  /**
+   * Check if two territories are at war with each other. Answered from the index without loading
+   * any war.
+   *
+   * @param mainTerritory The first territory
+   * @param territoryData The second territory
+   * @return True if a war opposes or joins both territories as main attacker or defender
+   */
   public boolean isTerritoryAtWarWith(TerritoryData mainTerritory, TerritoryData territoryData) {
-    for (War war : getWarsOfTerritory(mainTerritory)) {
-      if (war.isMainAttacker(territoryData) || war.isMainDefender(territoryData)) {
+    Set<String> warIDs = warIdsByTerritory.get(mainTerritory.getID());
+    if (warIDs == null) {
+      return false;
+    }
+    for (String warID : warIDs) {
+      WarParticipants participants = participantsByWar.get(warID);
+      if (participants != null && participants.involves(territoryData.getID())) {
         return true;
       }
     }
@@ -103,4 +196,11 @@ public class WarStorage extends DatabaseStorage<War> {
   public void reset() {
     instance = null;
   }
+
+  private record WarParticipants(String attackerID, String defenderID) {
+
+    boolean involves(String territoryID) {
+      return attackerID.equals(territoryID) || defenderID.equals(territoryID);
+    }
+  }
 }
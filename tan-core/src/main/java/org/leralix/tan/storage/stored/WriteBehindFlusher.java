@@ -0,0 +1,120 @@
+package org.leralix.tan.storage.stored;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.leralix.tan.utils.FoliaScheduler;
+
+/**
+ * Drives write-behind persistence for every {@link DatabaseStorage}.
+ *
+ * <p>Storages queue their writes and keep only the latest version of each object. This flusher
+ * periodically writes every queued object in one JDBC batch per table, so a burst of edits to the
+ * same town or player within one window costs a single row write. A storage is also flushed early
+ * once it holds {@code storage.write-behind.max-pending} objects, which bounds what a crash can
+ * lose to one window or that many objects per table. Balance changes of the {@link BalanceLedger}
+ * are flushed the same way.
+ *
+ * <p>Until {@link #start(Plugin)} is called, or when write-behind is disabled in the config, every
+ * write is flushed right away in the background as before.
+ */
+public final class WriteBehindFlusher {
+
+  private static final List<DatabaseStorage<?>> storages = new CopyOnWriteArrayList<>();
+  private static volatile BalanceLedger balanceLedger;
+
+  private static volatile boolean enabled = false;
+  private static volatile int maxPendingWrites = 500;
+  private static ScheduledTask flushTask;
+
+  private WriteBehindFlusher() {
+    throw new IllegalStateException("Utility class");
+  }
+
+  static void register(DatabaseStorage<?> storage) {
+    storages.add(storage);
+  }
+
+  static void register(BalanceLedger ledger) {
+    balanceLedger = ledger;
+  }
+
+  /**
+   * Read the write-behind settings and start the periodic flush.
+   *
+   * @param plugin The plugin owning the flush task
+   */
+  public static synchronized void start(Plugin plugin) {
+    FileConfiguration config = plugin.getConfig();
+    if (!config.getBoolean("storage.write-behind.enabled", true)) {
+      plugin.getLogger().info("Write-behind persistence disabled, writes are flushed immediately");
+      return;
+    }
+    long intervalMs = Math.max(config.getLong("storage.write-behind.flush-interval-ms", 1000), 50);
+    maxPendingWrites = Math.max(config.getInt("storage.write-behind.max-pending", 500), 1);
+
+    if (flushTask != null) {
+      flushTask.cancel();
+    }
+    long periodTicks = Math.max(intervalMs / 50, 1);
+    flushTask =
+        FoliaScheduler.runTaskTimerAsynchronously(
+            plugin, WriteBehindFlusher::flushAll, periodTicks, periodTicks);
+    enabled = true;
+    plugin
+        .getLogger()
+        .info(
+            "Write-behind persistence enabled: flush every "
+                + intervalMs
+                + "ms or "
+                + maxPendingWrites
+                + " pending objects");
+  }
+
+  /** Stop the periodic flush and write everything still pending. */
+  public static synchronized int stop() {
+    enabled = false;
+    if (flushTask != null) {
+      flushTask.cancel();
+      flushTask = null;
+    }
+    return flushAll();
+  }
+
+  /**
+   * Write every pending object of every storage, blocking until done.
+   *
+   * @return The number of objects written
+   */
+  public static int flushAll() {
+    int written = 0;
+    for (DatabaseStorage<?> storage : storages) {
+      written += storage.flushPendingWrites();
+    }
+    BalanceLedger ledger = balanceLedger;
+    if (ledger != null) {
+      written += ledger.flush();
+    }
+    return written;
+  }
+
+  /** Get the number of objects waiting to be written across all storages. */
+  public static int getPendingWriteCount() {
+    int pending = 0;
+    for (DatabaseStorage<?> storage : storages) {
+      pending += storage.getPendingWriteCount();
+    }
+    BalanceLedger ledger = balanceLedger;
+    if (ledger != null) {
+      pending += ledger.getPendingCount();
+    }
+    return pending;
+  }
+
+  /** Decide whether a storage that just queued a write should flush before the next window. */
+  static boolean shouldFlushNow(int pendingWrites) {
+    return !enabled || pendingWrites >= maxPendingWrites;
+  }
+}
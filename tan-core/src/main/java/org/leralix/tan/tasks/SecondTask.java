@@ -1,6 +1,7 @@
 package org.leralix.tan.tasks;
 
-import org.bukkit.Bukkit;
+import java.util.HashSet;
+import java.util.Set;
 import org.bukkit.entity.Player;
 import org.leralix.tan.TownsAndNations;
 import org.leralix.tan.storage.CurrentAttacksStorage;
@@ -19,9 +20,14 @@ public class SecondTask {
           for (CurrentAttack currentAttack : CurrentAttacksStorage.getAll()) {
             CaptureManager.getInstance().updateCapture(currentAttack.getAttackData());
           }
+          // Boundaries are only shown to online participants of a running attack
+          Set<Player> participants = new HashSet<>();
+          for (CurrentAttack currentAttack : CurrentAttacksStorage.getAll()) {
+            participants.addAll(currentAttack.getAttackData().getRoster().getOnlinePlayers());
+          }
           // For each player, schedule the display task on their specific entity scheduler
           // This ensures thread-safety on Folia where players may be on different regions
-          for (Player player : Bukkit.getOnlinePlayers()) {
+          for (Player player : participants) {
             FoliaScheduler.runEntityTask(
                 TownsAndNations.getPlugin(),
                 player,
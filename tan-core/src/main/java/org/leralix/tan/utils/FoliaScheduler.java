@@ -75,6 +75,22 @@ public class FoliaScheduler {
         .runDelayed(plugin, (t) -> task.run(), delayMs, TimeUnit.MILLISECONDS);
   }
 
+  /**
+   * Run a repeating async task
+   *
+   * @param plugin The plugin
+   * @param task The task to run
+   * @param delay The initial delay in ticks
+   * @param period The period between runs in ticks
+   * @return The scheduled task
+   */
+  public static ScheduledTask runTaskTimerAsynchronously(
+      Plugin plugin, Runnable task, long delay, long period) {
+    return Bukkit.getAsyncScheduler()
+        .runAtFixedRate(
+            plugin, (t) -> task.run(), Math.max(delay, 1) * 50, period * 50, TimeUnit.MILLISECONDS);
+  }
+
   /**
    * Run a task on the entity's scheduler Use this for tasks that involve a specific entity
    *
@@ -93,9 +109,11 @@ public class FoliaScheduler {
    * @param entity The entity
    * @param task The task to run
    * @param delay The delay in ticks
+   * @return The scheduled task, or null if the entity was removed
    */
-  public static void runEntityTaskLater(Plugin plugin, Entity entity, Runnable task, long delay) {
-    entity.getScheduler().runDelayed(plugin, (t) -> task.run(), null, delay);
+  public static ScheduledTask runEntityTaskLater(
+      Plugin plugin, Entity entity, Runnable task, long delay) {
+    return entity.getScheduler().runDelayed(plugin, (t) -> task.run(), null, delay);
   }
 
   /**
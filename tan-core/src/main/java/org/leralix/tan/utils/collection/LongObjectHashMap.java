@@ -0,0 +1,280 @@
+package org.leralix.tan.utils.collection;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Open-addressing hash map keyed by primitive {@code long} values.
+ *
+ * <p>Uses linear probing with backward-shift deletion, so lookups never allocate and no tombstones
+ * accumulate. The key {@code 0} is stored out of band because {@code 0} marks a free slot.
+ *
+ * <p>This class is not thread-safe for writers. {@link #get(long)} however never throws and always
+ * terminates even when a writer is running concurrently, which lets callers read it optimistically
+ * under a {@link java.util.concurrent.locks.StampedLock} and validate afterwards.
+ *
+ * @param <V> The type of the stored values
+ */
+public final class LongObjectHashMap<V> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final float LOAD_FACTOR = 0.6f;
+
+  private long[] keys;
+  private Object[] values;
+  private int size;
+  private int resizeThreshold;
+
+  private boolean hasZeroKey;
+  private V zeroValue;
+
+  public LongObjectHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public LongObjectHashMap(int expectedSize) {
+    int capacity = tableSizeFor((int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR));
+    this.keys = new long[capacity];
+    this.values = new Object[capacity];
+    this.resizeThreshold = (int) (capacity * LOAD_FACTOR);
+  }
+
+  /**
+   * Get the value mapped to a key.
+   *
+   * @param key The key to look up
+   * @return The value, or null if the key is absent
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    if (key == 0) {
+      return hasZeroKey ? zeroValue : null;
+    }
+    long[] localKeys = keys;
+    Object[] localValues = values;
+    if (localKeys.length != localValues.length) {
+      // Torn read during a resize, only possible for optimistic readers which will retry.
+      return null;
+    }
+    int mask = localKeys.length - 1;
+    int index = mix(key) & mask;
+    for (int probes = 0; probes < localKeys.length; probes++) {
+      long current = localKeys[index];
+      if (current == 0) {
+        return null;
+      }
+      if (current == key) {
+        return (V) localValues[index];
+      }
+      index = (index + 1) & mask;
+    }
+    return null;
+  }
+
+  public boolean containsKey(long key) {
+    if (key == 0) {
+      return hasZeroKey;
+    }
+    return get(key) != null;
+  }
+
+  /**
+   * Associate a value with a key.
+   *
+   * @param key The key
+   * @param value The value, must not be null
+   * @return The previous value, or null if there was none
+   */
+  @SuppressWarnings("unchecked")
+  public V put(long key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Null values are not supported");
+    }
+    if (key == 0) {
+      V previous = zeroValue;
+      if (!hasZeroKey) {
+        hasZeroKey = true;
+        size++;
+      }
+      zeroValue = value;
+      return previous;
+    }
+    int mask = keys.length - 1;
+    int index = mix(key) & mask;
+    while (keys[index] != 0) {
+      if (keys[index] == key) {
+        V previous = (V) values[index];
+        values[index] = value;
+        return previous;
+      }
+      index = (index + 1) & mask;
+    }
+    // Value first so an optimistic reader never sees a key without its value.
+    values[index] = value;
+    keys[index] = key;
+    if (++size > resizeThreshold) {
+      rehash(keys.length << 1);
+    }
+    return null;
+  }
+
+  /**
+   * Remove a key from the map.
+   *
+   * @param key The key to remove
+   * @return The removed value, or null if the key was absent
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(long key) {
+    if (key == 0) {
+      if (!hasZeroKey) {
+        return null;
+      }
+      V previous = zeroValue;
+      hasZeroKey = false;
+      zeroValue = null;
+      size--;
+      return previous;
+    }
+    int mask = keys.length - 1;
+    int index = mix(key) & mask;
+    while (keys[index] != 0) {
+      if (keys[index] == key) {
+        V previous = (V) values[index];
+        shiftKeys(index);
+        size--;
+        return previous;
+      }
+      index = (index + 1) & mask;
+    }
+    return null;
+  }
+
+  /**
+   * Remove every entry whose value matches the predicate.
+   *
+   * @param predicate The condition on values
+   * @return The number of removed entries
+   */
+  @SuppressWarnings("unchecked")
+  public int removeIf(Predicate<? super V> predicate) {
+    int removed = 0;
+    if (hasZeroKey && predicate.test(zeroValue)) {
+      hasZeroKey = false;
+      zeroValue = null;
+      size--;
+      removed++;
+    }
+    int index = 0;
+    while (index < keys.length) {
+      if (keys[index] != 0 && predicate.test((V) values[index])) {
+        shiftKeys(index);
+        size--;
+        removed++;
+        // A following entry may have been shifted into this slot, test it again.
+        continue;
+      }
+      index++;
+    }
+    return removed;
+  }
+
+  /**
+   * Iterate over every entry of the map.
+   *
+   * @param consumer The consumer receiving each key and value
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(LongObjectConsumer<? super V> consumer) {
+    if (hasZeroKey) {
+      consumer.accept(0, zeroValue);
+    }
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != 0) {
+        consumer.accept(keys[i], (V) values[i]);
+      }
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, 0);
+    Arrays.fill(values, null);
+    hasZeroKey = false;
+    zeroValue = null;
+    size = 0;
+  }
+
+  /** Backward-shift deletion: pull following entries of the same cluster into the freed slot. */
+  private void shiftKeys(int position) {
+    int mask = keys.length - 1;
+    int last = position;
+    int slot = (last + 1) & mask;
+    while (true) {
+      long current = keys[slot];
+      if (current == 0) {
+        keys[last] = 0;
+        values[last] = null;
+        return;
+      }
+      int ideal = mix(current) & mask;
+      boolean canMove =
+          last <= slot ? (last >= ideal || ideal > slot) : (last >= ideal && ideal > slot);
+      if (canMove) {
+        values[last] = values[slot];
+        keys[last] = current;
+        last = slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private void rehash(int newCapacity) {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    long[] newKeys = new long[newCapacity];
+    Object[] newValues = new Object[newCapacity];
+    int mask = newCapacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      long key = oldKeys[i];
+      if (key != 0) {
+        int index = mix(key) & mask;
+        while (newKeys[index] != 0) {
+          index = (index + 1) & mask;
+        }
+        newKeys[index] = key;
+        newValues[index] = oldValues[i];
+      }
+    }
+    this.values = newValues;
+    this.keys = newKeys;
+    this.resizeThreshold = (int) (newCapacity * LOAD_FACTOR);
+  }
+
+  private static int mix(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private static int tableSizeFor(int capacity) {
+    int n = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+    return Math.max(n, 2);
+  }
+
+  /**
+   * Consumer of a primitive long key and its value.
+   *
+   * @param <V> The type of the values
+   */
+  @FunctionalInterface
+  public interface LongObjectConsumer<V> {
+    void accept(long key, V value);
+  }
+}
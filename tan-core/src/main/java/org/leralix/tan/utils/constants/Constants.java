@@ -61,6 +61,7 @@ public class Constants {
   private static boolean worldGuardOverrideTown;
   private static boolean worldGuardOverrideRegion;
   private static boolean worldGuardOverrideLandmark;
+  private static boolean allowUnknownPermission;
 
   // Buildings
   private static double fortCost;
@@ -78,6 +79,7 @@ public class Constants {
   private static WarTimeSlot warTimeSlot;
   private static double warBoundaryRadius;
   private static Particle warBoundaryParticle;
+  private static int boundaryParticleBudget;
   private static boolean notifyWhenEnemyEnterTerritory;
   private static Map<TownRelation, RelationConstant> relationsConstants;
   private static Set<String> allRelationBlacklistedCommands;
@@ -152,6 +154,8 @@ public class Constants {
     worldGuardOverrideTown = config.getBoolean("worldguard_override_town", true);
     worldGuardOverrideRegion = config.getBoolean("worldguard_override_region", true);
     worldGuardOverrideLandmark = config.getBoolean("worldguard_override_landmark", true);
+    allowUnknownPermission =
+        config.getString("unknownPermissionFallback", "DENY").equalsIgnoreCase("ALLOW");
     claimLandmarkCost = config.getDouble("claimLandmarkCost", 500.0);
     if (claimLandmarkCost < 0.0) {
       claimLandmarkCost = 0.0;
@@ -179,6 +183,7 @@ public class Constants {
     warBoundaryRadius = config.getDouble("warBoundaryRadius", 16);
     warBoundaryParticle =
         Particle.valueOf(config.getString("warBoundaryParticle", "DRAGON_BREATH").toUpperCase());
+    boundaryParticleBudget = Math.max(1, config.getInt("boundaryParticleBudgetPerTick", 200));
     notifyWhenEnemyEnterTerritory = config.getBoolean("notifyEnemyEnterTown", true);
 
     relationsConstants = new EnumMap<>(TownRelation.class);
@@ -298,6 +303,14 @@ public class Constants {
     };
   }
 
+  /**
+   * @return true if an action checked while the player or territory data is still loading should
+   *     be allowed, false if it should be denied
+   */
+  public static boolean allowUnknownPermission() {
+    return allowUnknownPermission;
+  }
+
   public static double getClaimLandmarkCost() {
     return claimLandmarkCost;
   }
@@ -350,6 +363,13 @@ public class Constants {
     return warBoundaryParticle;
   }
 
+  /**
+   * @return The number of boundary particles a player can be sent per tick
+   */
+  public static int getBoundaryParticleBudget() {
+    return boundaryParticleBudget;
+  }
+
   public static boolean notifyWhenEnemyEnterTerritory() {
     return notifyWhenEnemyEnterTerritory;
   }
@@ -114,6 +114,72 @@ public class GuiUtil {
       endIndex = startIndex + pageSize;
     }
 
+    fillPage(
+        gui,
+        guItems,
+        startIndex,
+        endIndex,
+        page == 0,
+        lastPage,
+        player,
+        backArrowAction,
+        nextPageAction,
+        previousPageAction,
+        decorativeGlassPane);
+  }
+
+  /**
+   * Create an iterator for a page loaded on its own, such as one page of a paginated query, instead
+   * of a slice of the full list.
+   *
+   * @param pageItems The items of the visible page only
+   * @param firstPage Whether the previous page button is disabled
+   * @param lastPage Whether the next page button is disabled
+   */
+  public static void createPageIterator(
+      Gui gui,
+      List<GuiItem> pageItems,
+      boolean firstPage,
+      boolean lastPage,
+      Player player,
+      Consumer<Player> backArrowAction,
+      Consumer<Player> nextPageAction,
+      Consumer<Player> previousPageAction,
+      Material decorativeMaterial) {
+
+    ItemStack decorativeGlassPane = new ItemStack(decorativeMaterial);
+    ItemMeta itemMeta = decorativeGlassPane.getItemMeta();
+    itemMeta.displayName(Component.text(""));
+    decorativeGlassPane.setItemMeta(itemMeta);
+    int pageSize = (gui.getRows() - 1) * 9;
+    fillPage(
+        gui,
+        pageItems,
+        0,
+        Math.min(pageItems.size(), pageSize),
+        firstPage,
+        lastPage,
+        player,
+        backArrowAction,
+        nextPageAction,
+        previousPageAction,
+        decorativeGlassPane);
+  }
+
+  private static void fillPage(
+      Gui gui,
+      List<GuiItem> guItems,
+      int startIndex,
+      int endIndex,
+      boolean firstPage,
+      boolean lastPage,
+      Player player,
+      Consumer<Player> backArrowAction,
+      Consumer<Player> nextPageAction,
+      Consumer<Player> previousPageAction,
+      ItemStack decorativeGlassPane) {
+
+    int pageSize = (gui.getRows() - 1) * 9;
     for (int i = 0; i < pageSize; i++) {
       gui.removeItem(i);
     }
@@ -141,7 +207,7 @@ public class GuiUtil {
             .asGuiItem(
                 event -> {
                   event.setCancelled(true);
-                  if (page == 0) {
+                  if (firstPage) {
                     return;
                   }
                   previousPageAction.accept(player);
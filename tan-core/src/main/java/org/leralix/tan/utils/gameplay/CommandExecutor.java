@@ -1,7 +1,11 @@
 package org.leralix.tan.utils.gameplay;
 
+import java.util.List;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
+import org.leralix.tan.TownsAndNations;
+import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.utils.FoliaScheduler;
 import org.leralix.tan.utils.constants.Constants;
 import org.leralix.tan.wars.PlannedAttack;
 
@@ -17,16 +21,7 @@ public class CommandExecutor {
       Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
     }
 
-    for (String command : Constants.getPerPlayerStartCommands()) {
-      for (OfflinePlayer player : attackData.getAllOfflinePlayers()) {
-        String playerName = player.getName();
-        if (playerName == null) {
-          continue;
-        }
-        String completedCommand = command.replace("%PLAYER%", playerName);
-        Bukkit.dispatchCommand(Bukkit.getConsoleSender(), completedCommand);
-      }
-    }
+    applyPerPlayerCommands(attackData, Constants.getPerPlayerStartCommands());
   }
 
   public static void applyEndWarCommands(PlannedAttack attackData) {
@@ -34,9 +29,28 @@ public class CommandExecutor {
       Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
     }
 
-    for (String command : Constants.getPerPlayerEndCommands()) {
-      for (OfflinePlayer player : attackData.getAllOfflinePlayers()) {
-        String playerName = player.getName();
+    applyPerPlayerCommands(attackData, Constants.getPerPlayerEndCommands());
+  }
+
+  /** Run the commands for every participant, including those whose data is not in memory. */
+  private static void applyPerPlayerCommands(PlannedAttack attackData, List<String> commands) {
+    if (commands.isEmpty()) {
+      return;
+    }
+    attackData
+        .loadParticipants()
+        .thenAccept(
+            participants ->
+                FoliaScheduler.runTask(
+                    TownsAndNations.getPlugin(),
+                    () -> dispatchPerPlayer(participants, commands)));
+  }
+
+  private static void dispatchPerPlayer(List<ITanPlayer> participants, List<String> commands) {
+    for (String command : commands) {
+      for (ITanPlayer participant : participants) {
+        OfflinePlayer player = participant.getOfflinePlayer();
+        String playerName = player == null ? null : player.getName();
         if (playerName == null) {
           continue;
         }
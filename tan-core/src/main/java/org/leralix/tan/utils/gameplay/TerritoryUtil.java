@@ -1,5 +1,6 @@
 package org.leralix.tan.utils.gameplay;
 
+import java.util.concurrent.CompletableFuture;
 import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.storage.stored.RegionDataStorage;
 import org.leralix.tan.storage.stored.TownDataStorage;
@@ -20,4 +21,20 @@ public class TerritoryUtil {
     }
     return null;
   }
+
+  /**
+   * Get a territory, loading it from the database if it is not in memory.
+   *
+   * @param id The territory ID
+   * @return The territory, or null if it does not exist
+   */
+  public static CompletableFuture<TerritoryData> getTerritoryAsync(String id) {
+    if (id.startsWith("T")) {
+      return TownDataStorage.getInstance().get(id).thenApply(town -> town);
+    }
+    if (id.startsWith("R")) {
+      return RegionDataStorage.getInstance().get(id).thenApply(region -> region);
+    }
+    return CompletableFuture.completedFuture(null);
+  }
 }
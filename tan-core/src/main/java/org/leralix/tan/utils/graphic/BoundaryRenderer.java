@@ -0,0 +1,353 @@
+package org.leralix.tan.utils.graphic;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+import org.leralix.tan.TownsAndNations;
+import org.leralix.tan.monitoring.PrometheusMetricsCollector;
+import org.leralix.tan.utils.FoliaScheduler;
+import org.leralix.tan.utils.constants.Constants;
+
+/**
+ * Paces the particles drawn to show boundaries, such as war frontlines and property boxes.
+ *
+ * <p>Each player has a particle budget per tick. Submitted segments are sorted nearest first, and
+ * their particle spacing grows with distance. Segments that do not fit in a tick are drawn on the
+ * next ticks. A new submission from the same source replaces the segments still waiting, so a
+ * boundary refreshed every second never piles up. Metrics report sent and dropped particles and
+ * how much of the budget each tick used.
+ */
+public final class BoundaryRenderer {
+
+  /** Segments closer than this, in blocks, are drawn at full density. */
+  private static final double NEAR_DISTANCE = 16;
+
+  /** Segments further than this, in blocks, are drawn at a quarter of the density. */
+  private static final double FAR_DISTANCE = 48;
+
+  /** What a boundary is drawn for, in drawing priority order. */
+  public enum Source {
+    PROPERTY_BOX("property_box", 0.5),
+    WAR_BOUNDARY("war_boundary", 1);
+
+    private final String metricLabel;
+    private final double spacing;
+
+    Source(String metricLabel, double spacing) {
+      this.metricLabel = metricLabel;
+      this.spacing = spacing;
+    }
+  }
+
+  private static BoundaryRenderer instance;
+
+  private final Map<UUID, PlayerQueue> queues = new ConcurrentHashMap<>();
+
+  private BoundaryRenderer() {}
+
+  public static synchronized BoundaryRenderer getInstance() {
+    if (instance == null) {
+      instance = new BoundaryRenderer();
+    }
+    return instance;
+  }
+
+  public static synchronized void reset() {
+    instance = null;
+  }
+
+  /**
+   * Queue segments to draw to a player, replacing those of the same source still waiting.
+   *
+   * @param player The player seeing the boundary
+   * @param source What the boundary is drawn for
+   * @param particle Particle to draw
+   * @param segments Segments of the boundary
+   */
+  public void submit(Player player, Source source, Particle particle, Segments segments) {
+    Location location = player.getLocation();
+    Pending pending =
+        new Pending(source, particle, segments, location.getX(), location.getY(), location.getZ());
+    PlayerQueue queue = queues.computeIfAbsent(player.getUniqueId(), id -> new PlayerQueue());
+
+    int dropped = queue.replace(pending);
+    if (dropped > 0) {
+      PrometheusMetricsCollector.recordBoundaryParticles(source.metricLabel, "dropped", dropped);
+    }
+    if (queue.startDraining()) {
+      FoliaScheduler.runEntityTask(TownsAndNations.getPlugin(), player, () -> drain(player, queue));
+    }
+  }
+
+  /** Drop the queued segments of a player, called when they leave the server. */
+  public void forget(UUID playerID) {
+    queues.remove(playerID);
+  }
+
+  private void drain(Player player, PlayerQueue queue) {
+    if (!player.isOnline()) {
+      queues.remove(player.getUniqueId(), queue);
+      return;
+    }
+    int budget = Constants.getBoundaryParticleBudget();
+    int[] sent = new int[Source.values().length];
+    int used =
+        queue.draw(
+            (particle, x, y, z) -> player.spawnParticle(particle, x, y, z, 1, 0, 0, 0, 0),
+            budget,
+            sent);
+
+    for (Source source : Source.values()) {
+      if (sent[source.ordinal()] > 0) {
+        PrometheusMetricsCollector.recordBoundaryParticles(
+            source.metricLabel, "sent", sent[source.ordinal()]);
+      }
+    }
+    PrometheusMetricsCollector.recordBoundaryBudgetUsage((double) used / budget);
+
+    if (queue.continueDraining()) {
+      FoliaScheduler.runEntityTaskLater(
+          TownsAndNations.getPlugin(), player, () -> drain(player, queue), 1);
+    }
+  }
+
+  /** Receives the particles of a drawing tick. */
+  interface ParticleSink {
+    void spawn(Particle particle, double x, double y, double z);
+  }
+
+  /**
+   * Segments of a boundary. A segment is a vertical pane: a horizontal line from {@code (x1, z1)}
+   * to {@code (x2, z2)} spanning {@code y1} to {@code y2}. Set equal heights for a horizontal
+   * line, and equal horizontal ends for a vertical one.
+   */
+  public static final class Segments {
+    private static final int STRIDE = 6;
+
+    private double[] coordinates = new double[STRIDE * 16];
+    private int size;
+
+    public void add(double x1, double y1, double z1, double x2, double y2, double z2) {
+      int offset = size * STRIDE;
+      if (offset == coordinates.length) {
+        coordinates = Arrays.copyOf(coordinates, offset * 2);
+      }
+      coordinates[offset] = x1;
+      coordinates[offset + 1] = y1;
+      coordinates[offset + 2] = z1;
+      coordinates[offset + 3] = x2;
+      coordinates[offset + 4] = y2;
+      coordinates[offset + 5] = z2;
+      size++;
+    }
+
+    /** Add the twelve edges of a box. */
+    public void addBox(
+        double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+      for (double y : new double[] {minY, maxY}) {
+        add(minX, y, minZ, maxX, y, minZ);
+        add(minX, y, maxZ, maxX, y, maxZ);
+        add(minX, y, minZ, minX, y, maxZ);
+        add(maxX, y, minZ, maxX, y, maxZ);
+      }
+      add(minX, minY, minZ, minX, maxY, minZ);
+      add(maxX, minY, minZ, maxX, maxY, minZ);
+      add(minX, minY, maxZ, minX, maxY, maxZ);
+      add(maxX, minY, maxZ, maxX, maxY, maxZ);
+    }
+
+    public int size() {
+      return size;
+    }
+  }
+
+  /** Segments of one submission waiting to be drawn, nearest first. */
+  static final class Pending {
+    private final Source source;
+    private final Particle particle;
+    private final double[] coordinates;
+    private final int[] order;
+    private final double[] spacing;
+    private int next;
+
+    Pending(
+        Source source,
+        Particle particle,
+        Segments segments,
+        double viewerX,
+        double viewerY,
+        double viewerZ) {
+      this.source = source;
+      this.particle = particle;
+      this.coordinates = Arrays.copyOf(segments.coordinates, segments.size * Segments.STRIDE);
+      int count = segments.size;
+      this.spacing = new double[count];
+
+      // Squared distances are positive, so their float bits sort like the distances
+      long[] keys = new long[count];
+      for (int i = 0; i < count; i++) {
+        int offset = i * Segments.STRIDE;
+        double dx = (coordinates[offset] + coordinates[offset + 3]) / 2 - viewerX;
+        double dy = (coordinates[offset + 1] + coordinates[offset + 4]) / 2 - viewerY;
+        double dz = (coordinates[offset + 2] + coordinates[offset + 5]) / 2 - viewerZ;
+        double squaredDistance = dx * dx + dy * dy + dz * dz;
+        keys[i] = ((long) Float.floatToIntBits((float) squaredDistance) << 32) | i;
+        spacing[i] = source.spacing * levelOfDetail(squaredDistance);
+      }
+      Arrays.sort(keys);
+      this.order = new int[count];
+      for (int i = 0; i < count; i++) {
+        order[i] = (int) keys[i];
+      }
+    }
+
+    private static int levelOfDetail(double squaredDistance) {
+      if (squaredDistance <= NEAR_DISTANCE * NEAR_DISTANCE) {
+        return 1;
+      }
+      if (squaredDistance <= FAR_DISTANCE * FAR_DISTANCE) {
+        return 2;
+      }
+      return 4;
+    }
+
+    boolean isDone() {
+      return next == order.length;
+    }
+
+    /**
+     * @return The number of particles of the segments not drawn yet
+     */
+    int remainingCost() {
+      int cost = 0;
+      for (int i = next; i < order.length; i++) {
+        cost += cost(order[i]);
+      }
+      return cost;
+    }
+
+    int cost(int segment) {
+      int offset = segment * Segments.STRIDE;
+      return columns(offset, spacing[segment]) * rows(offset, spacing[segment]);
+    }
+
+    private int columns(int offset, double step) {
+      double length =
+          Math.hypot(
+              coordinates[offset + 3] - coordinates[offset],
+              coordinates[offset + 5] - coordinates[offset + 2]);
+      return (int) Math.ceil(length / step) + 1;
+    }
+
+    private int rows(int offset, double step) {
+      double height = Math.abs(coordinates[offset + 4] - coordinates[offset + 1]);
+      return (int) Math.ceil(height / step) + 1;
+    }
+
+    /**
+     * Draw segments in order until the budget is spent. The first segment of a tick is always
+     * drawn, so a segment larger than the budget cannot stall the queue.
+     *
+     * @return The number of particles drawn
+     */
+    int draw(ParticleSink sink, int budget, boolean firstOfTick) {
+      int used = 0;
+      while (next < order.length) {
+        int segment = order[next];
+        int cost = cost(segment);
+        if (used + cost > budget && (used > 0 || !firstOfTick)) {
+          break;
+        }
+        drawSegment(sink, segment);
+        used += cost;
+        next++;
+      }
+      return used;
+    }
+
+    private void drawSegment(ParticleSink sink, int segment) {
+      int offset = segment * Segments.STRIDE;
+      double step = spacing[segment];
+      int columns = columns(offset, step);
+      int rows = rows(offset, step);
+      double x1 = coordinates[offset];
+      double y1 = coordinates[offset + 1];
+      double z1 = coordinates[offset + 2];
+      double dx = columns > 1 ? (coordinates[offset + 3] - x1) / (columns - 1) : 0;
+      double dy = rows > 1 ? (coordinates[offset + 4] - y1) / (rows - 1) : 0;
+      double dz = columns > 1 ? (coordinates[offset + 5] - z1) / (columns - 1) : 0;
+      for (int column = 0; column < columns; column++) {
+        for (int row = 0; row < rows; row++) {
+          sink.spawn(particle, x1 + dx * column, y1 + dy * row, z1 + dz * column);
+        }
+      }
+    }
+  }
+
+  /** Boundaries waiting to be drawn to one player. */
+  static final class PlayerQueue {
+    private final Map<Source, Pending> pending = new EnumMap<>(Source.class);
+    private boolean draining;
+
+    /**
+     * @return The number of particles of the replaced submission not drawn yet
+     */
+    synchronized int replace(Pending next) {
+      Pending previous = pending.put(next.source, next);
+      return previous == null ? 0 : previous.remainingCost();
+    }
+
+    /**
+     * @return true if the caller must schedule the drawing, false if it is already scheduled
+     */
+    synchronized boolean startDraining() {
+      if (draining) {
+        return false;
+      }
+      draining = true;
+      return true;
+    }
+
+    /**
+     * Draw one tick worth of particles, sources in priority order.
+     *
+     * @param sink Receives the particles
+     * @param budget Particles allowed in this tick
+     * @param sent Filled with the particles drawn per source ordinal
+     * @return The number of particles drawn
+     */
+    synchronized int draw(ParticleSink sink, int budget, int[] sent) {
+      int used = 0;
+      Iterator<Pending> iterator = pending.values().iterator();
+      while (iterator.hasNext() && used < budget) {
+        Pending current = iterator.next();
+        int drawn = current.draw(sink, budget - used, used == 0);
+        sent[current.source.ordinal()] += drawn;
+        used += drawn;
+        if (current.isDone()) {
+          iterator.remove();
+        } else {
+          break;
+        }
+      }
+      return used;
+    }
+
+    /**
+     * @return true if segments are left for the next tick, false once the queue is empty
+     */
+    synchronized boolean continueDraining() {
+      if (pending.isEmpty()) {
+        draining = false;
+        return false;
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package org.leralix.tan.utils.territory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import org.bukkit.block.Block;
+import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
+import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
+
+/**
+ * Grief checks for blocks affected by explosions, fire and mobs.
+ *
+ * <p>Blocks are resolved by {@link ChunkKey packed chunk coordinates} straight from the claim
+ * index: no Bukkit chunk is fetched and no wilderness chunk is built. For block lists, the grief
+ * flag of each chunk is resolved once and the list is filtered in place in a single pass.
+ * Wilderness can always be griefed.
+ */
+public final class ChunkGriefFilter {
+
+  /** Explosions rarely span more chunks than this, the arrays grow if they do. */
+  private static final int INITIAL_CHUNKS = 8;
+
+  private ChunkGriefFilter() {
+    throw new AssertionError("Utility class");
+  }
+
+  /**
+   * Check if a block can be griefed.
+   *
+   * @param block The affected block
+   * @param canGrief Grief flag to read from the claim, ex: {@code ClaimedChunk2::canFireGrief}
+   * @return true if the block is in the wilderness or its claim allows the grief
+   */
+  public static boolean canGrief(Block block, Predicate<ClaimedChunk2> canGrief) {
+    ClaimedChunk2 claimedChunk =
+        NewClaimedChunkStorage.getInstance()
+            .getClaimOrNull(block.getWorld().getUID(), block.getX() >> 4, block.getZ() >> 4);
+    return claimedChunk == null || canGrief.test(claimedChunk);
+  }
+
+  /**
+   * Remove the blocks that cannot be griefed from a list, in place.
+   *
+   * @param blocks The affected blocks, all in the same world
+   * @param worldID UUID of the world of the blocks
+   * @param canGrief Grief flag to read from the claim, ex: {@code ClaimedChunk2::canExplosionGrief}
+   * @return The number of removed blocks
+   */
+  public static int removeProtectedBlocks(
+      List<Block> blocks, UUID worldID, Predicate<ClaimedChunk2> canGrief) {
+    int size = blocks.size();
+    if (size == 0) {
+      return 0;
+    }
+    NewClaimedChunkStorage storage = NewClaimedChunkStorage.getInstance();
+
+    long[] chunkKeys = new long[INITIAL_CHUNKS];
+    boolean[] chunkGriefable = new boolean[INITIAL_CHUNKS];
+    int chunkCount = 0;
+    // Consecutive blocks are usually in the same chunk
+    long lastKey = 0;
+    boolean lastGriefable = false;
+    boolean hasLast = false;
+
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      Block block = blocks.get(i);
+      long key = ChunkKey.fromBlock(block.getX(), block.getZ());
+
+      boolean griefable;
+      if (hasLast && key == lastKey) {
+        griefable = lastGriefable;
+      } else {
+        int slot = indexOf(chunkKeys, chunkCount, key);
+        if (slot >= 0) {
+          griefable = chunkGriefable[slot];
+        } else {
+          ClaimedChunk2 claimedChunk =
+              storage.getClaimOrNull(worldID, ChunkKey.getX(key), ChunkKey.getZ(key));
+          griefable = claimedChunk == null || canGrief.test(claimedChunk);
+          if (chunkCount == chunkKeys.length) {
+            chunkKeys = Arrays.copyOf(chunkKeys, chunkCount * 2);
+            chunkGriefable = Arrays.copyOf(chunkGriefable, chunkCount * 2);
+          }
+          chunkKeys[chunkCount] = key;
+          chunkGriefable[chunkCount] = griefable;
+          chunkCount++;
+        }
+        lastKey = key;
+        lastGriefable = griefable;
+        hasLast = true;
+      }
+
+      if (griefable) {
+        if (kept != i) {
+          blocks.set(kept, block);
+        }
+        kept++;
+      }
+    }
+
+    if (kept < size) {
+      blocks.subList(kept, size).clear();
+    }
+    return size - kept;
+  }
+
+  private static int indexOf(long[] keys, int count, long key) {
+    for (int i = 0; i < count; i++) {
+      if (keys[i] == key) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
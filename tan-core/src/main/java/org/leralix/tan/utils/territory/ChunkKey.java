@@ -0,0 +1,42 @@
+package org.leralix.tan.utils.territory;
+
+/**
+ * Packs chunk coordinates into a single {@code long}, so chunk lookups on hot paths do not need to
+ * build {@code "x,z,world"} string keys.
+ */
+public final class ChunkKey {
+
+  private ChunkKey() {
+    throw new AssertionError("Utility class");
+  }
+
+  /**
+   * Pack chunk coordinates into a long.
+   *
+   * @param chunkX Chunk X coordinate
+   * @param chunkZ Chunk Z coordinate
+   * @return The packed key
+   */
+  public static long pack(int chunkX, int chunkZ) {
+    return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Pack the chunk containing a block position into a long.
+   *
+   * @param blockX Block X coordinate
+   * @param blockZ Block Z coordinate
+   * @return The packed key of the chunk containing the block
+   */
+  public static long fromBlock(int blockX, int blockZ) {
+    return pack(blockX >> 4, blockZ >> 4);
+  }
+
+  public static int getX(long key) {
+    return (int) (key >> 32);
+  }
+
+  public static int getZ(long key) {
+    return (int) key;
+  }
+}
@@ -4,13 +4,17 @@ import java.util.*;
 import java.util.function.Predicate;
 import org.bukkit.Chunk;
 import org.leralix.lib.position.Vector2D;
+import org.leralix.lib.position.Vector3D;
 import org.leralix.tan.building.Building;
 import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
 import org.leralix.tan.dataclass.chunk.TerritoryChunk;
 import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.storage.index.TerritoryConnectivity;
+import org.leralix.tan.storage.stored.FortStorage;
 import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
 import org.leralix.tan.utils.constants.Constants;
+import org.leralix.tan.wars.fort.Fort;
 
 public class ChunkUtil {
 
@@ -31,86 +35,100 @@ public class ChunkUtil {
     return true;
   }
 
+  /**
+   * @return Every chunk of the territory with at least one of its eight neighbours not owned by it
+   */
   public static List<ClaimedChunk2> getBorderChunks(TerritoryData territoryData) {
-
-    List<ClaimedChunk2> res = new ArrayList<>();
-
-    for (TerritoryChunk territoryChunk : claimedChunkStorage.getAllChunkFrom(territoryData)) {
-      if (!isChunkEncirecledBy(
-          territoryChunk, chunk -> territoryData.getID().equals(chunk.getOwnerID()))) {
-        res.add(territoryChunk);
-      }
-    }
-
-    return res;
+    return claimedChunkStorage.getConnectivity(territoryData.getID()).getBorderChunks();
   }
 
+  /**
+   * Unclaim the areas around an unclaimed chunk that are no longer linked to their territory's
+   * capital or to one of its forts. Areas are read from the territory connectivity, so only the
+   * forts and capital are looked up.
+   *
+   * @param unclaimedChunk The chunk that has just been unclaimed
+   */
   public static void unclaimIfNoLongerSupplied(TerritoryChunk unclaimedChunk) {
 
-    List<ChunkPolygon> polygonsAnalysed = new ArrayList<>();
+    UUID worldID = UUID.fromString(unclaimedChunk.getWorldUUID());
+    List<TerritoryChunk> areasAnalysed = new ArrayList<>();
 
     for (ClaimedChunk2 claimedChunk2 : claimedChunkStorage.getEightAjacentChunks(unclaimedChunk)) {
 
-      if (claimedChunk2 instanceof TerritoryChunk territoryChunk) {
-        if (alreadyAnalysed(territoryChunk, polygonsAnalysed)) {
-          continue;
-        }
-
-        ChunkPolygon chunkPolygon = ChunkUtil.getPolygon(territoryChunk);
-
-        if (!chunkPolygon.isSupplied()) {
-          chunkPolygon.unclaimAll();
-        }
-        polygonsAnalysed.add(chunkPolygon);
+      if (!(claimedChunk2 instanceof TerritoryChunk territoryChunk)) {
+        continue;
       }
-    }
-  }
-
-  private static ChunkPolygon getPolygon(TerritoryChunk startChunk) {
-
-    String ownerID = startChunk.getOwnerID();
-    Set<String> visited = new HashSet<>();
-    Set<ClaimedChunk2> result = new HashSet<>();
-    Queue<ClaimedChunk2> toVisit = new LinkedList<>();
-
-    toVisit.add(startChunk);
-
-    while (!toVisit.isEmpty()) {
-      ClaimedChunk2 current = toVisit.poll();
-      String key = current.getX() + "," + current.getZ() + "," + current.getWorldUUID();
-
-      if (visited.contains(key)) {
+      TerritoryConnectivity connectivity =
+          claimedChunkStorage.getConnectivity(territoryChunk.getOwnerID());
+      int x = territoryChunk.getX();
+      int z = territoryChunk.getZ();
+      if (!connectivity.contains(worldID, x, z)
+          || alreadyAnalysed(territoryChunk, connectivity, areasAnalysed)) {
         continue;
       }
-      visited.add(key);
+      areasAnalysed.add(territoryChunk);
 
-      if (!(current instanceof TerritoryChunk territoryChunk)) {
-        continue; // Ignore wilderness or other non-territory chunks
+      if (!isSupplied(territoryChunk.getOwner(), connectivity, worldID, x, z)) {
+        for (ClaimedChunk2 chunkToUnclaim : connectivity.getArea(worldID, x, z)) {
+          claimedChunkStorage.unclaimChunk(chunkToUnclaim);
+        }
       }
+    }
+  }
 
-      if (!territoryChunk.getOwnerID().equals(ownerID)) {
-        continue; // Belongs to another territory
+  private static boolean alreadyAnalysed(
+      TerritoryChunk territoryChunk,
+      TerritoryConnectivity connectivity,
+      List<TerritoryChunk> areasAnalysed) {
+    UUID worldID = UUID.fromString(territoryChunk.getWorldUUID());
+    for (TerritoryChunk analysed : areasAnalysed) {
+      if (connectivity.isConnected(
+          worldID,
+          territoryChunk.getX(),
+          territoryChunk.getZ(),
+          UUID.fromString(analysed.getWorldUUID()),
+          analysed.getX(),
+          analysed.getZ())) {
+        return true;
       }
+    }
+    return false;
+  }
 
-      result.add(current);
-
-      // Get adjacent chunks (4 directions)
-      List<ClaimedChunk2> adjacentChunks = claimedChunkStorage.getFourAjacentChunks(current);
-      for (ClaimedChunk2 adj : adjacentChunks) {
-        if (adj != null
-            && !visited.contains(adj.getX() + "," + adj.getZ() + "," + adj.getWorldUUID())) {
-          toVisit.add(adj);
-        }
+  /**
+   * @return true if the area of the chunk holds the capital of its territory or one of its forts
+   */
+  private static boolean isSupplied(
+      TerritoryData territoryOwner,
+      TerritoryConnectivity connectivity,
+      UUID worldID,
+      int x,
+      int z) {
+
+    if (territoryOwner instanceof TownData townData) {
+      Optional<Vector2D> capitalChunk = townData.getCapitalLocation();
+      if (capitalChunk.isPresent()
+          && connectivity.isConnected(
+              worldID,
+              x,
+              z,
+              UUID.fromString(capitalChunk.get().getWorldID().toString()),
+              capitalChunk.get().getX(),
+              capitalChunk.get().getZ())) {
+        return true;
       }
     }
 
-    return new ChunkPolygon(startChunk.getOwner(), result);
-  }
-
-  private static boolean alreadyAnalysed(
-      ClaimedChunk2 claimedChunk2, List<ChunkPolygon> polygonsAnalysed) {
-    for (ChunkPolygon chunkPolygon : polygonsAnalysed) {
-      if (chunkPolygon.contains(claimedChunk2)) {
+    for (Fort fort : FortStorage.getInstance().getOwnedFort(territoryOwner)) {
+      Vector3D position = fort.getPosition();
+      if (connectivity.isConnected(
+          worldID,
+          x,
+          z,
+          UUID.fromString(position.getWorldID().toString()),
+          position.getX() >> 4,
+          position.getZ() >> 4)) {
         return true;
       }
     }
@@ -0,0 +1,239 @@
+package org.leralix.tan.wars;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.NoPlayerData;
+import org.leralix.tan.dataclass.territory.TerritoryData;
+import org.leralix.tan.storage.stored.PlayerDataStorage;
+import org.leralix.tan.utils.gameplay.TerritoryUtil;
+
+/**
+ * Belligerents and participants of a planned attack, resolved once.
+ *
+ * <p>A roster holds the attacking and defending territories, their members and a UUID set of the
+ * members, so "is this player in the attack" is a hash lookup. The online members are kept in a
+ * separate view updated at join and quit. A roster is stamped with a global membership epoch:
+ * any town or vassal membership change bumps it and the next read rebuilds the roster. Changes of
+ * belligerents are handled by {@link PlannedAttack}, which drops its roster.
+ *
+ * <p>Territories are resolved from memory only, since rosters are read by permission checks on
+ * region threads. A roster missing a territory that is still loading is rebuilt on a read after
+ * {@link #INCOMPLETE_RETRY_NANOS}. The start and end of an attack must reach every participant,
+ * they load them with {@link PlannedAttack#loadParticipants()} instead.
+ */
+public final class AttackRoster {
+
+  private static final AtomicLong membershipEpoch = new AtomicLong();
+
+  private static final long INCOMPLETE_RETRY_NANOS = 1_000_000_000L;
+
+  private final long epoch;
+  private final boolean complete;
+  private final long builtAt = System.nanoTime();
+  private final List<TerritoryData> attackingTerritories;
+  private final List<TerritoryData> defendingTerritories;
+  private final List<ITanPlayer> attackers;
+  private final List<ITanPlayer> defenders;
+  private final Set<UUID> attackerIDs;
+  private final Set<UUID> defenderIDs;
+  private final Map<UUID, Player> onlineAttackers = new ConcurrentHashMap<>();
+  private final Map<UUID, Player> onlineDefenders = new ConcurrentHashMap<>();
+
+  private AttackRoster(
+      long epoch,
+      boolean complete,
+      List<TerritoryData> attackingTerritories,
+      List<TerritoryData> defendingTerritories,
+      Set<UUID> attackerIDs,
+      Set<UUID> defenderIDs) {
+    this.epoch = epoch;
+    this.complete = complete;
+    this.attackingTerritories = List.copyOf(attackingTerritories);
+    this.defendingTerritories = List.copyOf(defendingTerritories);
+    this.attackerIDs = Set.copyOf(attackerIDs);
+    this.defenderIDs = Set.copyOf(defenderIDs);
+    this.attackers = membersOf(attackerIDs);
+    this.defenders = membersOf(defenderIDs);
+    addOnline(attackerIDs, onlineAttackers);
+    addOnline(defenderIDs, onlineDefenders);
+  }
+
+  /**
+   * Resolve the belligerents of an attack from memory. Territories that are not in memory are
+   * skipped, they are being loaded for the next build.
+   *
+   * @param attackersID IDs of the attacking territories
+   * @param defendersID IDs of the defending territories
+   * @return The roster, valid until the next membership change
+   */
+  static AttackRoster build(Collection<String> attackersID, Collection<String> defendersID) {
+    // Read before resolving, so a change made meanwhile leaves the roster stale
+    long epoch = membershipEpoch.get();
+    List<TerritoryData> attackingTerritories = resolve(attackersID);
+    List<TerritoryData> defendingTerritories = resolve(defendersID);
+    Set<UUID> attackerIDs = new HashSet<>();
+    Set<UUID> defenderIDs = new HashSet<>();
+    boolean complete =
+        attackingTerritories.size() == attackersID.size()
+            && defendingTerritories.size() == defendersID.size();
+    complete &= collectMemberIDs(attackingTerritories, attackerIDs);
+    complete &= collectMemberIDs(defendingTerritories, defenderIDs);
+    return new AttackRoster(
+        epoch, complete, attackingTerritories, defendingTerritories, attackerIDs, defenderIDs);
+  }
+
+  /** Make every roster stale. Call after any change of town or vassal membership. */
+  public static void invalidateAll() {
+    membershipEpoch.incrementAndGet();
+  }
+
+  boolean isStale() {
+    if (epoch != membershipEpoch.get()) {
+      return true;
+    }
+    return !complete && System.nanoTime() - builtAt > INCOMPLETE_RETRY_NANOS;
+  }
+
+  private static List<TerritoryData> resolve(Collection<String> territoryIDs) {
+    List<TerritoryData> territories = new ArrayList<>(territoryIDs.size());
+    for (String territoryID : territoryIDs) {
+      TerritoryData territory = TerritoryUtil.getTerritory(territoryID);
+      if (territory != null) {
+        territories.add(territory);
+      }
+    }
+    return territories;
+  }
+
+  /**
+   * Read from the member IDs, so members whose player data is not in memory are included. Vassals
+   * are resolved from memory like the belligerents.
+   *
+   * @return false if a vassal was not in memory
+   */
+  private static boolean collectMemberIDs(List<TerritoryData> territories, Set<UUID> ids) {
+    boolean complete = true;
+    for (TerritoryData territory : territories) {
+      if (!territory.canHaveVassals()) {
+        for (String playerID : territory.getPlayerIDList()) {
+          ids.add(UUID.fromString(playerID));
+        }
+        continue;
+      }
+      List<TerritoryData> vassals = resolve(territory.getVassalsID());
+      complete &= vassals.size() == territory.getVassalsID().size();
+      complete &= collectMemberIDs(vassals, ids);
+    }
+    return complete;
+  }
+
+  private static List<ITanPlayer> membersOf(Set<UUID> playerIDs) {
+    PlayerDataStorage playerDataStorage = PlayerDataStorage.getInstance();
+    List<ITanPlayer> members = new ArrayList<>(playerIDs.size());
+    for (UUID playerID : playerIDs) {
+      ITanPlayer tanPlayer = playerDataStorage.getSync(playerID);
+      if (!(tanPlayer instanceof NoPlayerData)) {
+        members.add(tanPlayer);
+      }
+    }
+    return List.copyOf(members);
+  }
+
+  private static void addOnline(Set<UUID> playerIDs, Map<UUID, Player> online) {
+    for (UUID playerID : playerIDs) {
+      Player player = Bukkit.getPlayer(playerID);
+      if (player != null && player.isOnline()) {
+        online.put(playerID, player);
+      }
+    }
+  }
+
+  public List<TerritoryData> getAttackingTerritories() {
+    return attackingTerritories;
+  }
+
+  public List<TerritoryData> getDefendingTerritories() {
+    return defendingTerritories;
+  }
+
+  /**
+   * @return The attackers whose player data is in memory, for display. Use {@link
+   *     PlannedAttack#loadParticipants()} to reach every attacker.
+   */
+  public List<ITanPlayer> getAttackers() {
+    return attackers;
+  }
+
+  /**
+   * @return The defenders whose player data is in memory, for display. Use {@link
+   *     PlannedAttack#loadParticipants()} to reach every defender.
+   */
+  public List<ITanPlayer> getDefenders() {
+    return defenders;
+  }
+
+  /**
+   * @param playerID UUID of the player
+   * @return true if the player is a member of an attacking or defending territory
+   */
+  public boolean isParticipant(UUID playerID) {
+    return attackerIDs.contains(playerID) || defenderIDs.contains(playerID);
+  }
+
+  public boolean isAttacker(UUID playerID) {
+    return attackerIDs.contains(playerID);
+  }
+
+  public boolean isDefender(UUID playerID) {
+    return defenderIDs.contains(playerID);
+  }
+
+  /**
+   * @return Live view of the online attackers
+   */
+  public Collection<Player> getOnlineAttackers() {
+    return onlineAttackers.values();
+  }
+
+  /**
+   * @return Live view of the online defenders
+   */
+  public Collection<Player> getOnlineDefenders() {
+    return onlineDefenders.values();
+  }
+
+  /**
+   * @return The online attackers and defenders
+   */
+  public List<Player> getOnlinePlayers() {
+    List<Player> players = new ArrayList<>(onlineAttackers.size() + onlineDefenders.size());
+    players.addAll(onlineAttackers.values());
+    players.addAll(onlineDefenders.values());
+    return players;
+  }
+
+  void playerJoined(Player player) {
+    UUID playerID = player.getUniqueId();
+    if (attackerIDs.contains(playerID)) {
+      onlineAttackers.put(playerID, player);
+    }
+    if (defenderIDs.contains(playerID)) {
+      onlineDefenders.put(playerID, player);
+    }
+  }
+
+  void playerLeft(UUID playerID) {
+    onlineAttackers.remove(playerID);
+    onlineDefenders.remove(playerID);
+  }
+}
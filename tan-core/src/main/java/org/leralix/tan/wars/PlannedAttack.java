@@ -3,8 +3,8 @@ package org.leralix.tan.wars;
 import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import org.bukkit.Material;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -13,14 +13,17 @@ import org.leralix.lib.utils.config.ConfigTag;
 import org.leralix.lib.utils.config.ConfigUtil;
 import org.leralix.tan.TownsAndNations;
 import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.NoPlayerData;
 import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.events.EventManager;
 import org.leralix.tan.events.events.DefenderAcceptDemandsBeforeWarInternalEvent;
 import org.leralix.tan.lang.FilledLang;
 import org.leralix.tan.lang.Lang;
 import org.leralix.tan.lang.LangType;
+import org.leralix.tan.service.PermissionDecisionCache;
 import org.leralix.tan.storage.CurrentAttacksStorage;
 import org.leralix.tan.storage.stored.PlannedAttackStorage;
+import org.leralix.tan.storage.stored.PlayerDataStorage;
 import org.leralix.tan.timezone.TimeZoneManager;
 import org.leralix.tan.utils.constants.Constants;
 import org.leralix.tan.utils.gameplay.TerritoryUtil;
@@ -49,6 +52,9 @@ public class PlannedAttack {
   private transient ScheduledTask warStartTask;
   private transient ScheduledTask warWarningTask;
 
+  /** Resolved belligerents and participants, dropped when the belligerents change. */
+  private transient volatile AttackRoster roster;
+
   boolean isAdminApproved;
 
   /**
@@ -104,42 +110,129 @@ public class PlannedAttack {
     this.isAdminApproved = isAdminApproved;
   }
 
-  public Collection<ITanPlayer> getDefendingPlayers() {
-    Collection<ITanPlayer> defenders = new ArrayList<>();
-    for (TerritoryData defendingTerritory : getDefendingTerritories()) {
-      defenders.addAll(defendingTerritory.getITanPlayerList());
+  /**
+   * Get the roster of the attack, rebuilding it if the belligerents or their members changed.
+   *
+   * @return The current roster
+   */
+  public AttackRoster getRoster() {
+    AttackRoster current = roster;
+    if (current == null || current.isStale()) {
+      current = buildRoster();
     }
-    return defenders;
+    return current;
   }
 
-  public Collection<ITanPlayer> getAttackersPlayers() {
-    Collection<ITanPlayer> defenders = new ArrayList<>();
-    for (TerritoryData attackingTerritory : getAttackingTerritories()) {
-      defenders.addAll(attackingTerritory.getITanPlayerList());
+  private synchronized AttackRoster buildRoster() {
+    AttackRoster current = roster;
+    if (current == null || current.isStale()) {
+      current = AttackRoster.build(attackersID, defendersID);
+      roster = current;
     }
-    return defenders;
+    return current;
   }
 
-  public Collection<TerritoryData> getDefendingTerritories() {
-    Collection<TerritoryData> defenders = new ArrayList<>();
-    for (String defenderID : defendersID) {
-      defenders.add(TerritoryUtil.getTerritoryAsync(defenderID).join());
+  private synchronized void invalidateRoster() {
+    roster = null;
+  }
+
+  /** Mark a participant online in the roster, if it is built. */
+  public void playerJoined(Player player) {
+    AttackRoster current = roster;
+    if (current != null) {
+      current.playerJoined(player);
     }
-    return defenders;
+  }
+
+  /** Mark a participant offline in the roster, if it is built. */
+  public void playerLeft(UUID playerID) {
+    AttackRoster current = roster;
+    if (current != null) {
+      current.playerLeft(playerID);
+    }
+  }
+
+  public Collection<ITanPlayer> getDefendingPlayers() {
+    return getRoster().getDefenders();
+  }
+
+  public Collection<ITanPlayer> getAttackersPlayers() {
+    return getRoster().getAttackers();
+  }
+
+  public Collection<TerritoryData> getDefendingTerritories() {
+    return getRoster().getDefendingTerritories();
   }
 
   public Collection<TerritoryData> getAttackingTerritories() {
-    Collection<TerritoryData> attackers = new ArrayList<>();
-    for (String attackerID : attackersID) {
-      attackers.add(TerritoryUtil.getTerritoryAsync(attackerID).join());
+    return getRoster().getAttackingTerritories();
+  }
+
+  /**
+   * Load the attacking and defending territories, including those not in memory. The start and
+   * end of the attack go through here, since the roster only holds what is cached.
+   *
+   * @return The belligerent territories that still exist
+   */
+  public CompletableFuture<List<TerritoryData>> loadBelligerents() {
+    return joinAll(getBelligerentsID().stream().map(TerritoryUtil::getTerritoryAsync).toList());
+  }
+
+  /**
+   * @return IDs of the attacking and defending territories, without loading them
+   */
+  public synchronized List<String> getBelligerentsID() {
+    List<String> territoryIDs = new ArrayList<>(attackersID);
+    territoryIDs.addAll(defendersID);
+    return territoryIDs;
+  }
+
+  /**
+   * Load the members of every belligerent, including those not in memory.
+   *
+   * @return The attackers and defenders
+   */
+  public CompletableFuture<List<ITanPlayer>> loadParticipants() {
+    return loadBelligerents()
+        .thenCompose(
+            territories -> joinAll(territories.stream().map(PlannedAttack::loadPlayerIDs).toList()))
+        .thenCompose(
+            playerIDLists -> {
+              Set<String> playerIDs = new HashSet<>();
+              playerIDLists.forEach(playerIDs::addAll);
+              PlayerDataStorage storage = PlayerDataStorage.getInstance();
+              return joinAll(playerIDs.stream().map(storage::get).toList());
+            })
+        .thenApply(
+            players ->
+                players.stream().filter(player -> !(player instanceof NoPlayerData)).toList());
+  }
+
+  /** Member IDs of a territory, loading its vassals if they are not in memory. */
+  private static CompletableFuture<List<String>> loadPlayerIDs(TerritoryData territory) {
+    if (!territory.canHaveVassals()) {
+      return CompletableFuture.completedFuture(List.copyOf(territory.getPlayerIDList()));
     }
-    return attackers;
+    return joinAll(territory.getVassalsID().stream().map(TerritoryUtil::getTerritoryAsync).toList())
+        .thenCompose(
+            vassals -> joinAll(vassals.stream().map(PlannedAttack::loadPlayerIDs).toList()))
+        .thenApply(
+            playerIDLists -> playerIDLists.stream().flatMap(Collection::stream).toList());
+  }
+
+  /** Wait for every future, keeping the non null results. */
+  private static <T> CompletableFuture<List<T>> joinAll(List<CompletableFuture<T>> futures) {
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+        .thenApply(
+            v -> futures.stream().map(CompletableFuture::join).filter(Objects::nonNull).toList());
   }
 
   public void broadCastMessageWithSound(FilledLang message, SoundEnum soundEnum) {
-    Collection<TerritoryData> territoryData = getAttackingTerritories();
-    territoryData.addAll(getDefendingTerritories());
-    for (TerritoryData territory : territoryData) {
+    AttackRoster current = getRoster();
+    for (TerritoryData territory : current.getAttackingTerritories()) {
+      territory.broadcastMessageWithSound(message, soundEnum);
+    }
+    for (TerritoryData territory : current.getDefendingTerritories()) {
       territory.broadcastMessageWithSound(message, soundEnum);
     }
   }
@@ -176,12 +269,18 @@ public class PlannedAttack {
     CurrentAttacksStorage.startAttack(this, startTime, endTime);
   }
 
-  public void addDefender(TerritoryData territory) {
+  public synchronized void addDefender(TerritoryData territory) {
     defendersID.add(territory.getID());
+    invalidateRoster();
+    PermissionDecisionCache.getInstance()
+        .invalidate(territory.getID(), PermissionDecisionCache.Category.WAR);
   }
 
-  public void addAttacker(TerritoryData territoryData) {
+  public synchronized void addAttacker(TerritoryData territoryData) {
     attackersID.add(territoryData.getID());
+    invalidateRoster();
+    PermissionDecisionCache.getInstance()
+        .invalidate(territoryData.getID(), PermissionDecisionCache.Category.WAR);
   }
 
   public ItemStack getAdminIcon(LangType langType) {
@@ -271,12 +370,13 @@ public class PlannedAttack {
     if (currentAttack != null) {
       currentAttack.end();
     }
-    for (TerritoryData territory : getAttackingTerritories()) {
-      territory.removePlannedAttack(this);
-    }
-    for (TerritoryData territory : getDefendingTerritories()) {
-      territory.removePlannedAttack(this);
-    }
+    loadBelligerents()
+        .thenAccept(
+            territories -> {
+              for (TerritoryData territory : territories) {
+                territory.removePlannedAttack(this);
+              }
+            });
     PlannedAttackStorage.getInstance().delete(this);
   }
 
@@ -288,6 +388,31 @@ public class PlannedAttack {
     return defendersID.contains(territoryConcerned.getID());
   }
 
+  /**
+   * @param territoryID The territory ID
+   * @return true if the territory defends in this attack, without loading any territory
+   */
+  public boolean isDefending(String territoryID) {
+    return defendersID.contains(territoryID);
+  }
+
+  /**
+   * Check that every attacking and defending territory is in memory. Missing ones are loaded in
+   * the background.
+   *
+   * @return true if the territories can be read without waiting for the database
+   */
+  public boolean areBelligerentsLoaded() {
+    boolean loaded = true;
+    for (String attackerID : attackersID) {
+      loaded &= TerritoryUtil.getTerritory(attackerID) != null;
+    }
+    for (String defenderID : defendersID) {
+      loaded &= TerritoryUtil.getTerritory(defenderID) != null;
+    }
+    return loaded;
+  }
+
   public WarRole getRole(ITanPlayer player) {
     List<TerritoryData> territories = player.getAllTerritoriesPlayerIsInSync();
     if (territories == null) return WarRole.NEUTRAL;
@@ -308,11 +433,14 @@ public class PlannedAttack {
     return WarRole.NEUTRAL;
   }
 
-  public void removeBelligerent(TerritoryData territory) {
+  public synchronized void removeBelligerent(TerritoryData territory) {
     String territoryID = territory.getID();
     // no need to check, it only removes if it is a part of it
     attackersID.remove(territoryID);
     defendersID.remove(territoryID);
+    invalidateRoster();
+    PermissionDecisionCache.getInstance()
+        .invalidate(territoryID, PermissionDecisionCache.Category.WAR);
   }
 
   public void territorySurrendered() {
@@ -358,16 +486,7 @@ public class PlannedAttack {
     this.name = message;
   }
 
-  public List<OfflinePlayer> getAllOfflinePlayers() {
-    List<ITanPlayer> res = new ArrayList<>(getDefendingPlayers());
-    res.addAll(getAttackersPlayers());
-    return res.stream().map(ITanPlayer::getOfflinePlayer).filter(Objects::nonNull).toList();
-  }
-
   public List<Player> getAllOnlinePlayers() {
-    return getAllOfflinePlayers().stream()
-        .map(OfflinePlayer::getPlayer)
-        .filter(Objects::nonNull)
-        .toList();
+    return getRoster().getOnlinePlayers();
   }
 }
@@ -0,0 +1,269 @@
+package org.leralix.tan.wars.capture;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.leralix.lib.position.Vector3D;
+import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
+import org.leralix.tan.dataclass.chunk.TerritoryChunk;
+import org.leralix.tan.dataclass.territory.TerritoryData;
+import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
+import org.leralix.tan.utils.collection.LongObjectHashMap;
+import org.leralix.tan.utils.constants.Constants;
+import org.leralix.tan.utils.territory.ChunkKey;
+import org.leralix.tan.wars.AttackRoster;
+import org.leralix.tan.wars.PlannedAttack;
+import org.leralix.tan.wars.fort.Fort;
+
+/**
+ * Capture state of one attack.
+ *
+ * <p>Each tick, the online participants of the attack roster are grouped by chunk once. Chunk
+ * captures are only resolved for the chunks holding participants, and forts are indexed by the
+ * chunks their capture radius reaches, so a tick costs O(participants + contested chunks) instead
+ * of O(participants x forts) plus a claim lookup per player.
+ */
+final class AttackCapture {
+
+  private final String attackID;
+  private final Map<TerritoryChunk, CaptureChunk> captures = new ConcurrentHashMap<>();
+  private final Map<String, CaptureFort> forts = new ConcurrentHashMap<>();
+
+  /** Forts by packed key of every chunk in their capture radius. */
+  private LongObjectHashMap<List<CaptureFort>> fortsByChunk = new LongObjectHashMap<>();
+
+  /** IDs of the forts in {@link #fortsByChunk}, null until the first index. */
+  private Set<String> indexedFortIDs;
+
+  private double indexedRadius = -1;
+
+  AttackCapture(String attackID) {
+    this.attackID = attackID;
+  }
+
+  void update(PlannedAttack attackData) {
+    TerritoryData mainAttacker = attackData.getWar().getMainAttacker();
+    TerritoryData mainDefender = attackData.getWar().getMainDefender();
+
+    AttackRoster roster = attackData.getRoster();
+    Map<UUID, LongObjectHashMap<ChunkParticipants>> participants = new HashMap<>();
+    groupByChunk(roster.getOnlineAttackers(), participants, true);
+    groupByChunk(roster.getOnlineDefenders(), participants, false);
+
+    updateForts(mainAttacker, mainDefender, participants);
+    updateChunks(mainAttacker, mainDefender, participants);
+  }
+
+  private static void groupByChunk(
+      Iterable<Player> players,
+      Map<UUID, LongObjectHashMap<ChunkParticipants>> participants,
+      boolean attacking) {
+    for (Player player : players) {
+      if (!player.isOnline()) {
+        continue;
+      }
+      Location location = player.getLocation();
+      LongObjectHashMap<ChunkParticipants> worldParticipants =
+          participants.computeIfAbsent(
+              location.getWorld().getUID(), id -> new LongObjectHashMap<>());
+      long key = ChunkKey.fromBlock(location.getBlockX(), location.getBlockZ());
+      ChunkParticipants chunkParticipants = worldParticipants.get(key);
+      if (chunkParticipants == null) {
+        chunkParticipants = new ChunkParticipants();
+        worldParticipants.put(key, chunkParticipants);
+      }
+      chunkParticipants.add(player, location, attacking);
+    }
+  }
+
+  private void updateForts(
+      TerritoryData mainAttacker,
+      TerritoryData mainDefender,
+      Map<UUID, LongObjectHashMap<ChunkParticipants>> participants) {
+    Set<String> ownedFortIDs = new HashSet<>();
+    for (Fort fortAtWar : mainDefender.getOwnedForts()) {
+      ownedFortIDs.add(fortAtWar.getID());
+      forts.computeIfAbsent(
+          fortAtWar.getID(), id -> new CaptureFort(fortAtWar, mainAttacker, attackID));
+    }
+    // Forts destroyed or lost by the defender since the last tick
+    forts
+        .values()
+        .removeIf(
+            captureFort -> {
+              if (ownedFortIDs.contains(captureFort.getFort().getID())) {
+                return false;
+              }
+              captureFort.warOver();
+              return true;
+            });
+
+    double radius = Constants.getFortCaptureRadius();
+    if (!ownedFortIDs.equals(indexedFortIDs) || radius != indexedRadius) {
+      indexForts(ownedFortIDs, radius);
+    }
+
+    if (!forts.isEmpty()) {
+      for (LongObjectHashMap<ChunkParticipants> worldParticipants : participants.values()) {
+        worldParticipants.forEach(
+            (key, chunkParticipants) -> {
+              List<CaptureFort> candidates = fortsByChunk.get(key);
+              if (candidates != null) {
+                chunkParticipants.registerInForts(candidates, radius);
+              }
+            });
+      }
+    }
+
+    for (CaptureFort captureFort : forts.values()) {
+      captureFort.update();
+      captureFort.clearPlayers();
+    }
+  }
+
+  private void indexForts(Set<String> fortIDs, double radius) {
+    LongObjectHashMap<List<CaptureFort>> index = new LongObjectHashMap<>();
+    int reach = (int) Math.ceil(radius);
+    for (CaptureFort captureFort : forts.values()) {
+      Vector3D position = captureFort.getFort().getPosition();
+      for (int x = (position.getX() - reach) >> 4; x <= (position.getX() + reach) >> 4; x++) {
+        for (int z = (position.getZ() - reach) >> 4; z <= (position.getZ() + reach) >> 4; z++) {
+          long key = ChunkKey.pack(x, z);
+          List<CaptureFort> chunkForts = index.get(key);
+          if (chunkForts == null) {
+            chunkForts = new ArrayList<>(1);
+            index.put(key, chunkForts);
+          }
+          chunkForts.add(captureFort);
+        }
+      }
+    }
+    fortsByChunk = index;
+    indexedFortIDs = fortIDs;
+    indexedRadius = radius;
+  }
+
+  private void updateChunks(
+      TerritoryData mainAttacker,
+      TerritoryData mainDefender,
+      Map<UUID, LongObjectHashMap<ChunkParticipants>> participants) {
+    NewClaimedChunkStorage storage = NewClaimedChunkStorage.getInstance();
+    participants.forEach(
+        (worldID, worldParticipants) ->
+            worldParticipants.forEach(
+                (key, chunkParticipants) -> {
+                  ClaimedChunk2 claimedChunk =
+                      storage.getClaimOrNull(worldID, ChunkKey.getX(key), ChunkKey.getZ(key));
+                  if (!(claimedChunk instanceof TerritoryChunk territoryChunk)
+                      || !canBeCaptured(worldID, territoryChunk, mainAttacker, mainDefender)) {
+                    return;
+                  }
+
+                  // A chunk first reached by defenders only starts as held by the defender
+                  int initialScore = chunkParticipants.attackers.isEmpty() ? 100 : 0;
+                  CaptureChunk captureChunk =
+                      captures.computeIfAbsent(
+                          territoryChunk,
+                          chunk -> new CaptureChunk(initialScore, chunk, mainAttacker, attackID));
+                  for (Player attacker : chunkParticipants.attackers) {
+                    captureChunk.addAttacker(attacker);
+                  }
+                  for (Player defender : chunkParticipants.defenders) {
+                    captureChunk.addDefender(defender);
+                  }
+                  captureChunk.update();
+                  captureChunk.resetPlayers();
+                }));
+  }
+
+  /**
+   * Check if the claimed chunk can be captured by the main attacker of the attack. A claim can be
+   * captured only if it is owned by the main defender and is not surrounded by chunks held by the
+   * main defender, or if it is a chunk of the main attacker occupied by the main defender.
+   *
+   * @param worldID World of the claimed chunk
+   * @param territoryChunk The claimed chunk to check
+   * @param mainAttacker The main attacker of the attack
+   * @param mainDefender The main defender of the attack
+   * @return True if the claimed chunk can be captured, false otherwise
+   */
+  private static boolean canBeCaptured(
+      UUID worldID,
+      TerritoryChunk territoryChunk,
+      TerritoryData mainAttacker,
+      TerritoryData mainDefender) {
+    String ownerID = territoryChunk.getOwnerID();
+    String occupierID = territoryChunk.getOccupierID();
+
+    String defenderID = mainDefender.getID();
+    String attackerID = mainAttacker.getID();
+
+    if (ownerID.equals(attackerID) && occupierID.equals(defenderID)) {
+      return true;
+    }
+
+    if (!ownerID.equals(defenderID)) {
+      return false;
+    }
+
+    return !NewClaimedChunkStorage.getInstance()
+        .isAllAdjacentChunksClaimedBySameTerritory(
+            worldID, territoryChunk.getX(), territoryChunk.getZ(), defenderID);
+  }
+
+  /** Restitute every captured chunk and fort when the attack is over. */
+  void warOver() {
+    for (CaptureChunk captureChunk : captures.values()) {
+      captureChunk.warOver();
+    }
+    captures.clear();
+    for (CaptureFort captureFort : forts.values()) {
+      captureFort.warOver();
+    }
+    forts.clear();
+  }
+
+  /** Online participants standing in one chunk during a tick. */
+  private static final class ChunkParticipants {
+    private final List<Player> attackers = new ArrayList<>(2);
+    private final List<Location> attackerLocations = new ArrayList<>(2);
+    private final List<Player> defenders = new ArrayList<>(2);
+    private final List<Location> defenderLocations = new ArrayList<>(2);
+
+    private void add(Player player, Location location, boolean attacking) {
+      if (attacking) {
+        attackers.add(player);
+        attackerLocations.add(location);
+      } else {
+        defenders.add(player);
+        defenderLocations.add(location);
+      }
+    }
+
+    private void registerInForts(List<CaptureFort> candidates, double radius) {
+      for (int i = 0; i < attackers.size(); i++) {
+        Vector3D position = new Vector3D(attackerLocations.get(i));
+        for (CaptureFort captureFort : candidates) {
+          if (captureFort.getFort().getPosition().getDistance(position) < radius) {
+            captureFort.addAttacker(attackers.get(i));
+          }
+        }
+      }
+      for (int i = 0; i < defenders.size(); i++) {
+        Vector3D position = new Vector3D(defenderLocations.get(i));
+        for (CaptureFort captureFort : candidates) {
+          if (captureFort.getFort().getPosition().getDistance(position) < radius) {
+            captureFort.addDefender(defenders.get(i));
+          }
+        }
+      }
+    }
+  }
+}
@@ -8,6 +8,7 @@ import org.bukkit.entity.Player;
 import org.leralix.tan.dataclass.chunk.TerritoryChunk;
 import org.leralix.tan.dataclass.territory.TerritoryData;
 import org.leralix.tan.lang.Lang;
+import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
 import org.leralix.tan.utils.constants.Constants;
 import org.leralix.tan.wars.fort.Fort;
 
@@ -127,10 +128,16 @@ public class CaptureChunk {
 
     if (score < 0) {
       score = 0;
-      territoryChunk.liberate();
+      if (territoryChunk.isOccupied()) {
+        territoryChunk.liberate();
+        NewClaimedChunkStorage.getInstance().updateOccupier(territoryChunk);
+      }
     } else if (score > maxScore) {
       score = maxScore;
-      territoryChunk.setOccupier(mainAttacker);
+      if (!mainAttacker.getID().equals(territoryChunk.getOccupierID())) {
+        territoryChunk.setOccupier(mainAttacker);
+        NewClaimedChunkStorage.getInstance().updateOccupier(territoryChunk);
+      }
     }
   }
 
@@ -142,6 +149,9 @@ public class CaptureChunk {
   /** If the war is over, restitute the chunk to its original owner. */
   public void warOver() {
     resetPlayers();
-    territoryChunk.liberate();
+    if (territoryChunk.isOccupied()) {
+      territoryChunk.liberate();
+      NewClaimedChunkStorage.getInstance().updateOccupier(territoryChunk);
+    }
   }
 }
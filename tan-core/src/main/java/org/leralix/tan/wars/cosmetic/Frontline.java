@@ -0,0 +1,257 @@
+package org.leralix.tan.wars.cosmetic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
+import org.leralix.tan.dataclass.chunk.TerritoryChunk;
+import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
+import org.leralix.tan.utils.collection.LongObjectHashMap;
+import org.leralix.tan.utils.territory.ChunkKey;
+
+/**
+ * Frontline of an attack: the chunk edges between the chunks held by the main defender and any
+ * chunk it does not hold.
+ *
+ * <p>Each frontline chunk is stored with a mask of its frontline sides, bucketed per world on a
+ * grid of {@code 16x16} chunk cells. The set is built from the claim index on first use, then
+ * updated incrementally when a chunk is claimed, unclaimed, captured or liberated, so rendering is
+ * a range query over the few cells around a player and never reads the claim storage.
+ */
+public final class Frontline {
+
+  public static final int NORTH = 1;
+  public static final int SOUTH = 1 << 1;
+  public static final int EAST = 1 << 2;
+  public static final int WEST = 1 << 3;
+
+  /** Cells are {@code 1 << CELL_SHIFT} chunks wide. */
+  private static final int CELL_SHIFT = 4;
+
+  private final String defenderID;
+  private final Map<UUID, LongObjectHashMap<Cell>> cellsByWorld = new HashMap<>();
+  private boolean built;
+
+  public Frontline(String defenderID) {
+    this.defenderID = defenderID;
+  }
+
+  public String getDefenderID() {
+    return defenderID;
+  }
+
+  /**
+   * Update the frontline after the claim or occupier of a chunk changed. The chunk and its four
+   * neighbours are recomputed.
+   *
+   * @param worldID World of the chunk
+   * @param x Chunk X coordinate
+   * @param z Chunk Z coordinate
+   */
+  public synchronized void chunkChanged(UUID worldID, int x, int z) {
+    if (!built) {
+      // Built from the current claims on first use
+      return;
+    }
+    NewClaimedChunkStorage storage = NewClaimedChunkStorage.getInstance();
+    refresh(storage, worldID, x, z);
+    refresh(storage, worldID, x, z - 1);
+    refresh(storage, worldID, x, z + 1);
+    refresh(storage, worldID, x + 1, z);
+    refresh(storage, worldID, x - 1, z);
+  }
+
+  /**
+   * @return The frontline sides of a chunk, as a mask of {@link #NORTH}, {@link #SOUTH}, {@link
+   *     #EAST} and {@link #WEST}
+   */
+  public synchronized int getSides(UUID worldID, int x, int z) {
+    ensureBuilt();
+    LongObjectHashMap<Cell> cells = cellsByWorld.get(worldID);
+    if (cells == null) {
+      return 0;
+    }
+    Cell cell = cells.get(ChunkKey.pack(x >> CELL_SHIFT, z >> CELL_SHIFT));
+    return cell == null ? 0 : cell.get(ChunkKey.pack(x, z));
+  }
+
+  /**
+   * Append the frontline chunks within a circular radius around a chunk to a buffer.
+   *
+   * @param worldID World of the center chunk
+   * @param centerX Chunk X coordinate of the center
+   * @param centerZ Chunk Z coordinate of the center
+   * @param radius Radius, in chunks
+   * @param edges Buffer receiving the frontline chunks and their sides
+   */
+  public synchronized void collect(
+      UUID worldID, int centerX, int centerZ, int radius, Edges edges) {
+    ensureBuilt();
+    LongObjectHashMap<Cell> cells = cellsByWorld.get(worldID);
+    if (cells == null) {
+      return;
+    }
+    long maxDistance = (long) radius * radius;
+    for (int cellX = (centerX - radius) >> CELL_SHIFT;
+        cellX <= (centerX + radius) >> CELL_SHIFT;
+        cellX++) {
+      for (int cellZ = (centerZ - radius) >> CELL_SHIFT;
+          cellZ <= (centerZ + radius) >> CELL_SHIFT;
+          cellZ++) {
+        Cell cell = cells.get(ChunkKey.pack(cellX, cellZ));
+        if (cell == null) {
+          continue;
+        }
+        for (int i = 0; i < cell.size; i++) {
+          int x = ChunkKey.getX(cell.keys[i]);
+          int z = ChunkKey.getZ(cell.keys[i]);
+          long dx = x - centerX;
+          long dz = z - centerZ;
+          if (dx * dx + dz * dz <= maxDistance) {
+            edges.add(x, z, cell.sides[i]);
+          }
+        }
+      }
+    }
+  }
+
+  private void ensureBuilt() {
+    if (built) {
+      return;
+    }
+    NewClaimedChunkStorage storage = NewClaimedChunkStorage.getInstance();
+    List<TerritoryChunk> held = new ArrayList<>();
+    storage.forEachClaim(
+        claimedChunk -> {
+          if (isHeld(claimedChunk)) {
+            held.add((TerritoryChunk) claimedChunk);
+          }
+        });
+    for (TerritoryChunk territoryChunk : held) {
+      refresh(
+          storage,
+          UUID.fromString(territoryChunk.getWorldUUID()),
+          territoryChunk.getX(),
+          territoryChunk.getZ());
+    }
+    built = true;
+  }
+
+  private void refresh(NewClaimedChunkStorage storage, UUID worldID, int x, int z) {
+    int sides = 0;
+    if (isHeld(storage.getClaimOrNull(worldID, x, z))) {
+      if (!isHeld(storage.getClaimOrNull(worldID, x, z - 1))) sides |= NORTH;
+      if (!isHeld(storage.getClaimOrNull(worldID, x, z + 1))) sides |= SOUTH;
+      if (!isHeld(storage.getClaimOrNull(worldID, x + 1, z))) sides |= EAST;
+      if (!isHeld(storage.getClaimOrNull(worldID, x - 1, z))) sides |= WEST;
+    }
+
+    long cellKey = ChunkKey.pack(x >> CELL_SHIFT, z >> CELL_SHIFT);
+    LongObjectHashMap<Cell> cells = cellsByWorld.get(worldID);
+    Cell cell = cells == null ? null : cells.get(cellKey);
+    if (sides == 0) {
+      if (cell != null && cell.remove(ChunkKey.pack(x, z)) && cell.size == 0) {
+        cells.remove(cellKey);
+      }
+      return;
+    }
+    if (cell == null) {
+      cell = new Cell();
+      cellsByWorld.computeIfAbsent(worldID, id -> new LongObjectHashMap<>()).put(cellKey, cell);
+    }
+    cell.set(ChunkKey.pack(x, z), (byte) sides);
+  }
+
+  private boolean isHeld(ClaimedChunk2 claimedChunk) {
+    return claimedChunk instanceof TerritoryChunk territoryChunk
+        && defenderID.equals(territoryChunk.getOccupierID());
+  }
+
+  /** Frontline chunks of one cell, in small parallel arrays. */
+  private static final class Cell {
+    private long[] keys = new long[8];
+    private byte[] sides = new byte[8];
+    private int size;
+
+    private int indexOf(long key) {
+      for (int i = 0; i < size; i++) {
+        if (keys[i] == key) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private int get(long key) {
+      int index = indexOf(key);
+      return index < 0 ? 0 : sides[index];
+    }
+
+    private void set(long key, byte chunkSides) {
+      int index = indexOf(key);
+      if (index < 0) {
+        if (size == keys.length) {
+          keys = Arrays.copyOf(keys, size * 2);
+          sides = Arrays.copyOf(sides, size * 2);
+        }
+        index = size++;
+        keys[index] = key;
+      }
+      sides[index] = chunkSides;
+    }
+
+    private boolean remove(long key) {
+      int index = indexOf(key);
+      if (index < 0) {
+        return false;
+      }
+      size--;
+      keys[index] = keys[size];
+      sides[index] = sides[size];
+      return true;
+    }
+  }
+
+  /** Reusable buffer of frontline chunks returned by a range query. */
+  public static final class Edges {
+    private int[] xs = new int[64];
+    private int[] zs = new int[64];
+    private byte[] sides = new byte[64];
+    private int size;
+
+    public void clear() {
+      size = 0;
+    }
+
+    public int size() {
+      return size;
+    }
+
+    public int getX(int index) {
+      return xs[index];
+    }
+
+    public int getZ(int index) {
+      return zs[index];
+    }
+
+    public int getSides(int index) {
+      return sides[index];
+    }
+
+    void add(int x, int z, byte chunkSides) {
+      if (size == xs.length) {
+        xs = Arrays.copyOf(xs, size * 2);
+        zs = Arrays.copyOf(zs, size * 2);
+        sides = Arrays.copyOf(sides, size * 2);
+      }
+      xs[size] = x;
+      zs[size] = z;
+      sides[size] = chunkSides;
+      size++;
+    }
+  }
+}
@@ -2,200 +2,103 @@ package org.leralix.tan.wars.cosmetic;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.leralix.lib.position.CardinalPoint;
-import org.leralix.lib.position.Vector2D;
-import org.leralix.lib.position.Vector3D;
-import org.leralix.lib.utils.particles.ParticleUtils;
-import org.leralix.tan.TownsAndNations;
-import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
-import org.leralix.tan.dataclass.chunk.TerritoryChunk;
-import org.leralix.tan.dataclass.territory.TerritoryData;
-import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
-import org.leralix.tan.storage.stored.PlayerDataStorage;
+import org.leralix.tan.storage.CurrentAttacksStorage;
 import org.leralix.tan.utils.constants.Constants;
-import org.leralix.tan.utils.territory.ChunkUtil;
+import org.leralix.tan.utils.graphic.BoundaryRenderer;
 import org.leralix.tan.wars.legacy.CurrentAttack;
 
 public class ShowBoundaries {
 
-  public static void display(Player player) {
-
-    PlayerDataStorage.getInstance()
-        .get(player)
-        .thenAccept(
-            tanPlayer -> {
-              tanPlayer
-                  .getCurrentAttacks()
-                  .thenAccept(
-                      attacks -> {
-                        if (attacks.isEmpty()) {
-                          return;
-                        }
-                        double radius = Constants.getWarBoundaryRadius();
-                        List<ClaimedChunk2> chunkInRange =
-                            ChunkUtil.getChunksInRadius(player.getChunk(), radius);
-
-                        List<ChunkLine> lines = sortChunkLines(chunkInRange, attacks);
-
-                        drawLines(player, lines);
-                      })
-                  .exceptionally(
-                      ex -> {
-                        TownsAndNations.getPlugin()
-                            .getLogger()
-                            .severe(
-                                "Error retrieving current attacks for "
-                                    + player.getName()
-                                    + ": "
-                                    + ex.getMessage());
-                        return null;
-                      });
-            })
-        .exceptionally(
-            ex -> {
-              TownsAndNations.getPlugin()
-                  .getLogger()
-                  .severe(
-                      "Error retrieving player data for "
-                          + player.getName()
-                          + ": "
-                          + ex.getMessage());
-              return null;
-            });
-  }
-
-  static void drawLines(Player player, List<ChunkLine> lines) {
-
-    int y = (int) player.getLocation().getY() + 1;
+  /** Frontline buffer of each thread rendering boundaries, reused between displays. */
+  private static final ThreadLocal<Frontline.Edges> EDGES =
+      ThreadLocal.withInitial(Frontline.Edges::new);
 
-    for (ChunkLine line : lines) {
-      ParticleUtils.drawPane(
-          TownsAndNations.getPlugin(),
-          player,
-          new Vector3D(
-              line.getPoint1().getX(),
-              y,
-              line.getPoint1().getZ(),
-              line.getPoint1().getWorldID().toString()),
-          new Vector3D(
-              line.getPoint2().getX(),
-              y - 1,
-              line.getPoint2().getZ(),
-              line.getPoint2().getWorldID().toString()),
-          1,
-          Constants.getWarBoundaryParticle());
+  public static void display(Player player) {
+    List<CurrentAttack> attacks = getAttacksOf(player);
+    if (attacks.isEmpty()) {
+      return;
     }
+    Location location = player.getLocation();
+    UUID worldID = location.getWorld().getUID();
+    int radius = (int) Math.ceil(Constants.getWarBoundaryRadius());
+
+    Frontline.Edges edges = EDGES.get();
+    edges.clear();
+    collectEdges(
+        attacks, worldID, location.getBlockX() >> 4, location.getBlockZ() >> 4, radius, edges);
+
+    BoundaryRenderer.getInstance()
+        .submit(
+            player,
+            BoundaryRenderer.Source.WAR_BOUNDARY,
+            Constants.getWarBoundaryParticle(),
+            toSegments(edges, (int) location.getY() + 1));
   }
 
-  static List<ChunkLine> sortChunkLines(
-      List<ClaimedChunk2> chunkInRange, List<CurrentAttack> attacks) {
-    List<ChunkLine> res = new ArrayList<>();
-
-    for (ClaimedChunk2 centerChunk : chunkInRange) {
-      if (centerChunk instanceof TerritoryChunk territoryChunk) {
-        Vector2D centerChunkPosition = centerChunk.getVector2D();
-
-        // NORTH
-        ClaimedChunk2 northChunk =
-            NewClaimedChunkStorage.getInstance()
-                .get(
-                    centerChunkPosition.getX(),
-                    centerChunkPosition.getZ() - 1,
-                    centerChunkPosition.getWorldID().toString());
-        if (isFrontline(territoryChunk, northChunk, attacks)) {
-          res.add(getChunkLine(centerChunkPosition, CardinalPoint.NORTH));
-        }
-
-        // SOUTH
-        ClaimedChunk2 southChunk =
-            NewClaimedChunkStorage.getInstance()
-                .get(
-                    centerChunkPosition.getX(),
-                    centerChunkPosition.getZ() + 1,
-                    centerChunkPosition.getWorldID().toString());
-        if (isFrontline(territoryChunk, southChunk, attacks)) {
-          res.add(getChunkLine(centerChunkPosition, CardinalPoint.SOUTH));
-        }
-
-        // EAST
-        ClaimedChunk2 eastChunk =
-            NewClaimedChunkStorage.getInstance()
-                .get(
-                    centerChunkPosition.getX() + 1,
-                    centerChunkPosition.getZ(),
-                    centerChunkPosition.getWorldID().toString());
-        if (isFrontline(territoryChunk, eastChunk, attacks)) {
-          res.add(getChunkLine(centerChunkPosition, CardinalPoint.EAST));
-        }
-
-        // WEST
-        ClaimedChunk2 westChunk =
-            NewClaimedChunkStorage.getInstance()
-                .get(
-                    centerChunkPosition.getX() - 1,
-                    centerChunkPosition.getZ(),
-                    centerChunkPosition.getWorldID().toString());
-        if (isFrontline(territoryChunk, westChunk, attacks)) {
-          res.add(getChunkLine(centerChunkPosition, CardinalPoint.WEST));
-        }
+  /**
+   * @return The running attacks the player takes part in, read from the attack rosters
+   */
+  static List<CurrentAttack> getAttacksOf(Player player) {
+    UUID playerID = player.getUniqueId();
+    List<CurrentAttack> attacks = new ArrayList<>();
+    for (CurrentAttack currentAttack : CurrentAttacksStorage.getAll()) {
+      if (currentAttack.getAttackData().getRoster().isParticipant(playerID)) {
+        attacks.add(currentAttack);
       }
     }
-    return res;
+    return attacks;
   }
 
-  static ChunkLine getChunkLine(Vector2D centerChunk, CardinalPoint dir) {
-
-    int baseX = centerChunk.getX() * 16;
-    int baseZ = centerChunk.getZ() * 16;
-
-    String worldID = centerChunk.getWorldID().toString();
-
-    Vector2D start, end;
-    switch (dir) {
-      case NORTH -> {
-        start = new Vector2D(baseX, baseZ, worldID);
-        end = new Vector2D(baseX + 16, baseZ, worldID);
-      }
-      case SOUTH -> {
-        start = new Vector2D(baseX, baseZ + 16, worldID);
-        end = new Vector2D(baseX + 16, baseZ + 16, worldID);
-      }
-      case EAST -> {
-        start = new Vector2D(baseX + 16, baseZ, worldID);
-        end = new Vector2D(baseX + 16, baseZ + 16, worldID);
+  /** Collect the frontline chunks around a chunk, once per main defender. */
+  static void collectEdges(
+      List<CurrentAttack> attacks,
+      UUID worldID,
+      int chunkX,
+      int chunkZ,
+      int radius,
+      Frontline.Edges edges) {
+    for (int i = 0; i < attacks.size(); i++) {
+      Frontline frontline = attacks.get(i).getFrontline();
+      if (!isFirstFrontlineOf(attacks, i, frontline.getDefenderID())) {
+        continue;
       }
-      case WEST -> {
-        start = new Vector2D(baseX, baseZ, worldID);
-        end = new Vector2D(baseX, baseZ + 16, worldID);
-      }
-      default -> throw new IllegalStateException("Unexpected value: " + dir);
+      frontline.collect(worldID, chunkX, chunkZ, radius, edges);
     }
-
-    return new ChunkLine(start, end);
   }
 
-  private static boolean isFrontline(
-      TerritoryChunk centerChunk, ClaimedChunk2 chunkToCompare, List<CurrentAttack> attacks) {
-
-    if (chunkToCompare == null) {
-      return false;
+  private static boolean isFirstFrontlineOf(
+      List<CurrentAttack> attacks, int index, String defenderID) {
+    for (int i = 0; i < index; i++) {
+      if (attacks.get(i).getFrontline().getDefenderID().equals(defenderID)) {
+        return false;
+      }
     }
+    return true;
+  }
 
-    TerritoryData occupier = centerChunk.getOccupier();
-
-    for (CurrentAttack attackData : attacks) {
-      // If chunk is at war, a frontline apprears if the other chunk is not occupied by the same
-      // town
-      if (attackData.getAttackData().getWar().isMainDefender(occupier)) {
-        if (chunkToCompare instanceof TerritoryChunk territoryChunk
-            && territoryChunk.getOccupierID().equals(occupier.getID())) {
-          return false;
-        }
-        return true;
+  /** Turn frontline sides into panes one block high, at the height of the player. */
+  static BoundaryRenderer.Segments toSegments(Frontline.Edges edges, int y) {
+    BoundaryRenderer.Segments segments = new BoundaryRenderer.Segments();
+    for (int i = 0; i < edges.size(); i++) {
+      int baseX = edges.getX(i) * 16;
+      int baseZ = edges.getZ(i) * 16;
+      int sides = edges.getSides(i);
+      if ((sides & Frontline.NORTH) != 0) {
+        segments.add(baseX, y - 1, baseZ, baseX + 16, y, baseZ);
+      }
+      if ((sides & Frontline.SOUTH) != 0) {
+        segments.add(baseX, y - 1, baseZ + 16, baseX + 16, y, baseZ + 16);
+      }
+      if ((sides & Frontline.EAST) != 0) {
+        segments.add(baseX + 16, y - 1, baseZ, baseX + 16, y, baseZ + 16);
+      }
+      if ((sides & Frontline.WEST) != 0) {
+        segments.add(baseX, y - 1, baseZ, baseX, y, baseZ + 16);
       }
     }
-
-    return false;
+    return segments;
   }
 }
@@ -13,11 +13,15 @@ import org.leralix.tan.storage.CurrentAttacksStorage;
 import org.leralix.tan.utils.FoliaScheduler;
 import org.leralix.tan.utils.gameplay.CommandExecutor;
 import org.leralix.tan.wars.PlannedAttack;
+import org.leralix.tan.wars.cosmetic.Frontline;
 import org.leralix.tan.wars.cosmetic.ShowBoundaries;
 
 public class CurrentAttack {
 
   private final PlannedAttack attackData;
+
+  /** Frontline of the main defender, shown to the participants. */
+  private final Frontline frontline;
   private boolean end;
 
   /** total time, in tick */
@@ -32,6 +36,7 @@ public class CurrentAttack {
   public CurrentAttack(PlannedAttack plannedAttack, long startTime, long endTime) {
 
     this.attackData = plannedAttack;
+    this.frontline = new Frontline(plannedAttack.getWar().getMainDefenderID());
 
     this.end = false;
 
@@ -41,23 +46,17 @@ public class CurrentAttack {
 
     this.bossBar = Bukkit.createBossBar("", BarColor.RED, BarStyle.SOLID);
 
-    for (TerritoryData territoryData : plannedAttack.getAttackingTerritories()) {
-      for (ITanPlayer tanPlayer : territoryData.getITanPlayerList()) {
-        tanPlayer.addWar(this);
-        Player player = tanPlayer.getPlayer();
-        if (player != null) {
-          bossBar.addPlayer(player);
-        }
-      }
-    }
-    for (TerritoryData territoryData : plannedAttack.getDefendingTerritories()) {
-      for (ITanPlayer tanPlayer : territoryData.getITanPlayerList()) {
-        tanPlayer.addWar(this);
-        Player player = tanPlayer.getPlayer();
-        if (player != null) {
-          bossBar.addPlayer(player);
-        }
-      }
+    // Every participant is marked, not only those in memory, so the mark is removed at the end
+    plannedAttack
+        .loadParticipants()
+        .thenAccept(
+            participants -> {
+              for (ITanPlayer tanPlayer : participants) {
+                tanPlayer.addWar(this);
+              }
+            });
+    for (Player player : plannedAttack.getRoster().getOnlinePlayers()) {
+      bossBar.addPlayer(player);
     }
     CommandExecutor.applyStartWarCommands(getAttackData());
     start();
@@ -106,53 +105,45 @@ public class CurrentAttack {
     FoliaScheduler.runTaskLater(
         TownsAndNations.getPlugin(),
         () -> {
-          for (TerritoryData territoryData : attackData.getAttackingTerritories()) {
-            for (ITanPlayer tanPlayer : territoryData.getITanPlayerList()) {
-              tanPlayer.removeWar(CurrentAttack.this);
-            }
-          }
-          for (TerritoryData territoryData : attackData.getDefendingTerritories()) {
-            for (ITanPlayer tanPlayer : territoryData.getITanPlayerList()) {
-              tanPlayer.removeWar(CurrentAttack.this);
-            }
-          }
+          attackData
+              .loadParticipants()
+              .thenAccept(
+                  participants -> {
+                    for (ITanPlayer tanPlayer : participants) {
+                      tanPlayer.removeWar(CurrentAttack.this);
+                    }
+                  });
 
           bossBar.removeAll();
           CurrentAttacksStorage.remove(CurrentAttack.this);
 
-          for (TerritoryData territoryData : attackData.getAttackingTerritories()) {
-            territoryData.removeCurrentAttack(CurrentAttack.this);
-          }
-          for (TerritoryData territoryData : attackData.getDefendingTerritories()) {
-            territoryData.removeCurrentAttack(CurrentAttack.this);
-          }
+          attackData
+              .loadBelligerents()
+              .thenAccept(
+                  territories -> {
+                    for (TerritoryData territoryData : territories) {
+                      territoryData.removeCurrentAttack(CurrentAttack.this);
+                    }
+                  });
         },
         20L * 20); // Still showing the boss bar for 20s
   }
 
   public boolean containsPlayer(ITanPlayer tanPlayer) {
-    for (TerritoryData territoryData : attackData.getAttackingTerritories()) {
-      if (territoryData.isPlayerIn(tanPlayer)) {
-        return true;
-      }
-    }
-    for (TerritoryData territoryData : attackData.getDefendingTerritories()) {
-      if (territoryData.isPlayerIn(tanPlayer)) {
-        return true;
-      }
-    }
-    return false;
+    return attackData.getRoster().isParticipant(tanPlayer.getUUID());
   }
 
   public PlannedAttack getAttackData() {
     return attackData;
   }
 
+  public Frontline getFrontline() {
+    return frontline;
+  }
+
   public void displayBoundaries() {
     for (Player player : attackData.getAllOnlinePlayers()) {
-      if (player != null) {
-        ShowBoundaries.display(player);
-      }
+      ShowBoundaries.display(player);
     }
   }
 }
@@ -9,6 +9,7 @@ import org.leralix.lib.SphereLib;
 import org.leralix.tan.TownsAndNations;
 import org.leralix.tan.dataclass.ITanPlayer;
 import org.leralix.tan.dataclass.RankData;
+import org.leralix.tan.enums.TownRelation;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
 import org.leralix.tan.storage.stored.RegionDataStorage;
 import org.leralix.tan.storage.stored.TownDataStorage;
@@ -70,6 +71,34 @@ class RegionDataTest {
     assertSame(regionData, newTown.getOverlord().get());
   }
 
+  @Test
+  void testRelationFollowsVassalisation() {
+
+    ITanPlayer tanPlayer = PlayerDataStorage.getInstance().get(server.addPlayer()).join();
+    TownData townData = TownDataStorage.getInstance().newTown("FirstTown", tanPlayer).join();
+    RegionData regionData =
+        RegionDataStorage.getInstance().createNewRegion("testRegion", townData).join();
+    TownData newTown = TownDataStorage.getInstance().newTown("secondTown").join();
+
+    assertEquals(TownRelation.SELF, regionData.getRelationWith(regionData));
+    assertEquals(TownRelation.NEUTRAL, regionData.getRelationWith(newTown));
+
+    newTown.setOverlord(regionData);
+
+    assertEquals(TownRelation.OVERLORD, newTown.getRelationWith(regionData));
+    assertEquals(TownRelation.VASSAL, regionData.getRelationWith(newTown));
+
+    newTown.removeOverlord();
+
+    assertEquals(TownRelation.NEUTRAL, newTown.getRelationWith(regionData));
+    assertEquals(TownRelation.NEUTRAL, regionData.getRelationWith(newTown));
+
+    newTown.setRelation(townData, TownRelation.ALLIANCE);
+
+    assertEquals(TownRelation.ALLIANCE, newTown.getRelationWith(townData));
+    assertEquals(TownRelation.ALLIANCE, townData.getRelationWith(newTown));
+  }
+
   @Test
   void getAllPlayer() {
 
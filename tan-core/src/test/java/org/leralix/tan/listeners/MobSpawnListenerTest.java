@@ -13,6 +13,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.leralix.lib.SphereLib;
 import org.leralix.tan.TownsAndNations;
+import org.leralix.tan.dataclass.ClaimedChunkSettings;
+import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.enums.MobChunkSpawnEnum;
+import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
+import org.leralix.tan.storage.stored.TownDataStorage;
 import org.mockbukkit.mockbukkit.MockBukkit;
 import org.mockbukkit.mockbukkit.ServerMock;
 
@@ -77,6 +82,37 @@ class MobSpawnListenerTest {
     assertDoesNotThrow(() -> listener.entitySpawn(event));
   }
 
+  // ==================== Claimed Chunk Tests ====================
+
+  @Test
+  void entitySpawn_inClaimedChunk_followsSpawnControl() {
+    TownData townData = TownDataStorage.getInstance().newTown("town").join();
+    NewClaimedChunkStorage.getInstance().claimTownChunk(world.getChunkAt(0, 0), townData.getID());
+    ClaimedChunkSettings chunkSettings = townData.getChunkSettings();
+    Location location = new Location(world, 8, 64, 8);
+
+    EntitySpawnEvent zombieEvent = new EntitySpawnEvent(world.spawn(location, Zombie.class));
+    listener.entitySpawn(zombieEvent);
+    assertFalse(zombieEvent.isCancelled());
+
+    chunkSettings.unlockSpawnControl(MobChunkSpawnEnum.ZOMBIE);
+    chunkSettings.setSpawnActivated(MobChunkSpawnEnum.ZOMBIE, false);
+
+    zombieEvent = new EntitySpawnEvent(world.spawn(location, Zombie.class));
+    listener.entitySpawn(zombieEvent);
+    assertTrue(zombieEvent.isCancelled());
+
+    EntitySpawnEvent cowEvent = new EntitySpawnEvent(world.spawn(location, Cow.class));
+    listener.entitySpawn(cowEvent);
+    assertFalse(cowEvent.isCancelled());
+
+    chunkSettings.setSpawnActivated(MobChunkSpawnEnum.ZOMBIE, true);
+
+    zombieEvent = new EntitySpawnEvent(world.spawn(location, Zombie.class));
+    listener.entitySpawn(zombieEvent);
+    assertFalse(zombieEvent.isCancelled());
+  }
+
   // ==================== Multiple Spawns Tests ====================
 
   @Test
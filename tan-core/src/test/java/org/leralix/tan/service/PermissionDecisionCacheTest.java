@@ -0,0 +1,120 @@
+package org.leralix.tan.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.leralix.tan.enums.permissions.ChunkPermissionType;
+
+/** Unit tests for PermissionDecisionCache. */
+class PermissionDecisionCacheTest {
+
+  private final UUID playerID = UUID.randomUUID();
+
+  @AfterEach
+  void tearDown() {
+    PermissionDecisionCache.reset();
+  }
+
+  @Test
+  void get_nothingCached_returnsUnknown() {
+    PermissionDecisionCache cache = PermissionDecisionCache.getInstance();
+
+    assertEquals(
+        PermissionDecisionCache.UNKNOWN,
+        cache.get(playerID, "T1", ChunkPermissionType.BREAK_BLOCK));
+    assertEquals(PermissionDecisionCache.UNKNOWN, cache.getWar(playerID, "T1"));
+  }
+
+  @Test
+  void put_sameEpoch_keepsDecisionsPerPermission() {
+    PermissionDecisionCache cache = PermissionDecisionCache.getInstance();
+    long epoch = cache.getEpoch("T1");
+
+    cache.put(playerID, "T1", ChunkPermissionType.BREAK_BLOCK, true, epoch);
+    cache.put(playerID, "T1", ChunkPermissionType.PLACE_BLOCK, false, epoch);
+    cache.putWar(playerID, "T1", false, cache.getWarEpoch("T1"));
+
+    assertEquals(
+        PermissionDecisionCache.ALLOW, cache.get(playerID, "T1", ChunkPermissionType.BREAK_BLOCK));
+    assertEquals(
+        PermissionDecisionCache.DENY, cache.get(playerID, "T1", ChunkPermissionType.PLACE_BLOCK));
+    assertEquals(PermissionDecisionCache.DENY, cache.getWar(playerID, "T1"));
+    assertEquals(
+        PermissionDecisionCache.UNKNOWN,
+        cache.get(playerID, "T2", ChunkPermissionType.BREAK_BLOCK));
+  }
+
+  @Test
+  void invalidate_makesTerritoryDecisionsStale() {
+    PermissionDecisionCache cache = PermissionDecisionCache.getInstance();
+    cache.put(playerID, "T1", ChunkPermissionType.BREAK_BLOCK, true, cache.getEpoch("T1"));
+
+    cache.invalidate("T1", PermissionDecisionCache.Category.PERMISSION);
+
+    assertEquals(
+        PermissionDecisionCache.UNKNOWN,
+        cache.get(playerID, "T1", ChunkPermissionType.BREAK_BLOCK));
+
+    cache.put(playerID, "T1", ChunkPermissionType.BREAK_BLOCK, false, cache.getEpoch("T1"));
+
+    assertEquals(
+        PermissionDecisionCache.DENY, cache.get(playerID, "T1", ChunkPermissionType.BREAK_BLOCK));
+  }
+
+  @Test
+  void invalidate_otherTerritory_keepsDecisions() {
+    PermissionDecisionCache cache = PermissionDecisionCache.getInstance();
+    cache.put(playerID, "T1", ChunkPermissionType.BREAK_BLOCK, true, cache.getEpoch("T1"));
+    cache.putWar(playerID, "T1", false, cache.getWarEpoch("T1"));
+
+    cache.invalidate("T2", PermissionDecisionCache.Category.RELATION);
+    cache.invalidate("T2", PermissionDecisionCache.Category.WAR);
+
+    assertEquals(
+        PermissionDecisionCache.ALLOW, cache.get(playerID, "T1", ChunkPermissionType.BREAK_BLOCK));
+    assertEquals(PermissionDecisionCache.DENY, cache.getWar(playerID, "T1"));
+  }
+
+  @Test
+  void invalidate_rank_keepsWarDecision() {
+    PermissionDecisionCache cache = PermissionDecisionCache.getInstance();
+    cache.put(playerID, "T1", ChunkPermissionType.BREAK_BLOCK, true, cache.getEpoch("T1"));
+    cache.putWar(playerID, "T1", true, cache.getWarEpoch("T1"));
+
+    cache.invalidate("T1", PermissionDecisionCache.Category.RANK);
+
+    assertEquals(
+        PermissionDecisionCache.UNKNOWN,
+        cache.get(playerID, "T1", ChunkPermissionType.BREAK_BLOCK));
+    assertEquals(PermissionDecisionCache.ALLOW, cache.getWar(playerID, "T1"));
+
+    cache.invalidate("T1", PermissionDecisionCache.Category.WAR);
+
+    assertEquals(PermissionDecisionCache.UNKNOWN, cache.getWar(playerID, "T1"));
+  }
+
+  @Test
+  void put_computedBeforeInvalidation_isDropped() {
+    PermissionDecisionCache cache = PermissionDecisionCache.getInstance();
+    long epoch = cache.getEpoch("T1");
+
+    cache.invalidate("T1", PermissionDecisionCache.Category.PERMISSION);
+    cache.put(playerID, "T1", ChunkPermissionType.BREAK_BLOCK, true, epoch);
+
+    assertEquals(
+        PermissionDecisionCache.UNKNOWN,
+        cache.get(playerID, "T1", ChunkPermissionType.BREAK_BLOCK));
+  }
+
+  @Test
+  void forget_dropsPlayerDecisions() {
+    PermissionDecisionCache cache = PermissionDecisionCache.getInstance();
+    cache.putWar(playerID, "T1", true, cache.getWarEpoch("T1"));
+
+    cache.forget(playerID);
+
+    assertEquals(PermissionDecisionCache.UNKNOWN, cache.getWar(playerID, "T1"));
+  }
+}
@@ -0,0 +1,75 @@
+package org.leralix.tan.storage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+import org.leralix.tan.BasicTest;
+import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.PlayerAffiliation;
+import org.leralix.tan.dataclass.territory.RegionData;
+import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.enums.TownRelation;
+import org.leralix.tan.storage.stored.PlayerDataStorage;
+import org.leralix.tan.storage.stored.RegionDataStorage;
+import org.leralix.tan.storage.stored.TownDataStorage;
+
+/** Unit tests for PlayerAffiliationStorage. */
+class PlayerAffiliationStorageTest extends BasicTest {
+
+  @Test
+  void refresh_followsTownAndRegionMembership() {
+    Player player = server.addPlayer();
+    ITanPlayer tanPlayer = PlayerDataStorage.getInstance().get(player).join();
+    PlayerAffiliationStorage storage = PlayerAffiliationStorage.getInstance();
+    storage.track(tanPlayer);
+
+    assertNotNull(storage.get(player));
+    assertFalse(storage.get(player).hasTown());
+
+    TownData town = TownDataStorage.getInstance().newTown("town", tanPlayer).join();
+
+    assertEquals(town.getID(), storage.get(player).townID());
+    assertFalse(storage.get(player).hasRegion());
+
+    RegionData region = RegionDataStorage.getInstance().createNewRegion("region", town).join();
+
+    assertEquals(region.getID(), storage.get(player).regionID());
+
+    town.removeOverlord();
+
+    assertFalse(storage.get(player).hasRegion());
+  }
+
+  @Test
+  void getRelationWith_usesTownRelation() {
+    Player player1 = server.addPlayer();
+    Player player2 = server.addPlayer();
+    ITanPlayer tanPlayer1 = PlayerDataStorage.getInstance().get(player1).join();
+    ITanPlayer tanPlayer2 = PlayerDataStorage.getInstance().get(player2).join();
+    TownData town1 = TownDataStorage.getInstance().newTown("town1", tanPlayer1).join();
+    TownData town2 = TownDataStorage.getInstance().newTown("town2", tanPlayer2).join();
+    PlayerAffiliationStorage storage = PlayerAffiliationStorage.getInstance();
+    storage.track(tanPlayer1);
+    storage.track(tanPlayer2);
+
+    town1.setRelation(town2, TownRelation.EMBARGO);
+
+    PlayerAffiliation affiliation1 = storage.get(player1);
+    PlayerAffiliation affiliation2 = storage.get(player2);
+    assertEquals(TownRelation.EMBARGO, affiliation1.getRelationWith(affiliation2));
+  }
+
+  @Test
+  void remove_dropsSnapshot() {
+    Player player = server.addPlayer();
+    ITanPlayer tanPlayer = PlayerDataStorage.getInstance().get(player).join();
+    PlayerAffiliationStorage storage = PlayerAffiliationStorage.getInstance();
+    storage.track(tanPlayer);
+
+    storage.remove(player.getUniqueId());
+
+    assertNull(storage.get(player));
+    assertFalse(storage.getOrBuild(player).hasTown());
+  }
+}
@@ -0,0 +1,68 @@
+package org.leralix.tan.storage.blacklist;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for BlacklistIndex. */
+class BlacklistIndexTest {
+
+  @Test
+  void isBlacklisted_emptyIndex_returnsFalse() {
+    assertFalse(BlacklistIndex.EMPTY.isBlacklisted("world", 0, 0));
+  }
+
+  @Test
+  void isBlacklisted_blacklistedWorld_returnsTrueEverywhere() {
+    BlacklistIndex index = BlacklistIndex.compile(List.of(new BlackListWorld("world_nether")));
+
+    assertTrue(index.isBlacklisted("world_nether", 0, 0));
+    assertTrue(index.isBlacklisted("world_nether", -100_000, 100_000));
+    assertFalse(index.isBlacklisted("world", 0, 0));
+  }
+
+  @Test
+  void isBlacklisted_zone_includesBorders() {
+    BlacklistIndex index =
+        BlacklistIndex.compile(List.of(new BlackListZone("world", List.of(10, -5, -3, 20))));
+
+    assertTrue(index.isBlacklisted("world", -3, -5));
+    assertTrue(index.isBlacklisted("world", 10, 20));
+    assertTrue(index.isBlacklisted("world", 0, 0));
+    assertFalse(index.isBlacklisted("world", 11, 0));
+    assertFalse(index.isBlacklisted("world", 0, -6));
+    assertFalse(index.isBlacklisted("world_nether", 0, 0));
+  }
+
+  @Test
+  void isBlacklisted_largeZone_returnsTrue() {
+    BlacklistIndex index =
+        BlacklistIndex.compile(
+            List.of(new BlackListZone("world", List.of(-10_000, -10_000, 10_000, 10_000))));
+
+    assertTrue(index.isBlacklisted("world", 9_999, -9_999));
+    assertFalse(index.isBlacklisted("world", 10_001, 0));
+  }
+
+  @Test
+  void isBlacklisted_manyZones_matchesLinearCheck() {
+    List<IBlackList> zones =
+        List.of(
+            new BlackListZone("world", List.of(0, 0, 2, 2)),
+            new BlackListZone("world", List.of(100, 100, 140, 130)),
+            new BlackListZone("world", List.of(-50, 30, -40, 35)),
+            new BlackListZone("world", List.of(-2000, -2000, 2000, -1990)));
+    BlacklistIndex index = BlacklistIndex.compile(zones);
+
+    for (int x = -2100; x <= 2100; x += 7) {
+      for (int z = -2100; z <= 200; z += 3) {
+        boolean expected = false;
+        for (IBlackList zone : zones) {
+          expected |= ((BlackListZone) zone).contains(x, z);
+        }
+        assertEquals(expected, index.isBlacklisted("world", x, z), x + "," + z);
+      }
+    }
+  }
+}
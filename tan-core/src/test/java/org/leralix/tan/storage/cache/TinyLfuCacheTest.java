@@ -0,0 +1,144 @@
+package org.leralix.tan.storage.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for TinyLfuCache. */
+class TinyLfuCacheTest {
+
+  @Test
+  void get_missingKey_returnsNullAndCountsMiss() {
+    TinyLfuCache<String> cache = new TinyLfuCache<>(1000, 10);
+    assertNull(cache.get("a"));
+    assertEquals(1, cache.stats().misses());
+  }
+
+  @Test
+  void put_thenGet_returnsValueAndCountsHit() {
+    TinyLfuCache<String> cache = new TinyLfuCache<>(1000, 10);
+    cache.put("a", "value", 10);
+    assertEquals("value", cache.get("a"));
+    assertEquals(1, cache.stats().hits());
+    assertEquals(10, cache.weightedSize());
+  }
+
+  @Test
+  void put_existingKey_replacesValueAndWeight() {
+    TinyLfuCache<String> cache = new TinyLfuCache<>(1000, 10);
+    cache.put("a", "old", 10);
+    cache.put("a", "new", 30);
+    assertEquals("new", cache.peek("a"));
+    assertEquals(1, cache.size());
+    assertEquals(30, cache.weightedSize());
+  }
+
+  @Test
+  void put_overLimit_evictsToMaximumWeight() {
+    TinyLfuCache<Integer> cache = new TinyLfuCache<>(100, 10);
+    for (int i = 0; i < 50; i++) {
+      cache.put("key" + i, i, 10);
+    }
+    assertTrue(cache.weightedSize() <= 100);
+    assertEquals(10, cache.size());
+    assertEquals(40, cache.stats().evictions());
+    assertEquals(Integer.valueOf(49), cache.peek("key49"));
+  }
+
+  @Test
+  void put_heavierThanLimit_isRejected() {
+    TinyLfuCache<String> cache = new TinyLfuCache<>(100, 10);
+    cache.put("a", "small", 10);
+    cache.put("a", "huge", 200);
+    assertNull(cache.peek("a"));
+    assertEquals(0, cache.weightedSize());
+    assertEquals(1, cache.stats().rejections());
+  }
+
+  @Test
+  void putLoaded_scan_doesNotFlushHotEntries() {
+    TinyLfuCache<Integer> cache = new TinyLfuCache<>(1000, 10);
+    for (int i = 0; i < 100; i++) {
+      cache.put("hot" + i, i, 10);
+    }
+    for (int round = 0; round < 5; round++) {
+      for (int i = 0; i < 100; i++) {
+        cache.get("hot" + i);
+      }
+    }
+    for (int i = 0; i < 500; i++) {
+      cache.putLoaded("scan" + i, i, 10);
+    }
+    // The sketch is probabilistic: a scan key may collide with hot counters now and then
+    int survivors = 0;
+    for (int i = 0; i < 100; i++) {
+      if (cache.containsKey("hot" + i)) {
+        survivors++;
+      }
+    }
+    assertTrue(survivors >= 95, "Only " + survivors + " hot entries survived the scan");
+    assertTrue(cache.stats().rejections() >= 450);
+    assertTrue(cache.weightedSize() <= 1000);
+  }
+
+  @Test
+  void invalidateIf_removesMatchingEntries() {
+    TinyLfuCache<Integer> cache = new TinyLfuCache<>(1000, 10);
+    for (int i = 0; i < 10; i++) {
+      cache.put("key" + i, i, 10);
+    }
+    cache.invalidateIf(value -> value % 2 == 0);
+    assertEquals(5, cache.size());
+    assertEquals(50, cache.weightedSize());
+    assertNull(cache.peek("key0"));
+    assertEquals(Integer.valueOf(1), cache.peek("key1"));
+  }
+
+  @Test
+  void clear_resetsWeight() {
+    TinyLfuCache<Integer> cache = new TinyLfuCache<>(1000, 10);
+    cache.put("a", 1, 10);
+    cache.put("b", 2, 20);
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.weightedSize());
+  }
+
+  @Test
+  void concurrentWrites_keepWeightConsistent() throws InterruptedException {
+    TinyLfuCache<Integer> cache = new TinyLfuCache<>(500, 10);
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      int seed = t;
+      threads[t] =
+          new Thread(
+              () -> {
+                for (int i = 0; i < 20_000; i++) {
+                  String key = "key" + ((i * 31 + seed) % 200);
+                  switch (i % 4) {
+                    case 0 -> cache.invalidate(key);
+                    case 1 -> cache.putLoaded(key, i, 10);
+                    default -> cache.put(key, i, 10);
+                  }
+                  cache.get(key);
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(cache.size() * 10L, cache.weightedSize());
+    assertTrue(cache.weightedSize() <= 500);
+  }
+
+  @Test
+  void parseBytes_supportsUnits() {
+    assertEquals(512, CacheSize.parseBytes("512"));
+    assertEquals(512 * 1024, CacheSize.parseBytes("512KB"));
+    assertEquals(16L * 1024 * 1024, CacheSize.parseBytes("16mb"));
+    assertEquals(1024L * 1024 * 1024, CacheSize.parseBytes("1 GB"));
+    assertThrows(IllegalArgumentException.class, () -> CacheSize.parseBytes("lots"));
+    assertThrows(IllegalArgumentException.class, () -> CacheSize.parseBytes("0MB"));
+  }
+}
@@ -0,0 +1,92 @@
+package org.leralix.tan.storage.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.leralix.lib.position.Vector3D;
+import org.leralix.tan.BasicTest;
+import org.leralix.tan.dataclass.PropertyData;
+import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.storage.stored.TownDataStorage;
+
+/**
+ * Compares {@link PropertyIndex} point queries to the linear scan over every property. Only runs
+ * with {@code -Dtan.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "tan.benchmark", matches = "true")
+class PropertyIndexBenchmark extends BasicTest {
+
+  private static final int QUERIES = 200_000;
+  private static final int ROUNDS = 5;
+
+  @Test
+  void pointQueries_againstLinearScan() {
+    World world = server.addSimpleWorld("world");
+    TownData town = TownDataStorage.getInstance().newTown("town").join();
+    Random random = new Random(42);
+
+    for (int propertyCount : new int[] {10, 100, 1000}) {
+      List<PropertyData> properties = new ArrayList<>(propertyCount);
+      int side = (int) Math.ceil(Math.sqrt(propertyCount));
+      for (int i = 0; i < propertyCount; i++) {
+        // 8x8 plots on a 12 block grid, like the streets of a city
+        int x = (i % side) * 12;
+        int z = (i / side) * 12;
+        properties.add(
+            town.registerNewProperty(
+                new Vector3D(new Location(world, x, 60, z)),
+                new Vector3D(new Location(world, x + 7, 80, z + 7)),
+                town));
+      }
+      Location[] locations = new Location[QUERIES];
+      for (int i = 0; i < QUERIES; i++) {
+        locations[i] =
+            new Location(world, random.nextInt(side * 12), 70, random.nextInt(side * 12));
+      }
+      PropertyIndex index = PropertyIndex.of(properties);
+
+      long scanNanos = Long.MAX_VALUE;
+      long indexNanos = Long.MAX_VALUE;
+      for (int round = 0; round < ROUNDS; round++) {
+        long start = System.nanoTime();
+        int scanHits = 0;
+        for (Location location : locations) {
+          if (linearScan(properties, location) != null) scanHits++;
+        }
+        scanNanos = Math.min(scanNanos, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        int indexHits = 0;
+        for (Location location : locations) {
+          if (index.get(location) != null) indexHits++;
+        }
+        indexNanos = Math.min(indexNanos, System.nanoTime() - start);
+
+        assertEquals(scanHits, indexHits);
+      }
+
+      System.out.printf(
+          "%4d properties: linear scan %6.1f ns/query, index %6.1f ns/query%n",
+          propertyCount, (double) scanNanos / QUERIES, (double) indexNanos / QUERIES);
+
+      for (PropertyData propertyData : properties) {
+        town.removeProperty(propertyData);
+      }
+    }
+  }
+
+  private static PropertyData linearScan(List<PropertyData> properties, Location location) {
+    for (PropertyData propertyData : properties) {
+      if (propertyData.containsLocation(location)) {
+        return propertyData;
+      }
+    }
+    return null;
+  }
+}
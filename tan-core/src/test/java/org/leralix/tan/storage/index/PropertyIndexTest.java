@@ -0,0 +1,82 @@
+package org.leralix.tan.storage.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.leralix.lib.position.Vector3D;
+import org.leralix.tan.BasicTest;
+import org.leralix.tan.dataclass.PropertyData;
+import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.storage.stored.TownDataStorage;
+
+/** Unit tests for PropertyIndex. */
+class PropertyIndexTest extends BasicTest {
+
+  private World world;
+  private TownData town;
+
+  @Override
+  @BeforeEach
+  protected void setUp() {
+    super.setUp();
+    world = server.addSimpleWorld("world");
+    town = TownDataStorage.getInstance().newTown("town").join();
+  }
+
+  @Test
+  void get_insideProperty_returnsProperty() {
+    PropertyData property = register(2, 60, 2, 5, 65, 5);
+    PropertyIndex index = PropertyIndex.of(List.of(property));
+
+    assertSame(property, index.get(new Location(world, 2, 60, 2)));
+    assertSame(property, index.get(new Location(world, 5, 65, 5)));
+    assertSame(property, index.get(new Location(world, 3.5, 62, 4.5)));
+  }
+
+  @Test
+  void get_outsideProperty_returnsNull() {
+    PropertyData property = register(2, 60, 2, 5, 65, 5);
+    PropertyIndex index = PropertyIndex.of(List.of(property));
+
+    assertNull(index.get(new Location(world, 6, 62, 3)));
+    assertNull(index.get(new Location(world, 3, 66, 3)));
+    assertNull(index.get(new Location(world, 100, 62, 100)));
+  }
+
+  @Test
+  void get_propertyAcrossChunks_foundInEveryChunk() {
+    PropertyData property = register(-20, 0, 10, 20, 10, 40);
+    PropertyIndex index = PropertyIndex.of(List.of(property));
+
+    assertEquals(12, index.getChunkCount());
+    assertSame(property, index.get(new Location(world, -20, 5, 10)));
+    assertSame(property, index.get(new Location(world, -1, 5, 16)));
+    assertSame(property, index.get(new Location(world, 20, 5, 40)));
+    assertNull(index.get(new Location(world, -21, 5, 10)));
+  }
+
+  @Test
+  void getProperty_followsCreationAndDeletion() {
+    Location location = new Location(world, 10, 64, 10);
+    assertNull(town.getProperty(location));
+
+    PropertyData property = register(8, 60, 8, 12, 70, 12);
+
+    assertSame(property, town.getProperty(location));
+
+    town.removeProperty(property);
+
+    assertNull(town.getProperty(location));
+  }
+
+  private PropertyData register(int x1, int y1, int z1, int x2, int y2, int z2) {
+    return town.registerNewProperty(
+        new Vector3D(new Location(world, x1, y1, z1)),
+        new Vector3D(new Location(world, x2, y2, z2)),
+        town);
+  }
+}
@@ -0,0 +1,121 @@
+package org.leralix.tan.storage.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+import org.bukkit.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.leralix.tan.BasicTest;
+import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
+import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
+import org.leralix.tan.storage.stored.TownDataStorage;
+
+/** Unit tests for TerritoryConnectivity. */
+class TerritoryConnectivityTest extends BasicTest {
+
+  private World world;
+  private UUID worldID;
+  private TownData town;
+  private NewClaimedChunkStorage storage;
+
+  @Override
+  @BeforeEach
+  protected void setUp() {
+    super.setUp();
+    world = server.addSimpleWorld("world");
+    worldID = world.getUID();
+    town = TownDataStorage.getInstance().newTown("town").join();
+    storage = NewClaimedChunkStorage.getInstance();
+  }
+
+  private ClaimedChunk2 claim(int x, int z) {
+    return storage.claimTownChunk(world.getChunkAt(x, z), town.getID());
+  }
+
+  private TerritoryConnectivity connectivity() {
+    return storage.getConnectivity(town.getID());
+  }
+
+  @Test
+  void countNeighbours_square_countsOwnedNeighbours() {
+    for (int x = -1; x <= 1; x++) {
+      for (int z = -1; z <= 1; z++) {
+        claim(x, z);
+      }
+    }
+
+    assertEquals(8, connectivity().countNeighbours(worldID, 0, 0));
+    assertEquals(3, connectivity().countNeighbours(worldID, 1, 1));
+    assertEquals(-1, connectivity().countNeighbours(worldID, 5, 5));
+    assertFalse(connectivity().isBorder(worldID, 0, 0));
+    assertTrue(connectivity().isBorder(worldID, 1, 0));
+    assertEquals(8, connectivity().getBorderChunks().size());
+  }
+
+  @Test
+  void isConnected_diagonalChunks_areNotConnected() {
+    claim(0, 0);
+    claim(1, 1);
+
+    assertFalse(connectivity().isConnected(worldID, 0, 0, worldID, 1, 1));
+
+    claim(1, 0);
+
+    assertTrue(connectivity().isConnected(worldID, 0, 0, worldID, 1, 1));
+    assertEquals(3, connectivity().getAreaSize(worldID, 0, 0));
+  }
+
+  @Test
+  void unclaim_linkChunk_splitsArea() {
+    ClaimedChunk2 link = claim(0, 0);
+    claim(-1, 0);
+    claim(1, 0);
+    assertEquals(3, connectivity().getAreaSize(worldID, -1, 0));
+
+    storage.unclaimChunk(link);
+
+    assertFalse(connectivity().isConnected(worldID, -1, 0, worldID, 1, 0));
+    assertEquals(1, connectivity().getAreaSize(worldID, 1, 0));
+    assertEquals(1, connectivity().getArea(worldID, -1, 0).size());
+  }
+
+  @Test
+  void unclaim_chunkWithLinkedNeighbours_keepsArea() {
+    ClaimedChunk2 corner = claim(0, 0);
+    claim(1, 0);
+    claim(0, 1);
+    claim(1, 1);
+
+    storage.unclaimChunk(corner);
+
+    assertTrue(connectivity().isConnected(worldID, 1, 0, worldID, 0, 1));
+    assertEquals(3, connectivity().getAreaSize(worldID, 1, 1));
+  }
+
+  @Test
+  void unclaimAll_dropsConnectivity() {
+    claim(0, 0);
+    claim(0, 1);
+
+    storage.unclaimAllChunkFromID(town.getID());
+
+    assertEquals(0, connectivity().size());
+    assertFalse(connectivity().contains(worldID, 0, 0));
+  }
+
+  @Test
+  void mayDisconnect_neighbourRing() {
+    int north = 1;
+    int northEast = 1 << 1;
+    int east = 1 << 2;
+    int south = 1 << 4;
+
+    assertFalse(TerritoryConnectivity.mayDisconnect(north));
+    assertFalse(TerritoryConnectivity.mayDisconnect(north | northEast | east));
+    assertTrue(TerritoryConnectivity.mayDisconnect(north | east));
+    assertTrue(TerritoryConnectivity.mayDisconnect(north | south));
+    assertFalse(TerritoryConnectivity.mayDisconnect(0xFF));
+  }
+}
@@ -0,0 +1,99 @@
+package org.leralix.tan.storage.stored;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for TerritoryNameIndex. */
+class TerritoryNameIndexTest {
+
+  private static TerritoryNameIndex newIndex() {
+    return new TerritoryNameIndex("tan_towns", "town_name");
+  }
+
+  @Test
+  void getId_ignoresCaseAndSurroundingSpaces() {
+    TerritoryNameIndex index = newIndex();
+    index.put("T1", "Paris");
+
+    assertEquals("T1", index.getId("paris"));
+    assertEquals("T1", index.getId("  PARIS "));
+    assertTrue(index.contains("pArIs"));
+  }
+
+  @Test
+  void getId_unknownOrNullName_returnsNull() {
+    TerritoryNameIndex index = newIndex();
+    index.put("T1", "Paris");
+
+    assertNull(index.getId("Lyon"));
+    assertNull(index.getId(null));
+    assertFalse(index.contains(null));
+  }
+
+  @Test
+  void put_newName_releasesPreviousName() {
+    TerritoryNameIndex index = newIndex();
+    index.put("T1", "Paris");
+    index.put("T1", "Lutece");
+
+    assertNull(index.getId("Paris"));
+    assertEquals("T1", index.getId("lutece"));
+  }
+
+  @Test
+  void put_sameNameDifferentCase_keepsEntry() {
+    TerritoryNameIndex index = newIndex();
+    index.put("T1", "Paris");
+    index.put("T1", "PARIS");
+
+    assertEquals("T1", index.getId("paris"));
+  }
+
+  @Test
+  void remove_releasesName() {
+    TerritoryNameIndex index = newIndex();
+    index.put("T1", "Paris");
+    index.remove("T1");
+
+    assertNull(index.getId("Paris"));
+  }
+
+  @Test
+  void remove_sharedName_handsNameToRemainingTerritory() {
+    TerritoryNameIndex index = newIndex();
+    index.put("T1", "Paris");
+    index.put("T2", "paris");
+    assertEquals("T1", index.getId("Paris"));
+
+    index.remove("T1");
+
+    assertEquals("T2", index.getId("Paris"));
+  }
+
+  @Test
+  void put_otherTerritoryRenamed_doesNotReleaseName() {
+    TerritoryNameIndex index = newIndex();
+    index.put("T1", "Paris");
+    index.put("T2", "Lyon");
+    index.put("T2", "Marseille");
+
+    assertEquals("T1", index.getId("Paris"));
+    assertNull(index.getId("Lyon"));
+  }
+
+  @Test
+  void remove_sharedNameNotHolder_keepsHolder() {
+    TerritoryNameIndex index = newIndex();
+    index.put("T1", "Paris");
+    index.put("T2", "paris");
+    index.put("T3", "PARIS");
+
+    index.remove("T2");
+    index.put("T1", "Lutece");
+
+    assertEquals("T3", index.getId("Paris"));
+    index.remove("T3");
+    assertNull(index.getId("Paris"));
+  }
+}
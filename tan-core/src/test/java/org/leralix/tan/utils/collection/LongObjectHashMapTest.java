@@ -0,0 +1,101 @@
+package org.leralix.tan.utils.collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.leralix.tan.utils.territory.ChunkKey;
+
+/** Unit tests for LongObjectHashMap. */
+class LongObjectHashMapTest {
+
+  @Test
+  void get_missingKey_returnsNull() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    assertNull(map.get(42));
+  }
+
+  @Test
+  void put_thenGet_returnsValue() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    map.put(42, "a");
+    assertEquals("a", map.get(42));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void put_existingKey_replacesAndReturnsPrevious() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    map.put(42, "a");
+    assertEquals("a", map.put(42, "b"));
+    assertEquals("b", map.get(42));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void zeroKey_isStoredSeparately() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    map.put(ChunkKey.pack(0, 0), "origin");
+    assertTrue(map.containsKey(0));
+    assertEquals("origin", map.remove(0));
+    assertFalse(map.containsKey(0));
+    assertTrue(map.isEmpty());
+  }
+
+  @Test
+  void put_nullValue_throws() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    assertThrows(IllegalArgumentException.class, () -> map.put(1, null));
+  }
+
+  @Test
+  void negativeCoordinates_doNotCollide() {
+    LongObjectHashMap<String> map = new LongObjectHashMap<>();
+    map.put(ChunkKey.pack(-1, 1), "a");
+    map.put(ChunkKey.pack(1, -1), "b");
+    map.put(ChunkKey.pack(-1, -1), "c");
+    assertEquals("a", map.get(ChunkKey.pack(-1, 1)));
+    assertEquals("b", map.get(ChunkKey.pack(1, -1)));
+    assertEquals("c", map.get(ChunkKey.pack(-1, -1)));
+  }
+
+  @Test
+  void removeIf_removesMatchingValuesOnly() {
+    LongObjectHashMap<Integer> map = new LongObjectHashMap<>();
+    for (int i = 0; i < 1000; i++) {
+      map.put(i, i);
+    }
+    assertEquals(500, map.removeIf(value -> value % 2 == 0));
+    assertEquals(500, map.size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i % 2 == 0 ? null : i, map.get(i));
+    }
+  }
+
+  @Test
+  void randomOperations_matchHashMap() {
+    LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+    Map<Long, Long> reference = new HashMap<>();
+    Random random = new Random(7);
+
+    for (int i = 0; i < 200_000; i++) {
+      long key = ChunkKey.pack(random.nextInt(64) - 32, random.nextInt(64) - 32);
+      switch (random.nextInt(3)) {
+        case 0 -> assertEquals(reference.put(key, key), map.put(key, key));
+        case 1 -> assertEquals(reference.remove(key), map.remove(key));
+        default -> assertEquals(reference.get(key), map.get(key));
+      }
+    }
+    assertEquals(reference.size(), map.size());
+  }
+
+  @Test
+  void chunkKey_roundTrip() {
+    long key = ChunkKey.pack(-123456, 654321);
+    assertEquals(-123456, ChunkKey.getX(key));
+    assertEquals(654321, ChunkKey.getZ(key));
+    assertEquals(ChunkKey.pack(-2, 3), ChunkKey.fromBlock(-17, 63));
+  }
+}
@@ -0,0 +1,126 @@
+package org.leralix.tan.utils.graphic;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.bukkit.Particle;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for BoundaryRenderer. */
+class BoundaryRendererTest {
+
+  private static final Particle PARTICLE = Particle.FLAME;
+
+  /** One pane, 16 blocks long and one block high: 17 columns of 2 rows at full density. */
+  private static void addPane(BoundaryRenderer.Segments segments, double x) {
+    segments.add(x, 63, 0, x + 16, 64, 0);
+  }
+
+  @Test
+  void draw_nearSegment_usesFullDensity() {
+    BoundaryRenderer.Segments segments = new BoundaryRenderer.Segments();
+    addPane(segments, 0);
+    BoundaryRenderer.Pending pending =
+        new BoundaryRenderer.Pending(
+            BoundaryRenderer.Source.WAR_BOUNDARY, PARTICLE, segments, 8, 64, 0);
+
+    assertEquals(34, pending.cost(0));
+  }
+
+  @Test
+  void draw_distantSegment_usesCoarserSpacing() {
+    BoundaryRenderer.Segments segments = new BoundaryRenderer.Segments();
+    addPane(segments, 0);
+    addPane(segments, 200);
+    BoundaryRenderer.Pending pending =
+        new BoundaryRenderer.Pending(
+            BoundaryRenderer.Source.WAR_BOUNDARY, PARTICLE, segments, 8, 64, 0);
+
+    assertTrue(pending.cost(1) < pending.cost(0));
+  }
+
+  @Test
+  void draw_segments_nearestFirst() {
+    BoundaryRenderer.Segments segments = new BoundaryRenderer.Segments();
+    addPane(segments, 100);
+    addPane(segments, 0);
+    BoundaryRenderer.Pending pending =
+        new BoundaryRenderer.Pending(
+            BoundaryRenderer.Source.WAR_BOUNDARY, PARTICLE, segments, 0, 64, 0);
+    List<Double> xs = new ArrayList<>();
+
+    pending.draw((particle, x, y, z) -> xs.add(x), 34, true);
+
+    assertEquals(34, xs.size());
+    assertTrue(xs.stream().allMatch(x -> x <= 16));
+  }
+
+  @Test
+  void draw_overBudget_spreadsAcrossTicks() {
+    BoundaryRenderer.Segments segments = new BoundaryRenderer.Segments();
+    for (int i = 0; i < 10; i++) {
+      addPane(segments, i * 16);
+    }
+    BoundaryRenderer.PlayerQueue queue = new BoundaryRenderer.PlayerQueue();
+    queue.replace(
+        new BoundaryRenderer.Pending(
+            BoundaryRenderer.Source.WAR_BOUNDARY, PARTICLE, segments, 0, 64, 0));
+    int[] sent = new int[BoundaryRenderer.Source.values().length];
+    int budget = 100;
+
+    int ticks = 0;
+    int total = 0;
+    do {
+      int used = queue.draw((particle, x, y, z) -> {}, budget, sent);
+      assertTrue(used <= budget);
+      total += used;
+      ticks++;
+    } while (queue.continueDraining());
+
+    assertTrue(ticks > 1);
+    assertEquals(total, sent[BoundaryRenderer.Source.WAR_BOUNDARY.ordinal()]);
+  }
+
+  @Test
+  void draw_segmentLargerThanBudget_isStillDrawn() {
+    BoundaryRenderer.Segments segments = new BoundaryRenderer.Segments();
+    addPane(segments, 0);
+    BoundaryRenderer.PlayerQueue queue = new BoundaryRenderer.PlayerQueue();
+    queue.replace(
+        new BoundaryRenderer.Pending(
+            BoundaryRenderer.Source.WAR_BOUNDARY, PARTICLE, segments, 8, 64, 0));
+
+    int used = queue.draw((particle, x, y, z) -> {}, 10, new int[2]);
+
+    assertEquals(34, used);
+    assertFalse(queue.continueDraining());
+  }
+
+  @Test
+  void replace_sameSource_dropsWaitingSegments() {
+    BoundaryRenderer.Segments segments = new BoundaryRenderer.Segments();
+    addPane(segments, 0);
+    BoundaryRenderer.PlayerQueue queue = new BoundaryRenderer.PlayerQueue();
+
+    assertEquals(
+        0,
+        queue.replace(
+            new BoundaryRenderer.Pending(
+                BoundaryRenderer.Source.WAR_BOUNDARY, PARTICLE, segments, 8, 64, 0)));
+    assertEquals(
+        34,
+        queue.replace(
+            new BoundaryRenderer.Pending(
+                BoundaryRenderer.Source.WAR_BOUNDARY, PARTICLE, segments, 8, 64, 0)));
+  }
+
+  @Test
+  void addBox_addsTwelveEdges() {
+    BoundaryRenderer.Segments segments = new BoundaryRenderer.Segments();
+
+    segments.addBox(0, 0, 0, 2, 2, 2);
+
+    assertEquals(12, segments.size());
+  }
+}
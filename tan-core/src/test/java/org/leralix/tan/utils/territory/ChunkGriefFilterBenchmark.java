@@ -0,0 +1,75 @@
+package org.leralix.tan.utils.territory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.leralix.tan.BasicTest;
+import org.leralix.tan.dataclass.chunk.ClaimedChunk2;
+import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
+import org.leralix.tan.storage.stored.TownDataStorage;
+
+/**
+ * Compares {@link ChunkGriefFilter} to the former per-block check on 500-block explosions. Only
+ * runs with {@code -Dtan.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "tan.benchmark", matches = "true")
+class ChunkGriefFilterBenchmark extends BasicTest {
+
+  private static final int EXPLOSION_SIZE = 500;
+  private static final int EXPLOSIONS = 2_000;
+  private static final int ROUNDS = 5;
+
+  @Test
+  void explosions_againstPerBlockCheck() {
+    World world = server.addSimpleWorld("world");
+    TownData townData = TownDataStorage.getInstance().newTown("town").join();
+    NewClaimedChunkStorage storage = NewClaimedChunkStorage.getInstance();
+    storage.claimTownChunk(world.getChunkAt(0, 0), townData.getID());
+    storage.claimTownChunk(world.getChunkAt(0, 1), townData.getID());
+
+    // A TNT cannon hitting a town border: blocks spread over four chunks around (8, 8)
+    Random random = new Random(42);
+    List<Block> explosion = new ArrayList<>(EXPLOSION_SIZE);
+    for (int i = 0; i < EXPLOSION_SIZE; i++) {
+      explosion.add(
+          world.getBlockAt(
+              random.nextInt(-8, 8), 60 + random.nextInt(8), 8 + random.nextInt(-8, 8)));
+    }
+
+    long perBlockNanos = Long.MAX_VALUE;
+    long groupedNanos = Long.MAX_VALUE;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      int perBlockKept = 0;
+      for (int i = 0; i < EXPLOSIONS; i++) {
+        List<Block> blocks = new ArrayList<>(explosion);
+        blocks.removeIf(block -> !storage.get(block.getChunk()).canExplosionGrief());
+        perBlockKept += blocks.size();
+      }
+      perBlockNanos = Math.min(perBlockNanos, System.nanoTime() - start);
+
+      start = System.nanoTime();
+      int groupedKept = 0;
+      for (int i = 0; i < EXPLOSIONS; i++) {
+        List<Block> blocks = new ArrayList<>(explosion);
+        ChunkGriefFilter.removeProtectedBlocks(
+            blocks, world.getUID(), ClaimedChunk2::canExplosionGrief);
+        groupedKept += blocks.size();
+      }
+      groupedNanos = Math.min(groupedNanos, System.nanoTime() - start);
+
+      assertEquals(perBlockKept, groupedKept);
+    }
+
+    System.out.printf(
+        "%d-block explosion: per block %8.1f us, grouped by chunk %8.1f us%n",
+        EXPLOSION_SIZE, perBlockNanos / 1000.0 / EXPLOSIONS, groupedNanos / 1000.0 / EXPLOSIONS);
+  }
+}
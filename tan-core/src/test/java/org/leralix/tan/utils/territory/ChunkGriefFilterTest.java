@@ -0,0 +1,89 @@
+package org.leralix.tan.utils.territory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.leralix.tan.BasicTest;
+import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
+import org.leralix.tan.storage.stored.TownDataStorage;
+
+/** Unit tests for ChunkGriefFilter. */
+class ChunkGriefFilterTest extends BasicTest {
+
+  private World world;
+
+  @Override
+  @BeforeEach
+  protected void setUp() {
+    super.setUp();
+    world = server.addSimpleWorld("world");
+    TownData townData = TownDataStorage.getInstance().newTown("town").join();
+    NewClaimedChunkStorage.getInstance().claimTownChunk(world.getChunkAt(0, 0), townData.getID());
+    NewClaimedChunkStorage.getInstance().claimTownChunk(world.getChunkAt(1, 0), townData.getID());
+  }
+
+  @Test
+  void canGrief_wilderness_returnsTrue() {
+    assertTrue(ChunkGriefFilter.canGrief(world.getBlockAt(-1, 64, 0), claimedChunk -> false));
+  }
+
+  @Test
+  void canGrief_claimedChunk_readsFlag() {
+    assertFalse(ChunkGriefFilter.canGrief(world.getBlockAt(5, 64, 5), claimedChunk -> false));
+    assertTrue(ChunkGriefFilter.canGrief(world.getBlockAt(5, 64, 5), claimedChunk -> true));
+  }
+
+  @Test
+  void removeProtectedBlocks_keepsWildernessBlocksInOrder() {
+    Block claimed1 = world.getBlockAt(0, 64, 0);
+    Block wilderness1 = world.getBlockAt(-1, 64, 0);
+    Block claimed2 = world.getBlockAt(20, 64, 15);
+    Block wilderness2 = world.getBlockAt(5, 64, 16);
+    Block claimed3 = world.getBlockAt(15, 64, 3);
+    List<Block> blocks =
+        new ArrayList<>(List.of(claimed1, wilderness1, claimed2, wilderness2, claimed3));
+
+    int removed =
+        ChunkGriefFilter.removeProtectedBlocks(blocks, world.getUID(), claimedChunk -> false);
+
+    assertEquals(3, removed);
+    assertEquals(List.of(wilderness1, wilderness2), blocks);
+  }
+
+  @Test
+  void removeProtectedBlocks_griefAllowed_keepsEverything() {
+    List<Block> blocks = new ArrayList<>();
+    for (int x = -40; x < 40; x += 3) {
+      blocks.add(world.getBlockAt(x, 64, x / 2));
+    }
+    List<Block> expected = List.copyOf(blocks);
+
+    int removed =
+        ChunkGriefFilter.removeProtectedBlocks(blocks, world.getUID(), claimedChunk -> true);
+
+    assertEquals(0, removed);
+    assertEquals(expected, blocks);
+  }
+
+  @Test
+  void removeProtectedBlocks_manyChunks_matchesPerBlockCheck() {
+    List<Block> blocks = new ArrayList<>();
+    for (int x = -100; x < 100; x += 5) {
+      for (int z = -100; z < 100; z += 7) {
+        blocks.add(world.getBlockAt(x, 64, z));
+      }
+    }
+    List<Block> expected = new ArrayList<>(blocks);
+    expected.removeIf(block -> !ChunkGriefFilter.canGrief(block, claimedChunk -> false));
+
+    ChunkGriefFilter.removeProtectedBlocks(blocks, world.getUID(), claimedChunk -> false);
+
+    assertEquals(expected, blocks);
+  }
+}
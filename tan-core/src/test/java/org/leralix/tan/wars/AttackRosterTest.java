@@ -0,0 +1,132 @@
+package org.leralix.tan.wars;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.leralix.tan.BasicTest;
+import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.storage.stored.PlayerDataStorage;
+import org.leralix.tan.storage.stored.TownDataStorage;
+import org.leralix.tan.wars.legacy.CreateAttackData;
+import org.leralix.tan.wars.legacy.WarRole;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+/** Unit tests for AttackRoster. */
+class AttackRosterTest extends BasicTest {
+
+  private PlannedAttack newAttack(TownData attacker, TownData defender) {
+    War war = new War("war", attacker, defender);
+    return new PlannedAttack("attack", new CreateAttackData(war, WarRole.MAIN_ATTACKER));
+  }
+
+  @Test
+  void getRoster_townMembers_areParticipants() {
+    PlayerMock attacker = server.addPlayer();
+    PlayerMock defender = server.addPlayer();
+    PlayerMock neutral = server.addPlayer();
+    ITanPlayer tanAttacker = PlayerDataStorage.getInstance().get(attacker).join();
+    ITanPlayer tanDefender = PlayerDataStorage.getInstance().get(defender).join();
+    TownData attackerTown = TownDataStorage.getInstance().newTown("attacker", tanAttacker).join();
+    TownData defenderTown = TownDataStorage.getInstance().newTown("defender", tanDefender).join();
+
+    AttackRoster roster = newAttack(attackerTown, defenderTown).getRoster();
+
+    assertTrue(roster.isAttacker(attacker.getUniqueId()));
+    assertTrue(roster.isDefender(defender.getUniqueId()));
+    assertFalse(roster.isParticipant(neutral.getUniqueId()));
+    assertEquals(2, roster.getOnlinePlayers().size());
+  }
+
+  @Test
+  void getRoster_memberNotInMemory_isParticipant() {
+    TownData attackerTown = TownDataStorage.getInstance().newTown("attacker").join();
+    TownData defenderTown = TownDataStorage.getInstance().newTown("defender").join();
+    UUID offlineID = UUID.randomUUID();
+    defenderTown.getPlayerIDList().add(offlineID.toString());
+
+    AttackRoster roster = newAttack(attackerTown, defenderTown).getRoster();
+
+    assertTrue(roster.isDefender(offlineID));
+    assertFalse(roster.isAttacker(offlineID));
+    assertTrue(roster.getOnlineDefenders().isEmpty());
+  }
+
+  @Test
+  void loadParticipants_memberNotInMemory_isLoaded() {
+    PlayerMock attacker = server.addPlayer();
+    ITanPlayer tanAttacker = PlayerDataStorage.getInstance().get(attacker).join();
+    TownData attackerTown = TownDataStorage.getInstance().newTown("attacker", tanAttacker).join();
+    TownData defenderTown = TownDataStorage.getInstance().newTown("defender").join();
+    UUID offlineID = UUID.randomUUID();
+    defenderTown.getPlayerIDList().add(offlineID.toString());
+
+    List<ITanPlayer> participants = newAttack(attackerTown, defenderTown).loadParticipants().join();
+
+    assertEquals(2, participants.size());
+    assertTrue(participants.stream().anyMatch(player -> offlineID.equals(player.getUUID())));
+  }
+
+  @Test
+  void getRoster_unchanged_isReused() {
+    TownData attackerTown = TownDataStorage.getInstance().newTown("attacker").join();
+    TownData defenderTown = TownDataStorage.getInstance().newTown("defender").join();
+    PlannedAttack plannedAttack = newAttack(attackerTown, defenderTown);
+
+    assertSame(plannedAttack.getRoster(), plannedAttack.getRoster());
+  }
+
+  @Test
+  void getRoster_afterTownJoin_includesNewMember() {
+    PlayerMock recruit = server.addPlayer();
+    ITanPlayer tanRecruit = PlayerDataStorage.getInstance().get(recruit).join();
+    TownData attackerTown = TownDataStorage.getInstance().newTown("attacker").join();
+    TownData defenderTown = TownDataStorage.getInstance().newTown("defender").join();
+    PlannedAttack plannedAttack = newAttack(attackerTown, defenderTown);
+    assertFalse(plannedAttack.getRoster().isParticipant(recruit.getUniqueId()));
+
+    defenderTown.addPlayer(tanRecruit);
+
+    assertTrue(plannedAttack.getRoster().isDefender(recruit.getUniqueId()));
+  }
+
+  @Test
+  void getRoster_afterNewDefender_includesItsMembers() {
+    PlayerMock ally = server.addPlayer();
+    ITanPlayer tanAlly = PlayerDataStorage.getInstance().get(ally).join();
+    TownData attackerTown = TownDataStorage.getInstance().newTown("attacker").join();
+    TownData defenderTown = TownDataStorage.getInstance().newTown("defender").join();
+    TownData allyTown = TownDataStorage.getInstance().newTown("ally", tanAlly).join();
+    PlannedAttack plannedAttack = newAttack(attackerTown, defenderTown);
+    AttackRoster before = plannedAttack.getRoster();
+
+    plannedAttack.addDefender(allyTown);
+
+    AttackRoster after = plannedAttack.getRoster();
+    assertNotSame(before, after);
+    assertTrue(after.isDefender(ally.getUniqueId()));
+    assertTrue(after.getDefendingTerritories().contains(allyTown));
+  }
+
+  @Test
+  void playerLeft_removesFromOnlineView() {
+    PlayerMock defender = server.addPlayer();
+    ITanPlayer tanDefender = PlayerDataStorage.getInstance().get(defender).join();
+    TownData attackerTown = TownDataStorage.getInstance().newTown("attacker").join();
+    TownData defenderTown = TownDataStorage.getInstance().newTown("defender", tanDefender).join();
+    PlannedAttack plannedAttack = newAttack(attackerTown, defenderTown);
+    AttackRoster roster = plannedAttack.getRoster();
+    assertTrue(roster.getOnlineDefenders().contains(defender));
+
+    plannedAttack.playerLeft(defender.getUniqueId());
+
+    assertTrue(roster.getOnlineDefenders().isEmpty());
+    assertTrue(roster.isDefender(defender.getUniqueId()));
+
+    plannedAttack.playerJoined(defender);
+
+    assertTrue(roster.getOnlineDefenders().contains(defender));
+  }
+}
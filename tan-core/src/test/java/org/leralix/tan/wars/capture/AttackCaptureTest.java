@@ -0,0 +1,109 @@
+package org.leralix.tan.wars.capture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.leralix.lib.position.Vector3D;
+import org.leralix.tan.BasicTest;
+import org.leralix.tan.dataclass.ITanPlayer;
+import org.leralix.tan.dataclass.chunk.TerritoryChunk;
+import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.storage.stored.FortStorage;
+import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
+import org.leralix.tan.storage.stored.PlayerDataStorage;
+import org.leralix.tan.storage.stored.TownDataStorage;
+import org.leralix.tan.wars.PlannedAttack;
+import org.leralix.tan.wars.War;
+import org.leralix.tan.wars.fort.Fort;
+import org.leralix.tan.wars.legacy.CreateAttackData;
+import org.leralix.tan.wars.legacy.WarRole;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+/** Unit tests for AttackCapture. */
+class AttackCaptureTest extends BasicTest {
+
+  /** More updates than any fort or chunk capture needs. */
+  private static final int UPDATES = 200;
+
+  private World world;
+  private PlayerMock attacker;
+  private TownData attackerTown;
+  private TownData defenderTown;
+  private PlannedAttack plannedAttack;
+
+  @Override
+  @BeforeEach
+  protected void setUp() {
+    super.setUp();
+    world = server.addSimpleWorld("world");
+    attacker = server.addPlayer();
+    ITanPlayer tanAttacker = PlayerDataStorage.getInstance().get(attacker).join();
+    attackerTown = TownDataStorage.getInstance().newTown("attacker", tanAttacker).join();
+    defenderTown = TownDataStorage.getInstance().newTown("defender").join();
+    War war = new War("war", attackerTown, defenderTown);
+    plannedAttack = new PlannedAttack("attack", new CreateAttackData(war, WarRole.MAIN_ATTACKER));
+  }
+
+  private Fort registerFort(Location location) {
+    return FortStorage.getInstance().register(new Vector3D(location), defenderTown);
+  }
+
+  private void update(AttackCapture capture, int times) {
+    for (int i = 0; i < times; i++) {
+      capture.update(plannedAttack);
+    }
+  }
+
+  @Test
+  void update_attackerNearFort_capturesFort() {
+    Location location = new Location(world, 8, 64, 8);
+    attacker.teleport(location);
+    Fort fort = registerFort(location);
+
+    update(new AttackCapture("attack"), UPDATES);
+
+    assertTrue(fort.isOccupied());
+    assertEquals(attackerTown.getID(), fort.getOccupier().getID());
+  }
+
+  @Test
+  void update_attackerFarFromFort_keepsFort() {
+    attacker.teleport(new Location(world, 8, 64, 8));
+    Fort fort = registerFort(new Location(world, 1000, 64, 1000));
+
+    update(new AttackCapture("attack"), UPDATES);
+
+    assertFalse(fort.isOccupied());
+  }
+
+  @Test
+  void update_fortReplaced_findsNewFort() {
+    Location location = new Location(world, 8, 64, 8);
+    attacker.teleport(location);
+    Fort oldFort = registerFort(new Location(world, 1000, 64, 1000));
+    AttackCapture capture = new AttackCapture("attack");
+    capture.update(plannedAttack);
+
+    // Same number of forts, at another place
+    FortStorage.getInstance().delete(oldFort);
+    Fort newFort = registerFort(location);
+    update(capture, UPDATES);
+
+    assertTrue(newFort.isOccupied());
+  }
+
+  @Test
+  void update_attackerInDefenderChunk_capturesChunk() {
+    TerritoryChunk chunk =
+        NewClaimedChunkStorage.getInstance()
+            .claimTownChunk(world.getChunkAt(0, 0), defenderTown.getID());
+    attacker.teleport(new Location(world, 8, 64, 8));
+
+    update(new AttackCapture("attack"), UPDATES);
+
+    assertEquals(attackerTown.getID(), chunk.getOccupierID());
+  }
+}
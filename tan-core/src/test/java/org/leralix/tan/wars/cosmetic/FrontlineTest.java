@@ -0,0 +1,116 @@
+package org.leralix.tan.wars.cosmetic;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+import org.bukkit.World;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.leralix.tan.BasicTest;
+import org.leralix.tan.dataclass.chunk.TerritoryChunk;
+import org.leralix.tan.dataclass.territory.TownData;
+import org.leralix.tan.storage.stored.NewClaimedChunkStorage;
+import org.leralix.tan.storage.stored.TownDataStorage;
+
+/** Unit tests for Frontline. */
+class FrontlineTest extends BasicTest {
+
+  private World world;
+  private UUID worldID;
+  private TownData defender;
+  private TownData attacker;
+  private NewClaimedChunkStorage storage;
+
+  @Override
+  @BeforeEach
+  protected void setUp() {
+    super.setUp();
+    world = server.addSimpleWorld("world");
+    worldID = world.getUID();
+    defender = TownDataStorage.getInstance().newTown("defender").join();
+    attacker = TownDataStorage.getInstance().newTown("attacker").join();
+    storage = NewClaimedChunkStorage.getInstance();
+  }
+
+  private TerritoryChunk claim(TownData town, int x, int z) {
+    return storage.claimTownChunk(world.getChunkAt(x, z), town.getID());
+  }
+
+  @Test
+  void getSides_singleChunk_allSides() {
+    claim(defender, 0, 0);
+
+    Frontline frontline = new Frontline(defender.getID());
+
+    int all = Frontline.NORTH | Frontline.SOUTH | Frontline.EAST | Frontline.WEST;
+    assertEquals(all, frontline.getSides(worldID, 0, 0));
+    assertEquals(0, frontline.getSides(worldID, 1, 0));
+  }
+
+  @Test
+  void getSides_adjacentChunks_sharedSideIsNotFrontline() {
+    claim(defender, 0, 0);
+    claim(defender, 0, 1);
+
+    Frontline frontline = new Frontline(defender.getID());
+
+    assertEquals(0, frontline.getSides(worldID, 0, 0) & Frontline.SOUTH);
+    assertEquals(0, frontline.getSides(worldID, 0, 1) & Frontline.NORTH);
+    assertNotEquals(0, frontline.getSides(worldID, 0, 0) & Frontline.NORTH);
+  }
+
+  @Test
+  void chunkChanged_afterCapture_movesFrontline() {
+    claim(defender, 0, 0);
+    TerritoryChunk captured = claim(defender, 1, 0);
+    Frontline frontline = new Frontline(defender.getID());
+    assertEquals(0, frontline.getSides(worldID, 0, 0) & Frontline.EAST);
+
+    captured.setOccupier(attacker);
+    frontline.chunkChanged(worldID, 1, 0);
+
+    assertEquals(0, frontline.getSides(worldID, 1, 0));
+    assertNotEquals(0, frontline.getSides(worldID, 0, 0) & Frontline.EAST);
+
+    captured.liberate();
+    frontline.chunkChanged(worldID, 1, 0);
+
+    assertEquals(0, frontline.getSides(worldID, 0, 0) & Frontline.EAST);
+  }
+
+  @Test
+  void chunkChanged_beforeFirstUse_isIgnored() {
+    Frontline frontline = new Frontline(defender.getID());
+    claim(defender, 5, 5);
+    frontline.chunkChanged(worldID, 5, 5);
+
+    assertNotEquals(0, frontline.getSides(worldID, 5, 5));
+  }
+
+  @Test
+  void collect_onlyReturnsChunksInRadius() {
+    claim(defender, 0, 0);
+    claim(defender, 40, 0);
+    claim(defender, -3, 2);
+    Frontline frontline = new Frontline(defender.getID());
+    Frontline.Edges edges = new Frontline.Edges();
+
+    frontline.collect(worldID, 0, 0, 4, edges);
+
+    assertEquals(2, edges.size());
+    for (int i = 0; i < edges.size(); i++) {
+      assertTrue(Math.abs(edges.getX(i)) <= 4);
+    }
+  }
+
+  @Test
+  void collect_otherWorld_returnsNothing() {
+    claim(defender, 0, 0);
+    Frontline frontline = new Frontline(defender.getID());
+    Frontline.Edges edges = new Frontline.Edges();
+
+    frontline.collect(UUID.randomUUID(), 0, 0, 4, edges);
+
+    assertEquals(0, edges.size());
+  }
+}
@@ -10,7 +10,7 @@ import org.leralix.tan.BasicTest;
 import org.leralix.tan.dataclass.ITanPlayer;
 import org.leralix.tan.storage.stored.PlayerDataStorage;
 import org.leralix.tan.storage.stored.TownDataStorage;
-import org.leralix.tan.utils.territory.ChunkUtil;
+import org.leralix.tan.utils.graphic.BoundaryRenderer;
 import org.leralix.tan.wars.PlannedAttack;
 import org.leralix.tan.wars.War;
 import org.leralix.tan.wars.legacy.CreateAttackData;
@@ -44,11 +44,11 @@ class ShowBoundariesTest extends BasicTest {
     townDefender.claimChunk(defender, world.getChunkAt(0, 0));
     townDefender.claimChunk(defender, world.getChunkAt(0, 1));
 
-    var list = ChunkUtil.getChunksInRadius(world.getChunkAt(0, 0), 1);
-
-    List<ChunkLine> chunkLines = ShowBoundaries.sortChunkLines(list, List.of(currentAttack));
+    Frontline.Edges edges = new Frontline.Edges();
+    ShowBoundaries.collectEdges(List.of(currentAttack), world.getUID(), 0, 0, 1, edges);
+    BoundaryRenderer.Segments segments = ShowBoundaries.toSegments(edges, 64);
 
     // Two chunks -> 3 faces each
-    assertEquals(6, chunkLines.size());
+    assertEquals(6, segments.size());
   }
 }